@@ -1,9 +1,16 @@
 package com.am.mytodolistapp;
 
+import android.app.Activity;
 import android.app.Application;
+import android.os.Bundle;
 import android.util.Log;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.am.mytodolistapp.data.AppDatabase;
 import com.am.mytodolistapp.data.sync.CollaborationSyncService;
+import com.am.mytodolistapp.service.MaintenanceWorker;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
@@ -22,6 +29,9 @@ public class MyTodoApplication extends Application {
 
         Log.d(TAG, "Application starting...");
 
+        // 로컬 DB를 백그라운드에서 미리 열기 (첫 화면 조회가 열기/생성을 기다리지 않도록)
+        AppDatabase.openInBackground(this);
+
         // 기본 라이브러리 초기화
         initializeLibraries();
 
@@ -31,6 +41,12 @@ public class MyTodoApplication extends Application {
         // 협업 동기화 초기화 (로그인된 사용자가 있는 경우)
         initializeCollaborationSync();
 
+        // DB 정리 작업 예약 (보관, 최적화 - 기기 유휴/충전 중에만 실행)
+        MaintenanceWorker.schedule(this);
+
+        // 화면이 가려지면 모아 둔 쓰기를 바로 반영 (백그라운드에서 프로세스가 종료되어도 잃지 않도록)
+        registerActivityLifecycleCallbacks(new WriteFlushCallbacks());
+
         Log.d(TAG, "Application initialized successfully");
     }
 
@@ -77,6 +93,32 @@ public class MyTodoApplication extends Application {
         }
     } // 협업 동기화 서비스를 초기화한다.앱 시작 시 로그인된 사용자가 있으면 동기화 서비스를 준비 상태로 만든다.
 
+    // onPause마다 WriteCoalescer의 대기 중인 쓰기를 쓰기 실행기로 보낸다 (최선의 노력 - 창 안에서 onPause 없이 종료되면 잃는다)
+    private static class WriteFlushCallbacks implements ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            AppDatabase.getDatabase(activity).getWriteCoalescer().flush();
+        }
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) { }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) { }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) { }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) { }
+    }
+
     public static MyTodoApplication getInstance() {
         return instance;
     } // Application 인스턴스 반환
@@ -111,6 +153,9 @@ public class MyTodoApplication extends Application {
         super.onTrimMemory(level);
         Log.d(TAG, "Memory trim requested with level: " + level);
 
+        // 할 일 캐시 정리 (UI가 숨겨지면 절반, 백그라운드/위급이면 전부)
+        AppDatabase.trimMemory(level);
+
         // 메모리 사용량에 따른 정리 작업
         switch (level) {
             case TRIM_MEMORY_RUNNING_MODERATE:
@@ -0,0 +1,76 @@
+package com.am.mytodolistapp;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Locale;
+
+// 콜드 스타트 구간별 시간 기록 (프로세스 시작 기준 elapsedRealtime, ms)
+// DB 열기, 첫 조회, 메인 목록 첫 표시까지를 한 줄 로그로 남긴다.
+
+/* AppDatabase: 열기 시작/완료, 새 DB 생성 여부와 기본 데이터 입력 시간
+   TodoListPager: 첫 페이지 조회
+   ImprovedTaskListFragment: 메인 목록 첫 표시
+   세 구간이 모두 기록되면 한 번만 로그를 남긴다 (이후 호출은 무시). */
+public final class StartupTrace {
+    private static final String TAG = "StartupTrace";
+
+    private static final long NOT_SET = -1;
+
+    private static long dbOpenStart = NOT_SET;
+    private static long dbOpenEnd = NOT_SET;
+    private static boolean freshDatabase;
+    private static long seedMs;
+    private static long firstQueryStart = NOT_SET;
+    private static long firstQueryEnd = NOT_SET;
+    private static long firstListShown = NOT_SET;
+    private static boolean reported;
+
+    private StartupTrace() {
+    }
+
+    public static synchronized void markDbOpenStart() {
+        if (dbOpenStart == NOT_SET) dbOpenStart = now();
+    }
+
+    public static synchronized void markDbOpened() {
+        if (dbOpenEnd == NOT_SET) dbOpenEnd = now();
+        reportIfComplete();
+    }
+
+    // 새로 설치한 경우 (스키마 생성 + 기본 데이터)
+    public static synchronized void markDbCreated(long seedDurationMs) {
+        freshDatabase = true;
+        seedMs = seedDurationMs;
+    }
+
+    public static synchronized void markFirstQuery(long startElapsed) {
+        if (firstQueryEnd != NOT_SET) return;
+        firstQueryStart = startElapsed;
+        firstQueryEnd = now();
+        reportIfComplete();
+    }
+
+    public static synchronized void markFirstListShown() {
+        if (firstListShown != NOT_SET) return;
+        firstListShown = now();
+        reportIfComplete();
+    }
+
+    public static long now() {
+        return SystemClock.elapsedRealtime();
+    }
+
+    private static void reportIfComplete() {
+        if (reported || dbOpenEnd == NOT_SET || firstQueryEnd == NOT_SET || firstListShown == NOT_SET) return;
+        reported = true;
+        long processStart = Process.getStartElapsedRealtime();
+        Log.i(TAG, String.format(Locale.ROOT,
+                "startup: db open +%dms (%dms, %s), first query +%dms (%dms), first list +%dms",
+                dbOpenEnd - processStart, dbOpenEnd - (dbOpenStart == NOT_SET ? dbOpenEnd : dbOpenStart),
+                freshDatabase ? "created, seed " + seedMs + "ms" : "existing",
+                firstQueryEnd - processStart, firstQueryEnd - firstQueryStart,
+                firstListShown - processStart));
+    }
+}
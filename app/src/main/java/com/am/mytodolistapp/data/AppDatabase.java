@@ -1,6 +1,7 @@
 package com.am.mytodolistapp.data;
 
 import android.content.Context;
+import android.database.Cursor;
 
 import androidx.annotation.NonNull;
 import androidx.room.Database;
@@ -9,8 +10,8 @@ import androidx.room.RoomDatabase;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import com.am.mytodolistapp.StartupTrace;
+
 //  앱의 로컬 데이터베이스를 관리하는 Room 데이터베이스 클래스
 /* Database: Room 라이브러리에게 이 클래스가 데이터베이스임을 알림
    entities: 이 데이터베이스에 포함될 테이블(Entity 클래스) 목록을 정의
@@ -21,18 +22,29 @@ import java.util.concurrent.Executors;
 
 /* TodoItem, LocationItem, CategoryItem: 이 데이터베이스에 포함될 테이블(Entity)
    TodoDao, LocationDao, CategoryDao: 각 테이블에 접근하여 데이터를 조작하는 메소드를 정의한 인터페이스
+   ArchivedTodoItem: 보관된 할 일을 옮겨 두는 todo_archive 테이블 (todo_table과 같은 컬럼)
+   DailyStats: todo_table 트리거가 유지하는 날짜별 통계 집계 (DailyStatsDao로 조회)
+   TodoChange: todo_table / todo_archive 트리거가 남기는 행 단위 변경 기록 (TodoChangeTracker가 읽음)
+   WriteCoalescer: 몰리는 로컬 쓰기를 모아 한 트랜잭션으로 반영 (getWriteCoalescer)
+   TodoItemCache: id로 읽는 TodoItem의 LRU 캐시, 변경 기록으로 무효화 (getTodoItemCache)
    TodoRepository: 이 AppDatabase 클래스를 통해 데이터베이스 인스턴스를 얻어 DAO를 사용 */
-@Database(entities = {TodoItem.class, LocationItem.class, CategoryItem.class}, version = 13, exportSchema = false)
+@Database(entities = {TodoItem.class, LocationItem.class, CategoryItem.class, TodoFts.class, DailyStats.class, ArchivedTodoItem.class, TodoChange.class}, version = 20, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
 
     public abstract TodoDao todoDao();
     public abstract LocationDao locationDao();
     public abstract CategoryDao categoryDao();
+    public abstract DailyStatsDao dailyStatsDao();
+    public abstract TodoChangeDao todoChangeDao();
 
     private static volatile AppDatabase INSTANCE;
-    private static final int NUMBER_OF_THREADS = 4;
-    public static final ExecutorService databaseWriteExecutor =
-            Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    private static final int NUMBER_OF_READ_THREADS = 2;
+    // 모든 쓰기는 이 단일 스레드에서 들어온 순서대로 실행 (레인은 지표용 - 같은 행의 쓰기 순서를 바꾸지 않는다)
+    public static final DbExecutor databaseWriteExecutor =
+            DbExecutor.singleWriter("db-write");
+    // 동기 조회, 개수 계산, 통계 같은 읽기 전용 작업 (레인 우선순위: 사용자 조작 > 동기화 > 통계)
+    public static final DbExecutor databaseReadExecutor =
+            DbExecutor.readPool("db-read", NUMBER_OF_READ_THREADS);
 
     // --- 기존 마이그레이션들 ---
     static final Migration MIGRATION_1_2 = new Migration(1, 2) {
@@ -240,11 +252,308 @@ public abstract class AppDatabase extends RoomDatabase {
         }
     }; // 보관 기능
 
+    static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // 예전 마이그레이션이 만든, 엔티티에 선언되지 않은 인덱스 정리
+            database.execSQL("DROP INDEX IF EXISTS `index_todo_table_firebase_task_id`");
+            database.execSQL("DROP INDEX IF EXISTS `index_todo_table_project_id`");
+            database.execSQL("DROP INDEX IF EXISTS `index_todo_table_is_from_collaboration`");
+
+            // 고유 인덱스를 만들기 전에 중복된 협업 할 일은 최신 행만 남긴다
+            database.execSQL("DELETE FROM todo_table WHERE firebase_task_id IS NOT NULL AND id NOT IN (" +
+                    "SELECT MAX(id) FROM todo_table WHERE firebase_task_id IS NOT NULL GROUP BY firebase_task_id)");
+
+            // TodoDao 쿼리의 WHERE / ORDER BY 형태에 맞춘 복합 인덱스
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_todo_table_firebase_task_id` ON `todo_table` (`firebase_task_id`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_is_archived` ON `todo_table` (`is_archived`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_category_id_is_archived` ON `todo_table` (`category_id`, `is_archived`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_is_completed_updated_at` ON `todo_table` (`is_completed`, `updated_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_is_completed_is_archived_created_at` ON `todo_table` (`is_completed`, `is_archived`, `created_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_due_date_is_archived` ON `todo_table` (`due_date`, `is_archived`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_project_id_is_archived` ON `todo_table` (`project_id`, `is_archived`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_is_from_collaboration_is_archived_updated_at` ON `todo_table` (`is_from_collaboration`, `is_archived`, `updated_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_table_created_at` ON `todo_table` (`created_at`)");
+        }
+    }; // 조회 성능용 인덱스
+
+    static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // TodoFts 엔티티와 같은 정의의 external content FTS4 테이블
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `todo_fts` USING FTS4(" +
+                    "`title` TEXT, `content` TEXT, tokenize=unicode61, content=`todo_table`)");
+
+            // Room이 새 설치 시 만드는 것과 같은 이름/내용의 동기화 트리거
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_BEFORE_UPDATE " +
+                    "BEFORE UPDATE ON `todo_table` BEGIN DELETE FROM `todo_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_BEFORE_DELETE " +
+                    "BEFORE DELETE ON `todo_table` BEGIN DELETE FROM `todo_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_AFTER_UPDATE " +
+                    "AFTER UPDATE ON `todo_table` BEGIN INSERT INTO `todo_fts`(`docid`, `title`, `content`) " +
+                    "VALUES (NEW.`rowid`, NEW.`title`, NEW.`content`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_AFTER_INSERT " +
+                    "AFTER INSERT ON `todo_table` BEGIN INSERT INTO `todo_fts`(`docid`, `title`, `content`) " +
+                    "VALUES (NEW.`rowid`, NEW.`title`, NEW.`content`); END");
+
+            // 기존 할 일들로 색인 생성
+            database.execSQL("INSERT INTO todo_fts(todo_fts) VALUES('rebuild')");
+        }
+    }; // 전문 검색
+
+    static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            // FTS 컬럼이 바뀌므로 색인과 동기화 트리거를 먼저 제거 (백필 UPDATE가 색인을 건드리지 않도록)
+            database.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_todo_fts_BEFORE_UPDATE");
+            database.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_todo_fts_BEFORE_DELETE");
+            database.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_todo_fts_AFTER_UPDATE");
+            database.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_todo_fts_AFTER_INSERT");
+            database.execSQL("DROP TABLE IF EXISTS `todo_fts`");
+
+            database.execSQL("ALTER TABLE todo_table ADD COLUMN title_chosung TEXT");
+            database.execSQL("ALTER TABLE category_table ADD COLUMN name_chosung TEXT");
+
+            // 초성 변환은 SQL로 할 수 없으므로 기존 행을 읽어 채운다
+            try (Cursor cursor = database.query("SELECT id, title FROM todo_table WHERE title IS NOT NULL")) {
+                while (cursor.moveToNext()) {
+                    database.execSQL("UPDATE todo_table SET title_chosung = ? WHERE id = ?",
+                            new Object[]{TodoSearch.toTitleChosung(cursor.getString(1)), cursor.getInt(0)});
+                }
+            }
+            try (Cursor cursor = database.query("SELECT id, name FROM category_table WHERE name IS NOT NULL")) {
+                while (cursor.moveToNext()) {
+                    database.execSQL("UPDATE category_table SET name_chosung = ? WHERE id = ?",
+                            new Object[]{HangulUtils.toChosung(cursor.getString(1)), cursor.getInt(0)});
+                }
+            }
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_category_table_name_chosung` ON `category_table` (`name_chosung`)");
+
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `todo_fts` USING FTS4(" +
+                    "`title` TEXT, `content` TEXT, `title_chosung` TEXT, tokenize=unicode61, content=`todo_table`)");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_BEFORE_UPDATE " +
+                    "BEFORE UPDATE ON `todo_table` BEGIN DELETE FROM `todo_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_BEFORE_DELETE " +
+                    "BEFORE DELETE ON `todo_table` BEGIN DELETE FROM `todo_fts` WHERE `docid`=OLD.`rowid`; END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_AFTER_UPDATE " +
+                    "AFTER UPDATE ON `todo_table` BEGIN INSERT INTO `todo_fts`(`docid`, `title`, `content`, `title_chosung`) " +
+                    "VALUES (NEW.`rowid`, NEW.`title`, NEW.`content`, NEW.`title_chosung`); END");
+            database.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_todo_fts_AFTER_INSERT " +
+                    "AFTER INSERT ON `todo_table` BEGIN INSERT INTO `todo_fts`(`docid`, `title`, `content`, `title_chosung`) " +
+                    "VALUES (NEW.`rowid`, NEW.`title`, NEW.`content`, NEW.`title_chosung`); END");
+            database.execSQL("INSERT INTO todo_fts(todo_fts) VALUES('rebuild')");
+        }
+    }; // 초성 검색
+
+    static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `daily_stats` (" +
+                    "`day` TEXT NOT NULL, `category_id` INTEGER NOT NULL, `scheduled` INTEGER NOT NULL, " +
+                    "`scheduled_completed` INTEGER NOT NULL, `created` INTEGER NOT NULL, " +
+                    "`completed` INTEGER NOT NULL, `archived` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`day`, `category_id`))");
+            DailyStats.createTriggers(database, "todo_table");
+            // 기존 할 일로 집계를 한 번 채운다 (이후로는 트리거가 유지)
+            DailyStats.rebuild(database, "todo_table");
+        }
+    }; // 일별 통계 집계 테이블
+
+    static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `todo_archive` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `title` TEXT, `content` TEXT, " +
+                    "`is_completed` INTEGER NOT NULL DEFAULT false, `category_id` INTEGER, `location_name` TEXT, " +
+                    "`location_latitude` REAL NOT NULL, `location_longitude` REAL NOT NULL, " +
+                    "`location_radius` REAL NOT NULL, `location_enabled` INTEGER NOT NULL DEFAULT false, " +
+                    "`location_id` INTEGER, `created_at` INTEGER NOT NULL, `updated_at` INTEGER NOT NULL, " +
+                    "`due_date` INTEGER, `is_from_collaboration` INTEGER NOT NULL DEFAULT false, " +
+                    "`project_id` TEXT, `firebase_task_id` TEXT, `project_name` TEXT, " +
+                    "`assigned_to` TEXT, `created_by` TEXT, `is_archived` INTEGER NOT NULL DEFAULT false, " +
+                    "`title_chosung` TEXT)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_archive_updated_at` ON `todo_archive` (`updated_at`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_archive_project_id` ON `todo_archive` (`project_id`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_todo_archive_firebase_task_id` ON `todo_archive` (`firebase_task_id`)");
+
+            // 트리거를 먼저 만들어 이동(삭제 + 삽입) 중에도 daily_stats 합계가 유지되게 한다
+            DailyStats.createTriggers(database, "todo_archive");
+
+            // 이미 보관 표시된 할 일을 옮긴다 (버전 18 시점의 컬럼 - 이후 추가된 컬럼은 각 마이그레이션에서 채운다)
+            String columns = "id, title, content, is_completed, category_id, location_name, location_latitude, " +
+                    "location_longitude, location_radius, location_enabled, location_id, created_at, updated_at, " +
+                    "due_date, is_from_collaboration, project_id, firebase_task_id, project_name, " +
+                    "assigned_to, created_by, title_chosung";
+            database.execSQL("INSERT INTO todo_archive (" + columns + ", is_archived) " +
+                    "SELECT " + columns + ", 1 FROM todo_table WHERE is_archived = 1");
+            database.execSQL("DELETE FROM todo_table WHERE is_archived = 1");
+        }
+    }; // 보관 테이블 분리
+
+    static final Migration MIGRATION_18_19 = new Migration(18, 19) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            for (String table : DailyStats.SOURCE_TABLES) {
+                database.execSQL("ALTER TABLE " + table + " ADD COLUMN due_day INTEGER");
+                database.execSQL("ALTER TABLE " + table + " ADD COLUMN created_day INTEGER NOT NULL DEFAULT 0");
+                database.execSQL("ALTER TABLE " + table + " ADD COLUMN completed_day INTEGER");
+                database.execSQL("ALTER TABLE " + table + " ADD COLUMN effective_day INTEGER NOT NULL DEFAULT 0");
+
+                // 기존 행은 SQLite에서 로컬 날짜(epoch day)로 계산해 채운다 (이후로는 TodoItem getter가 저장 시 계산)
+                database.execSQL("UPDATE " + table + " SET " +
+                        "due_day = " + localEpochDaySql("due_date") + ", " +
+                        "created_day = " + localEpochDaySql("created_at") + ", " +
+                        "completed_day = CASE WHEN is_completed = 1 THEN " + localEpochDaySql("updated_at") + " END, " +
+                        "effective_day = " + localEpochDaySql("COALESCE(due_date, created_at)"));
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_" + table + "_effective_day` ON `" + table + "` (`effective_day`)");
+            }
+        }
+    }; // 로컬 날짜 파생 컬럼
+
+    static final Migration MIGRATION_19_20 = new Migration(19, 20) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `todo_change_log` (" +
+                    "`version` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `table_name` TEXT NOT NULL, " +
+                    "`row_id` INTEGER NOT NULL, `op` TEXT NOT NULL, `changed_columns` INTEGER NOT NULL)");
+            TodoChange.createTriggers(database);
+        }
+    }; // 행 단위 변경 기록
+
+    // epoch millis 컬럼 -> 로컬 epoch day (LocalDay.of와 같은 값, NULL이면 NULL)
+    private static String localEpochDaySql(String millisColumn) {
+        return "CAST(julianday(date(" + millisColumn + " / 1000, 'unixepoch', 'localtime')) - 2440587.5 AS INTEGER)";
+    }
+
+    // Room은 트리거를 엔티티로 선언할 수 없으므로 새 DB가 만들어질 때 직접 만든다
+    public static final RoomDatabase.Callback DAILY_STATS_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            DailyStats.createTriggers(db);
+        }
+    };
+
+    public static final RoomDatabase.Callback CHANGE_LOG_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            TodoChange.createTriggers(db);
+        }
+    };
+
+    // 새로 설치한 경우 기본 카테고리를 DB 생성 트랜잭션 안에서 넣는다
+    // (예전에는 CategoryViewModel이 만들어질 때마다 개수를 확인하고 넣었다 - 기존 DB는 MIGRATION_5_6에서 이미 입력)
+    public static final RoomDatabase.Callback DEFAULT_CATEGORIES_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onCreate(@NonNull SupportSQLiteDatabase db) {
+            long start = StartupTrace.now();
+            long now = System.currentTimeMillis();
+            String[][] defaults = {
+                    {"업무", "#FF4444"}, // 빨간색
+                    {"개인", "#FF8800"}, // 주황색
+                    {"쇼핑", "#FFDD00"}, // 노란색
+                    {"건강", "#44AA44"}, // 초록색
+                    {"학습", "#4488FF"}  // 파란색
+            };
+            for (int i = 0; i < defaults.length; i++) {
+                db.execSQL("INSERT INTO category_table (name, color, is_default, created_at, order_index, name_chosung) " +
+                                "VALUES (?, ?, 1, ?, ?, ?)",
+                        new Object[]{defaults[i][0], defaults[i][1], now, i + 1, HangulUtils.toChosung(defaults[i][0])});
+            }
+            StartupTrace.markDbCreated(StartupTrace.now() - start);
+        }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            StartupTrace.markDbOpened();
+        }
+    };
+
+    // 첫 화면이 DB를 기다리지 않도록 앱 시작 시 읽기 스레드에서 미리 연다 (MyTodoApplication.onCreate)
+    public static void openInBackground(final Context context) {
+        AppDatabase db = getDatabase(context);
+        databaseReadExecutor.execute(() -> {
+            StartupTrace.markDbOpenStart();
+            db.getOpenHelper().getWritableDatabase();
+        });
+    }
+
+    // todo_change_log를 읽어 바뀐 조각만 다시 읽게 하는 추적기 (DB마다 하나)
+    private volatile TodoChangeTracker changeTracker;
+
+    public TodoChangeTracker getChangeTracker() {
+        if (changeTracker == null) {
+            synchronized (this) {
+                if (changeTracker == null) {
+                    changeTracker = new TodoChangeTracker(this, databaseReadExecutor);
+                }
+            }
+        }
+        return changeTracker;
+    }
+
+    // 보관되지 않은 할 일 전체의 공유 스냅샷 (DB마다 하나, 화면들이 파생 뷰를 관찰)
+    private volatile TodoStore todoStore;
+
+    public TodoStore getTodoStore() {
+        if (todoStore == null) {
+            synchronized (this) {
+                if (todoStore == null) {
+                    todoStore = new TodoStore(this);
+                }
+            }
+        }
+        return todoStore;
+    }
+
+    // id로 읽는 TodoItem 캐시 (DB마다 하나, 변경 기록으로 무효화)
+    private volatile TodoItemCache todoItemCache;
+
+    // 메모리 부족 시 캐시 정리 (MyTodoApplication.onTrimMemory) - 아직 만들지 않았으면 아무것도 하지 않는다
+    public static void trimMemory(int level) {
+        AppDatabase db = INSTANCE;
+        TodoItemCache cache = db != null ? db.todoItemCache : null;
+        if (cache != null) {
+            cache.trimMemory(level);
+        }
+    }
+
+    public TodoItemCache getTodoItemCache() {
+        if (todoItemCache == null) {
+            synchronized (this) {
+                if (todoItemCache == null) {
+                    todoItemCache = new TodoItemCache(this, getChangeTracker());
+                }
+            }
+        }
+        return todoItemCache;
+    }
+
+    private volatile WriteCoalescer writeCoalescer;
+
+    public WriteCoalescer getWriteCoalescer() {
+        if (writeCoalescer == null) {
+            synchronized (this) {
+                if (writeCoalescer == null) {
+                    writeCoalescer = new WriteCoalescer(this, databaseWriteExecutor);
+                }
+            }
+        }
+        return writeCoalescer;
+    }
+
+    // 새 DB 생성/열기 때 필요한 콜백 (테스트의 인메모리 DB도 같은 콜백으로 만든다)
+    static RoomDatabase.Builder<AppDatabase> addCallbacks(RoomDatabase.Builder<AppDatabase> builder) {
+        return builder
+                .addCallback(DAILY_STATS_CALLBACK)
+                .addCallback(CHANGE_LOG_CALLBACK)
+                .addCallback(DEFAULT_CATEGORIES_CALLBACK);
+    }
+
     public static AppDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
+                    RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(context.getApplicationContext(),
                                     AppDatabase.class, "todo_database")
                             .addMigrations(
                                     MIGRATION_1_2,
@@ -258,9 +567,16 @@ public abstract class AppDatabase extends RoomDatabase {
                                     MIGRATION_9_10,
                                     MIGRATION_10_11,
                                     MIGRATION_11_12,
-                                    MIGRATION_12_13
-                            )
-                            .build();
+                                    MIGRATION_12_13,
+                                    MIGRATION_13_14,
+                                    MIGRATION_14_15,
+                                    MIGRATION_15_16,
+                                    MIGRATION_16_17,
+                                    MIGRATION_17_18,
+                                    MIGRATION_18_19,
+                                    MIGRATION_19_20
+                            );
+                    INSTANCE = addCallbacks(builder).build();
                 }
             }
         }
@@ -0,0 +1,22 @@
+package com.am.mytodolistapp.data;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+
+// 보관된 할 일을 옮겨 두는 콜드 테이블 (todo_table과 같은 컬럼)
+// 보관 처리 시 행을 이 테이블로 옮기므로 todo_table은 현재 진행 중인 할 일 수에 비례하는 크기로 유지된다.
+
+/* TodoDao.archiveOldCompletedTodos: 완료 후 하루가 지난 할 일을 한 트랜잭션으로 이동
+   TodoDao.getOrRestoreTodoSync: 보관된 할 일을 수정/토글하면 todo_table로 되돌린다
+   읽기: 캘린더 날짜 목록(TodoDao.getCalendarListRowsForDay)이 todo_table과 함께 읽고, 통계는 daily_stats 트리거가 센다
+   위치 외래키와 firebase_task_id 고유 인덱스는 두지 않는다 (기록 보존용, 동기화는 TodoDao.syncProjectTasks에서 처리) */
+@Entity(tableName = "todo_archive",
+        indices = {
+                @Index(value = "updated_at"),
+                @Index(value = "project_id"),
+                @Index(value = "firebase_task_id"),
+                @Index(value = "effective_day")
+        }
+)
+public class ArchivedTodoItem extends TodoItem {
+}
@@ -47,6 +47,11 @@ public interface CategoryDao {
     @Query("SELECT * FROM category_table WHERE name LIKE '%' || :name || '%'")
     LiveData<List<CategoryItem>> getCategoriesByName(String name);
 
+    // 초성 접두어 검색 ("ㅇㅁ" -> "업무") - name_chosung 인덱스 범위 조회
+    @Query("SELECT * FROM category_table WHERE name_chosung >= :prefix AND name_chosung < :prefixUpperBound " +
+            "ORDER BY order_index ASC, created_at ASC")
+    LiveData<List<CategoryItem>> getCategoriesByChosungPrefix(String prefix, String prefixUpperBound);
+
     // 특정 카테고리를 사용하는 할 일의 개수 조회
     @Query("SELECT COUNT(*) FROM todo_table WHERE category_id = :categoryId")
     int getTodoCountByCategory(int categoryId);
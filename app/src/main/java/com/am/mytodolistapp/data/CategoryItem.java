@@ -4,8 +4,10 @@ import androidx.room.Entity;
 import androidx.room.PrimaryKey;
 import androidx.room.ColumnInfo;
 import androidx.room.Ignore;
+import androidx.room.Index;
 
-@Entity(tableName = "category_table")
+@Entity(tableName = "category_table",
+        indices = {@Index(value = "name_chosung")})
 public class CategoryItem {
 
     @PrimaryKey(autoGenerate = true)
@@ -29,6 +31,9 @@ public class CategoryItem {
     @ColumnInfo(name = "order_index", defaultValue = "0")
     private int orderIndex; // 정렬 순서
 
+    @ColumnInfo(name = "name_chosung")
+    private String nameChosung; // 초성 검색용 파생 컬럼
+
     // Room이 사용할 기본 생성자
     public CategoryItem() {
         this.createdAt = System.currentTimeMillis();
@@ -60,6 +65,9 @@ public class CategoryItem {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public String getNameChosung() { return nameChosung; }
+    public void setNameChosung(String nameChosung) { this.nameChosung = nameChosung; }
+
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
 
@@ -0,0 +1,183 @@
+package com.am.mytodolistapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+// 날짜 x 카테고리별 할 일 개수를 미리 합산해 두는 집계 테이블
+// todo_table / todo_archive의 INSERT/UPDATE/DELETE 트리거가 바뀐 행의 기여분만 빼고 더하므로
+// 통계 화면과 캘린더 완료율은 할 일 수와 상관없이 (날짜 수 x 카테고리 수) 행만 읽는다.
+
+/* day: 기기 로컬 날짜 "yyyy-MM-dd" (SQLite date(..., 'localtime')) - LocalDate.toString()과 같은 형식
+   category_id: 카테고리 없음은 0 (기본키에 NULL을 쓸 수 없으므로)
+   scheduled / scheduled_completed / archived: 캘린더 기준 날짜 (기한, 없으면 생성일)에 속한 할 일 수 / 그중 완료 / 그중 보관
+   created: 생성일 기준 할 일 수
+   completed: 완료된 할 일의 마지막 수정일 기준 개수 (기존 통계 화면과 같은 기준)
+   todo_table과 todo_archive 양쪽의 트리거가 같은 집계를 유지하므로 보관 이동(삭제 + 삽입) 후에도 합계가 유지된다.
+   기기 시간대가 바뀌면 기존 날짜 구분은 예전 시간대로 남는다. 필요하면 rebuild로 다시 만든다. */
+@Entity(tableName = "daily_stats", primaryKeys = {"day", "category_id"})
+public class DailyStats {
+
+    public static final String TABLE_NAME = "daily_stats";
+
+    @NonNull
+    @ColumnInfo(name = "day")
+    private String day = "";
+
+    @ColumnInfo(name = "category_id")
+    private int categoryId;
+
+    @ColumnInfo(name = "scheduled")
+    private int scheduled;
+
+    @ColumnInfo(name = "scheduled_completed")
+    private int scheduledCompleted;
+
+    @ColumnInfo(name = "created")
+    private int created;
+
+    @ColumnInfo(name = "completed")
+    private int completed;
+
+    @ColumnInfo(name = "archived")
+    private int archived;
+
+    // ========== 트리거 / 백필 SQL ==========
+
+    private static final String COLUMNS =
+            "day, category_id, scheduled, scheduled_completed, created, completed, archived";
+
+    // 행(NEW/OLD)의 각 날짜 기준
+    private static String scheduledDay(String row) {
+        return localDay("COALESCE(" + row + ".due_date, " + row + ".created_at)");
+    }
+
+    private static String createdDay(String row) {
+        return localDay(row + ".created_at");
+    }
+
+    private static String completedDay(String row) {
+        return localDay(row + ".updated_at");
+    }
+
+    private static String localDay(String millis) {
+        return "date(" + millis + " / 1000, 'unixepoch', 'localtime')";
+    }
+
+    private static String categoryKey(String row) {
+        return "IFNULL(" + row + ".category_id, 0)";
+    }
+
+    // 행 하나의 기여분을 더하거나(+) 뺀다(-)
+    // 더할 때만 빈 집계 행을 먼저 만든다 (뺄 때는 더할 때 만든 행이 이미 있다)
+    // UPSERT(ON CONFLICT DO UPDATE)는 SQLite 3.24 이상이라 minSdk 26에서 쓸 수 없어 INSERT OR IGNORE + UPDATE로 나눈다
+    private static String apply(String row, String op) {
+        boolean add = "+".equals(op);
+        StringBuilder sql = new StringBuilder();
+
+        if (add) sql.append(ensureRow(scheduledDay(row), row, "1"));
+        sql.append("UPDATE daily_stats SET scheduled = scheduled ").append(op).append(" 1, ")
+                .append("scheduled_completed = scheduled_completed ").append(op).append(" ").append(row).append(".is_completed, ")
+                .append("archived = archived ").append(op).append(" ").append(row).append(".is_archived ")
+                .append("WHERE day = ").append(scheduledDay(row))
+                .append(" AND category_id = ").append(categoryKey(row)).append("; ");
+
+        if (add) sql.append(ensureRow(createdDay(row), row, "1"));
+        sql.append("UPDATE daily_stats SET created = created ").append(op).append(" 1 ")
+                .append("WHERE day = ").append(createdDay(row))
+                .append(" AND category_id = ").append(categoryKey(row)).append("; ");
+
+        // 완료 개수는 완료된 행만 (미완료 행 때문에 빈 집계 행이 생기지 않게)
+        if (add) sql.append(ensureRow(completedDay(row), row, row + ".is_completed = 1"));
+        sql.append("UPDATE daily_stats SET completed = completed ").append(op).append(" 1 ")
+                .append("WHERE ").append(row).append(".is_completed = 1 AND day = ").append(completedDay(row))
+                .append(" AND category_id = ").append(categoryKey(row)).append("; ");
+
+        return sql.toString();
+    }
+
+    private static String ensureRow(String day, String row, String condition) {
+        return "INSERT OR IGNORE INTO daily_stats (" + COLUMNS + ") " +
+                "SELECT " + day + ", " + categoryKey(row) + ", 0, 0, 0, 0, 0 WHERE " + condition + "; ";
+    }
+
+    // 집계에 들어가는 테이블 (보관된 할 일도 통계에 포함)
+    static final String[] SOURCE_TABLES = {"todo_table", "todo_archive"};
+
+    // 새 DB(onCreate)에서 호출
+    public static void createTriggers(@NonNull SupportSQLiteDatabase database) {
+        for (String table : SOURCE_TABLES) {
+            createTriggers(database, table);
+        }
+    }
+
+    // 마이그레이션에서는 그 버전에 있는 테이블만 지정해서 호출
+    public static void createTriggers(@NonNull SupportSQLiteDatabase database, @NonNull String table) {
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS daily_stats_" + table + "_after_insert" +
+                " AFTER INSERT ON " + table + " BEGIN " + apply("NEW", "+") + "END");
+        // 집계에 영향을 주는 컬럼이 바뀐 경우에만 (제목/내용만 고친 경우 등은 건너뜀)
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS daily_stats_" + table + "_after_update" +
+                " AFTER UPDATE ON " + table + " WHEN " +
+                "OLD.is_completed IS NOT NEW.is_completed OR OLD.is_archived IS NOT NEW.is_archived OR " +
+                "OLD.category_id IS NOT NEW.category_id OR OLD.due_date IS NOT NEW.due_date OR " +
+                "OLD.created_at IS NOT NEW.created_at OR OLD.updated_at IS NOT NEW.updated_at " +
+                "BEGIN " + apply("OLD", "-") + apply("NEW", "+") + "END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS daily_stats_" + table + "_after_delete" +
+                " AFTER DELETE ON " + table + " BEGIN " + apply("OLD", "-") + "END");
+    }
+
+    // 할 일 전체로 집계 테이블을 다시 채운다 (시간대 변경 후 재계산 등)
+    public static void rebuild(@NonNull SupportSQLiteDatabase database) {
+        rebuild(database, SOURCE_TABLES);
+    }
+
+    public static void rebuild(@NonNull SupportSQLiteDatabase database, @NonNull String... tables) {
+        database.execSQL("DELETE FROM daily_stats");
+        database.execSQL("INSERT INTO daily_stats (" + COLUMNS + ") " + backfillSelect(tables));
+    }
+
+    // 트리거가 유지하는 값과 같은 결과를 원본 테이블에서 한 번에 계산
+    static String backfillSelect(String... tables) {
+        StringBuilder source = new StringBuilder();
+        for (String table : tables) {
+            if (source.length() > 0) source.append(" UNION ALL ");
+            source.append("SELECT due_date, created_at, updated_at, category_id, is_completed, is_archived FROM ")
+                    .append(table);
+        }
+        String todos = "(" + source + ")";
+        return "SELECT day, category_id, SUM(scheduled), SUM(scheduled_completed), SUM(created), SUM(completed), SUM(archived) " +
+                "FROM (" +
+                "SELECT " + localDay("COALESCE(due_date, created_at)") + " AS day, IFNULL(category_id, 0) AS category_id, " +
+                "1 AS scheduled, is_completed AS scheduled_completed, 0 AS created, 0 AS completed, is_archived AS archived " +
+                "FROM " + todos + " " +
+                "UNION ALL " +
+                "SELECT " + localDay("created_at") + ", IFNULL(category_id, 0), 0, 0, 1, 0, 0 FROM " + todos + " " +
+                "UNION ALL " +
+                "SELECT " + localDay("updated_at") + ", IFNULL(category_id, 0), 0, 0, 0, 1, 0 FROM " + todos + " WHERE is_completed = 1" +
+                ") WHERE day IS NOT NULL GROUP BY day, category_id";
+    }
+
+    // Getter / Setter (Room 매핑용)
+    @NonNull
+    public String getDay() { return day; }
+    public void setDay(@NonNull String day) { this.day = day; }
+
+    public int getCategoryId() { return categoryId; }
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
+
+    public int getScheduled() { return scheduled; }
+    public void setScheduled(int scheduled) { this.scheduled = scheduled; }
+
+    public int getScheduledCompleted() { return scheduledCompleted; }
+    public void setScheduledCompleted(int scheduledCompleted) { this.scheduledCompleted = scheduledCompleted; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getCompleted() { return completed; }
+    public void setCompleted(int completed) { this.completed = completed; }
+
+    public int getArchived() { return archived; }
+    public void setArchived(int archived) { this.archived = archived; }
+}
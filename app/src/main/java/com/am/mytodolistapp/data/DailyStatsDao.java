@@ -0,0 +1,69 @@
+package com.am.mytodolistapp.data;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+// daily_stats 집계 테이블 조회 (쓰기는 todo_table / todo_archive 트리거만 한다)
+// 모든 쿼리가 할 일 행이 아니라 (날짜 x 카테고리) 집계 행만 읽는다.
+
+/* StatisticsViewModel: 완료/미완료 개수, 이번 주 요일별 완료 수, 카테고리별 미완료 수
+   TaskListViewModel: 캘린더 월간 완료율 */
+@Dao
+public interface DailyStatsDao {
+
+    @Query("SELECT IFNULL(SUM(completed), 0) FROM daily_stats")
+    LiveData<Integer> countCompletedTodos();
+
+    // 전체 할 일 수 - 완료 수
+    @Query("SELECT IFNULL(SUM(created) - SUM(completed), 0) FROM daily_stats")
+    LiveData<Integer> countIncompleteTodos();
+
+    // [fromDay, toDay) 구간 날짜별 완료 수 ("yyyy-MM-dd", 기본키 범위 검색)
+    @Query("SELECT day, SUM(completed) AS count FROM daily_stats " +
+            "WHERE day >= :fromDay AND day < :toDay " +
+            "GROUP BY day HAVING count > 0")
+    LiveData<List<DayCount>> getCompletedCountsByDay(String fromDay, String toDay);
+
+    // 카테고리별 미완료 할 일 수 (카테고리 표시 순서, 카테고리 없음은 마지막)
+    @Query("SELECT NULLIF(s.category_id, 0) AS category_id, c.name AS category_name, c.color AS category_color, " +
+            "SUM(s.created) - SUM(s.completed) AS count " +
+            "FROM daily_stats s " +
+            "LEFT JOIN category_table c ON s.category_id = c.id " +
+            "GROUP BY s.category_id HAVING count > 0 " +
+            "ORDER BY s.category_id = 0, c.order_index ASC, c.created_at ASC")
+    LiveData<List<CategoryCount>> getIncompleteCountsByCategory();
+
+    // 캘린더 월간 완료율용 - [fromDay, toDay) 구간 날짜별 (전체, 완료) 개수
+    // 기한이 있으면 기한, 없으면 생성일 기준 (보관된 항목 포함, 캘린더 목록과 같은 기준)
+    @Query("SELECT day, SUM(scheduled) AS total, SUM(scheduled_completed) AS completed FROM daily_stats " +
+            "WHERE day >= :fromDay AND day < :toDay " +
+            "GROUP BY day HAVING total > 0")
+    LiveData<List<DayCompletion>> getDayCompletionCounts(String fromDay, String toDay);
+
+    // 모든 개수가 0이 된 집계 행 정리 (할 일이 삭제/이동되면 트리거는 행을 지우지 않고 0으로 남긴다)
+    @Query("DELETE FROM daily_stats WHERE scheduled = 0 AND scheduled_completed = 0 " +
+            "AND created = 0 AND completed = 0 AND archived = 0")
+    int deleteEmptyRows();
+
+    // ========== 데이터 클래스들 ==========
+    class DayCount {
+        public String day;
+        public int count;
+    }
+
+    class DayCompletion {
+        public String day;
+        public int total;
+        public int completed;
+    }
+
+    class CategoryCount {
+        public Integer category_id;
+        public String category_name;
+        public String category_color;
+        public int count;
+    }
+}
@@ -0,0 +1,123 @@
+package com.am.mytodolistapp.data;
+
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+// 데이터베이스 정리 작업 모음 (MaintenanceWorker가 기기 유휴/충전 중에 실행)
+// 화면을 여는 경로에서 하던 보관 처리를 여기로 옮기고, SQLite 유지보수 작업을 함께 실행한다.
+
+/* 1. 보관: 완료 후 하루가 지난 할 일을 todo_archive로 이동
+   2. 동기화 잔여 행 정리: 프로젝트/작업 ID가 없는 협업 할 일, 0만 남은 daily_stats 행
+   3. PRAGMA optimize: 쿼리 통계(sqlite_stat1) 갱신
+   4. incremental vacuum: 빈 페이지를 파일에서 반환 (처음 한 번은 auto_vacuum 모드 전환을 위해 전체 VACUUM)
+   각 단계의 처리 행 수와 소요 시간을 Report로 돌려준다. */
+public class DatabaseMaintenance {
+    private static final String TAG = "DatabaseMaintenance";
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private final AppDatabase db;
+
+    public DatabaseMaintenance(@NonNull AppDatabase db) {
+        this.db = db;
+    }
+
+    // 쓰기 스레드(AppDatabase.databaseWriteExecutor)에서 호출
+    public Report run() {
+        Report report = new Report();
+        long runStart = SystemClock.elapsedRealtime();
+        TodoDao todoDao = db.todoDao();
+        SupportSQLiteDatabase database = db.getOpenHelper().getWritableDatabase();
+
+        long stepStart = SystemClock.elapsedRealtime();
+        report.archivedRows = todoDao.archiveOldCompletedTodos(startOfToday());
+        report.archiveMs = SystemClock.elapsedRealtime() - stepStart;
+
+        stepStart = SystemClock.elapsedRealtime();
+        report.cleanedRows = db.runInTransaction(() ->
+                todoDao.deleteOrphanCollaborationTodos()
+                        + todoDao.deleteOrphanArchivedCollaborationTodos()
+                        + db.dailyStatsDao().deleteEmptyRows());
+        report.cleanupMs = SystemClock.elapsedRealtime() - stepStart;
+
+        stepStart = SystemClock.elapsedRealtime();
+        try (Cursor ignored = database.query("PRAGMA optimize")) {
+            // 결과 행은 없다
+        }
+        report.optimizeMs = SystemClock.elapsedRealtime() - stepStart;
+
+        stepStart = SystemClock.elapsedRealtime();
+        try {
+            report.freedPages = vacuum(database);
+        } catch (RuntimeException e) {
+            // 다른 연결이 읽는 중이면 실패할 수 있다 - 다음 실행에서 다시 시도
+            Log.w(TAG, "Vacuum skipped", e);
+        }
+        report.vacuumMs = SystemClock.elapsedRealtime() - stepStart;
+
+        report.totalMs = SystemClock.elapsedRealtime() - runStart;
+        Log.d(TAG, report.toString());
+        return report;
+    }
+
+    // 반환한 페이지 수
+    private int vacuum(SupportSQLiteDatabase database) {
+        int freePages = queryInt(database, "PRAGMA freelist_count");
+        if (queryInt(database, "PRAGMA auto_vacuum") != AUTO_VACUUM_INCREMENTAL) {
+            // auto_vacuum 모드는 VACUUM을 한 번 거쳐야 적용된다 (이후로는 incremental_vacuum만 실행)
+            database.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            database.execSQL("VACUUM");
+            return freePages;
+        }
+        if (freePages > 0) {
+            try (Cursor cursor = database.query("PRAGMA incremental_vacuum")) {
+                while (cursor.moveToNext()) {
+                    // 페이지를 반환하려면 결과를 끝까지 읽어야 한다
+                }
+            }
+        }
+        return freePages - queryInt(database, "PRAGMA freelist_count");
+    }
+
+    private static int queryInt(SupportSQLiteDatabase database, String sql) {
+        try (Cursor cursor = database.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    private static long startOfToday() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    // 한 번 실행한 결과 (처리 행 수, 단계별 소요 시간)
+    public static class Report {
+        public int archivedRows;
+        public int cleanedRows;
+        public int freedPages;
+        public long archiveMs;
+        public long cleanupMs;
+        public long optimizeMs;
+        public long vacuumMs;
+        public long totalMs;
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "maintenance: archived=%d (%dms) cleaned=%d (%dms) optimize=%dms vacuum=%d pages (%dms) total=%dms",
+                    archivedRows, archiveMs, cleanedRows, cleanupMs, optimizeMs, freedPages, vacuumMs, totalMs);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.am.mytodolistapp.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 데이터베이스 작업용 실행기 (레인 + 대기열 지표)
+// 읽기 풀은 같은 레인 안에서는 들어온 순서대로, 레인끼리는 USER_ACTION > SYNC > ANALYTICS 순서로 실행한다.
+// 쓰기는 레인과 상관없이 들어온 순서대로 실행한다 - 같은 행에 대한 동기화 쓰기와 사용자 쓰기가 뒤바뀌면 안 된다.
+
+/* AppDatabase.databaseWriteExecutor: 스레드 1개, FIFO - 모든 쓰기를 직렬화해 쓰기끼리 경쟁하지 않게 한다.
+   AppDatabase.databaseReadExecutor: 스레드 수가 제한된 읽기 전용 풀, 레인 우선순위 - 동기 조회, 개수 계산, 통계 계산
+   getQueueDepth / getStats: 레인별 대기 수, 대기 시간, 실행 시간 지표 (logStats: MaintenanceWorker가 하루 한 번 기록) */
+public class DbExecutor implements Executor {
+    private static final String TAG = "DbExecutor";
+
+    // 이 시간보다 오래 기다린 작업은 경고 로그를 남긴다
+    private static final long SLOW_WAIT_MS = 200;
+
+    // 선언 순서가 우선순위 (앞이 높음, 읽기 풀에서만)
+    public enum Lane {
+        USER_ACTION, // 사용자 조작 (추가, 수정, 완료 토글, 화면 조회)
+        SYNC,        // Firebase 동기화 반영
+        ANALYTICS    // 통계, 완료율 계산, 보관 처리 같은 배경 작업
+    }
+
+    private final String name;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LaneMetrics[] metrics = new LaneMetrics[Lane.values().length];
+
+    private DbExecutor(String name, int threadCount, boolean prioritized) {
+        this.name = name;
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = new LaneMetrics();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                prioritized ? new PriorityBlockingQueue<>() : new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 모든 쓰기를 한 스레드에서 들어온 순서대로 실행 (레인은 지표에만 쓴다)
+    public static DbExecutor singleWriter(String name) {
+        return new DbExecutor(name, 1, false);
+    }
+
+    // 읽기 전용 풀 (레인 우선순위)
+    public static DbExecutor readPool(String name, int threadCount) {
+        return new DbExecutor(name, threadCount, true);
+    }
+
+    // 레인을 지정하지 않으면 사용자 조작으로 취급
+    @Override
+    public void execute(@NonNull Runnable command) {
+        execute(Lane.USER_ACTION, command);
+    }
+
+    public void execute(@NonNull Lane lane, @NonNull Runnable command) {
+        metrics[lane.ordinal()].queued.incrementAndGet();
+        pool.execute(new LaneTask(lane, sequence.getAndIncrement(), command));
+    }
+
+    // 대기 중인 작업 수 (실행 중인 작업 제외)
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    public int getQueueDepth(@NonNull Lane lane) {
+        return metrics[lane.ordinal()].queued.get();
+    }
+
+    public LaneStats getStats(@NonNull Lane lane) {
+        LaneMetrics m = metrics[lane.ordinal()];
+        return new LaneStats(lane, m.queued.get(), m.completed.get(),
+                m.totalWaitNanos.get(), m.maxWaitNanos.get(), m.totalRunNanos.get(), m.maxRunNanos.get());
+    }
+
+    // 지표 요약을 로그로 남긴다
+    public void logStats() {
+        for (Lane lane : Lane.values()) {
+            Log.d(TAG, name + " " + getStats(lane));
+        }
+    }
+
+    private final class LaneTask implements Runnable, Comparable<LaneTask> {
+        private final Lane lane;
+        private final long order;
+        private final Runnable command;
+        private final long enqueuedAt = System.nanoTime();
+
+        LaneTask(Lane lane, long order, Runnable command) {
+            this.lane = lane;
+            this.order = order;
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            LaneMetrics m = metrics[lane.ordinal()];
+            m.queued.decrementAndGet();
+            long startedAt = System.nanoTime();
+            long waitNanos = startedAt - enqueuedAt;
+            m.totalWaitNanos.addAndGet(waitNanos);
+            m.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_WAIT_MS)) {
+                Log.w(TAG, name + " " + lane + " task waited " + TimeUnit.NANOSECONDS.toMillis(waitNanos)
+                        + "ms (queue depth " + getQueueDepth() + ")");
+            }
+            try {
+                command.run();
+            } finally {
+                long runNanos = System.nanoTime() - startedAt;
+                m.totalRunNanos.addAndGet(runNanos);
+                m.maxRunNanos.accumulateAndGet(runNanos, Math::max);
+                m.completed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public int compareTo(LaneTask other) {
+            int byLane = Integer.compare(lane.ordinal(), other.lane.ordinal());
+            return byLane != 0 ? byLane : Long.compare(order, other.order);
+        }
+    }
+
+    private static final class LaneMetrics {
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+        final AtomicLong totalRunNanos = new AtomicLong();
+        final AtomicLong maxRunNanos = new AtomicLong();
+    }
+
+    // 특정 시점의 레인 지표
+    public static class LaneStats {
+        public final Lane lane;
+        public final int queueDepth;
+        public final long completed;
+        public final long totalWaitNanos;
+        public final long maxWaitNanos;
+        public final long totalRunNanos;
+        public final long maxRunNanos;
+
+        LaneStats(Lane lane, int queueDepth, long completed, long totalWaitNanos, long maxWaitNanos,
+                  long totalRunNanos, long maxRunNanos) {
+            this.lane = lane;
+            this.queueDepth = queueDepth;
+            this.completed = completed;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.totalRunNanos = totalRunNanos;
+            this.maxRunNanos = maxRunNanos;
+        }
+
+        public double averageWaitMs() {
+            return completed == 0 ? 0 : totalWaitNanos / 1_000_000.0 / completed;
+        }
+
+        public double averageRunMs() {
+            return completed == 0 ? 0 : totalRunNanos / 1_000_000.0 / completed;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%s: queued=%d completed=%d avgWait=%.1fms maxWait=%.1fms avgRun=%.1fms maxRun=%.1fms",
+                    lane, queueDepth, completed, averageWaitMs(), maxWaitNanos / 1_000_000.0,
+                    averageRunMs(), maxRunNanos / 1_000_000.0);
+        }
+    }
+}
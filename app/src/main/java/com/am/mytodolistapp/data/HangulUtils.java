@@ -0,0 +1,54 @@
+package com.am.mytodolistapp.data;
+
+// 한글 초성(ㄱ, ㄴ, ㄷ ...) 검색을 위한 유틸리티
+// "회의 준비" -> "ㅎㅇ ㅈㅂ" 처럼 완성형 음절을 초성으로 바꾸고, 나머지 문자는 그대로 둔다.
+
+/* TodoSearch: 할 일 제목의 초성 검색 컬럼(title_chosung) 값을 만들 때 사용
+   CategoryViewModel: 카테고리 이름의 초성 컬럼(name_chosung) 값과 검색 범위를 만들 때 사용
+   AppDatabase: 마이그레이션에서 기존 행의 초성 컬럼을 채울 때 사용 */
+public final class HangulUtils {
+
+    private static final char HANGUL_BASE = 0xAC00; // '가'
+    private static final char HANGUL_LAST = 0xD7A3; // '힣'
+    private static final int SYLLABLES_PER_CHOSUNG = 21 * 28; // 중성 21개 * 종성 28개
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private HangulUtils() {}
+
+    // 문자열의 각 한글 음절을 초성으로 변환 (공백, 영문, 숫자 등은 유지)
+    public static String toChosung(String text) {
+        if (text == null) return null;
+
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                result.append(CHOSUNG[(c - HANGUL_BASE) / SYLLABLES_PER_CHOSUNG]);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    // 입력이 초성(호환 자모 자음)과 공백으로만 이루어졌는지 확인 - 예: "ㅎㅇ", "ㅎㅇ ㅈㅂ"
+    public static boolean isChosungQuery(String query) {
+        if (query == null || query.trim().isEmpty()) return false;
+
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c < 'ㄱ' || c > 'ㅎ') return false;
+        }
+        return true;
+    }
+
+    // 인덱스 범위 검색용 상한값: prefix <= value < prefixUpperBound(prefix)
+    public static String prefixUpperBound(String prefix) {
+        return prefix + '\uFFFF';
+    }
+}
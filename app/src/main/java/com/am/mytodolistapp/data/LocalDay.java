@@ -0,0 +1,43 @@
+package com.am.mytodolistapp.data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+// epoch millis <-> 기기 로컬 날짜(epoch day) 변환
+// todo_table의 due_day / created_day / completed_day / effective_day 컬럼이 이 값을 저장하므로
+// 화면에서는 Calendar로 하루의 시작/끝을 계산하지 않고 정수 비교만 한다.
+public final class LocalDay {
+
+    private LocalDay() {
+    }
+
+    public static int of(long epochMillis) {
+        return (int) Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    public static Integer ofNullable(Long epochMillis) {
+        return epochMillis != null ? of(epochMillis) : null;
+    }
+
+    public static int of(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    public static int today() {
+        return of(LocalDate.now());
+    }
+
+    public static LocalDate toDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    // 다음 로컬 자정까지 남은 시간 (ms) - 날짜가 바뀌는 시점에 화면을 다시 나눌 때 사용
+    public static long millisUntilNextDay(long epochMillis) {
+        ZonedDateTime now = Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault());
+        ZonedDateTime nextDay = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        return Duration.between(now, nextDay).toMillis();
+    }
+}
@@ -0,0 +1,142 @@
+package com.am.mytodolistapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+// todo_table / todo_archive 변경 기록 (트리거가 행 단위로 남긴다)
+// Room은 테이블 단위로만 무효화하므로 체크박스 하나를 눌러도 todo_table을 보는 모든 쿼리가 다시 실행된다.
+// TodoChangeTracker가 이 기록을 읽어 바뀐 행 / 컬럼 묶음에 해당하는 화면 데이터만 다시 읽게 한다.
+
+/* version: 변경 순서 (AUTOINCREMENT, TodoChangeTracker가 마지막으로 읽은 version 이후만 읽는다)
+   table_name: todo_table 또는 todo_archive
+   row_id: 바뀐 할 일 id
+   op: I(삽입) / U(수정) / D(삭제)
+   changed_columns: 바뀐 컬럼 묶음 비트 (아래 COL_*), 삽입/삭제는 ALL_COLUMNS
+   updated_at, 파생 컬럼(due_day 등)만 바뀐 수정은 기록하지 않는다.
+   기록은 최근 MAX_ENTRIES개만 남긴다 (트리거가 오래된 행을 지움). */
+@Entity(tableName = "todo_change_log")
+public class TodoChange {
+
+    public static final String TABLE_NAME = "todo_change_log";
+    static final int MAX_ENTRIES = 500;
+
+    public static final String OP_INSERT = "I";
+    public static final String OP_UPDATE = "U";
+    public static final String OP_DELETE = "D";
+
+    // 컬럼 묶음
+    public static final int COL_COMPLETED = 1;      // is_completed
+    public static final int COL_TITLE = 1 << 1;     // title, title_chosung
+    public static final int COL_CONTENT = 1 << 2;   // content
+    public static final int COL_CATEGORY = 1 << 3;  // category_id
+    public static final int COL_DATES = 1 << 4;     // due_date, created_at
+    public static final int COL_LOCATION = 1 << 5;  // location_*
+    public static final int COL_COLLABORATION = 1 << 6; // is_from_collaboration, project_*, 담당자 등
+    public static final int ALL_COLUMNS = (1 << 7) - 1;
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "version")
+    private long version;
+
+    @NonNull
+    @ColumnInfo(name = "table_name")
+    private String tableName = "";
+
+    @ColumnInfo(name = "row_id")
+    private int rowId;
+
+    @NonNull
+    @ColumnInfo(name = "op")
+    private String op = "";
+
+    @ColumnInfo(name = "changed_columns")
+    private int changedColumns;
+
+    public boolean isArchive() {
+        return "todo_archive".equals(tableName);
+    }
+
+    public boolean touches(int columns) {
+        return (changedColumns & columns) != 0;
+    }
+
+    // ========== 트리거 SQL ==========
+
+    // 묶음 비트 -> 컬럼 목록
+    private static final Object[][] COLUMN_GROUPS = {
+            {COL_COMPLETED, new String[]{"is_completed"}},
+            {COL_TITLE, new String[]{"title", "title_chosung"}},
+            {COL_CONTENT, new String[]{"content"}},
+            {COL_CATEGORY, new String[]{"category_id"}},
+            {COL_DATES, new String[]{"due_date", "created_at"}},
+            {COL_LOCATION, new String[]{"location_name", "location_latitude", "location_longitude",
+                    "location_radius", "location_enabled", "location_id"}},
+            {COL_COLLABORATION, new String[]{"is_from_collaboration", "project_id", "firebase_task_id",
+                    "project_name", "assigned_to", "created_by"}},
+    };
+
+    // UPDATE 트리거에서 바뀐 컬럼 묶음 비트를 계산하는 식
+    private static String changedColumnsSql() {
+        StringBuilder sql = new StringBuilder("(");
+        for (Object[] group : COLUMN_GROUPS) {
+            if (sql.length() > 1) sql.append(" | ");
+            sql.append("(CASE WHEN ");
+            String[] columns = (String[]) group[1];
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) sql.append(" OR ");
+                sql.append("OLD.").append(columns[i]).append(" IS NOT NEW.").append(columns[i]);
+            }
+            sql.append(" THEN ").append(group[0]).append(" ELSE 0 END)");
+        }
+        return sql.append(")").toString();
+    }
+
+    private static String insertLog(String table, String rowId, String op, String columns) {
+        return "INSERT INTO todo_change_log (table_name, row_id, op, changed_columns) " +
+                "VALUES ('" + table + "', " + rowId + ", '" + op + "', " + columns + "); ";
+    }
+
+    // 새 DB(onCreate)에서 호출
+    public static void createTriggers(@NonNull SupportSQLiteDatabase database) {
+        for (String table : DailyStats.SOURCE_TABLES) {
+            createTriggers(database, table);
+        }
+        // 오래된 기록 정리 (version 기본키 범위 삭제)
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS todo_change_log_trim AFTER INSERT ON todo_change_log " +
+                "BEGIN DELETE FROM todo_change_log WHERE version <= NEW.version - " + MAX_ENTRIES + "; END");
+    }
+
+    private static void createTriggers(SupportSQLiteDatabase database, String table) {
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS todo_change_log_" + table + "_after_insert" +
+                " AFTER INSERT ON " + table + " BEGIN " +
+                insertLog(table, "NEW.id", OP_INSERT, String.valueOf(ALL_COLUMNS)) + "END");
+        String changed = changedColumnsSql();
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS todo_change_log_" + table + "_after_update" +
+                " AFTER UPDATE ON " + table + " WHEN " + changed + " != 0 BEGIN " +
+                insertLog(table, "NEW.id", OP_UPDATE, changed) + "END");
+        database.execSQL("CREATE TRIGGER IF NOT EXISTS todo_change_log_" + table + "_after_delete" +
+                " AFTER DELETE ON " + table + " BEGIN " +
+                insertLog(table, "OLD.id", OP_DELETE, String.valueOf(ALL_COLUMNS)) + "END");
+    }
+
+    // Getter / Setter (Room 매핑용)
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    @NonNull
+    public String getTableName() { return tableName; }
+    public void setTableName(@NonNull String tableName) { this.tableName = tableName; }
+
+    public int getRowId() { return rowId; }
+    public void setRowId(int rowId) { this.rowId = rowId; }
+
+    @NonNull
+    public String getOp() { return op; }
+    public void setOp(@NonNull String op) { this.op = op; }
+
+    public int getChangedColumns() { return changedColumns; }
+    public void setChangedColumns(int changedColumns) { this.changedColumns = changedColumns; }
+}
@@ -0,0 +1,19 @@
+package com.am.mytodolistapp.data;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+// todo_change_log 조회 (쓰기는 todo_table / todo_archive 트리거만 한다)
+
+/* TodoChangeTracker: 마지막으로 읽은 version 이후의 변경만 읽는다 (기본키 범위 검색) */
+@Dao
+public interface TodoChangeDao {
+
+    @Query("SELECT IFNULL(MAX(version), 0) FROM todo_change_log")
+    long getLatestVersion();
+
+    @Query("SELECT * FROM todo_change_log WHERE version > :afterVersion ORDER BY version")
+    List<TodoChange> getChangesAfter(long afterVersion);
+}
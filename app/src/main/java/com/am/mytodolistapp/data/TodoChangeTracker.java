@@ -0,0 +1,228 @@
+package com.am.mytodolistapp.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// todo_change_log를 읽어 바뀐 행 / 컬럼 묶음을 화면 데이터 조각(Slice)별로 나눠 알려주는 클래스
+// Room LiveData는 todo_table에 쓰기만 하면 모든 쿼리를 다시 실행하지만,
+// 여기서는 변경 기록을 보고 영향을 받는 조각만 다시 읽는다.
+
+/* AppDatabase.getChangeTracker()로 앱 전체에서 하나를 쓴다.
+   InvalidationTracker는 todo_change_log 하나만 관찰한다 (변경 한 번에 기록 조회 한 번).
+   liveQuery: 조각 조건에 맞는 변경이 있을 때만 쿼리를 다시 실행하는 LiveData (캘린더, 위치, 프로젝트 목록)
+   Listener: 변경 기록을 직접 받아 행 단위로 고치는 경우 (TodoListPager)
+   기록이 잘려 중간 변경을 놓친 경우(대량 동기화 등) overflow로 알리고 모두 다시 읽는다. */
+public class TodoChangeTracker {
+    private static final String TAG = "TodoChangeTracker";
+
+    public interface Listener {
+        // 다시 읽었으면 true (변경 한 번에 실행된 쿼리 수 집계용)
+        boolean onTodosChanged(@NonNull List<TodoChange> changes, boolean overflow);
+    }
+
+    // 화면 데이터 한 조각이 어떤 변경에 다시 읽어야 하는지
+    public static final class Slice {
+        final String name;
+        final int membershipColumns; // 바뀌면 목록에 들어가고 나가는 행이 달라지는 컬럼 (목록에 없는 행이어도 다시 읽음)
+        final int displayedColumns;  // 목록에 있는 행에서 화면에 보이는 컬럼
+        final boolean includeArchive;
+        final String[] otherTables;  // 함께 조인하는 테이블 (category_table 등, 바뀌면 다시 읽음)
+
+        public Slice(@NonNull String name, int membershipColumns, int displayedColumns,
+                     boolean includeArchive, @NonNull String... otherTables) {
+            this.name = name;
+            this.membershipColumns = membershipColumns;
+            this.displayedColumns = displayedColumns;
+            this.includeArchive = includeArchive;
+            this.otherTables = otherTables;
+        }
+
+        boolean isAffectedBy(List<TodoChange> changes, Set<Integer> loadedIds) {
+            for (TodoChange change : changes) {
+                if (change.isArchive() && !includeArchive) continue;
+                switch (change.getOp()) {
+                    case TodoChange.OP_INSERT:
+                        return true; // 새 행이 조건에 맞는지는 다시 읽어야 안다
+                    case TodoChange.OP_DELETE:
+                        if (loadedIds.contains(change.getRowId())) return true;
+                        break;
+                    default:
+                        if (change.touches(membershipColumns)) return true;
+                        if (change.touches(displayedColumns) && loadedIds.contains(change.getRowId())) return true;
+                        break;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final AppDatabase database;
+    private final TodoChangeDao changeDao;
+    private final Executor executor;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private long lastVersion = -1; // this 로 동기화, -1: 아직 시작 전
+
+    // 변경 한 번(기록 조회 한 번)마다 다시 읽은 조각 수
+    private final AtomicInteger lastBatchRefreshes = new AtomicInteger();
+    private final AtomicInteger totalRefreshes = new AtomicInteger();
+    private final AtomicInteger totalSkipped = new AtomicInteger();
+
+    private final InvalidationTracker.Observer changeLogObserver =
+            new InvalidationTracker.Observer(TodoChange.TABLE_NAME) {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    executor.execute(TodoChangeTracker.this::drain);
+                }
+            };
+
+    TodoChangeTracker(AppDatabase database, Executor executor) {
+        this.database = database;
+        this.changeDao = database.todoChangeDao();
+        this.executor = executor;
+        executor.execute(() -> {
+            synchronized (this) {
+                lastVersion = changeDao.getLatestVersion();
+            }
+            database.getInvalidationTracker().addObserver(changeLogObserver);
+        });
+    }
+
+    public void addListener(@NonNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // 조각에 영향을 주는 변경이 있을 때만 query를 다시 실행하는 LiveData
+    // rowIds: 결과에 들어 있는 할 일 id (목록에 있는 행만 바뀐 경우를 가려내는 데 사용)
+    public <T> LiveData<T> liveQuery(@NonNull Slice slice, @NonNull Callable<T> query,
+                                     @NonNull Function<T, Collection<Integer>> rowIds) {
+        return new SliceLiveData<>(slice, query, rowIds);
+    }
+
+    public static Collection<Integer> listRowIds(List<TodoListRow> rows) {
+        Set<Integer> ids = new HashSet<>();
+        if (rows != null) {
+            for (TodoListRow row : rows) ids.add(row.id);
+        }
+        return ids;
+    }
+
+    public int getLastBatchRefreshCount() {
+        return lastBatchRefreshes.get();
+    }
+
+    public int getTotalRefreshCount() {
+        return totalRefreshes.get();
+    }
+
+    public int getTotalSkippedCount() {
+        return totalSkipped.get();
+    }
+
+    private synchronized void drain() {
+        if (lastVersion < 0) return;
+        List<TodoChange> changes = changeDao.getChangesAfter(lastVersion);
+        if (changes.isEmpty()) return;
+
+        // 기록 정리 트리거가 아직 읽지 않은 변경을 지웠으면 중간이 비어 있다
+        boolean overflow = changes.get(0).getVersion() > lastVersion + 1;
+        long fromVersion = lastVersion + 1;
+        lastVersion = changes.get(changes.size() - 1).getVersion();
+
+        int refreshed = 0;
+        for (Listener listener : listeners) {
+            if (listener.onTodosChanged(changes, overflow)) refreshed++;
+        }
+        int skipped = listeners.size() - refreshed;
+        lastBatchRefreshes.set(refreshed);
+        totalRefreshes.addAndGet(refreshed);
+        totalSkipped.addAndGet(skipped);
+        Log.d(TAG, "changes v" + fromVersion + "..v" + lastVersion + " (" + changes.size() + " rows"
+                + (overflow ? ", overflow" : "") + "): " + refreshed + " refreshed, " + skipped + " skipped");
+    }
+
+    // 조각 하나를 보는 LiveData - 화면에 관찰자가 있을 때만 변경을 받는다
+    private class SliceLiveData<T> extends LiveData<T> implements Listener {
+        private final Slice slice;
+        private final Callable<T> query;
+        private final Function<T, Collection<Integer>> rowIds;
+        private final AtomicInteger generation = new AtomicInteger();
+        private volatile Set<Integer> loadedIds = Collections.emptySet();
+
+        private final InvalidationTracker.Observer otherTablesObserver;
+
+        SliceLiveData(Slice slice, Callable<T> query, Function<T, Collection<Integer>> rowIds) {
+            this.slice = slice;
+            this.query = query;
+            this.rowIds = rowIds;
+            this.otherTablesObserver = slice.otherTables.length == 0 ? null :
+                    new InvalidationTracker.Observer(slice.otherTables) {
+                        @Override
+                        public void onInvalidated(@NonNull Set<String> tables) {
+                            refresh();
+                        }
+                    };
+        }
+
+        @Override
+        protected void onActive() {
+            addListener(this);
+            if (otherTablesObserver != null) {
+                executor.execute(() -> database.getInvalidationTracker().addObserver(otherTablesObserver));
+            }
+            refresh(); // 관찰하지 않는 동안의 변경은 받지 않았으므로 다시 읽는다
+        }
+
+        @Override
+        protected void onInactive() {
+            removeListener(this);
+            if (otherTablesObserver != null) {
+                database.getInvalidationTracker().removeObserver(otherTablesObserver);
+            }
+        }
+
+        @Override
+        public boolean onTodosChanged(@NonNull List<TodoChange> changes, boolean overflow) {
+            if (!overflow && !slice.isAffectedBy(changes, loadedIds)) {
+                return false;
+            }
+            refresh();
+            return true;
+        }
+
+        private void refresh() {
+            int requestGeneration = generation.incrementAndGet();
+            executor.execute(() -> {
+                if (requestGeneration != generation.get()) return; // 더 새로운 요청이 있음
+                T value;
+                try {
+                    value = query.call();
+                } catch (Exception e) {
+                    Log.e(TAG, "Slice query failed: " + slice.name, e);
+                    return;
+                }
+                if (requestGeneration != generation.get()) return;
+                loadedIds = new HashSet<>(rowIds.apply(value));
+                postValue(value);
+            });
+        }
+    }
+}
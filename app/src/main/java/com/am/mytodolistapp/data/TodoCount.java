@@ -0,0 +1,41 @@
+package com.am.mytodolistapp.data;
+
+import java.util.Map;
+import java.util.Objects;
+
+// 카테고리 / 위치별 할 일 개수 (한 번에 모든 행의 배지를 채운다)
+// 행마다 COUNT 쿼리를 따로 보내면 N개 행을 그리는 데 N번 왕복이 필요했다.
+
+/* TodoStore.Snapshot이 id -> 개수 맵(getCountsByCategory / getCountsByLocation)으로 들고 있고,
+   CategoryAdapter, LocationListAdapter가 바인딩한다. 스냅샷에 들어간 뒤에는 고치지 않는다. */
+public class TodoCount {
+
+    public static final TodoCount EMPTY = new TodoCount();
+
+    public int owner_id; // category_id 또는 location_id
+    public int active;
+    public int completed;
+
+    public int getTotal() {
+        return active + completed;
+    }
+
+    // 맵에 없는 id는 할 일이 없는 것
+    public static TodoCount of(Map<Integer, TodoCount> counts, int ownerId) {
+        TodoCount count = counts == null ? null : counts.get(ownerId);
+        return count != null ? count : EMPTY;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoCount that = (TodoCount) o;
+        return owner_id == that.owner_id && active == that.active && completed == that.completed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(owner_id, active, completed);
+    }
+}
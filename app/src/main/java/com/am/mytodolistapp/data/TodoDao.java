@@ -4,10 +4,20 @@ import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
+import com.am.mytodolistapp.data.firebase.ProjectTask;
+import com.am.mytodolistapp.data.sync.DataSyncUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface TodoDao {
@@ -24,7 +34,10 @@ public interface TodoDao {
     @Query("DELETE FROM todo_table")
     void deleteAllTodos();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("DELETE FROM todo_table WHERE id = :id")
+    void deleteTodoById(int id);
+
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_archived = 0 " + // 보관되지 않은 항목만 선택
@@ -34,14 +47,72 @@ public interface TodoDao {
     @Query("SELECT * FROM todo_table WHERE is_archived = 0 ORDER BY id DESC")
     LiveData<List<TodoItem>> getAllTodos();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    // 목록 화면용 컬럼 (TodoListRow) - t.* 대신 한 줄 표시에 필요한 값만 읽는다
+    String LIST_ROW_COLUMNS = "t.id, t.title, t.is_completed, t.due_date, t.created_at, t.updated_at, t.effective_day, " +
+            "t.category_id, t.location_id, t.is_from_collaboration, t.project_id, t.project_name, " +
+            "c.name as category_name, c.color as category_color ";
+
+    // TodoWithCategoryInfo 컬럼 - t.* 는 매핑하지 않는 컬럼(title_chosung, *_day)까지 읽어 CURSOR_MISMATCH 경고가 난다
+    String INFO_COLUMNS = "t.id, t.title, t.content, t.is_completed, t.category_id, t.location_name, " +
+            "t.location_latitude, t.location_longitude, t.location_radius, t.location_enabled, t.location_id, " +
+            "t.created_at, t.updated_at, t.due_date, t.is_from_collaboration, t.project_id, t.firebase_task_id, " +
+            "t.project_name, t.assigned_to, t.created_by, t.is_archived, ";
+
+    // todo_table / todo_archive 공통 컬럼 (is_archived 제외 - 옮길 때 값을 직접 지정)
+    String TODO_COPY_COLUMNS = "id, title, content, is_completed, category_id, location_name, " +
+            "location_latitude, location_longitude, location_radius, location_enabled, location_id, " +
+            "created_at, updated_at, due_date, is_from_collaboration, project_id, firebase_task_id, " +
+            "project_name, assigned_to, created_by, title_chosung, " +
+            "due_day, created_day, completed_day, effective_day";
+
+    // ========== 키셋 페이징 쿼리들 (메인 목록) ==========
+    // (effective_day, id) 순서로 마지막으로 읽은 행 다음부터 :limit 개만 읽는다 - 전체 할 일 수와 무관하게 일정한 비용
+    // 날짜 순서로 읽으므로 날짜 그룹(지난/오늘/미래)이 페이지 경계에서 섞이지 않는다
+    //   오늘부터: effective_day, id 오름차순 / 오늘 이전: effective_day, id 내림차순 (최근에 지난 할 일부터)
+    // effective_day 인덱스(뒤에 rowid 포함)로 범위와 정렬을 함께 처리한다
+    //   '+' 는 is_archived, is_from_collaboration 인덱스를 고르지 않게 한다 (고르면 전체를 읽어 정렬)
+    // :categoryId -1: 전체, 0: 카테고리 없음, 양수: 특정 카테고리 / :origins 는 is_from_collaboration 값 목록 (0: 개인, 1: 협업)
+    @Query("SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_table t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.effective_day >= :afterDay AND (t.effective_day > :afterDay OR t.id > :afterId) " +
+            "AND +t.is_archived = 0 AND +t.is_from_collaboration IN (:origins) " +
+            "AND (:categoryId = -1 OR t.category_id = :categoryId OR (:categoryId = 0 AND t.category_id IS NULL)) " +
+            "ORDER BY t.effective_day, t.id LIMIT :limit")
+    List<TodoListRow> getTodosPageAfter(int categoryId, List<Integer> origins, int afterDay, int afterId, int limit);
+
+    @Query("SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_table t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.effective_day <= :beforeDay AND (t.effective_day < :beforeDay OR t.id < :beforeId) " +
+            "AND +t.is_archived = 0 AND +t.is_from_collaboration IN (:origins) " +
+            "AND (:categoryId = -1 OR t.category_id = :categoryId OR (:categoryId = 0 AND t.category_id IS NULL)) " +
+            "ORDER BY t.effective_day DESC, t.id DESC LIMIT :limit")
+    List<TodoListRow> getTodosPageBefore(int categoryId, List<Integer> origins, int beforeDay, int beforeId, int limit);
+
+    // TodoStore 첫 로드 (카테고리 변경, 변경 기록 유실 시 다시 로드) - 보관되지 않은 할 일 전체, 목록 컬럼만
+    @Query("SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_table t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.is_archived = 0 " +
+            "ORDER BY t.id DESC")
+    List<TodoListRow> getAllListRows();
+
+    // 바뀐 행만 다시 읽는다 (TodoStore 스냅샷 갱신, TodoListPager 행 단위 갱신)
+    @Query("SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_table t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.id IN (:ids)")
+    List<TodoListRow> getListRowsByIds(Collection<Integer> ids);
+
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.category_id = :categoryId AND t.is_archived = 0 " +
             "ORDER BY t.id DESC")
     LiveData<List<TodoWithCategoryInfo>> getTodosByCategoryWithInfo(int categoryId);
 
-    @Query("SELECT t.*, null as category_name, null as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "null as category_name, null as category_color " +
             "FROM todo_table t " +
             "WHERE t.category_id IS NULL AND t.is_archived = 0 " +
             "ORDER BY t.id DESC")
@@ -53,17 +124,18 @@ public interface TodoDao {
     @Query("SELECT * FROM todo_table WHERE id = :id")
     TodoItem getTodoByIdSync(int id);
 
+    // 위치 할 일 목록 (TodoChangeTracker.liveQuery로 관찰)
     @Query("SELECT * FROM todo_table WHERE location_id = :locationId AND is_archived = 0 ORDER BY id DESC")
-    LiveData<List<TodoItem>> getTodosByLocationId(int locationId);
+    List<TodoItem> getTodosByLocationId(int locationId);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_completed = 1 " +
             "ORDER BY t.updated_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getCompletedTodosWithCategory();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_completed = 0 " +
@@ -73,49 +145,62 @@ public interface TodoDao {
     @Query("SELECT COUNT(*) FROM todo_table WHERE category_id = :categoryId")
     int countTodosByCategory(int categoryId);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    // FTS 전문 검색 - :matchQuery는 TodoSearch.toMatchQuery()로 만든 MATCH 식
+    // 순위는 match_info(matchinfo 'pcx')로 TodoSearch.sortByRank()에서 계산
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color, " +
+            "matchinfo(todo_fts, 'pcx') as match_info " +
+            "FROM todo_fts " +
+            "JOIN todo_table t ON t.id = todo_fts.rowid " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE todo_fts MATCH :matchQuery AND t.is_archived = 0")
+    LiveData<List<TodoSearchResult>> searchTodosWithCategory(String matchQuery);
+
+    // 부분 문자열 검색 - 전문 검색이 찾지 못하는 단어 중간 일치("회의" -> "팀회의")
+    // 색인을 쓰지 못하고 todo_table을 훑으므로 TodoRepository.searchTodos에서 전문 검색 결과가 없을 때만 부르고 개수를 제한한다.
+    // :pattern은 TodoSearch.toLikePattern()으로 만든 LIKE 식, match_info가 없으므로 최근 수정순
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color, NULL as match_info " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
-            "WHERE t.title LIKE '%' || :searchQuery || '%' AND t.is_archived = 0 " +
-            "ORDER BY t.updated_at DESC")
-    LiveData<List<TodoWithCategoryInfo>> searchTodosWithCategory(String searchQuery);
+            "WHERE (t.title LIKE :pattern ESCAPE '\\' OR t.content LIKE :pattern ESCAPE '\\') AND t.is_archived = 0 " +
+            "ORDER BY t.updated_at DESC LIMIT :limit")
+    List<TodoSearchResult> searchTodosBySubstring(String pattern, int limit);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.created_at BETWEEN :startDate AND :endDate " +
             "ORDER BY t.created_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getTodosByDateRangeWithCategory(long startDate, long endDate);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.due_date BETWEEN :startOfDay AND :endOfDay " +
             "ORDER BY t.due_date ASC")
     LiveData<List<TodoWithCategoryInfo>> getTodosByDueDateWithCategory(long startOfDay, long endOfDay);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.due_date IS NULL AND t.is_archived = 0 " +
             "ORDER BY t.created_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getTodosWithoutDueDateWithCategory();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.due_date < :currentTime AND t.is_archived = 0 AND t.is_completed = 0 " + // 완료되지 않은 항목만
             "ORDER BY t.due_date DESC")
     LiveData<List<TodoWithCategoryInfo>> getOverdueTodosWithCategory(long currentTime);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.due_date BETWEEN :startOfToday AND :endOfToday AND t.is_archived = 0 " +
             "ORDER BY t.due_date ASC")
     LiveData<List<TodoWithCategoryInfo>> getTodayTodosWithCategory(long startOfToday, long endOfToday);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.due_date > :endOfToday AND t.is_archived = 0 " +
@@ -123,20 +208,34 @@ public interface TodoDao {
     LiveData<List<TodoWithCategoryInfo>> getFutureTodosWithCategory(long endOfToday);
 
     // ========== 캘린더 전용 쿼리들  ==========
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    // 캘린더에서 선택한 날짜의 할 일 (보관된 항목 포함, 목록 컬럼만)
+    // effective_day(기한, 없으면 생성일의 로컬 날짜) 인덱스로 같은 날짜만 읽는다 (TodoChangeTracker.liveQuery로 관찰)
+    @Query("SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_table t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.effective_day = :day " +
+            "UNION ALL " +
+            "SELECT " + LIST_ROW_COLUMNS +
+            "FROM todo_archive t " +
+            "LEFT JOIN category_table c ON t.category_id = c.id " +
+            "WHERE t.effective_day = :day " +
+            "ORDER BY id DESC")
+    List<TodoListRow> getCalendarListRowsForDay(int day);
+
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "ORDER BY t.id DESC")
     LiveData<List<TodoWithCategoryInfo>> getAllTodosWithCategoryForCalendar();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.category_id = :categoryId " +
             "ORDER BY t.id DESC")
     LiveData<List<TodoWithCategoryInfo>> getTodosByCategoryWithInfoForCalendar(int categoryId);
 
-    @Query("SELECT t.*, null as category_name, null as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "null as category_name, null as category_color " +
             "FROM todo_table t " +
             "WHERE t.category_id IS NULL " +
             "ORDER BY t.id DESC")
@@ -146,33 +245,139 @@ public interface TodoDao {
     @Query("SELECT * FROM todo_table WHERE firebase_task_id = :firebaseTaskId LIMIT 1")
     TodoItem getTodoByFirebaseTaskId(String firebaseTaskId);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_from_collaboration = 1 AND t.is_archived = 0 " +
             "ORDER BY t.updated_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getCollaborationTodosWithCategory();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.project_id = :projectId AND t.is_archived = 0 " +
             "ORDER BY t.updated_at DESC")
-    LiveData<List<TodoWithCategoryInfo>> getTodosByProjectWithCategory(String projectId);
+    List<TodoWithCategoryInfo> getTodosByProjectWithCategory(String projectId); // TodoChangeTracker.liveQuery로 관찰
 
     @Query("SELECT * FROM todo_table WHERE project_id = :projectId")
     List<TodoItem> getTodosByProjectIdSync(String projectId);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    // 동기화용 - 보관된 할 일도 함께 (보관 행은 is_archived = 1)
+    @Query("SELECT " + TODO_COPY_COLUMNS + ", is_archived FROM todo_table WHERE project_id = :projectId " +
+            "UNION ALL " +
+            "SELECT " + TODO_COPY_COLUMNS + ", is_archived FROM todo_archive WHERE project_id = :projectId")
+    List<TodoItem> getTodosByProjectIdIncludingArchiveSync(String projectId);
+
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
-            "WHERE (t.is_from_collaboration = 0 OR t.is_from_collaboration IS NULL) AND t.is_archived = 0 " +
+            "WHERE t.is_from_collaboration = 0 AND t.is_archived = 0 " + // NOT NULL 컬럼이므로 인덱스를 타도록 단일 조건 사용
             "ORDER BY t.updated_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getLocalTodosWithCategory();
 
     @Query("DELETE FROM todo_table WHERE firebase_task_id = :firebaseTaskId")
     void deleteByFirebaseTaskId(String firebaseTaskId);
 
+    // ========== 협업 동기화 일괄 처리 ==========
+    // firebase_task_id 가 이미 다른 프로젝트에 있으면 -1 이 반환된다 (UNIQUE 인덱스)
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    List<Long> insertAll(List<TodoItem> todoItems);
+
+    @Update
+    int updateAll(List<TodoItem> todoItems);
+
+    @Delete
+    int deleteAll(List<TodoItem> todoItems);
+
+    // Firebase 프로젝트 스냅샷 전체를 로컬 DB에 한 트랜잭션으로 반영
+    // 기존 할 일은 한 번의 조회로 맵에 담고, 추가/수정/삭제를 목록 단위로 실행한다.
+    // 트랜잭션이 하나이므로 화면 갱신(Invalidation)도 스냅샷당 한 번만 일어난다.
+    @Transaction
+    default ProjectSyncResult syncProjectTasks(String projectId, String projectName, List<ProjectTask> projectTasks) {
+        // 보관된 할 일도 같은 조회로 읽는다 (없는 것으로 보고 다시 추가하지 않도록)
+        Map<String, TodoItem> existingTasksMap = new HashMap<>();
+        for (TodoItem item : getTodosByProjectIdIncludingArchiveSync(projectId)) {
+            if (item.getFirebaseTaskId() != null) {
+                existingTasksMap.put(item.getFirebaseTaskId(), item);
+            }
+        }
+
+        // 같은 taskId 가 중복으로 들어오면 마지막 것을 사용
+        Map<String, ProjectTask> incomingTasks = new LinkedHashMap<>();
+        for (ProjectTask projectTask : projectTasks) {
+            if (projectTask != null && projectTask.getTaskId() != null) {
+                incomingTasks.put(projectTask.getTaskId(), projectTask);
+            }
+        }
+
+        List<TodoItem> toInsert = new ArrayList<>();
+        List<ProjectTask> insertedTasks = new ArrayList<>();
+        List<TodoItem> toUpdate = new ArrayList<>();
+        List<TodoItem> toRestore = new ArrayList<>();
+        for (ProjectTask projectTask : incomingTasks.values()) {
+            TodoItem existingTodoItem = existingTasksMap.remove(projectTask.getTaskId());
+            if (existingTodoItem != null) {
+                if (existingTodoItem.isArchived()) {
+                    // 보관된 할 일은 완료 상태 그대로면 기록으로 두고, 다시 열렸으면 todo_table로 되돌린다
+                    if (!projectTask.isCompleted()) {
+                        existingTodoItem.setArchived(false);
+                        DataSyncUtil.updateTodoItemFromProjectTask(existingTodoItem, projectTask, projectName);
+                        toRestore.add(existingTodoItem);
+                        toUpdate.add(existingTodoItem);
+                    }
+                } else if (!DataSyncUtil.isDataSynced(existingTodoItem, projectTask)) {
+                    DataSyncUtil.updateTodoItemFromProjectTask(existingTodoItem, projectTask, projectName);
+                    toUpdate.add(existingTodoItem);
+                }
+            } else {
+                TodoItem newTodoItem = DataSyncUtil.convertProjectTaskToTodoItem(projectTask, projectName);
+                if (newTodoItem != null) {
+                    toInsert.add(newTodoItem);
+                    insertedTasks.add(projectTask);
+                }
+            }
+        }
+
+        //맵에 남은 할 일들은 Firebase에서 삭제된 것이므로 로컬에서도 삭제 (보관된 것 포함)
+        List<TodoItem> toDelete = new ArrayList<>();
+        ProjectSyncResult result = new ProjectSyncResult();
+        for (TodoItem item : existingTasksMap.values()) {
+            if (item.isArchived()) {
+                result.deleted += deleteArchivedTodoById(item.getId());
+            } else {
+                toDelete.add(item);
+            }
+        }
+
+        if (!toDelete.isEmpty()) {
+            result.deleted += deleteAll(toDelete);
+        }
+        for (TodoItem item : toRestore) {
+            copyArchivedTodoToActive(item.getId());
+            deleteArchivedTodoById(item.getId());
+        }
+        if (!toInsert.isEmpty()) {
+            List<Long> insertedIds = insertAll(toInsert);
+            for (int i = 0; i < insertedIds.size(); i++) {
+                if (insertedIds.get(i) != -1L) {
+                    result.inserted++;
+                    continue;
+                }
+                // 다른 프로젝트 쪽에 이미 저장된 할 일 - 기존 동작대로 내용만 갱신
+                ProjectTask projectTask = insertedTasks.get(i);
+                TodoItem existingTodoItem = getTodoByFirebaseTaskId(projectTask.getTaskId());
+                if (existingTodoItem != null && !DataSyncUtil.isDataSynced(existingTodoItem, projectTask)) {
+                    DataSyncUtil.updateTodoItemFromProjectTask(existingTodoItem, projectTask, projectName);
+                    toUpdate.add(existingTodoItem);
+                }
+            }
+        }
+        if (!toUpdate.isEmpty()) {
+            result.updated = updateAll(toUpdate);
+        }
+        return result;
+    }
+
     @Query("DELETE FROM todo_table WHERE project_id = :projectId")
     void deleteAllTodosByProjectId(String projectId);
 
@@ -192,22 +397,41 @@ public interface TodoDao {
             "GROUP BY project_id")
     List<ProjectCompletionRate> getProjectCompletionRates();
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_from_collaboration = 1 AND t.created_by = :userId AND t.is_archived = 0 " +
             "ORDER BY t.updated_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getCollaborationTodosByCreator(String userId);
 
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
+    @Query("SELECT " + INFO_COLUMNS + "c.name as category_name, c.color as category_color " +
             "FROM todo_table t " +
             "LEFT JOIN category_table c ON t.category_id = c.id " +
             "WHERE t.is_from_collaboration = 1 AND t.assigned_to = :userId AND t.is_archived = 0 " +
             "ORDER BY t.updated_at DESC")
     LiveData<List<TodoWithCategoryInfo>> getCollaborationTodosByAssignee(String userId);
 
+    // 로그아웃 - 보관된 협업 할 일도 함께 지운다 (남기면 캘린더에 계속 보인다)
+    @Transaction
+    default void deleteAllCollaborationTodos() {
+        deleteActiveCollaborationTodos();
+        deleteArchivedCollaborationTodos();
+    }
+
     @Query("DELETE FROM todo_table WHERE is_from_collaboration = 1")
-    void deleteAllCollaborationTodos();
+    void deleteActiveCollaborationTodos();
+
+    @Query("DELETE FROM todo_archive WHERE is_from_collaboration = 1")
+    void deleteArchivedCollaborationTodos();
+
+    // 프로젝트/작업 ID가 없어 어떤 동기화로도 갱신되거나 지워지지 않는 협업 할 일 (정리 작업용)
+    @Query("DELETE FROM todo_table WHERE is_from_collaboration = 1 " +
+            "AND (project_id IS NULL OR firebase_task_id IS NULL)")
+    int deleteOrphanCollaborationTodos();
+
+    @Query("DELETE FROM todo_archive WHERE is_from_collaboration = 1 " +
+            "AND (project_id IS NULL OR firebase_task_id IS NULL)")
+    int deleteOrphanArchivedCollaborationTodos();
 
     // ===== Geofence 관련 쿼리들 =====
     @Query("SELECT * FROM todo_table WHERE location_enabled = 1 AND is_completed = 0 AND is_archived = 0")
@@ -225,31 +449,162 @@ public interface TodoDao {
     @Insert
     long insertAndGetId(TodoItem todoItem);
 
-    @Query("UPDATE todo_table SET is_archived = 1 WHERE is_completed = 1 AND updated_at < :yesterdayTimestamp")
-    void archiveOldCompletedTodos(long yesterdayTimestamp);
+    // ========== 보관 테이블 (todo_archive) ==========
+    @Query("INSERT INTO todo_archive (" + TODO_COPY_COLUMNS + ", is_archived) " +
+            "SELECT " + TODO_COPY_COLUMNS + ", 1 FROM todo_table " +
+            "WHERE is_completed = 1 AND updated_at < :yesterdayTimestamp")
+    void copyOldCompletedTodosToArchive(long yesterdayTimestamp);
+
+    @Query("DELETE FROM todo_table WHERE is_completed = 1 AND updated_at < :yesterdayTimestamp")
+    int deleteOldCompletedTodos(long yesterdayTimestamp);
+
+    // 완료 후 하루가 지난 할 일을 todo_archive로 옮긴다 (복사와 삭제를 한 트랜잭션으로)
+    // 옮긴 행 수를 돌려준다
+    @Transaction
+    default int archiveOldCompletedTodos(long yesterdayTimestamp) {
+        copyOldCompletedTodosToArchive(yesterdayTimestamp);
+        return deleteOldCompletedTodos(yesterdayTimestamp);
+    }
 
-    // 캘린더 완료율 계산용 - 보관된 완료 항목도 포함
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
-            "FROM todo_table t " +
-            "LEFT JOIN category_table c ON t.category_id = c.id " +
-            "WHERE t.is_completed = 1 " +
-            "ORDER BY t.updated_at DESC")
-    LiveData<List<TodoWithCategoryInfo>> getAllCompletedTodosWithCategoryIncludingArchived();
+    @Query("INSERT INTO todo_table (" + TODO_COPY_COLUMNS + ", is_archived) " +
+            "SELECT " + TODO_COPY_COLUMNS + ", 0 FROM todo_archive WHERE id = :id")
+    void copyArchivedTodoToActive(int id);
 
-    // 캘린더 완료율 계산용 - 보관되지 않은 미완료 항목
-    @Query("SELECT t.*, c.name as category_name, c.color as category_color " +
-            "FROM todo_table t " +
-            "LEFT JOIN category_table c ON t.category_id = c.id " +
-            "WHERE t.is_completed = 0 AND t.is_archived = 0 " +
-            "ORDER BY t.created_at DESC")
-    LiveData<List<TodoWithCategoryInfo>> getAllIncompleteTodosWithCategoryForStats();
+    @Query("DELETE FROM todo_archive WHERE id = :id")
+    int deleteArchivedTodoById(int id);
+
+    // id로 할 일을 읽는다. todo_table에 없고 보관되어 있으면 todo_table로 되돌린 뒤 돌려준다
+    // (캘린더에서 보관된 할 일을 수정/토글하는 경우)
+    @Transaction
+    default TodoItem getOrRestoreTodoSync(int id) {
+        TodoItem todoItem = getTodoByIdSync(id);
+        if (todoItem != null) {
+            return todoItem;
+        }
+        return restoreArchivedTodo(id) ? getTodoByIdSync(id) : null;
+    }
+
+    // 보관된 할 일을 todo_table로 되돌린다. 보관 테이블에 없으면 false
+    @Transaction
+    default boolean restoreArchivedTodo(int id) {
+        copyArchivedTodoToActive(id);
+        return deleteArchivedTodoById(id) > 0;
+    }
+
+    // ========== 필드 단위 쓰기 ==========
+    // 행 전체를 읽고 @Update로 모든 컬럼을 다시 쓰는 대신 바뀌는 컬럼만 한 문장으로 고친다.
+    // 읽기-수정-쓰기 사이에 동기화가 같은 행의 다른 컬럼을 고쳐도 덮어쓰지 않는다.
+    // updated_at / completed_day는 TodoItem 세터·게터와 같은 규칙으로 맞춘다:
+    // 협업 할 일은 updated_at을 그대로 두고(Firebase 기준 시각), 완료된 할 일의 completed_day는 updated_at의 로컬 날짜.
+    // (RETURNING은 SQLite 3.35 이상이라 minSdk 26에서 쓸 수 없어, 바뀐 행 수로 결과를 돌려준다)
+
+    String TOUCH_UPDATED_AT = "updated_at = CASE WHEN is_from_collaboration = 1 THEN updated_at ELSE :now END, ";
+
+    // 쓰기 후 updated_at의 로컬 날짜 (SET 안의 컬럼은 바뀌기 전 값)
+    String TOUCHED_LOCAL_DAY = "CASE WHEN is_from_collaboration = 1 " +
+            "THEN CAST(julianday(date(updated_at / 1000, 'unixepoch', 'localtime')) - 2440587.5 AS INTEGER) " +
+            "ELSE :today END";
+
+    @Query("UPDATE todo_table SET is_completed = NOT is_completed, " + TOUCH_UPDATED_AT +
+            "completed_day = CASE WHEN is_completed = 1 THEN NULL ELSE " + TOUCHED_LOCAL_DAY + " END " +
+            "WHERE id = :id")
+    int toggleCompletedInPlace(int id, long now, int today);
+
+    // 이미 같은 상태면 바꾸지 않는다 (0 반환)
+    @Query("UPDATE todo_table SET is_completed = :completed, " + TOUCH_UPDATED_AT +
+            "completed_day = CASE WHEN :completed THEN " + TOUCHED_LOCAL_DAY + " ELSE NULL END " +
+            "WHERE id = :id AND is_completed != :completed")
+    int setCompletedInPlace(int id, boolean completed, long now, int today);
+
+    @Query("UPDATE todo_table SET title = :title, title_chosung = :titleChosung, " + TOUCH_UPDATED_AT +
+            "completed_day = CASE WHEN is_completed = 1 THEN " + TOUCHED_LOCAL_DAY + " ELSE NULL END " +
+            "WHERE id = :id")
+    int updateTitleInPlace(int id, String title, String titleChosung, long now, int today);
+
+    @Query("UPDATE todo_table SET due_date = :dueDate, due_day = :dueDay, " +
+            "effective_day = COALESCE(:dueDay, created_day), " + TOUCH_UPDATED_AT +
+            "completed_day = CASE WHEN is_completed = 1 THEN " + TOUCHED_LOCAL_DAY + " ELSE NULL END " +
+            "WHERE id = :id")
+    int updateDueDateInPlace(int id, Long dueDate, Integer dueDay, long now, int today);
+
+    // 편집 다이얼로그에서 고치는 컬럼 (제목, 완료, 카테고리, 기한)
+    @Query("UPDATE todo_table SET title = :title, title_chosung = :titleChosung, category_id = :categoryId, " +
+            "due_date = :dueDate, due_day = :dueDay, effective_day = COALESCE(:dueDay, created_day), " +
+            "is_completed = :completed, " + TOUCH_UPDATED_AT +
+            "completed_day = CASE WHEN :completed THEN " + TOUCHED_LOCAL_DAY + " ELSE NULL END " +
+            "WHERE id = :id")
+    int updateEditedFieldsInPlace(int id, String title, String titleChosung, Integer categoryId,
+                                  Long dueDate, Integer dueDay, boolean completed, long now, int today);
+
+    // 아래 메서드들은 보관된 할 일(캘린더)이면 todo_table로 되돌린 뒤 고친다. 고쳤으면 true
+    // todo_table에 있으면 UPDATE 한 문장으로 끝난다.
+
+    @Transaction
+    default boolean toggleCompleted(int id, long now) {
+        int today = LocalDay.of(now);
+        return toggleCompletedInPlace(id, now, today) > 0
+                || restoreArchivedTodo(id) && toggleCompletedInPlace(id, now, today) > 0;
+    }
+
+    @Transaction
+    default boolean setCompleted(int id, boolean completed, long now) {
+        int today = LocalDay.of(now);
+        return setCompletedInPlace(id, completed, now, today) > 0
+                || restoreArchivedTodo(id) && setCompletedInPlace(id, completed, now, today) > 0;
+    }
+
+    @Transaction
+    default boolean updateTitle(int id, String title, long now) {
+        int today = LocalDay.of(now);
+        String titleChosung = TodoSearch.toTitleChosung(title);
+        return updateTitleInPlace(id, title, titleChosung, now, today) > 0
+                || restoreArchivedTodo(id) && updateTitleInPlace(id, title, titleChosung, now, today) > 0;
+    }
+
+    @Transaction
+    default boolean updateDueDate(int id, Long dueDate, long now) {
+        int today = LocalDay.of(now);
+        Integer dueDay = LocalDay.ofNullable(dueDate);
+        return updateDueDateInPlace(id, dueDate, dueDay, now, today) > 0
+                || restoreArchivedTodo(id) && updateDueDateInPlace(id, dueDate, dueDay, now, today) > 0;
+    }
+
+    @Transaction
+    default boolean updateEditedFields(int id, String title, boolean completed, Integer categoryId,
+                                       Long dueDate, long now) {
+        int today = LocalDay.of(now);
+        String titleChosung = TodoSearch.toTitleChosung(title);
+        Integer dueDay = LocalDay.ofNullable(dueDate);
+        return updateEditedFieldsInPlace(id, title, titleChosung, categoryId, dueDate, dueDay, completed, now, today) > 0
+                || restoreArchivedTodo(id)
+                && updateEditedFieldsInPlace(id, title, titleChosung, categoryId, dueDate, dueDay, completed, now, today) > 0;
+    }
+
+    @Query("DELETE FROM todo_archive")
+    void deleteAllArchivedTodos();
+
+    @Query("DELETE FROM todo_archive WHERE project_id = :projectId")
+    void deleteArchivedTodosByProjectId(String projectId);
+
+    @Query("DELETE FROM todo_archive WHERE firebase_task_id = :firebaseTaskId")
+    void deleteArchivedByFirebaseTaskId(String firebaseTaskId);
 
     // ========== 데이터 클래스들 ==========
+    class ProjectSyncResult {
+        public int inserted;
+        public int updated;
+        public int deleted;
+    }
+
     public static class ProjectCompletionRate {
         public String project_id;
         public float completion_rate;
     }
 
+    class TodoSearchResult extends TodoWithCategoryInfo {
+        public byte[] match_info;
+    }
+
     class TodoWithCategoryInfo {
 
         public int id;
@@ -301,5 +656,25 @@ public interface TodoDao {
             todoItem.setArchived(this.is_archived);
             return todoItem;
         }
+
+        // 목록 화면 한 줄 (검색 결과를 메인 목록 어댑터로 보여줄 때)
+        public TodoListRow toListRow() {
+            TodoListRow row = new TodoListRow();
+            row.id = this.id;
+            row.title = this.title;
+            row.is_completed = this.is_completed;
+            row.due_date = this.due_date;
+            row.created_at = this.created_at;
+            row.updated_at = this.updated_at;
+            row.effective_day = LocalDay.of(this.due_date != null ? this.due_date : this.created_at);
+            row.category_id = this.category_id;
+            row.location_id = this.location_id;
+            row.is_from_collaboration = this.is_from_collaboration;
+            row.project_id = this.project_id;
+            row.project_name = this.project_name;
+            row.category_name = this.category_name;
+            row.category_color = this.category_color;
+            return row;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.am.mytodolistapp.data;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+// todo_table의 제목/내용/제목 초성을 색인하는 FTS4 가상 테이블 (external content)
+// 실제 데이터는 todo_table에만 있고, 이 테이블은 색인만 가진다.
+// Room이 todo_table의 INSERT/UPDATE/DELETE 트리거를 만들어 색인을 자동으로 동기화한다.
+@Fts4(contentEntity = TodoItem.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "todo_fts")
+public class TodoFts {
+
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    private int rowId; // todo_table.id 와 같은 값
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "content")
+    private String content;
+
+    @ColumnInfo(name = "title_chosung")
+    private String titleChosung; // 초성 검색 ("ㅎㅇ" -> "회의")
+
+    public int getRowId() { return rowId; }
+    public void setRowId(int rowId) { this.rowId = rowId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public String getTitleChosung() { return titleChosung; }
+    public void setTitleChosung(String titleChosung) { this.titleChosung = titleChosung; }
+}
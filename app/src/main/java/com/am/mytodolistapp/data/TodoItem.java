@@ -16,7 +16,19 @@ import java.util.Objects;
                 childColumns = "location_id",
                 onDelete = ForeignKey.CASCADE
         ),
-        indices = {@Index(value = "location_id")}
+        indices = {
+                @Index(value = "location_id"),
+                @Index(value = "firebase_task_id", unique = true),
+                @Index(value = "is_archived"), // 메인 목록 (ORDER BY id는 rowid로 해결)
+                @Index(value = {"category_id", "is_archived"}),
+                @Index(value = {"is_completed", "updated_at"}), // 완료 목록, 보관 처리
+                @Index(value = {"is_completed", "is_archived", "created_at"}), // 미완료 목록, 지오펜스
+                @Index(value = {"due_date", "is_archived"}),
+                @Index(value = {"project_id", "is_archived"}),
+                @Index(value = {"is_from_collaboration", "is_archived", "updated_at"}),
+                @Index(value = "created_at"),
+                @Index(value = "effective_day") // 캘린더 날짜별 조회, 메인 목록 페이지 (뒤에 붙는 rowid로 id 순서까지)
+        }
 )
 public class TodoItem {
 
@@ -84,6 +96,23 @@ public class TodoItem {
     @ColumnInfo(name = "is_archived", defaultValue = "false")
     private boolean isArchived;//보관 상태 필드
 
+    @ColumnInfo(name = "title_chosung")
+    private String titleChosung; // 초성 검색용 파생 컬럼 (TodoSearch.fillSearchFields에서 채움)
+
+    // ========== 로컬 날짜 파생 컬럼 (LocalDay, epoch day) ==========
+    // 저장할 때 getter가 원본 시각에서 다시 계산하므로 원본 컬럼과 어긋나지 않는다.
+    @ColumnInfo(name = "due_day")
+    private Integer dueDay;
+
+    @ColumnInfo(name = "created_day")
+    private int createdDay;
+
+    @ColumnInfo(name = "completed_day")
+    private Integer completedDay; // 완료된 경우 마지막 수정일
+
+    @ColumnInfo(name = "effective_day")
+    private int effectiveDay; // 캘린더 기준 날짜 - 기한, 없으면 생성일
+
     // ========== 생성자들 ==========
 
     public TodoItem() {
@@ -262,23 +291,66 @@ public class TodoItem {
     }
 
     public boolean isDueToday() {
-        if (dueDate == null) return false;
-        long today = System.currentTimeMillis();
-        long dayInMillis = 24 * 60 * 60 * 1000;
-        long startOfToday = today - (today % dayInMillis);
-        long endOfToday = startOfToday + dayInMillis - 1;
-        return dueDate >= startOfToday && dueDate <= endOfToday;
+        // 로컬 날짜 기준 (UTC 자정으로 나누면 시간대에 따라 하루가 어긋난다)
+        return dueDate != null && LocalDay.of(dueDate) == LocalDay.today();
     }
 
     public boolean canSyncToFirebase() {
         return isFromCollaboration && firebaseTaskId != null && !firebaseTaskId.isEmpty();
     }
 
+    // 모든 컬럼을 그대로 복사 (TodoItemCache가 캐시한 객체를 호출자가 고쳐도 캐시가 바뀌지 않도록)
+    public TodoItem copy() {
+        TodoItem copy = new TodoItem();
+        copy.id = id;
+        copy.title = title;
+        copy.content = content;
+        copy.isCompleted = isCompleted;
+        copy.categoryId = categoryId;
+        copy.locationName = locationName;
+        copy.locationLatitude = locationLatitude;
+        copy.locationLongitude = locationLongitude;
+        copy.locationRadius = locationRadius;
+        copy.locationEnabled = locationEnabled;
+        copy.locationId = locationId;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.dueDate = dueDate;
+        copy.isFromCollaboration = isFromCollaboration;
+        copy.projectId = projectId;
+        copy.firebaseTaskId = firebaseTaskId;
+        copy.projectName = projectName;
+        copy.assignedTo = assignedTo;
+        copy.createdBy = createdBy;
+        copy.isArchived = isArchived;
+        copy.titleChosung = titleChosung;
+        copy.dueDay = dueDay;
+        copy.createdDay = createdDay;
+        copy.completedDay = completedDay;
+        copy.effectiveDay = effectiveDay;
+        return copy;
+    }
+
     public boolean isArchived() { return isArchived; }
     public void setArchived(boolean archived) {
         isArchived = archived;
     }
 
+    public String getTitleChosung() { return titleChosung; }
+    public void setTitleChosung(String titleChosung) { this.titleChosung = titleChosung; }
+
+    public Integer getDueDay() { return LocalDay.ofNullable(dueDate); }
+    public void setDueDay(Integer dueDay) { this.dueDay = dueDay; }
+
+    public int getCreatedDay() { return LocalDay.of(createdAt); }
+    public void setCreatedDay(int createdDay) { this.createdDay = createdDay; }
+
+    public Integer getCompletedDay() { return isCompleted ? LocalDay.of(updatedAt) : null; }
+    public void setCompletedDay(Integer completedDay) { this.completedDay = completedDay; }
+
+    public int getEffectiveDay() { return dueDate != null ? LocalDay.of(dueDate) : LocalDay.of(createdAt); }
+    public void setEffectiveDay(int effectiveDay) { this.effectiveDay = effectiveDay; }
+
     // ========== Object 메서드 오버라이드 ==========
 
     @Override
@@ -0,0 +1,150 @@
+package com.am.mytodolistapp.data;
+
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+// id로 읽는 TodoItem의 크기 제한(LRU) 캐시
+// 완료 토글, 지오펜스 알림, 위치 할 일 수정처럼 같은 할 일을 반복해서 읽는 경로가 SQLite를 매번 거치지 않게 한다.
+
+/* 일관성: 모든 쓰기(동기화 반영, 보관 처리, 트리거 포함)는 todo_change_log에 남으므로
+   TodoChangeTracker 리스너로 바뀐 행을 지운다. 기록이 잘렸으면(overflow) 모두 지운다.
+   캐시 항목마다 "어느 변경 기록 version까지 반영된 값인지"를 함께 저장해,
+   그보다 뒤의 변경만 항목을 지운다 - 직접 쓰고 넣은 값(write-through)이 자기 변경 기록으로 지워지지 않는다.
+   TodoRepository: 전체 엔티티 저장 후 put, 필드 단위 쓰기 후 invalidate
+   MyTodoApplication.onTrimMemory: trimMemory(level) */
+public class TodoItemCache implements TodoChangeTracker.Listener {
+    private static final String TAG = "TodoItemCache";
+
+    static final int MAX_ENTRIES = 200;
+
+    private final AppDatabase database;
+    private final TodoDao todoDao;
+    private final TodoChangeDao changeDao;
+    private final LruCache<Integer, Entry> cache;
+
+    // this 로 동기화 - 캐시에 넣기와 변경 기록 반영이 섞이지 않게 한다
+    private long lastSeenVersion;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    TodoItemCache(AppDatabase database, TodoChangeTracker changeTracker, int maxEntries) {
+        this.database = database;
+        this.todoDao = database.todoDao();
+        this.changeDao = database.todoChangeDao();
+        this.cache = new LruCache<>(maxEntries);
+        changeTracker.addListener(this);
+    }
+
+    TodoItemCache(AppDatabase database, TodoChangeTracker changeTracker) {
+        this(database, changeTracker, MAX_ENTRIES);
+    }
+
+    // 캐시에 있으면 복사본, 없으면 DB에서 읽어 넣는다 (DB 스레드에서 호출)
+    @Nullable
+    public TodoItem get(int id) {
+        synchronized (this) {
+            Entry entry = cache.get(id);
+            if (entry != null) {
+                hits++;
+                return entry.item.copy();
+            }
+            misses++;
+        }
+        // 행보다 먼저 version을 읽는다 - 그 사이의 변경은 version이 더 커서 항목을 지운다
+        long version = changeDao.getLatestVersion();
+        TodoItem item = todoDao.getTodoByIdSync(id);
+        if (item != null) {
+            putIfCurrent(item.copy(), version);
+        }
+        return item;
+    }
+
+    // 전체 엔티티를 저장한 뒤 그 값으로 캐시를 채운다 (쓰기 스레드에서 호출)
+    // 저장과 version 읽기를 한 트랜잭션으로 묶어 다른 쓰기가 끼어들지 않게 한다
+    public void updateAndPut(@NonNull TodoItem item) {
+        long version = database.runInTransaction(() -> {
+            todoDao.update(item);
+            return changeDao.getLatestVersion();
+        });
+        putIfCurrent(item.copy(), version);
+    }
+
+    // 필드 단위 쓰기처럼 결과 엔티티가 없을 때 - 다음 읽기에서 다시 읽는다
+    public synchronized void invalidate(int id) {
+        if (cache.remove(id) != null) evictions++;
+    }
+
+    public synchronized void clear() {
+        cache.evictAll();
+    }
+
+    // 메모리가 부족하면 줄이거나 비운다 (ComponentCallbacks2 trim level)
+    public synchronized void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+        Log.d(TAG, "trim level " + level + " -> " + cache.size() + " entries (" + getStats() + ")");
+    }
+
+    private synchronized void putIfCurrent(TodoItem item, long version) {
+        // 이미 반영한 변경 기록이 이 값보다 새로우면 그 변경을 놓쳤을 수 있으므로 넣지 않는다
+        if (lastSeenVersion > version) return;
+        cache.put(item.getId(), new Entry(item, version));
+    }
+
+    @Override
+    public synchronized boolean onTodosChanged(@NonNull List<TodoChange> changes, boolean overflow) {
+        lastSeenVersion = Math.max(lastSeenVersion, changes.get(changes.size() - 1).getVersion());
+        if (overflow) {
+            evictions += cache.size();
+            cache.evictAll();
+            return false;
+        }
+        for (TodoChange change : changes) {
+            Entry entry = cache.get(change.getRowId());
+            if (entry != null && change.getVersion() > entry.version) {
+                cache.remove(change.getRowId());
+                evictions++;
+            }
+        }
+        return false; // 다시 읽는 쿼리는 없다
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized String getStats() {
+        long total = hits + misses;
+        return "size " + cache.size() + "/" + cache.maxSize() + ", hits " + hits + ", misses " + misses
+                + (total > 0 ? " (" + (hits * 100 / total) + "%)" : "") + ", evictions " + evictions;
+    }
+
+    private static final class Entry {
+        final TodoItem item;
+        final long version; // 이 값이 반영하고 있는 마지막 변경 기록
+
+        Entry(TodoItem item, long version) {
+            this.item = item;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.am.mytodolistapp.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.am.mytodolistapp.StartupTrace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+// 메인 할 일 목록을 (effective_day, id) 키셋 방식으로 페이지 단위로 불러오는 클래스
+// 전체 목록을 한 번에 읽지 않고, 화면에 필요한 만큼만 읽어 목록을 여는 비용을 일정하게 유지한다.
+
+/* 날짜 순서로 읽으므로 날짜 그룹(지난/오늘/미래)은 페이지 경계에서 섞이지 않는다 - 불러온 범위 안의 그룹은 빠진 행이 없다.
+   두 구간을 따로 읽는다 (처음 열 때 각 구간의 첫 페이지)
+     오늘부터: effective_day, id 오름차순 (오늘 할 일이 먼저)
+     오늘 이전: effective_day, id 내림차순 (최근에 지난 할 일부터)
+   목록 값은 오늘 이전 구간 뒤에 오늘부터 구간을 붙인 것이다.
+   TaskListViewModel: 필터(카테고리, 협업/개인)와 오늘 날짜를 설정하고, 스크롤이 끝에 닿으면 loadNextPage()를 호출
+   TodoDao: getTodosPageAfter / getTodosPageBefore 키셋 쿼리 사용
+   TodoChangeTracker: 할 일 변경을 행 단위로 받아 불러온 행만 고친다 (삭제는 목록에서 빼고, 수정은 그 행만 다시 읽음).
+     바뀐 행은 TodoStore 스냅샷에 이미 있으면 거기서 꺼낸다 (같은 변경으로 같은 행을 두 번 읽지 않는다).
+     새 할 일, 날짜나 필터 조건 컬럼 변경, category_table 변경일 때만 지금까지 불러온 범위를 다시 읽는다. */
+public class TodoListPager implements TodoChangeTracker.Listener {
+    private static final String TAG = "TodoListPager";
+
+    public static final int PAGE_SIZE = 50;
+
+    // 목록 한 줄에 보이는 컬럼 (내용, 위치만 바뀐 경우는 다시 읽지 않는다)
+    private static final int DISPLAYED_COLUMNS = TodoChange.COL_COMPLETED | TodoChange.COL_TITLE
+            | TodoChange.COL_CATEGORY | TodoChange.COL_DATES | TodoChange.COL_COLLABORATION;
+
+    private final AppDatabase database;
+    private final TodoDao todoDao;
+    private final TodoChangeTracker changeTracker;
+    @Nullable
+    private final TodoStore store; // 없으면 바뀐 행을 직접 읽는다
+    private final Executor executor;
+    private final MutableLiveData<List<TodoListRow>> items = new MutableLiveData<>();
+
+    // 아래 상태는 모두 this 로 동기화
+    private final Window before = new Window(); // 오늘 이전
+    private final Window after = new Window();  // 오늘부터
+    private boolean loadingNextPage;
+    private int generation; // 필터/오늘 날짜가 바뀔 때마다 증가 - 이전 조건으로 시작된 로드 결과를 버리기 위해 사용
+    private int rangeReloads; // 불러온 범위를 다시 읽을 때마다 증가 - 그 전에 시작된 다음 페이지는 버린다
+    private Filter filter = new Filter(-1, Arrays.asList(0, 1), LocalDay.today());
+
+    // 카테고리 이름/색이 바뀌면 불러온 범위를 다시 읽는다
+    private final InvalidationTracker.Observer categoryObserver =
+            new InvalidationTracker.Observer("category_table") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    executor.execute(TodoListPager.this::reloadLoadedRange);
+                }
+            };
+
+    // TodoStore를 먼저 만들어 변경 추적기에 먼저 등록되게 한다 (같은 변경 묶음에서 스냅샷이 먼저 갱신됨)
+    public TodoListPager(AppDatabase database) {
+        this(database, database.getTodoStore(), database.getChangeTracker(), AppDatabase.databaseReadExecutor);
+    }
+
+    TodoListPager(AppDatabase database, TodoChangeTracker changeTracker, Executor executor) {
+        this(database, null, changeTracker, executor);
+    }
+
+    TodoListPager(AppDatabase database, @Nullable TodoStore store, TodoChangeTracker changeTracker,
+                  Executor executor) {
+        this.database = database;
+        this.todoDao = database.todoDao();
+        this.store = store;
+        this.changeTracker = changeTracker;
+        this.executor = executor;
+        changeTracker.addListener(this);
+        executor.execute(() ->
+                database.getInvalidationTracker().addObserver(categoryObserver));
+    }
+
+    public LiveData<List<TodoListRow>> getItems() {
+        return items;
+    }
+
+    // 필터를 바꾸고 첫 페이지부터 다시 불러온다
+    public void setFilter(int categoryFilter, boolean showCollaboration, boolean showLocal) {
+        List<Integer> newOrigins = new ArrayList<>();
+        if (showLocal) newOrigins.add(0);
+        if (showCollaboration) newOrigins.add(1);
+        int today;
+        synchronized (this) {
+            today = filter.today;
+        }
+        restart(new Filter(categoryFilter, newOrigins, today));
+    }
+
+    // 자정이 지나면 오늘 이전/오늘부터 구간을 새 날짜로 나눠 첫 페이지부터 다시 불러온다
+    public void setToday(int today) {
+        Filter current;
+        synchronized (this) {
+            current = filter;
+        }
+        if (current.today != today) {
+            restart(new Filter(current.categoryFilter, current.origins, today));
+        }
+    }
+
+    // 다음 페이지 요청 (스크롤이 목록 끝에 가까워졌을 때) - 끝나지 않은 구간마다 한 페이지씩
+    public void loadNextPage() {
+        final int requestGeneration;
+        synchronized (this) {
+            if ((before.endReached && after.endReached) || loadingNextPage) return;
+            loadingNextPage = true;
+            requestGeneration = generation;
+        }
+        executor.execute(() -> loadPage(requestGeneration));
+    }
+
+    public synchronized boolean hasMore() {
+        return !before.endReached || !after.endReached;
+    }
+
+    public void release() {
+        changeTracker.removeListener(this);
+        database.getInvalidationTracker().removeObserver(categoryObserver);
+    }
+
+    @Override
+    public boolean onTodosChanged(@NonNull List<TodoChange> changes, boolean overflow) {
+        Set<Integer> removedIds = new HashSet<>();
+        Set<Integer> patchIds = new HashSet<>();
+        boolean reload = overflow;
+        final int requestGeneration;
+        synchronized (this) {
+            requestGeneration = generation;
+            // 날짜가 바뀌면 목록 안 위치가, 필터에 쓰는 컬럼이 바뀌면 목록에 들어가고 나가는 행이 달라진다
+            int membershipColumns = TodoChange.COL_DATES
+                    | (filter.categoryFilter != -1 ? TodoChange.COL_CATEGORY : 0)
+                    | (filter.origins.size() < 2 ? TodoChange.COL_COLLABORATION : 0);
+            Set<Integer> loadedIds = new HashSet<>();
+            for (TodoListRow row : before.rows) loadedIds.add(row.id);
+            for (TodoListRow row : after.rows) loadedIds.add(row.id);
+
+            for (TodoChange change : changes) {
+                if (reload) break;
+                if (change.isArchive()) continue; // 메인 목록은 보관된 할 일을 보여주지 않는다
+                int id = change.getRowId();
+                switch (change.getOp()) {
+                    case TodoChange.OP_INSERT:
+                        reload = true;
+                        break;
+                    case TodoChange.OP_DELETE:
+                        if (loadedIds.contains(id)) removedIds.add(id);
+                        patchIds.remove(id);
+                        break;
+                    default:
+                        if (change.touches(membershipColumns)) {
+                            reload = true;
+                        } else if (loadedIds.contains(id) && change.touches(DISPLAYED_COLUMNS)) {
+                            patchIds.add(id);
+                        }
+                        break;
+                }
+            }
+        }
+
+        if (reload) {
+            executor.execute(this::reloadLoadedRange);
+            return true;
+        }
+        if (removedIds.isEmpty() && patchIds.isEmpty()) {
+            return false;
+        }
+        long version = changes.get(changes.size() - 1).getVersion();
+        executor.execute(() -> applyPatch(requestGeneration, version, removedIds, patchIds));
+        return !patchIds.isEmpty(); // 삭제만 있으면 쿼리 없이 목록에서 뺀다
+    }
+
+    private void restart(Filter newFilter) {
+        final int requestGeneration;
+        synchronized (this) {
+            filter = newFilter;
+            generation++;
+            requestGeneration = generation;
+            before.clear();
+            after.clear();
+            loadingNextPage = false;
+        }
+        executor.execute(() -> loadPage(requestGeneration));
+    }
+
+    // 바뀐 행만 다시 읽어 제자리에서 바꾸고, 삭제된 행은 뺀다 (날짜가 그대로라 위치는 바뀌지 않는다)
+    private void applyPatch(int requestGeneration, long version, Set<Integer> removedIds, Set<Integer> patchIds) {
+        Map<Integer, TodoListRow> patched = store != null && !patchIds.isEmpty()
+                ? store.getRowsIfCurrent(patchIds, version) : null;
+        if (patched == null) {
+            patched = new HashMap<>();
+            if (!patchIds.isEmpty()) {
+                for (TodoListRow row : todoDao.getListRowsByIds(patchIds)) {
+                    patched.put(row.id, row);
+                }
+            }
+        }
+
+        synchronized (this) {
+            if (requestGeneration != generation) return;
+            before.patch(removedIds, patchIds, patched);
+            after.patch(removedIds, patchIds, patched);
+            publish();
+        }
+        Log.d(TAG, "Patched rows: " + patched.size() + " updated, " + removedIds.size() + " removed");
+    }
+
+    private void loadPage(int requestGeneration) {
+        Filter query;
+        TodoListRow lastBefore;
+        TodoListRow lastAfter;
+        boolean loadBefore;
+        boolean loadAfter;
+        int reloads;
+        synchronized (this) {
+            if (requestGeneration != generation) return;
+            query = filter;
+            loadBefore = !before.endReached;
+            loadAfter = !after.endReached;
+            lastBefore = before.last();
+            lastAfter = after.last();
+            reloads = rangeReloads;
+        }
+
+        long queryStart = StartupTrace.now();
+        List<TodoListRow> beforePage = loadBefore ? queryBefore(query, lastBefore, PAGE_SIZE) : null;
+        List<TodoListRow> afterPage = loadAfter ? queryAfter(query, lastAfter, PAGE_SIZE) : null;
+        StartupTrace.markFirstQuery(queryStart); // 앱 시작 후 첫 조회만 기록
+
+        synchronized (this) {
+            loadingNextPage = false;
+            // 그 사이에 범위를 다시 읽었으면 마지막 행이 달라졌다 - 다음 스크롤에서 다시 요청한다
+            if (requestGeneration != generation || reloads != rangeReloads) return;
+            if (beforePage != null) before.append(beforePage, PAGE_SIZE);
+            if (afterPage != null) after.append(afterPage, PAGE_SIZE);
+            publish();
+        }
+        Log.d(TAG, "Loaded page: " + (beforePage != null ? beforePage.size() : 0) + " before, "
+                + (afterPage != null ? afterPage.size() : 0) + " from today " + query.today);
+    }
+
+    // 데이터 변경 시 구간마다 지금까지 불러온 개수만큼만 처음부터 다시 읽는다
+    private void reloadLoadedRange() {
+        int requestGeneration;
+        Filter query;
+        int beforeLimit;
+        int afterLimit;
+        synchronized (this) {
+            requestGeneration = generation;
+            query = filter;
+            beforeLimit = Math.max(PAGE_SIZE, before.rows.size());
+            afterLimit = Math.max(PAGE_SIZE, after.rows.size());
+        }
+
+        List<TodoListRow> beforeRange = queryBefore(query, null, beforeLimit);
+        List<TodoListRow> afterRange = queryAfter(query, null, afterLimit);
+
+        synchronized (this) {
+            if (requestGeneration != generation) return;
+            before.clear();
+            before.append(beforeRange, beforeLimit);
+            after.clear();
+            after.append(afterRange, afterLimit);
+            rangeReloads++;
+            publish();
+        }
+    }
+
+    // last 다음 행부터 (null이면 어제부터) effective_day, id 내림차순
+    private List<TodoListRow> queryBefore(Filter query, @Nullable TodoListRow last, int limit) {
+        if (query.origins.isEmpty()) return Collections.emptyList();
+        int day = last != null ? last.effective_day : query.today - 1;
+        int id = last != null ? last.id : Integer.MAX_VALUE;
+        return todoDao.getTodosPageBefore(query.categoryFilter, query.origins, day, id, limit);
+    }
+
+    // last 다음 행부터 (null이면 오늘부터) effective_day, id 오름차순
+    private List<TodoListRow> queryAfter(Filter query, @Nullable TodoListRow last, int limit) {
+        if (query.origins.isEmpty()) return Collections.emptyList();
+        int day = last != null ? last.effective_day : query.today;
+        int id = last != null ? last.id : Integer.MIN_VALUE;
+        return todoDao.getTodosPageAfter(query.categoryFilter, query.origins, day, id, limit);
+    }
+
+    private void publish() {
+        List<TodoListRow> list = new ArrayList<>(before.rows.size() + after.rows.size());
+        list.addAll(before.rows);
+        list.addAll(after.rows);
+        items.postValue(list);
+    }
+
+    // 한 번 정한 조회 조건 (바꿀 때는 새로 만든다)
+    private static final class Filter {
+        final int categoryFilter; // -1: 전체, 0: 카테고리 없음, 양수: 특정 카테고리 ID
+        final List<Integer> origins;
+        final int today; // LocalDay - 두 구간을 나누는 날짜
+
+        Filter(int categoryFilter, List<Integer> origins, int today) {
+            this.categoryFilter = categoryFilter;
+            this.origins = origins;
+            this.today = today;
+        }
+    }
+
+    // 한 구간에서 지금까지 불러온 행 (TodoListPager 로 동기화)
+    private static final class Window {
+        final List<TodoListRow> rows = new ArrayList<>();
+        boolean endReached;
+
+        @Nullable
+        TodoListRow last() {
+            return rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        }
+
+        void clear() {
+            rows.clear();
+            endReached = false;
+        }
+
+        void append(List<TodoListRow> page, int requested) {
+            rows.addAll(page);
+            endReached = page.size() < requested;
+        }
+
+        void patch(Set<Integer> removedIds, Set<Integer> patchIds, Map<Integer, TodoListRow> patched) {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                int id = rows.get(i).id;
+                if (removedIds.contains(id) || (patchIds.contains(id) && !patched.containsKey(id))) {
+                    rows.remove(i); // 다시 읽는 사이에 지워진 행 포함
+                } else if (patched.containsKey(id)) {
+                    rows.set(i, patched.get(id));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.am.mytodolistapp.data;
+
+import java.util.Objects;
+
+// 목록 화면 한 줄에 필요한 컬럼만 담는 가벼운 조회 결과 (Room 프로젝션)
+// 위치, 내용, 담당자 같은 필드는 읽지 않으므로 CursorWindow와 힙 사용량이 줄어든다.
+// 전체 TodoItem은 수정 저장이나 완료 토글처럼 실제로 필요한 시점에 id로 다시 읽는다.
+
+/* TodoDao: getTodosPageAfter / getCalendarListRowsForDay 등 목록용 쿼리가 이 클래스로 결과를 돌려준다.
+   TaskListViewModel.TodoWithCategory: 이 행을 감싸 어댑터에 전달 (행을 고치지 않고 withCompleted 등으로 복사본을 만든다)
+   TodoStore: 앱 전체가 공유하는 스냅샷도 이 행으로 들고 있다 (읽은 뒤에는 바꾸지 않는다) */
+public class TodoListRow {
+
+    public int id;
+    public String title;
+    public boolean is_completed;
+    public Long due_date;
+    public long created_at;
+    public long updated_at;
+    public int effective_day; // 로컬 epoch day (LocalDay) - 기한, 없으면 생성일
+    public Integer category_id;
+    public Integer location_id; // TodoStore 위치별 개수
+    public boolean is_from_collaboration;
+    public String project_id;   // TodoStore 프로젝트별 묶음
+    public String project_name;
+    public String category_name;
+    public String category_color;
+
+    // 협업 할 일이면 [프로젝트명]을 붙인 제목 (TodoItem.getDisplayTitle과 동일)
+    public String getDisplayTitle() {
+        if (is_from_collaboration && project_name != null && !project_name.isEmpty()) {
+            return "[" + project_name + "] " + title;
+        }
+        return title;
+    }
+
+    // 완료 상태만 바꾼 복사본 (화면 즉시 반영용)
+    public TodoListRow withCompleted(boolean completed) {
+        TodoListRow copy = new TodoListRow();
+        copy.id = id;
+        copy.title = title;
+        copy.is_completed = completed;
+        copy.due_date = due_date;
+        copy.created_at = created_at;
+        copy.updated_at = updated_at;
+        copy.effective_day = effective_day;
+        copy.category_id = category_id;
+        copy.location_id = location_id;
+        copy.is_from_collaboration = is_from_collaboration;
+        copy.project_id = project_id;
+        copy.project_name = project_name;
+        copy.category_name = category_name;
+        copy.category_color = category_color;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TodoListRow that = (TodoListRow) o;
+        return id == that.id &&
+                is_completed == that.is_completed &&
+                created_at == that.created_at &&
+                updated_at == that.updated_at &&
+                effective_day == that.effective_day &&
+                is_from_collaboration == that.is_from_collaboration &&
+                Objects.equals(title, that.title) &&
+                Objects.equals(due_date, that.due_date) &&
+                Objects.equals(category_id, that.category_id) &&
+                Objects.equals(location_id, that.location_id) &&
+                Objects.equals(project_id, that.project_id) &&
+                Objects.equals(project_name, that.project_name) &&
+                Objects.equals(category_name, that.category_name) &&
+                Objects.equals(category_color, that.category_color);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, is_completed, due_date, created_at, updated_at, effective_day, category_id,
+                location_id, is_from_collaboration, project_id, project_name, category_name, category_color);
+    }
+}
@@ -4,12 +4,16 @@ import android.app.Application;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
 
 import com.am.mytodolistapp.data.sync.CollaborationSyncService;
 import com.am.mytodolistapp.ui.location.LocationBasedTaskViewModel;
 import com.am.mytodolistapp.ui.task.TaskListViewModel;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // 앱의 데이터 소스를 관리하고 비즈니스 로직을 처리하는 Repository 클래스
 // ViewModel과 데이터 소스(Room, Firebase 등) 사이의 중개자 역할
@@ -17,7 +21,7 @@ import java.util.List;
 // ViewModel은 데이터가 로컬 DB에서 오는지, 원격 서버에서 오는지 알 필요 없이 Repository에만 데이터를 요청한다.
 // 모든 데이터 관련 로직(CRUD, 동기화 제어 등)이 이 클래스에 모여있어 관리가 용이
 
-// 모든 데이터베이스 작업은 `AppDatabase.databaseWriteExecutor`를 통해 백그라운드 스레드에서 실행
+// 쓰기 작업은 `AppDatabase.databaseWriteExecutor`(단일 스레드), 조회/통계는 `AppDatabase.databaseReadExecutor`를 통해 백그라운드 스레드에서 실행
 
 /* TaskListViewModel, LocationBasedTaskViewModel 등: 이 Repository를 통해 데이터를 요청하고 UI에 필요한 데이터를 얻는다.
    AppDatabase, TodoDao: 로컬 데이터베이스에 접근하기 위해 사용
@@ -26,8 +30,17 @@ import java.util.List;
 public class TodoRepository {
     private static final String TAG = "TodoRepository";
 
+    // 프로젝트 할 일 목록 - 협업 정보(프로젝트)가 바뀐 할 일, 새 할 일, 이미 보이는 할 일의 변경에만 다시 읽는다
+    private static final TodoChangeTracker.Slice PROJECT_TODOS_SLICE = new TodoChangeTracker.Slice(
+            "project_todos", TodoChange.COL_COLLABORATION, TodoChange.ALL_COLUMNS, false, "category_table");
+
+    // 전문 검색 결과가 없을 때 부분 문자열 검색으로 보여줄 최대 개수
+    static final int SUBSTRING_SEARCH_LIMIT = 100;
+
     private TodoDao mTodoDao; // 로컬 할 일 데이터에 접근하기 위한 DAO
-    private LiveData<List<TodoItem>> mAllTodos; // 모든 할 일 목록을 관찰 가능한 LiveData
+    private TodoChangeTracker mChangeTracker; // 행 단위 변경 추적 (영향받는 목록만 다시 읽음)
+    private WriteCoalescer mWriteCoalescer; // 연속 토글/편집을 모아 한 트랜잭션으로 반영
+    private TodoItemCache mTodoItemCache; // id로 읽는 TodoItem 캐시 (write-through)
     private CollaborationSyncService collaborationSyncService; // 협업 데이터 동기화
     private Application application;
 
@@ -35,18 +48,17 @@ public class TodoRepository {
         this.application = application;
         AppDatabase db = AppDatabase.getDatabase(application);
         mTodoDao = db.todoDao();
-        mAllTodos = mTodoDao.getAllTodos();  // 모든 할 일 목록 LiveData 초기화
+        mChangeTracker = db.getChangeTracker();
+        mWriteCoalescer = db.getWriteCoalescer();
+        mTodoItemCache = db.getTodoItemCache();
 
         // 협업 동기화 서비스
         collaborationSyncService = CollaborationSyncService.getInstance(application);
         Log.d(TAG, "TodoRepository initialized");
     }
 
-    public LiveData<List<TodoItem>> getAllTodos() {
-        return mAllTodos;
-    }  //모든 할 일 목록을 LiveData 형태로 반환하고 ViewModel은 이 LiveData를 관찰하여 UI를 업데이트한다.
-
     public void insert(TodoItem todoItem) {
+        TodoSearch.fillSearchFields(todoItem);
         AppDatabase.databaseWriteExecutor.execute(() -> {
             long insertedId = mTodoDao.insertAndGetId(todoItem);
             Log.d(TAG, "Inserted new todo with ID: " + insertedId + ", title: " + todoItem.getTitle());
@@ -54,8 +66,9 @@ public class TodoRepository {
     } // 새로운 할 일을 로컬 데이터베이스에 삽입
 
     public void update(TodoItem todoItem) {
+        TodoSearch.fillSearchFields(todoItem);
         AppDatabase.databaseWriteExecutor.execute(() -> {
-            mTodoDao.update(todoItem);
+            mTodoItemCache.updateAndPut(todoItem); // 저장한 값으로 캐시도 채운다
             Log.d(TAG, "Updated todo: " + todoItem.getTitle());
             if (todoItem.isFromCollaboration()) {
                 Log.d(TAG, "Syncing collaboration todo update to Firebase: " + todoItem.getTitle());
@@ -74,15 +87,74 @@ public class TodoRepository {
         });
     } // 할 일을 삭제
 
+    public void deleteTodoById(int todoId) {
+        AppDatabase.databaseWriteExecutor.execute(() -> {
+            mTodoDao.deleteTodoById(todoId);
+            mTodoDao.deleteArchivedTodoById(todoId); // 캘린더에서 보관된 할 일을 삭제한 경우
+            mTodoItemCache.invalidate(todoId);
+            Log.d(TAG, "Deleted todo by id: " + todoId);
+        });
+    } // 목록 행(TodoListRow)에서 삭제할 때 - 전체 엔티티 없이 id로 삭제
+
+    // 목록 행에서 완료 상태를 바꿀 때 - UPDATE 한 문장으로 바꾸고, 협업 할 일만 Firebase 전송용으로 다시 읽는다
+    // 보관된 할 일(캘린더)이면 todo_table로 되돌린 뒤 바꾼다
+    // 연속으로 누르면 WriteCoalescer가 마지막 상태 하나만 남겨 다른 쓰기와 함께 한 트랜잭션으로 반영한다
+    public void setTodoCompleted(int todoId, boolean fromCollaboration, boolean completed) {
+        long now = System.currentTimeMillis();
+        mWriteCoalescer.submit(WriteCoalescer.todoKey(todoId), "completed",
+                () -> {
+                    boolean changed = mTodoDao.setCompleted(todoId, completed, now);
+                    mTodoItemCache.invalidate(todoId);
+                    return changed;
+                },
+                () -> {
+                    Log.d(TAG, "Updated todo completion: " + todoId + " -> " + completed);
+                    if (fromCollaboration) {
+                        syncCompletionToFirebase(todoId);
+                    }
+                });
+    }
+
+    // 편집 다이얼로그에서 고친 컬럼(제목, 완료, 카테고리, 기한)만 저장 - 개인 할 일용
+    public void updateEditedFields(TodoItem editedItem) {
+        int todoId = editedItem.getId();
+        String title = editedItem.getTitle();
+        boolean completed = editedItem.isCompleted();
+        Integer categoryId = editedItem.getCategoryId();
+        Long dueDate = editedItem.getDueDate();
+        long now = System.currentTimeMillis();
+        mWriteCoalescer.submit(WriteCoalescer.todoKey(todoId), "edit",
+                () -> {
+                    boolean changed = mTodoDao.updateEditedFields(todoId, title, completed, categoryId, dueDate, now);
+                    mTodoItemCache.invalidate(todoId);
+                    return changed;
+                },
+                () -> Log.d(TAG, "Local todo updated: " + title));
+    }
+
+    private void syncCompletionToFirebase(int todoId) {
+        TodoItem updated = mTodoItemCache.get(todoId);
+        if (updated != null && updated.isFromCollaboration()) {
+            collaborationSyncService.syncCompletionToFirebase(updated);
+        }
+    }
+
     public void deleteAllTodos() {
         AppDatabase.databaseWriteExecutor.execute(() -> {
             mTodoDao.deleteAllTodos();
+            mTodoDao.deleteAllArchivedTodos();
             Log.d(TAG, "Deleted all todos");
         });
     } // 모든 할 일을 삭제
 
+    // 캐시를 거쳐 읽는다 - DB 스레드에서 호출
     public TodoItem getTodoByIdSync(int id) {
-        return mTodoDao.getTodoByIdSync(id);
+        return mTodoItemCache.get(id);
+    }
+
+    // 캐시 적중/실패 수 등 (로그, 디버그용)
+    public String getTodoCacheStats() {
+        return mTodoItemCache.getStats();
     }
 
     public void startCollaborationSync() {
@@ -115,48 +187,65 @@ public class TodoRepository {
         }
     } // 수동으로 데이터 동기화 요청
 
-    public LiveData<List<TodoDao.TodoWithCategoryInfo>> getCollaborationTodos() {
-        return mTodoDao.getCollaborationTodosWithCategory();
-    }
-
-    public LiveData<List<TodoDao.TodoWithCategoryInfo>> getLocalTodos() {
-        return mTodoDao.getLocalTodosWithCategory();
+    // 제목/내용 전문 검색 - 단어별 접두어 일치, 제목 일치를 우선으로 정렬
+    // 초성만 입력한 경우("ㅎㅇ")는 title_chosung 색인에서 찾아진다.
+    // 전문 검색은 단어 중간을 찾지 못하므로("회의"로 "팀회의"), 일치하는 단어가 하나도 없을 때만
+    // 예전처럼 부분 문자열(LIKE)로 다시 찾는다 - 이때는 전체를 훑으므로 SUBSTRING_SEARCH_LIMIT개까지, 최근 수정순
+    public LiveData<List<TodoDao.TodoSearchResult>> searchTodos(String query) {
+        String matchQuery = TodoSearch.toMatchQuery(query);
+        if (matchQuery == null) {
+            return new MutableLiveData<>(new ArrayList<>());
+        }
+        String likePattern = TodoSearch.toLikePattern(query);
+        MediatorLiveData<List<TodoDao.TodoSearchResult>> results = new MediatorLiveData<>();
+        AtomicInteger generation = new AtomicInteger(); // 늦게 끝난 LIKE 결과가 새 전문 검색 결과를 덮지 않도록
+        results.addSource(mTodoDao.searchTodosWithCategory(matchQuery), matches -> {
+            int current = generation.incrementAndGet();
+            if (matches != null && !matches.isEmpty()) {
+                results.setValue(TodoSearch.sortByRank(matches));
+                return;
+            }
+            AppDatabase.databaseReadExecutor.execute(() -> {
+                List<TodoDao.TodoSearchResult> substringMatches =
+                        mTodoDao.searchTodosBySubstring(likePattern, SUBSTRING_SEARCH_LIMIT);
+                application.getMainExecutor().execute(() -> {
+                    if (generation.get() == current) results.setValue(substringMatches);
+                });
+            });
+        });
+        return results;
     }
 
     public LiveData<List<TodoDao.TodoWithCategoryInfo>> getTodosByProject(String projectId) {
-        return mTodoDao.getTodosByProjectWithCategory(projectId);
+        return mChangeTracker.liveQuery(PROJECT_TODOS_SLICE, () -> mTodoDao.getTodosByProjectWithCategory(projectId), todos -> {
+            List<Integer> ids = new ArrayList<>();
+            for (TodoDao.TodoWithCategoryInfo todo : todos) ids.add(todo.id);
+            return ids;
+        });
     }
 
     public void toggleCollaborationTodoCompletion(TodoItem todoItem) {
         Log.d(TAG, "Toggling collaboration todo completion: " + todoItem.getTitle() + " -> " + !todoItem.isCompleted());
 
-        // 개인 할 일인 경우 로컬 DB만 업데이트
-        if (!todoItem.isFromCollaboration()) {
-            AppDatabase.databaseWriteExecutor.execute(() -> {
-                TodoItem itemToUpdate = mTodoDao.getTodoByIdSync(todoItem.getId());
-                if (itemToUpdate != null) {
-                    itemToUpdate.setCompleted(!itemToUpdate.isCompleted());
-                    mTodoDao.update(itemToUpdate);
-                    Log.d(TAG, "Updated local todo completion: " + itemToUpdate.getTitle());
-                }
-            });
-            return;
-        }
-        // 협업 할 일인 경우 로컬 DB 업데이트 후 Firebase에 동기화
+        // 현재 DB 값을 반전하는 UPDATE 한 문장 - 연속 토글이나 동기화 쓰기와 섞여도 값을 잃지 않는다
+        int todoId = todoItem.getId();
+        boolean fromCollaboration = todoItem.isFromCollaboration();
         AppDatabase.databaseWriteExecutor.execute(() -> {
-            TodoItem itemToUpdate = mTodoDao.getTodoByIdSync(todoItem.getId());
-            if (itemToUpdate != null) {
-                boolean newCompletionStatus = !itemToUpdate.isCompleted();
-                itemToUpdate.setCompleted(newCompletionStatus);
-                mTodoDao.update(itemToUpdate);
-                Log.d(TAG, "Updated collaboration todo completion locally: " + itemToUpdate.getTitle() + " -> " + newCompletionStatus);
-                collaborationSyncService.syncCompletionToFirebase(itemToUpdate);
+            boolean toggled = mTodoDao.toggleCompleted(todoId, System.currentTimeMillis());
+            mTodoItemCache.invalidate(todoId);
+            if (!toggled) {
+                return;
+            }
+            Log.d(TAG, "Toggled todo completion: " + todoId);
+            // 협업 할 일인 경우 Firebase에 동기화
+            if (fromCollaboration) {
+                syncCompletionToFirebase(todoId);
             }
         });
     } // 할 일의 완료 상태를 토글
 
     public void getCollaborationTodoCount(CountCallback callback) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseReadExecutor.execute(() -> {
             int count = mTodoDao.countCollaborationTodos();
             Log.d(TAG, "Collaboration todo count: " + count);
             if (application != null) {
@@ -184,7 +273,7 @@ public class TodoRepository {
     }
 
     public void getProjectCompletionRates(ProjectCompletionCallback callback) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseReadExecutor.execute(DbExecutor.Lane.ANALYTICS, () -> {
             List<TodoDao.ProjectCompletionRate> rates = mTodoDao.getProjectCompletionRates();
             Log.d(TAG, "Retrieved completion rates for " + rates.size() + " projects");
             if (application != null) {
@@ -202,7 +291,7 @@ public class TodoRepository {
     }
 
     public void logCollaborationInfo() {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseReadExecutor.execute(DbExecutor.Lane.ANALYTICS, () -> {
             int collaborationCount = mTodoDao.countCollaborationTodos();
             boolean syncActive = collaborationSyncService.isSyncActive();
             int syncingProjects = collaborationSyncService.getSyncingProjectCount();
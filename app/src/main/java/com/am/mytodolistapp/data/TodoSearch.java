@@ -0,0 +1,103 @@
+package com.am.mytodolistapp.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// FTS 검색어 생성, 검색용 파생 컬럼 계산, 검색 결과 순위 계산을 담당하는 유틸리티
+/* TodoRepository.searchTodos: 사용자가 입력한 문자열을 MATCH 식으로 바꾸고, 결과를 순위순으로 정렬할 때 사용
+   TodoDao.searchTodosWithCategory: 이 클래스가 만든 MATCH 식으로 todo_fts를 조회
+   TodoDao.searchTodosBySubstring: 전문 검색 결과가 없을 때 이 클래스가 만든 LIKE 식으로 다시 찾는다 */
+public final class TodoSearch {
+
+    // matchinfo 컬럼 순서(title, content, title_chosung)에 대한 가중치 - 제목 일치를 더 높게 평가
+    private static final double[] COLUMN_WEIGHTS = {2.0, 1.0, 2.0};
+
+    private TodoSearch() {}
+
+    // "회의 준비" -> "\"회의*\" \"준비*\"" (각 단어 접두어 검색, 모든 단어 AND)
+    // 초성 입력("ㅎㅇ")도 같은 식으로 title_chosung 컬럼에서 찾아진다.
+    // FTS 문법 문자는 제거하므로 사용자 입력이 MATCH 구문 오류를 일으키지 않는다.
+    public static String toMatchQuery(String userQuery) {
+        if (userQuery == null) return null;
+
+        StringBuilder match = new StringBuilder();
+        for (String token : userQuery.trim().split("\\s+")) {
+            String cleaned = token.replaceAll("[\"*():^\\-]", "");
+            if (cleaned.isEmpty()) continue;
+            if (match.length() > 0) match.append(' ');
+            match.append('"').append(cleaned).append("*\"");
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    // "회의" -> "%회의%" (단어 중간 일치용 LIKE 식, ESCAPE '\')
+    // %, _, \ 는 글자 그대로 찾도록 이스케이프한다.
+    public static String toLikePattern(String userQuery) {
+        if (userQuery == null || userQuery.trim().isEmpty()) return null;
+        return "%" + userQuery.trim().replaceAll("[\\\\%_]", "\\\\$0") + "%";
+    }
+
+    // title_chosung 컬럼 값: 단어별 초성 + (여러 단어면) 이어 붙인 초성
+    // "회의 준비" -> "ㅎㅇ ㅈㅂ ㅎㅇㅈㅂ" 이므로 "ㅈㅂ", "ㅎㅇㅈ" 같은 입력도 FTS 접두어 검색으로 찾는다.
+    public static String toTitleChosung(String title) {
+        if (title == null) return null;
+
+        String chosung = HangulUtils.toChosung(title.trim());
+        String joined = chosung.replaceAll("\\s+", "");
+        return joined.length() < chosung.length() ? chosung + " " + joined : chosung;
+    }
+
+    // 저장 직전 검색용 파생 컬럼을 채운다 (제목이 바뀌는 모든 쓰기 경로에서 호출)
+    public static void fillSearchFields(TodoItem todoItem) {
+        if (todoItem != null) {
+            todoItem.setTitleChosung(toTitleChosung(todoItem.getTitle()));
+        }
+    }
+
+    // matchinfo(todo_fts, 'pcx') 결과로 순위를 계산해 높은 순으로 정렬한 새 목록을 반환
+    public static List<TodoDao.TodoSearchResult> sortByRank(List<TodoDao.TodoSearchResult> results) {
+        if (results == null || results.isEmpty()) return new ArrayList<>();
+
+        Map<TodoDao.TodoSearchResult, Double> scores = new HashMap<>();
+        for (TodoDao.TodoSearchResult result : results) {
+            scores.put(result, rank(result.match_info));
+        }
+
+        List<TodoDao.TodoSearchResult> sorted = new ArrayList<>(results);
+        Collections.sort(sorted, (a, b) -> {
+            int byScore = Double.compare(scores.get(b), scores.get(a));
+            return byScore != 0 ? byScore : Long.compare(b.updated_at, a.updated_at);
+        });
+        return sorted;
+    }
+
+    // SQLite FTS 문서의 기본 rank 함수: 각 구문/컬럼별 (이 행의 일치 수 / 전체 일치 수) * 가중치의 합
+    static double rank(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) return 0;
+
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phraseCount = buffer.getInt(0);
+        int columnCount = buffer.getInt(4);
+
+        double score = 0;
+        for (int phrase = 0; phrase < phraseCount; phrase++) {
+            for (int column = 0; column < columnCount; column++) {
+                int base = 2 + 3 * (column + phrase * columnCount);
+                if ((base + 2) * 4 > matchInfo.length) return score;
+
+                int hitsThisRow = buffer.getInt(base * 4);
+                int hitsAllRows = buffer.getInt((base + 1) * 4);
+                if (hitsThisRow > 0 && hitsAllRows > 0) {
+                    double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                    score += weight * hitsThisRow / hitsAllRows;
+                }
+            }
+        }
+        return score;
+    }
+}
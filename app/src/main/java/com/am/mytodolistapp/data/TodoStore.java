@@ -0,0 +1,493 @@
+package com.am.mytodolistapp.data;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.room.InvalidationTracker;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 보관되지 않은 할 일 전체를 앱에서 하나의 스냅샷으로 들고, 화면별 파생 뷰(카테고리별, 위치별 개수, 협업 개수)를 만든다.
+// 화면마다 겹치는 쿼리(카테고리 배지, 위치 배지, 협업 개수, 메인 목록 행 갱신)를 따로 실행하면
+// 쓰기 한 번에 같은 행을 여러 번 읽고 여러 벌 만들었다.
+
+/* AppDatabase.getTodoStore()로 앱 전체에서 하나를 쓴다.
+   TodoChangeTracker 리스너: 쓰기 한 번(변경 기록 묶음)마다 바뀐 행만 getListRowsByIds 한 번으로 읽고 (삭제만 있으면 읽지 않음)
+   새 스냅샷(변경 기록 version 포함)을 만든다. 기록이 잘렸거나 category_table이 바뀌면 전체를 다시 읽는다.
+     새 스냅샷은 바뀐 행만 제자리에서 바꾸고 개수는 차이만 반영한다 (Snapshot.patch - 전체를 다시 나누지 않음)
+     행 목록은 고정 크기 조각(RowList)으로 나눠 들고, 바뀐 행이 있는 조각만 복사한다 - 나머지 조각은 이전 스냅샷과 공유
+   스냅샷과 그 안의 목록/맵은 바꿀 수 없다 - 여러 화면이 복사 없이 같은 객체를 본다.
+   view(): 스냅샷에서 값을 꺼내는 LiveData (값이 같으면 다시 알리지 않음)
+     CategoryViewModel, LocationBasedTaskViewModel: 개수 배지
+     TaskListViewModel: 협업 할 일 개수
+   getRowsIfCurrent(): TodoListPager가 바뀐 행을 쿼리 없이 스냅샷에서 꺼낸다.
+   메인 목록 페이지 로드와 캘린더 날짜 목록(보관된 항목 포함), 통계(daily_stats)는 각자의 쿼리를 유지한다. */
+public class TodoStore implements TodoChangeTracker.Listener {
+    private static final String TAG = "TodoStore";
+
+    // 스냅샷에 들어 있는 컬럼 (내용만 바뀐 경우는 다시 읽지 않는다)
+    private static final int STORED_COLUMNS = TodoChange.ALL_COLUMNS & ~TodoChange.COL_CONTENT;
+
+    private final AppDatabase database;
+    private final TodoDao todoDao;
+    private final TodoChangeDao changeDao;
+    private final Executor executor;
+    private final MutableLiveData<Snapshot> snapshot = new MutableLiveData<>();
+    private volatile Snapshot current;
+
+    private final AtomicInteger queryCount = new AtomicInteger();
+    private final AtomicInteger reloadCount = new AtomicInteger();
+
+    // 카테고리 이름/색이 바뀌면 전체를 다시 읽는다
+    private final InvalidationTracker.Observer categoryObserver =
+            new InvalidationTracker.Observer("category_table") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    executor.execute(TodoStore.this::reload);
+                }
+            };
+
+    public TodoStore(AppDatabase database) {
+        this(database, database.getChangeTracker(), AppDatabase.databaseReadExecutor);
+    }
+
+    TodoStore(AppDatabase database, TodoChangeTracker changeTracker, Executor executor) {
+        this.database = database;
+        this.todoDao = database.todoDao();
+        this.changeDao = database.todoChangeDao();
+        this.executor = executor;
+        changeTracker.addListener(this);
+        executor.execute(() -> {
+            reload();
+            database.getInvalidationTracker().addObserver(categoryObserver);
+        });
+    }
+
+    public LiveData<Snapshot> getSnapshot() {
+        return snapshot;
+    }
+
+    // 아직 첫 로드 전이면 null
+    @Nullable
+    public Snapshot getCurrent() {
+        return current;
+    }
+
+    // 스냅샷의 파생 뷰 하나를 관찰한다 - 선택 함수는 미리 계산된 값을 꺼내기만 하므로 메인 스레드에서 실행해도 된다
+    public <T> LiveData<T> view(@NonNull Function<Snapshot, T> selector) {
+        return Transformations.distinctUntilChanged(Transformations.map(snapshot, selector::apply));
+    }
+
+    // 변경 기록 version까지 반영된 스냅샷이 있으면 그 안의 행을 돌려준다 (없는 id는 지워진 행)
+    // 아직 반영 전이면 null - 호출한 쪽이 직접 읽는다
+    @Nullable
+    public Map<Integer, TodoListRow> getRowsIfCurrent(@NonNull Collection<Integer> ids, long version) {
+        Snapshot s = current;
+        if (s == null || s.version < version) return null;
+        Map<Integer, TodoListRow> rows = new HashMap<>();
+        for (Integer id : ids) {
+            TodoListRow row = s.getRow(id);
+            if (row != null) rows.put(id, row);
+        }
+        return rows;
+    }
+
+    // 지금까지 실행한 쿼리 수 / 전체 다시 읽은 횟수 (테스트, 디버그용)
+    public int getQueryCount() {
+        return queryCount.get();
+    }
+
+    public int getReloadCount() {
+        return reloadCount.get();
+    }
+
+    private synchronized void reload() {
+        // version과 행을 한 트랜잭션에서 읽어 그 사이의 쓰기를 놓치지 않는다
+        Snapshot loaded = database.runInTransaction(() ->
+                new Snapshot(changeDao.getLatestVersion(), todoDao.getAllListRows()));
+        queryCount.incrementAndGet();
+        reloadCount.incrementAndGet();
+        publish(loaded);
+    }
+
+    @Override
+    public synchronized boolean onTodosChanged(@NonNull List<TodoChange> changes, boolean overflow) {
+        Snapshot base = current;
+        if (base == null) return false; // 첫 로드가 최신 상태를 읽는다
+        if (overflow) {
+            reload();
+            return true;
+        }
+
+        long version = changes.get(changes.size() - 1).getVersion();
+        Set<Integer> changedIds = new HashSet<>();
+        Set<Integer> deletedIds = new HashSet<>(); // 마지막 변경이 삭제인 행 - 읽지 않고 스냅샷에서 뺀다
+        for (TodoChange change : changes) {
+            if (change.getVersion() <= base.version) continue; // 로드할 때 이미 반영됨
+            if (change.isArchive()) continue; // 보관은 todo_table 삭제로도 기록된다
+            int id = change.getRowId();
+            if (TodoChange.OP_DELETE.equals(change.getOp())) {
+                changedIds.add(id);
+                deletedIds.add(id);
+            } else if (!TodoChange.OP_UPDATE.equals(change.getOp()) || change.touches(STORED_COLUMNS)) {
+                changedIds.add(id);
+                deletedIds.remove(id); // 삭제 뒤 같은 id로 되돌린 경우 (보관 복원)
+            }
+        }
+        if (changedIds.isEmpty()) {
+            // 화면에 알릴 것은 없지만 getRowsIfCurrent가 이 version까지 반영된 것으로 보게 한다
+            if (version > base.version) current = base.withVersion(version);
+            return false;
+        }
+
+        Set<Integer> readIds = new HashSet<>(changedIds);
+        readIds.removeAll(deletedIds);
+        List<TodoListRow> rows = Collections.emptyList();
+        if (!readIds.isEmpty()) {
+            rows = todoDao.getListRowsByIds(readIds);
+            queryCount.incrementAndGet();
+        }
+        publish(base.patch(version, changedIds, rows));
+        return !readIds.isEmpty();
+    }
+
+    private void publish(Snapshot next) {
+        current = next;
+        snapshot.postValue(next);
+        Log.d(TAG, "snapshot v" + next.version + ": " + next.rows.size() + " rows");
+    }
+
+    // 한 시점의 할 일 전체와 파생 뷰 (만든 뒤에는 바뀌지 않는다)
+    public static final class Snapshot {
+        private final long version; // 반영된 마지막 변경 기록
+        private final RowList rows; // id 내림차순 - id 조회는 이진 탐색
+        private final Map<Integer, TodoCount> countsByCategory;
+        private final Map<Integer, TodoCount> countsByLocation;
+        private final int collaborationCount;
+
+        Snapshot(long version, List<TodoListRow> rows) {
+            Map<Integer, TodoCount> byCategory = new HashMap<>();
+            Map<Integer, TodoCount> byLocation = new HashMap<>();
+            int collaboration = 0;
+            for (TodoListRow row : rows) {
+                if (row.category_id != null) count(byCategory, row.category_id, row.is_completed);
+                if (row.location_id != null) count(byLocation, row.location_id, row.is_completed);
+                if (row.is_from_collaboration) collaboration++;
+            }
+            this.version = version;
+            this.rows = RowList.of(rows);
+            this.countsByCategory = Collections.unmodifiableMap(byCategory);
+            this.countsByLocation = Collections.unmodifiableMap(byLocation);
+            this.collaborationCount = collaboration;
+        }
+
+        private Snapshot(long version, RowList rows, Map<Integer, TodoCount> countsByCategory,
+                         Map<Integer, TodoCount> countsByLocation, int collaborationCount) {
+            this.version = version;
+            this.rows = rows;
+            this.countsByCategory = countsByCategory;
+            this.countsByLocation = countsByLocation;
+            this.collaborationCount = collaborationCount;
+        }
+
+        // 파생 뷰를 그대로 두고 version만 올린다 (스냅샷과 무관한 변경)
+        Snapshot withVersion(long newVersion) {
+            return new Snapshot(newVersion, rows, countsByCategory, countsByLocation, collaborationCount);
+        }
+
+        // 바뀐 id의 행만 새로 읽은 행으로 바꾼 다음 스냅샷 (읽지 못한 id는 삭제된 것)
+        // 전체를 다시 나누지 않고 바뀐 행의 이전 값을 빼고 새 값을 더한다 - 행 목록은 바뀐 조각만 복사하고(RowList),
+        // 개수 맵은 카테고리/위치 수만큼만 복사하고, 바뀌지 않은 행과 개수는 같은 객체를 그대로 쓴다
+        Snapshot patch(long newVersion, Set<Integer> changedIds, List<TodoListRow> changedRows) {
+            Map<Integer, TodoListRow> fresh = new HashMap<>();
+            for (TodoListRow row : changedRows) fresh.put(row.id, row);
+
+            Map<Integer, TodoListRow> replacements = new HashMap<>(); // id -> 새 행 (null이면 삭제)
+            Map<Integer, TodoCount> byCategory = new HashMap<>(countsByCategory);
+            Map<Integer, TodoCount> byLocation = new HashMap<>(countsByLocation);
+            int collaboration = collaborationCount;
+            for (Integer id : changedIds) {
+                TodoListRow old = rows.find(id);
+                TodoListRow row = fresh.get(id);
+                if (old == null && row == null) continue;
+                if (old != null) {
+                    add(byCategory, old.category_id, old.is_completed, -1);
+                    add(byLocation, old.location_id, old.is_completed, -1);
+                    if (old.is_from_collaboration) collaboration--;
+                }
+                if (row != null) {
+                    add(byCategory, row.category_id, row.is_completed, 1);
+                    add(byLocation, row.location_id, row.is_completed, 1);
+                    if (row.is_from_collaboration) collaboration++;
+                }
+                replacements.put(id, row);
+            }
+            return new Snapshot(newVersion, rows.with(replacements),
+                    Collections.unmodifiableMap(byCategory), Collections.unmodifiableMap(byLocation), collaboration);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<TodoListRow> getRows() {
+            return rows;
+        }
+
+        @Nullable
+        public TodoListRow getRow(int id) {
+            return rows.find(id);
+        }
+
+        // 카테고리 id -> 미완료/완료 개수 (할 일이 없는 카테고리는 빠짐)
+        public Map<Integer, TodoCount> getCountsByCategory() {
+            return countsByCategory;
+        }
+
+        // 위치 id -> 미완료/완료 개수 (할 일이 없는 위치는 빠짐)
+        public Map<Integer, TodoCount> getCountsByLocation() {
+            return countsByLocation;
+        }
+
+        // 협업 할 일 수 (TodoDao.countCollaborationTodos와 같은 값)
+        public int getCollaborationCount() {
+            return collaborationCount;
+        }
+
+        // 새로 만드는 맵에서만 사용 - 개수 객체를 제자리에서 늘린다
+        private static void count(Map<Integer, TodoCount> counts, int ownerId, boolean completed) {
+            TodoCount count = counts.get(ownerId);
+            if (count == null) {
+                count = new TodoCount();
+                count.owner_id = ownerId;
+                counts.put(ownerId, count);
+            }
+            if (completed) {
+                count.completed++;
+            } else {
+                count.active++;
+            }
+        }
+
+        // 개수를 바꾼 새 TodoCount로 바꾼다 (이전 스냅샷이 들고 있는 객체는 고치지 않는다, 0개가 되면 뺀다)
+        private static void add(Map<Integer, TodoCount> counts, @Nullable Integer ownerId, boolean completed, int delta) {
+            if (ownerId == null) return;
+            TodoCount previous = counts.get(ownerId);
+            TodoCount count = new TodoCount();
+            count.owner_id = ownerId;
+            if (previous != null) {
+                count.active = previous.active;
+                count.completed = previous.completed;
+            }
+            if (completed) {
+                count.completed += delta;
+            } else {
+                count.active += delta;
+            }
+            if (count.getTotal() > 0) {
+                counts.put(ownerId, count);
+            } else {
+                counts.remove(ownerId);
+            }
+        }
+    }
+
+    // id 내림차순 행 목록을 CHUNK_SIZE 안팎의 조각으로 나눠 든다 (바꿀 수 없음)
+    // with(): 바뀐 행이 있는 조각만 복사해 새 목록을 만들고, 나머지 조각 배열은 이전 목록과 같은 객체를 쓴다
+    // 쓰기 한 번의 비용이 O(전체 행 수)가 아니라 O(조각 수 + 바뀐 조각 크기)
+    static final class RowList extends AbstractList<TodoListRow> implements RandomAccess {
+        static final int CHUNK_SIZE = 256;
+
+        private static final RowList EMPTY = new RowList(new TodoListRow[0][]);
+
+        private final TodoListRow[][] chunks; // 빈 조각은 두지 않는다
+        private final int[] starts; // 조각마다 첫 행의 위치
+        private final int size;
+
+        static RowList of(List<TodoListRow> rows) {
+            List<TodoListRow[]> chunks = new ArrayList<>();
+            split(rows, chunks);
+            return chunks.isEmpty() ? EMPTY : new RowList(chunks.toArray(new TodoListRow[0][]));
+        }
+
+        private RowList(TodoListRow[][] chunks) {
+            this.chunks = chunks;
+            this.starts = new int[chunks.length];
+            int total = 0;
+            for (int i = 0; i < chunks.length; i++) {
+                starts[i] = total;
+                total += chunks[i].length;
+            }
+            this.size = total;
+        }
+
+        @Override
+        public TodoListRow get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int chunk = chunkAt(index);
+            return chunks[chunk][index - starts[chunk]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Nullable
+        TodoListRow find(int id) {
+            if (chunks.length == 0) return null;
+            TodoListRow[] chunk = chunks[chunkFor(id)];
+            int index = indexOf(Arrays.asList(chunk), id);
+            return index >= 0 ? chunk[index] : null;
+        }
+
+        // id -> 새 행(null이면 삭제)을 반영한 새 목록
+        RowList with(Map<Integer, TodoListRow> replacements) {
+            if (replacements.isEmpty()) return this;
+            if (chunks.length == 0) {
+                List<TodoListRow> rows = new ArrayList<>();
+                for (TodoListRow row : replacements.values()) {
+                    if (row != null) rows.add(row);
+                }
+                rows.sort((a, b) -> Integer.compare(b.id, a.id));
+                return of(rows);
+            }
+
+            // 바뀌는 조각별로 모은다
+            Map<Integer, List<Integer>> idsByChunk = new HashMap<>();
+            for (Integer id : replacements.keySet()) {
+                idsByChunk.computeIfAbsent(chunkFor(id), chunk -> new ArrayList<>()).add(id);
+            }
+            List<TodoListRow[]> next = new ArrayList<>(chunks.length + 1);
+            for (int i = 0; i < chunks.length; i++) {
+                List<Integer> ids = idsByChunk.get(i);
+                if (ids == null) {
+                    next.add(chunks[i]); // 공유
+                    continue;
+                }
+                List<TodoListRow> rows = new ArrayList<>(chunks[i].length + ids.size());
+                Collections.addAll(rows, chunks[i]);
+                for (Integer id : ids) {
+                    TodoListRow row = replacements.get(id);
+                    int index = indexOf(rows, id);
+                    if (index >= 0) {
+                        if (row != null) {
+                            rows.set(index, row);
+                        } else {
+                            rows.remove(index);
+                        }
+                    } else if (row != null) {
+                        rows.add(-index - 1, row);
+                    }
+                }
+                split(rows, next);
+            }
+            return next.isEmpty() ? EMPTY : new RowList(next.toArray(new TodoListRow[0][]));
+        }
+
+        // previous와 같은 객체를 쓰는 조각 수 (테스트용)
+        int sharedChunkCount(RowList previous) {
+            Set<TodoListRow[]> old = Collections.newSetFromMap(new IdentityHashMap<>());
+            Collections.addAll(old, previous.chunks);
+            int shared = 0;
+            for (TodoListRow[] chunk : chunks) {
+                if (old.contains(chunk)) shared++;
+            }
+            return shared;
+        }
+
+        int chunkCount() {
+            return chunks.length;
+        }
+
+        // 위치 index가 들어 있는 조각
+        private int chunkAt(int index) {
+            int low = 0;
+            int high = chunks.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (starts[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        // id가 있거나 들어갈 조각 - 마지막 행 id가 id 이하인 첫 조각 (없으면 마지막 조각)
+        private int chunkFor(int id) {
+            int low = 0;
+            int high = chunks.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                TodoListRow[] chunk = chunks[mid];
+                if (chunk[chunk.length - 1].id <= id) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        // 조각을 out 끝에 붙인다 - 너무 커지면 CHUNK_SIZE씩 나누고, 비면 빼고,
+        // 너무 작아지면 앞 조각과 합친다 (삭제가 이어져도 조각 수가 행 수만큼 늘지 않게)
+        private static void split(List<TodoListRow> rows, List<TodoListRow[]> out) {
+            if (rows.isEmpty()) return;
+            int last = out.size() - 1;
+            if (rows.size() < CHUNK_SIZE / 2 && last >= 0 && out.get(last).length + rows.size() <= 2 * CHUNK_SIZE) {
+                List<TodoListRow> merged = new ArrayList<>(out.get(last).length + rows.size());
+                Collections.addAll(merged, out.get(last));
+                merged.addAll(rows);
+                out.set(last, merged.toArray(new TodoListRow[0]));
+                return;
+            }
+            if (rows.size() <= 2 * CHUNK_SIZE) {
+                out.add(rows.toArray(new TodoListRow[0]));
+                return;
+            }
+            for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                out.add(rows.subList(from, Math.min(rows.size(), from + CHUNK_SIZE)).toArray(new TodoListRow[0]));
+            }
+        }
+
+        // id 내림차순 목록에서 id의 위치 (없으면 -(넣을 위치) - 1)
+        private static int indexOf(List<TodoListRow> rows, int id) {
+            int low = 0;
+            int high = rows.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midId = rows.get(mid).id;
+                if (midId > id) {
+                    low = mid + 1;
+                } else if (midId < id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.am.mytodolistapp.data;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+// 짧은 시간에 몰리는 로컬 쓰기(연속 완료 토글, 편집, 카테고리 순서 변경)를 모아 한 트랜잭션으로 반영한다.
+// 쓰기는 행(키)별로 모은다 - 같은 행의 같은 필드에 대한 쓰기는 마지막 것만 남기고,
+// 다른 필드(완료, 편집)는 조작한 순서대로 이어서 실행한다.
+// 쓰기마다 트랜잭션을 따로 열면 Room 무효화와 TodoChangeTracker 갱신도 쓰기마다 일어났다.
+
+/* TodoRepository.setTodoCompleted / updateEditedFields, CategoryViewModel.updateCategoryOrder 가 사용
+   WINDOW_MS 동안 쌓인 쓰기를 databaseWriteExecutor 작업 하나, 트랜잭션 하나로 실행한다.
+   쓰기가 하나라도 실패하면 트랜잭션 전체가 롤백된다 (DAO의 @Transaction 메서드는 바깥 트랜잭션에 합쳐진다).
+   그때는 행마다 트랜잭션을 따로 열어 다시 실행하고, 실패한 행만 버린다 - 쓰기는 값을 정해서 쓰므로 다시 실행해도 같다.
+   afterCommit(Firebase 전송 등)은 그 쓰기가 들어간 트랜잭션이 커밋된 뒤에만 실행한다.
+   MyTodoApplication: 화면이 onPause 되면 flush() - 대기 중인 쓰기를 바로 쓰기 실행기로 넘길 뿐 디스크에 따로 저장하지 않는다.
+   그래서 창(WINDOW_MS) 안에서 onPause 없이 프로세스가 죽으면(강제 종료, 크래시) 그 쓰기는 잃는다. */
+public class WriteCoalescer {
+    private static final String TAG = "WriteCoalescer";
+
+    static final long WINDOW_MS = 250;
+
+    private final AppDatabase db;
+    private final Executor writeExecutor;
+    private final Handler handler;
+    private final long windowMs;
+    private final Runnable flushRunnable = this::flush;
+
+    private final Object lock = new Object();
+    // 행 키 -> 대기 중인 쓰기. 다시 넣은 행은 맨 뒤로 옮긴다 (마지막 조작 순서대로 적용)
+    private final Map<String, PendingRow> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+
+    private int submittedCount;
+    private int mergedCount;
+    private int flushCount;
+
+    WriteCoalescer(AppDatabase db, Executor writeExecutor, Handler handler, long windowMs) {
+        this.db = db;
+        this.writeExecutor = writeExecutor;
+        this.handler = handler;
+        this.windowMs = windowMs;
+    }
+
+    WriteCoalescer(AppDatabase db, Executor writeExecutor) {
+        this(db, writeExecutor, new Handler(Looper.getMainLooper()), WINDOW_MS);
+    }
+
+    public static String todoKey(int todoId) {
+        return "todo:" + todoId;
+    }
+
+    public static String categoryKey(int categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public void submit(@NonNull String key, @NonNull String field, @NonNull Runnable write) {
+        submit(key, field, () -> {
+            write.run();
+            return true;
+        }, null);
+    }
+
+    // key: 행, field: 그 행에서 바꾸는 값 (같은 행, 같은 필드면 앞의 쓰기를 버린다)
+    // write: 트랜잭션 안에서 실행, 실제로 바뀌었으면 true - 값을 정해서 써야 한다 (실패 시 다시 실행될 수 있다)
+    // afterCommit: write가 true를 돌려주고 트랜잭션이 커밋된 뒤 쓰기 스레드에서 실행 (Firebase 전송 등)
+    public void submit(@NonNull String key, @NonNull String field, @NonNull BooleanSupplier write,
+                       @Nullable Runnable afterCommit) {
+        synchronized (lock) {
+            submittedCount++;
+            PendingRow row = pending.remove(key);
+            if (row == null) {
+                row = new PendingRow(key);
+            }
+            if (row.writes.remove(field) != null) {
+                mergedCount++;
+            }
+            row.writes.put(field, new PendingWrite(write, afterCommit));
+            pending.put(key, row);
+            if (!scheduled) {
+                scheduled = true;
+                handler.postDelayed(flushRunnable, windowMs);
+            }
+        }
+    }
+
+    // 대기 중인 쓰기를 바로 쓰기 실행기로 보낸다 (onPause, 창 만료)
+    public void flush() {
+        List<PendingRow> batch;
+        synchronized (lock) {
+            handler.removeCallbacks(flushRunnable);
+            scheduled = false;
+            if (pending.isEmpty()) return;
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            flushCount++;
+        }
+        writeExecutor.execute(() -> apply(batch));
+    }
+
+    private void apply(List<PendingRow> batch) {
+        List<PendingWrite> changed = new ArrayList<>();
+        int failedRows = 0;
+        try {
+            db.runInTransaction(() -> {
+                for (PendingRow row : batch) {
+                    row.applyTo(changed);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 트랜잭션 전체가 롤백됐다 - 행마다 따로 커밋해 실패한 행만 버린다
+            Log.w(TAG, "Coalesced batch rolled back, retrying per row", e);
+            changed.clear();
+            for (PendingRow row : batch) {
+                List<PendingWrite> rowChanged = new ArrayList<>();
+                try {
+                    db.runInTransaction(() -> row.applyTo(rowChanged));
+                    changed.addAll(rowChanged);
+                } catch (RuntimeException rowError) {
+                    failedRows++;
+                    Log.e(TAG, "Coalesced write failed: " + row.key, rowError);
+                }
+            }
+        }
+        // 커밋된 쓰기만
+        for (PendingWrite write : changed) {
+            if (write.afterCommit != null) {
+                write.afterCommit.run();
+            }
+        }
+        Log.d(TAG, "Applied " + batch.size() + " coalesced rows (" + changed.size() + " changed, "
+                + failedRows + " failed)");
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    // 지금까지 받은 쓰기 수, 같은 행/필드로 합쳐진 수, 보낸 묶음 수
+    public int getSubmittedCount() {
+        synchronized (lock) {
+            return submittedCount;
+        }
+    }
+
+    public int getMergedCount() {
+        synchronized (lock) {
+            return mergedCount;
+        }
+    }
+
+    public int getFlushCount() {
+        synchronized (lock) {
+            return flushCount;
+        }
+    }
+
+    private static final class PendingRow {
+        final String key;
+        // 필드 -> 쓰기. 다시 넣은 필드는 맨 뒤로 옮긴다
+        final Map<String, PendingWrite> writes = new LinkedHashMap<>();
+
+        PendingRow(String key) {
+            this.key = key;
+        }
+
+        void applyTo(List<PendingWrite> changed) {
+            for (PendingWrite write : writes.values()) {
+                if (write.write.getAsBoolean()) {
+                    changed.add(write);
+                }
+            }
+        }
+    }
+
+    private static final class PendingWrite {
+        final BooleanSupplier write;
+        final Runnable afterCommit;
+
+        PendingWrite(BooleanSupplier write, Runnable afterCommit) {
+            this.write = write;
+            this.afterCommit = afterCommit;
+        }
+    }
+}
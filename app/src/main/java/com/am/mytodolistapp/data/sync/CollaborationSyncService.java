@@ -7,6 +7,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Observer;
 
 import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.DbExecutor;
 import com.am.mytodolistapp.data.TodoDao;
 import com.am.mytodolistapp.data.TodoItem;
 import com.am.mytodolistapp.data.firebase.FirebaseRepository;
@@ -169,76 +170,24 @@ public class CollaborationSyncService {
 
 
     // Firebase에서 받은 할 일 목록을 로컬 Room DB에 동기화하는 핵심 로직
-    // 현재 로컬 DB에 저장된 해당 프로젝트의 할 일들을 가져와 맵에 저장하고 Firebase에서 받은 새 할 일 목록을 하나씩 순회
-    //각 할 일에 대해 `syncSingleProjectTask`를 호출하여 로컬 DB에 추가하거나 업데이트
-    //처리된 할 일은 1번에서 만든 맵에서 제거합니다.
-    //순회가 끝난 후 맵에 여전히 남아있는 할 일은 Firebase에서는 삭제되었지만 로컬에는 남아있는 것이므로, 로컬 DB에서도 삭제한다.
+    // 비교(diff), 추가, 수정, 삭제를 TodoDao.syncProjectTasks 의 한 트랜잭션 안에서 목록 단위로 처리한다.
+    // 기존 로컬 할 일은 프로젝트 단위로 한 번만 조회해 맵으로 비교하므로, 할 일마다 조회/저장하던 방식보다 문장 수가 크게 줄어든다.
 
     private void syncProjectTasksToRoom(List<ProjectTask> projectTasks, String projectName, String projectId) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseWriteExecutor.execute(DbExecutor.Lane.SYNC, () -> {
             try {
-                //현재 프로젝트의 기존 로컬 할 일들 가져오기
-                List<TodoItem> existingLocalTasks = todoDao.getTodosByProjectIdSync(projectId);
-                Map<String, TodoItem> existingTasksMap = new HashMap<>();
-                for (TodoItem item : existingLocalTasks) {
-                    if (item.getFirebaseTaskId() != null) {
-                        existingTasksMap.put(item.getFirebaseTaskId(), item);
-                    }
-                }
-
-                //Firebase의 할 일들을 하나씩 처리
-                for (ProjectTask projectTask : projectTasks) {
-                    syncSingleProjectTask(projectTask, projectName);
-                    // 처리된 할 일은 맵에서 제거
-                    existingTasksMap.remove(projectTask.getTaskId());
-                }
-
-                //맵에 남은 할 일들은 Firebase에서 삭제된 것이므로 로컬에서도 삭제
-                for (TodoItem deletedTask : existingTasksMap.values()) {
-                    Log.d(TAG, "Deleting locally removed task: " + deletedTask.getTitle());
-                    todoDao.delete(deletedTask);
-                }
+                TodoDao.ProjectSyncResult result = todoDao.syncProjectTasks(projectId, projectName, projectTasks);
 
                 Log.d(TAG, "Successfully synced " + projectTasks.size() +
-                        " tasks for project: " + projectName);
+                        " tasks for project: " + projectName +
+                        " (inserted " + result.inserted + ", updated " + result.updated +
+                        ", deleted " + result.deleted + ")");
             } catch (Exception e) {
                 Log.e(TAG, "Error syncing project tasks to Room", e);
             }
         });
     }
 
-
-    private void syncSingleProjectTask(ProjectTask projectTask, String projectName) {
-        if (projectTask == null || projectTask.getTaskId() == null) {
-            Log.w(TAG, "Invalid project task, skipping sync");
-            return;
-        }
-
-        try {
-            // 기존 TodoItem 확인
-            TodoItem existingTodoItem = todoDao.getTodoByFirebaseTaskId(projectTask.getTaskId());
-
-            if (existingTodoItem != null) {
-                // 기존 아이템 업데이트
-                if (!DataSyncUtil.isDataSynced(existingTodoItem, projectTask)) {
-                    DataSyncUtil.updateTodoItemFromProjectTask(existingTodoItem, projectTask, projectName);
-                    todoDao.update(existingTodoItem);
-                    Log.d(TAG, "Updated existing todo: " + projectTask.getTitle());
-                }
-            } else {
-                // 새 아이템 생성
-                TodoItem newTodoItem = DataSyncUtil.convertProjectTaskToTodoItem(projectTask, projectName);
-                if (newTodoItem != null) {
-                    todoDao.insert(newTodoItem);
-                    Log.d(TAG, "Inserted new todo: " + projectTask.getTitle());
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error syncing single project task: " + projectTask.getTitle(), e);
-        }
-    }
-
-
     public void syncCompletionToFirebase(TodoItem todoItem) {
         if (!todoItem.isFromCollaboration() || todoItem.getFirebaseTaskId() == null) {
             return;
@@ -292,9 +241,10 @@ public class CollaborationSyncService {
             return;
         }
 
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseWriteExecutor.execute(DbExecutor.Lane.SYNC, () -> {
             try {
                 todoDao.deleteByFirebaseTaskId(firebaseTaskId);
+                todoDao.deleteArchivedByFirebaseTaskId(firebaseTaskId);
                 Log.d(TAG, "Deleted todo item for Firebase task: " + firebaseTaskId);
             } catch (Exception e) {
                 Log.e(TAG, "Error deleting todo item for Firebase task", e);
@@ -307,9 +257,10 @@ public class CollaborationSyncService {
             return;
         }
 
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseWriteExecutor.execute(DbExecutor.Lane.SYNC, () -> {
             try {
                 todoDao.deleteAllTodosByProjectId(projectId);
+                todoDao.deleteArchivedTodosByProjectId(projectId);
                 Log.d(TAG, "Deleted all todo items for project: " + projectId);
             } catch (Exception e) {
                 Log.e(TAG, "Error deleting todo items for project", e);
@@ -1,6 +1,7 @@
 package com.am.mytodolistapp.data.sync;
 
 import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoSearch;
 import com.am.mytodolistapp.data.firebase.ProjectTask;
 
 // 데이터 동기화 과정에서 사용되는 유틸리티 메소드
@@ -37,6 +38,7 @@ public class DataSyncUtil {
         todoItem.setProjectName(projectName);
         todoItem.setAssignedTo(projectTask.getAssignedTo());
         todoItem.setCreatedBy(projectTask.getCreatedBy());
+        TodoSearch.fillSearchFields(todoItem);
 
         return todoItem;
     }
@@ -86,7 +88,7 @@ public class DataSyncUtil {
         // 협업 관련 필드 업데이트
         existingTodoItem.setProjectName(projectName);
         existingTodoItem.setAssignedTo(updatedProjectTask.getAssignedTo());
-
+        TodoSearch.fillSearchFields(existingTodoItem);
     }
 
 
@@ -9,8 +9,8 @@ import com.google.android.gms.location.Geofence;
 import com.google.android.gms.location.GeofencingEvent;
 import com.am.mytodolistapp.service.NotificationHelper;
 import com.am.mytodolistapp.data.AppDatabase;
-import com.am.mytodolistapp.data.TodoDao;
 import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoItemCache;
 
 import java.util.List;
 
@@ -54,10 +54,10 @@ public class GeofenceBroadcastReceiver extends BroadcastReceiver {
                         int taskId = Integer.parseInt(requestId);
 
                         // 데이터베이스에서 할 일 정보 조회(백그라운드)
-                        AppDatabase.databaseWriteExecutor.execute(() -> {
+                        AppDatabase.databaseReadExecutor.execute(() -> {
                             try {
-                                TodoDao todoDao = AppDatabase.getDatabase(context).todoDao(); // 데이터베이스 인스턴스와 DAO를 가져온다.
-                                TodoItem todoItem = todoDao.getTodoByIdSync(taskId); // 할 일 ID를 사용하여 데이터베이스에서 해당 할 일 정보를 동기적으로 조회한다.
+                                TodoItemCache todoItemCache = AppDatabase.getDatabase(context).getTodoItemCache();
+                                TodoItem todoItem = todoItemCache.get(taskId); // 할 일 ID로 조회한다 (캐시에 없으면 DB에서 동기적으로 읽는다).
 
                                 // 할 일이 존재하고 아직 완료되지 않은 경우에만 알림을 보냅니다.
                                 if (todoItem != null && !todoItem.isCompleted()) {
@@ -0,0 +1,104 @@
+package com.am.mytodolistapp.service;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.DatabaseMaintenance;
+import com.am.mytodolistapp.data.DbExecutor;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+// 하루 한 번, 기기가 유휴 상태이고 충전 중일 때 DB 정리 작업(DatabaseMaintenance)을 실행하는 Worker
+// 작업 자체는 쓰기 스레드에서 실행해 다른 쓰기와 경쟁하지 않게 한다 (ANALYTICS 레인 지표로 집계).
+
+/* schedule: MyTodoApplication.onCreate에서 호출 (이미 예약되어 있으면 유지)
+   실행 결과(처리 행 수, 소요 시간)는 로그, Worker 출력 데이터, SharedPreferences(마지막 실행)에 남긴다.
+   실행할 때마다 DB 실행기의 레인별 대기열 지표(DbExecutor.logStats)도 로그에 남긴다. */
+public class MaintenanceWorker extends Worker {
+    private static final String TAG = "MaintenanceWorker";
+
+    private static final String UNIQUE_WORK_NAME = "db_maintenance";
+    private static final String PREFS_NAME = "db_maintenance";
+
+    public static final String KEY_ARCHIVED_ROWS = "archived_rows";
+    public static final String KEY_CLEANED_ROWS = "cleaned_rows";
+    public static final String KEY_FREED_PAGES = "freed_pages";
+    public static final String KEY_DURATION_MS = "duration_ms";
+    public static final String KEY_LAST_RUN_AT = "last_run_at";
+    public static final String KEY_LAST_REPORT = "last_report";
+
+    public MaintenanceWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(MaintenanceWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        AppDatabase db = AppDatabase.getDatabase(getApplicationContext());
+        FutureTask<DatabaseMaintenance.Report> task = new FutureTask<>(() -> new DatabaseMaintenance(db).run());
+        AppDatabase.databaseWriteExecutor.execute(DbExecutor.Lane.ANALYTICS, task);
+
+        DatabaseMaintenance.Report report;
+        try {
+            report = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Maintenance failed", e);
+            return Result.retry();
+        }
+
+        saveLastRun(report);
+        Log.d(TAG, "Maintenance finished: " + report);
+        AppDatabase.databaseWriteExecutor.logStats();
+        AppDatabase.databaseReadExecutor.logStats();
+        return Result.success(new Data.Builder()
+                .putInt(KEY_ARCHIVED_ROWS, report.archivedRows)
+                .putInt(KEY_CLEANED_ROWS, report.cleanedRows)
+                .putInt(KEY_FREED_PAGES, report.freedPages)
+                .putLong(KEY_DURATION_MS, report.totalMs)
+                .build());
+    }
+
+    private void saveLastRun(DatabaseMaintenance.Report report) {
+        getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .putLong(KEY_LAST_RUN_AT, System.currentTimeMillis())
+                .putInt(KEY_ARCHIVED_ROWS, report.archivedRows)
+                .putInt(KEY_CLEANED_ROWS, report.cleanedRows)
+                .putInt(KEY_FREED_PAGES, report.freedPages)
+                .putLong(KEY_DURATION_MS, report.totalMs)
+                .putString(KEY_LAST_REPORT, report.toString())
+                .apply();
+    }
+
+    // 마지막 실행 결과 요약 (없으면 null)
+    public static String getLastReport(@NonNull Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getString(KEY_LAST_REPORT, null);
+    }
+}
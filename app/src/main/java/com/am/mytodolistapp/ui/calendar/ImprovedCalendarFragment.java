@@ -16,7 +16,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
-import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.LocalDay;
 import com.am.mytodolistapp.ui.task.AddTodoWithDateDialogFragment;
 import com.am.mytodolistapp.ui.task.TaskListViewModel;
 import com.am.mytodolistapp.ui.task.TaskWithDateAdapter;
@@ -26,7 +26,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 
@@ -79,7 +78,7 @@ public class ImprovedCalendarFragment extends Fragment {
 
         // 초기 캘린더 및 할 일 목록 업데이트
         updateCalendarDisplay(); // currentDate 기준으로 월 표시 및 날짜 생성
-        updateSelectedDateTasks(); // selectedDate 기준으로 할 일 표시
+        observeSelectedDateTasks(); // selectedDate 기준으로 할 일 표시
         observeCompletionRates(); // 완료율 관찰 시작
     }
 
@@ -98,7 +97,7 @@ public class ImprovedCalendarFragment extends Fragment {
             // 날짜 클릭 시, 선택된 날짜를 업데이트하고 해당 날짜의 할 일 목록을 다시 로드
             selectedDate = date;
             calendarAdapter.setSelectedDate(selectedDate);
-            updateSelectedDateTasks();
+            taskListViewModel.setCalendarSelectedDate(selectedDate);
         });
         recyclerViewCalendar.setAdapter(calendarAdapter);
     } // 캘린더 RecyclerView를 설정
@@ -146,14 +145,15 @@ public class ImprovedCalendarFragment extends Fragment {
         taskListViewModel.setCurrentDisplayMonth(YearMonth.from(currentDate));
     }
 
-    private void updateSelectedDateTasks() {
-
-        taskListViewModel.getAllTodosWithCategoryForCalendar().observe(getViewLifecycleOwner(), allTodos -> {
-            if (allTodos == null) return;
-            List<TaskListViewModel.TodoWithCategory> filtered = filterTodosByDate(allTodos, selectedDate);
+    private void observeSelectedDateTasks() {
+        taskListViewModel.setCalendarSelectedDate(selectedDate);
+        taskListViewModel.getAllTodosWithCategoryForCalendar().observe(getViewLifecycleOwner(), dayTodos -> {
+            if (dayTodos == null) return;
+            // 날짜를 바꾼 직후 이전 날짜의 결과가 올 수 있으므로 한 번 더 거른다
+            List<TaskListViewModel.TodoWithCategory> filtered = filterTodosByDate(dayTodos, selectedDate);
             selectedDateTasksAdapter.submitList(filtered);
         });
-    }//선택된 날짜에 해당하는 할 일 목록을 ViewModel로부터 가져와 업데이트한다.
+    }//선택된 날짜에 해당하는 할 일 목록을 ViewModel로부터 가져와 업데이트한다. (한 번만 관찰, 날짜 변경은 ViewModel에 전달)
 
     private void observeCompletionRates() {
         taskListViewModel.getMonthlyCompletionRates().observe(getViewLifecycleOwner(), rates -> {
@@ -165,39 +165,17 @@ public class ImprovedCalendarFragment extends Fragment {
 
 
 
-    // 전체 할 일 목록에서 특정 날짜에 해당하는 할 일만 필터링
-    // 기한이 있는 할 일은 기한을 기준으로, 기한이 없는 할 일은 생성일을 기준으로 필터링한다.
+    // 할 일 목록에서 특정 날짜에 해당하는 할 일만 필터링
+    // 기한이 있는 할 일은 기한을, 없는 할 일은 생성일을 기준으로 한다 (effective_day, 로컬 날짜 정수 비교)
     private List<TaskListViewModel.TodoWithCategory> filterTodosByDate(
-            List<TaskListViewModel.TodoWithCategory> allTodos, LocalDate targetDate) {
+            List<TaskListViewModel.TodoWithCategory> todos, LocalDate targetDate) {
         List<TaskListViewModel.TodoWithCategory> filteredTodos = new ArrayList<>();
-        if (allTodos == null || targetDate == null) return filteredTodos;
-
-        // 대상 날짜의 시작(00:00:00)과 끝(23:59:59) 시간을 계산
-        Calendar targetCalendarStart = Calendar.getInstance();
-        targetCalendarStart.set(targetDate.getYear(), targetDate.getMonthValue() - 1, targetDate.getDayOfMonth(), 0, 0, 0);
-        targetCalendarStart.set(Calendar.MILLISECOND, 0);
-        long targetMillisStart = targetCalendarStart.getTimeInMillis();
-
-        Calendar targetCalendarEnd = Calendar.getInstance();
-        targetCalendarEnd.set(targetDate.getYear(), targetDate.getMonthValue() - 1, targetDate.getDayOfMonth(), 23, 59, 59);
-        targetCalendarEnd.set(Calendar.MILLISECOND, 999);
-        long targetMillisEnd = targetCalendarEnd.getTimeInMillis();
-
-        for (TaskListViewModel.TodoWithCategory todoWithCategory : allTodos) {
-            TodoItem todo = todoWithCategory.getTodoItem();
-            Long dueDate = todo.getDueDate();
-
-            if (dueDate == null) {
-                // 기한 없는 할일은 생성된 날짜를 기준으로 표시
-                long createdAt = todo.getCreatedAt();
-                if (createdAt >= targetMillisStart && createdAt <= targetMillisEnd) {
-                    filteredTodos.add(todoWithCategory);
-                }
-            } else {
-                // 기한 있는 할일은 기한 날짜를 기준으로 표시
-                if (dueDate >= targetMillisStart && dueDate <= targetMillisEnd) {
-                    filteredTodos.add(todoWithCategory);
-                }
+        if (todos == null || targetDate == null) return filteredTodos;
+
+        int targetDay = LocalDay.of(targetDate);
+        for (TaskListViewModel.TodoWithCategory todoWithCategory : todos) {
+            if (todoWithCategory.getEffectiveDay() == targetDay) {
+                filteredTodos.add(todoWithCategory);
             }
         }
         return filteredTodos;
@@ -14,16 +14,33 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
 import com.am.mytodolistapp.data.CategoryItem;
+import com.am.mytodolistapp.data.TodoCount;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 //카테고리 목록을 RecyclerView에 표시하기 위한 어댑터
 public class CategoryAdapter extends ListAdapter<CategoryItem, CategoryAdapter.CategoryViewHolder> {
 
-    private final CategoryViewModel viewModel;
+    private static final Object PAYLOAD_COUNT = new Object();
 
-    public CategoryAdapter(CategoryViewModel viewModel) {
+    private Map<Integer, TodoCount> todoCounts = Collections.emptyMap();
+
+    public CategoryAdapter() {
         super(DIFF_CALLBACK);
-        this.viewModel = viewModel;
+    }
+
+    // 개수가 바뀐 행만 다시 그린다 (CategoryViewModel.getTodoCounts 관찰 결과)
+    public void setTodoCounts(Map<Integer, TodoCount> counts) {
+        Map<Integer, TodoCount> old = todoCounts;
+        todoCounts = counts != null ? counts : Collections.emptyMap();
+        for (int i = 0; i < getItemCount(); i++) {
+            int id = getItem(i).getId();
+            if (!TodoCount.of(old, id).equals(TodoCount.of(todoCounts, id))) {
+                notifyItemChanged(i, PAYLOAD_COUNT);
+            }
+        }
     }
 
     @NonNull
@@ -31,12 +48,23 @@ public class CategoryAdapter extends ListAdapter<CategoryItem, CategoryAdapter.C
     public CategoryViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View itemView = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.list_item_category, parent, false);
-        return new CategoryViewHolder(itemView, viewModel);
+        return new CategoryViewHolder(itemView);
     }
 
     @Override
     public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position) {
-        holder.bind(getItem(position));
+        CategoryItem category = getItem(position);
+        holder.bind(category);
+        holder.bindCount(TodoCount.of(todoCounts, category.getId()));
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CategoryViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_COUNT) && payloads.size() == 1) {
+            holder.bindCount(TodoCount.of(todoCounts, getItem(position).getId()));
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
     }
 
 
@@ -46,11 +74,9 @@ public class CategoryAdapter extends ListAdapter<CategoryItem, CategoryAdapter.C
         private final TextView textCategoryName;
         private final TextView textCategoryInfo;
         private final TextView textDefaultLabel;
-        private final CategoryViewModel viewModel;
 
-        public CategoryViewHolder(@NonNull View itemView, CategoryViewModel viewModel) {
+        public CategoryViewHolder(@NonNull View itemView) {
             super(itemView);
-            this.viewModel = viewModel;
 
             viewCategoryColor = itemView.findViewById(R.id.view_category_color);
             textCategoryName = itemView.findViewById(R.id.text_category_name);
@@ -94,15 +120,15 @@ public class CategoryAdapter extends ListAdapter<CategoryItem, CategoryAdapter.C
             } else {
                 textDefaultLabel.setVisibility(View.GONE);
             }
+        }
 
-            // 해당 카테고리를 사용하는 할 일 개수 표시
-            viewModel.getTodoCountByCategory(category.getId(), count -> {
-                if (itemView.getContext() instanceof AppCompatActivity) {
-                    ((AppCompatActivity) itemView.getContext()).runOnUiThread(() -> {
-                        textCategoryInfo.setText("할 일 " + count + "개");
-                    });
-                }
-            });
+        // 해당 카테고리를 사용하는 할 일 개수 표시
+        public void bindCount(TodoCount count) {
+            if (count.completed > 0) {
+                textCategoryInfo.setText("할 일 " + count.active + "개 · 완료 " + count.completed + "개");
+            } else {
+                textCategoryInfo.setText("할 일 " + count.active + "개");
+            }
         }
     }
 
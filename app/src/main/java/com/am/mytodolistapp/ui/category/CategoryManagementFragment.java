@@ -61,7 +61,7 @@ public class CategoryManagementFragment extends Fragment {
 
     private void setupRecyclerView() {
         recyclerViewCategories.setLayoutManager(new LinearLayoutManager(getContext()));
-        categoryAdapter = new CategoryAdapter(categoryViewModel);
+        categoryAdapter = new CategoryAdapter();
         recyclerViewCategories.setAdapter(categoryAdapter);
 
 
@@ -121,5 +121,6 @@ public class CategoryManagementFragment extends Fragment {
         categoryViewModel.getAllCategories().observe(getViewLifecycleOwner(), categories -> {
             categoryAdapter.submitList(categories);
         });
+        categoryViewModel.getTodoCounts().observe(getViewLifecycleOwner(), categoryAdapter::setTodoCounts);
     } // ViewModel의 카테고리 목록 LiveData를 관찰하여, 데이터 변경 시 어댑터에 새 목록을 제출
 }
\ No newline at end of file
@@ -8,10 +8,14 @@ import androidx.lifecycle.LiveData;
 import com.am.mytodolistapp.data.AppDatabase;
 import com.am.mytodolistapp.data.CategoryDao;
 import com.am.mytodolistapp.data.CategoryItem;
+import com.am.mytodolistapp.data.HangulUtils;
+import com.am.mytodolistapp.data.TodoCount;
 import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.TodoStore;
+import com.am.mytodolistapp.data.WriteCoalescer;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 //카테고리 관련 데이터와 로직을 관리하는 ViewModel
 // UI(Fragment, Dialog)와 데이터 소스(Repository, DAO) 사이의 중개자 역할
@@ -19,34 +23,19 @@ public class CategoryViewModel extends AndroidViewModel {
 
     private CategoryDao categoryDao;
     private TodoDao todoDao; // 카테고리 삭제 시 관련 할 일 개수를 확인하기 위해 필요
+    private WriteCoalescer writeCoalescer;
     private LiveData<List<CategoryItem>> allCategories; // 모든 카테고리 목록을 관찰 가능한 LiveData
+    private LiveData<Map<Integer, TodoCount>> todoCounts; // 카테고리 id -> 할 일 개수 (목록 배지)
 
     public CategoryViewModel(Application application) {
         super(application);
         AppDatabase db = AppDatabase.getDatabase(application);
         categoryDao = db.categoryDao();
         todoDao = db.todoDao();
+        writeCoalescer = db.getWriteCoalescer();
         allCategories = categoryDao.getAllCategories();
-
-        // 앱 첫 실행 시 기본 카테고리 생성
-        initializeDefaultCategories();
-    }
-
-    // 기본 카테고리 초기화
-    private void initializeDefaultCategories() {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            // 기본 카테고리가 이미 존재하는지 확인
-            if (categoryDao.getDefaultCategoryCount() == 0) {
-                List<CategoryItem> defaultCategories = Arrays.asList(
-                        CategoryItem.createDefaultCategory("업무", "#FF4444", 1),      // 빨간색
-                        CategoryItem.createDefaultCategory("개인", "#FF8800", 2),      // 주황색
-                        CategoryItem.createDefaultCategory("쇼핑", "#FFDD00", 3),      // 노란색
-                        CategoryItem.createDefaultCategory("건강", "#44AA44", 4),      // 초록색
-                        CategoryItem.createDefaultCategory("학습", "#4488FF", 5)       // 파란색
-                );
-                categoryDao.insertAll(defaultCategories);
-            }
-        });
+        todoCounts = db.getTodoStore().view(TodoStore.Snapshot::getCountsByCategory); // 공유 스냅샷에서 (별도 쿼리 없음)
+        // 기본 카테고리는 DB를 만들 때 넣는다 (AppDatabase.DEFAULT_CATEGORIES_CALLBACK)
     }
 
     // 카테고리 관련 메서드들
@@ -62,13 +51,28 @@ public class CategoryViewModel extends AndroidViewModel {
         return categoryDao.getUserCategories();
     }
 
+    // 카테고리 이름 검색 - 초성만 입력하면("ㅇㅁ") name_chosung 인덱스로 접두어 검색
+    public LiveData<List<CategoryItem>> searchCategories(String query) {
+        String trimmed = query == null ? "" : query.trim();
+        if (HangulUtils.isChosungQuery(trimmed)) {
+            return categoryDao.getCategoriesByChosungPrefix(trimmed, HangulUtils.prefixUpperBound(trimmed));
+        }
+        return categoryDao.getCategoriesByName(trimmed);
+    }
+
+    private static void fillSearchFields(CategoryItem category) {
+        category.setNameChosung(HangulUtils.toChosung(category.getName()));
+    }
+
     public void insertCategory(CategoryItem category) {
+        fillSearchFields(category);
         AppDatabase.databaseWriteExecutor.execute(() -> {
             categoryDao.insert(category);
         });
     }
 
     public void updateCategory(CategoryItem category) {
+        fillSearchFields(category);
         AppDatabase.databaseWriteExecutor.execute(() -> {
             categoryDao.update(category);
         });
@@ -92,19 +96,15 @@ public class CategoryViewModel extends AndroidViewModel {
         });
     }
 
-    // 카테고리 순서 변경
+    // 카테고리 순서 변경 - 끌어서 옮기는 동안 행마다 호출되므로 모아서 한 트랜잭션으로 반영
     public void updateCategoryOrder(int categoryId, int newOrder) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            categoryDao.updateCategoryOrder(categoryId, newOrder);
-        });
+        writeCoalescer.submit(WriteCoalescer.categoryKey(categoryId), "order",
+                () -> categoryDao.updateCategoryOrder(categoryId, newOrder));
     }
 
-    // 카테고리별 할 일 개수 조회
-    public void getTodoCountByCategory(int categoryId, CountCallback callback) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            int count = categoryDao.getTodoCountByCategory(categoryId);
-            callback.onCount(count);
-        });
+    // 카테고리별 할 일 개수 - 한 번의 GROUP BY 결과로 모든 행을 그린다
+    public LiveData<Map<Integer, TodoCount>> getTodoCounts() {
+        return todoCounts;
     }
 
     // 콜백 인터페이스들
@@ -112,10 +112,6 @@ public class CategoryViewModel extends AndroidViewModel {
         void onResult(int todoCount);
     }
 
-    public interface CountCallback {
-        void onCount(int count);
-    }
-
     // 무지개 색상 ***
     public static final String[] PREDEFINED_COLORS = {
             "#FF4444", // 빨간색
@@ -189,6 +189,9 @@ public class LocationBasedTaskFragment extends Fragment {
                 Log.d(TAG, "Loaded " + locations.size() + " locations");
             }
         });
+
+        // 위치별 할 일 개수 (배지)
+        viewModel.getTodoCounts().observe(getViewLifecycleOwner(), locationAdapter::setTodoCounts);
     }
 
     private void showDeleteConfirmationDialog(LocationItem location, int todoCount) {
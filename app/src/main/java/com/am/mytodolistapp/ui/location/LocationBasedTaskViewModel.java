@@ -11,18 +11,33 @@ import androidx.lifecycle.LiveData;
 import com.am.mytodolistapp.data.AppDatabase;
 import com.am.mytodolistapp.data.LocationDao;
 import com.am.mytodolistapp.data.LocationItem;
+import com.am.mytodolistapp.data.TodoChange;
+import com.am.mytodolistapp.data.TodoChangeTracker;
+import com.am.mytodolistapp.data.TodoCount;
 import com.am.mytodolistapp.data.TodoDao;
 import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoItemCache;
+import com.am.mytodolistapp.data.TodoSearch;
+import com.am.mytodolistapp.data.TodoStore;
 import com.am.mytodolistapp.service.LocationService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class LocationBasedTaskViewModel extends AndroidViewModel {
     private static final String TAG = "LocationTaskViewModel";
 
+    // 위치 할 일 목록 - 위치가 바뀐 할 일, 새 할 일, 이미 보이는 할 일의 변경에만 다시 읽는다
+    private static final TodoChangeTracker.Slice LOCATION_TODOS_SLICE = new TodoChangeTracker.Slice(
+            "location_todos", TodoChange.COL_LOCATION, TodoChange.ALL_COLUMNS, false);
+
     private LocationDao locationDao;
     private TodoDao todoDao;
+    private TodoChangeTracker changeTracker;
+    private TodoItemCache todoItemCache;
     private LiveData<List<LocationItem>> allLocations;
+    private LiveData<Map<Integer, TodoCount>> todoCounts; // 위치 id -> 할 일 개수 (목록 배지)
     private LocationService locationService;
 
     // 위치 삭제 시 확인 다이얼로그를 위한 인터페이스
@@ -38,7 +53,10 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
         AppDatabase db = AppDatabase.getDatabase(application);
         locationDao = db.locationDao();
         todoDao = db.todoDao();
+        changeTracker = db.getChangeTracker();
+        todoItemCache = db.getTodoItemCache();
         allLocations = locationDao.getAllLocations();
+        todoCounts = db.getTodoStore().view(TodoStore.Snapshot::getCountsByLocation); // 공유 스냅샷에서 (별도 쿼리 없음)
         locationService = new LocationService(application);
 
         // 앱 시작 시 기존 위치 기반 할 일들에 대해 Geofence 등록
@@ -52,7 +70,7 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
 
     // 앱 시작 시 기존 위치 기반 할 일들에 대해 Geofence 등록
     private void initializeGeofences() {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseReadExecutor.execute(() -> {
             try {
                 List<TodoItem> activeLocationTodos = todoDao.getActiveLocationBasedTodos();
                 Log.d(TAG, "Initializing geofences for " + activeLocationTodos.size() + " active location-based todos");
@@ -72,6 +90,11 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
         return allLocations;
     }
 
+    // 위치별 할 일 개수 - 한 번의 GROUP BY 결과로 모든 행을 그린다
+    public LiveData<Map<Integer, TodoCount>> getTodoCounts() {
+        return todoCounts;
+    }
+
     public void insertLocation(LocationItem location) {
         if (location == null || location.getName() == null || location.getName().trim().isEmpty()) {
             Log.w(TAG, "Cannot insert location: invalid location data");
@@ -130,7 +153,7 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
             return;
         }
 
-        AppDatabase.databaseWriteExecutor.execute(() -> {
+        AppDatabase.databaseReadExecutor.execute(() -> {
             try {
                 // 해당 위치의 할 일 개수 확인
                 List<TodoItem> locationTodos = todoDao.getTodosByLocationIdSync(location.getId());
@@ -200,7 +223,11 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
 
     // 특정 위치의 할 일들 가져오기
     public LiveData<List<TodoItem>> getTodosByLocationId(int locationId) {
-        return todoDao.getTodosByLocationId(locationId);
+        return changeTracker.liveQuery(LOCATION_TODOS_SLICE, () -> todoDao.getTodosByLocationId(locationId), todos -> {
+            List<Integer> ids = new ArrayList<>();
+            for (TodoItem todo : todos) ids.add(todo.getId());
+            return ids;
+        });
     }
 
     public void insertTodo(TodoItem todoItem) {
@@ -218,6 +245,8 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
                     // TodoItem에 위치 정보(위도, 경도, 반경 등) 채우기
                     updateTodoLocationInfo(todoItem, location);
 
+                    TodoSearch.fillSearchFields(todoItem);
+
                     // 시간 정보 설정
                     long currentTime = System.currentTimeMillis();
                     todoItem.setCreatedAt(currentTime);
@@ -240,6 +269,7 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
                 } else {
                     Log.w(TAG, "Location not found for ID: " + todoItem.getLocationId());
                     // 위치 정보 없이도 할 일은 저장
+                    TodoSearch.fillSearchFields(todoItem);
                     long insertedId = todoDao.insertAndGetId(todoItem);
                     todoItem.setId((int) insertedId);
                     Log.d(TAG, "Inserted todo without location: " + todoItem.getTitle());
@@ -258,18 +288,11 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
 
         AppDatabase.databaseWriteExecutor.execute(() -> {
             try {
-                //ID를 사용해 DB에서 기존 TodoItem을 가져온다
-                TodoItem itemToUpdate = todoDao.getTodoByIdSync(todoId);
-
-                if (itemToUpdate != null) {
-                    // 필요한 부분(제목)만 수정합니다.
-                    itemToUpdate.setTitle(newTitle);
-
-
-                    // 정된 전체 객체를 사용하여 DB를 업데이트
-                    todoDao.update(itemToUpdate);
-                    Log.d(TAG, "Updated todo: " + itemToUpdate.getTitle());
-
+                // 제목(과 검색용 초성)만 UPDATE 한 문장으로 고친다
+                boolean updated = todoDao.updateTitle(todoId, newTitle, System.currentTimeMillis());
+                todoItemCache.invalidate(todoId);
+                if (updated) {
+                    Log.d(TAG, "Updated todo: " + newTitle);
                 } else {
                     Log.e(TAG, "TodoItem to update not found with id: " + todoId);
                 }
@@ -282,20 +305,24 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
     public void toggleTodoCompletion(TodoItem todoItem) {
         if (todoItem == null) return;
 
+        int todoId = todoItem.getId();
         AppDatabase.databaseWriteExecutor.execute(() -> {
-            // 완료 상태를 반전
-            todoItem.setCompleted(!todoItem.isCompleted());
-            // 업데이트 시간은 setCompleted 내부에서 갱신
-
-            todoDao.update(todoItem);
+            // 현재 DB 값을 반전하는 UPDATE 한 문장 (화면의 객체는 오래된 값일 수 있다)
+            boolean changed = todoDao.toggleCompleted(todoId, System.currentTimeMillis());
+            todoItemCache.invalidate(todoId);
+            if (!changed) {
+                return;
+            }
             Log.d(TAG, "Toggled completion for todo: " + todoItem.getTitle());
 
-            // Geofence 업데이트 로직
-            locationService.removeGeofence(todoItem);
-            if (!todoItem.isCompleted() && todoItem.isLocationEnabled()) {
-                LocationItem location = locationDao.getLocationByIdSync(todoItem.getLocationId());
+            // Geofence 업데이트 로직 - 바뀐 상태 기준 (다시 읽은 값이 캐시에 남아 다음 조회에 쓰인다)
+            TodoItem toggled = todoItemCache.get(todoId);
+            if (toggled == null) return;
+            locationService.removeGeofence(toggled);
+            if (!toggled.isCompleted() && toggled.isLocationEnabled()) {
+                LocationItem location = locationDao.getLocationByIdSync(toggled.getLocationId());
                 if (location != null && location.isEnabled()) {
-                    locationService.registerGeofence(todoItem);
+                    locationService.registerGeofence(toggled);
                 }
             }
         });
@@ -332,34 +359,6 @@ public class LocationBasedTaskViewModel extends AndroidViewModel {
         }
     }
 
-    // 특정 위치의 할 일 개수 조회
-    public void getLocationTodoCount(int locationId, OnTodoCountResultListener listener) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            try {
-                List<TodoItem> todos = todoDao.getTodosByLocationIdSync(locationId);
-                int count = todos.size();
-
-                if (listener != null) {
-                    new Handler(Looper.getMainLooper()).post(() -> {
-                        listener.onResult(count);
-                    });
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error getting todo count for location", e);
-                if (listener != null) {
-                    new Handler(Looper.getMainLooper()).post(() -> {
-                        listener.onResult(0);
-                    });
-                }
-            }
-        });
-    }
-
-    // 할 일 개수 결과를 받기 위한 인터페이스
-    public interface OnTodoCountResultListener {
-        void onResult(int count);
-    }
-
     // Geofence 재초기화 (위치 서비스 재시작 시 사용)
     public void reinitializeGeofences() {
         Log.d(TAG, "Reinitializing all geofences...");
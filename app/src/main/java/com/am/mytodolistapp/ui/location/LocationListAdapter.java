@@ -16,16 +16,36 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
 import com.am.mytodolistapp.data.LocationItem;
+import com.am.mytodolistapp.data.TodoCount;
+
+import java.util.Collections;
+import java.util.Map;
 
 public class LocationListAdapter extends ListAdapter<LocationItem, LocationListAdapter.LocationViewHolder> {
 
+    private static final Object PAYLOAD_COUNT = new Object();
+
     private final LocationBasedTaskViewModel viewModel;
+    private Map<Integer, TodoCount> todoCounts = Collections.emptyMap();
 
     public LocationListAdapter(LocationBasedTaskViewModel viewModel) {
         super(DIFF_CALLBACK);
         this.viewModel = viewModel;
     }
 
+    // 개수가 바뀐 행만 다시 그린다 (LocationBasedTaskViewModel.getTodoCounts 관찰 결과)
+    // payload를 주면 행 전체 교체 애니메이션 없이 같은 ViewHolder에 다시 바인딩된다
+    public void setTodoCounts(Map<Integer, TodoCount> counts) {
+        Map<Integer, TodoCount> old = todoCounts;
+        todoCounts = counts != null ? counts : Collections.emptyMap();
+        for (int i = 0; i < getItemCount(); i++) {
+            int id = getItem(i).getId();
+            if (!TodoCount.of(old, id).equals(TodoCount.of(todoCounts, id))) {
+                notifyItemChanged(i, PAYLOAD_COUNT);
+            }
+        }
+    }
+
     @NonNull
     @Override
     public LocationViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -36,7 +56,8 @@ public class LocationListAdapter extends ListAdapter<LocationItem, LocationListA
 
     @Override
     public void onBindViewHolder(@NonNull LocationViewHolder holder, int position) {
-        holder.bind(getItem(position));
+        LocationItem location = getItem(position);
+        holder.bind(location, TodoCount.of(todoCounts, location.getId()));
     }
 
     static class LocationViewHolder extends RecyclerView.ViewHolder {
@@ -44,6 +65,7 @@ public class LocationListAdapter extends ListAdapter<LocationItem, LocationListA
         private final TextView textLocationDetails;
         private final Switch switchLocationEnabled;
         private final LocationBasedTaskViewModel viewModel;
+        private TodoCount todoCount = TodoCount.EMPTY;
 
         public LocationViewHolder(@NonNull View itemView, LocationBasedTaskViewModel viewModel) {
             super(itemView);
@@ -111,32 +133,31 @@ public class LocationListAdapter extends ListAdapter<LocationItem, LocationListA
         }
 
         private void showDeleteConfirmationDialog(LocationItem location) {
-            // 먼저 해당 위치의 할 일 개수를 확인
-            viewModel.getLocationTodoCount(location.getId(), count -> {
-                String message;
-                if (count > 0) {
-                    message = "'" + location.getName() + "' 위치에는 " + count + "개의 할 일이 있습니다.\n\n" +
-                            "위치를 삭제하면 관련된 모든 할 일도 함께 삭제됩니다.\n\n" +
-                            "정말 삭제하시겠습니까?";
-                } else {
-                    message = "'" + location.getName() + "' 위치를 삭제하시겠습니까?";
-                }
+            // 해당 위치의 할 일 개수 (목록 배지와 같은 값)
+            int count = todoCount.getTotal();
+            String message;
+            if (count > 0) {
+                message = "'" + location.getName() + "' 위치에는 " + count + "개의 할 일이 있습니다.\n\n" +
+                        "위치를 삭제하면 관련된 모든 할 일도 함께 삭제됩니다.\n\n" +
+                        "정말 삭제하시겠습니까?";
+            } else {
+                message = "'" + location.getName() + "' 위치를 삭제하시겠습니까?";
+            }
 
-                new AlertDialog.Builder(itemView.getContext())
-                        .setTitle("위치 삭제 확인")
-                        .setMessage(message)
-                        .setPositiveButton("삭제", (dialog, which) -> {
-                            viewModel.deleteLocationWithTodos(location);
-
-                            String toastMessage = "'" + location.getName() + "' 위치가 삭제되었습니다";
-                            if (count > 0) {
-                                toastMessage += " (" + count + "개 할 일 포함)";
-                            }
-                            Toast.makeText(itemView.getContext(), toastMessage, Toast.LENGTH_SHORT).show();
-                        })
-                        .setNegativeButton("취소", null)
-                        .show();
-            });
+            new AlertDialog.Builder(itemView.getContext())
+                    .setTitle("위치 삭제 확인")
+                    .setMessage(message)
+                    .setPositiveButton("삭제", (dialog, which) -> {
+                        viewModel.deleteLocationWithTodos(location);
+
+                        String toastMessage = "'" + location.getName() + "' 위치가 삭제되었습니다";
+                        if (count > 0) {
+                            toastMessage += " (" + count + "개 할 일 포함)";
+                        }
+                        Toast.makeText(itemView.getContext(), toastMessage, Toast.LENGTH_SHORT).show();
+                    })
+                    .setNegativeButton("취소", null)
+                    .show();
         }
 
         private void handleLocationToggle(LocationItem location, boolean isChecked) {
@@ -153,15 +174,17 @@ public class LocationListAdapter extends ListAdapter<LocationItem, LocationListA
             Toast.makeText(itemView.getContext(), message, Toast.LENGTH_SHORT).show();
         }
 
-        public void bind(LocationItem location) {
+        public void bind(LocationItem location, TodoCount count) {
             if (location == null) return;
+            todoCount = count;
 
             // 위치 이름 설정
             textLocationName.setText(location.getName());
 
-            // 위치 세부정보 설정 (반경과 좌표 정보)
-            String detailText = String.format("반경 %dm\n%.6f, %.6f",
+            // 위치 세부정보 설정 (반경, 할 일 개수와 좌표 정보)
+            String detailText = String.format("반경 %dm • 할 일 %d개\n%.6f, %.6f",
                     (int) location.getRadius(),
+                    count.active,
                     location.getLatitude(),
                     location.getLongitude());
             textLocationDetails.setText(detailText);
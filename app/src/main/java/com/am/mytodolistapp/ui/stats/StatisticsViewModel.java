@@ -4,13 +4,10 @@ import android.app.Application;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.Transformations;
 
 import com.am.mytodolistapp.data.AppDatabase;
-import com.am.mytodolistapp.data.CategoryDao;
-import com.am.mytodolistapp.data.CategoryItem;
-import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.DailyStatsDao;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,8 +17,7 @@ import java.util.Map;
 
 public class StatisticsViewModel extends AndroidViewModel {
 
-    private TodoDao todoDao;
-    private CategoryDao categoryDao;
+    private DailyStatsDao dailyStatsDao;
 
     private LiveData<Integer> completedTasksCount;
     private LiveData<Integer> pendingTasksCount;
@@ -31,77 +27,51 @@ public class StatisticsViewModel extends AndroidViewModel {
     public StatisticsViewModel(Application application) {
         super(application);
         AppDatabase db = AppDatabase.getDatabase(application);
-        todoDao = db.todoDao();
-        categoryDao = db.categoryDao();
+        dailyStatsDao = db.dailyStatsDao();
 
         initializeLiveData();
     }
 
+    // 모든 값은 daily_stats 집계 테이블에서만 읽는다 (할 일 수와 상관없이 집계 행 수만큼)
     private void initializeLiveData() {
         // 완료된 작업 수
-        completedTasksCount = Transformations.map(
-                todoDao.getCompletedTodosWithCategory(),
-                todos -> todos != null ? todos.size() : 0
-        );
+        completedTasksCount = dailyStatsDao.countCompletedTodos();
 
         // 보류중인 작업 수
-        pendingTasksCount = Transformations.map(
-                todoDao.getIncompleteTodosWithCategory(),
-                todos -> todos != null ? todos.size() : 0
-        );
+        pendingTasksCount = dailyStatsDao.countIncompleteTodos();
+
+        // 일일 완료 데이터 (일요일부터 토요일까지) - 이번 주 구간만 날짜별 개수로 읽는다
+        LocalDate thisWeekSunday = getThisWeekSunday();
 
-        // 일일 완료 데이터 (일요일부터 토요일까지)
         dailyCompletionData = Transformations.map(
-                todoDao.getCompletedTodosWithCategory(),
-                this::calculateDailyCompletionData
+                dailyStatsDao.getCompletedCountsByDay(thisWeekSunday.toString(), thisWeekSunday.plusDays(7).toString()),
+                dayCounts -> calculateDailyCompletionData(thisWeekSunday, dayCounts)
         );
 
         // 카테고리별 미완료 작업 데이터
-        MediatorLiveData<List<CategoryStatData>> categoryMediatorLiveData = new MediatorLiveData<>();
-        LiveData<List<TodoDao.TodoWithCategoryInfo>> incompleteTodos = todoDao.getIncompleteTodosWithCategory();
-        LiveData<List<CategoryItem>> allCategories = categoryDao.getAllCategories();
-
-        categoryMediatorLiveData.addSource(incompleteTodos, todos -> {
-            List<CategoryItem> categories = allCategories.getValue();
-            if (categories != null) {
-                categoryMediatorLiveData.setValue(calculateCategoryStatData(todos, categories));
-            }
-        });
-
-        categoryMediatorLiveData.addSource(allCategories, categories -> {
-            List<TodoDao.TodoWithCategoryInfo> todos = incompleteTodos.getValue();
-            if (todos != null) {
-                categoryMediatorLiveData.setValue(calculateCategoryStatData(todos, categories));
-            }
-        });
-
-        incompleteByCategoryData = categoryMediatorLiveData;
+        incompleteByCategoryData = Transformations.map(
+                dailyStatsDao.getIncompleteCountsByCategory(),
+                this::calculateCategoryStatData
+        );
     }
 
-    private List<DailyCompletionData> calculateDailyCompletionData(List<TodoDao.TodoWithCategoryInfo> completedTodos) {
-        List<DailyCompletionData> result = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-
-        // 이번 주 일요일 찾기
-        LocalDate thisWeekSunday = today;
+    private LocalDate getThisWeekSunday() {
+        LocalDate thisWeekSunday = LocalDate.now();
         while (thisWeekSunday.getDayOfWeek().getValue() != 7) { // 7 = 일요일
             thisWeekSunday = thisWeekSunday.minusDays(1);
         }
+        return thisWeekSunday;
+    }
 
-        // 일요일부터 토요일까지 7일간의 데이터 초기화
-        Map<LocalDate, Integer> dailyCount = new HashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = thisWeekSunday.plusDays(i);
-            dailyCount.put(date, 0);
-        }
+    private List<DailyCompletionData> calculateDailyCompletionData(LocalDate thisWeekSunday,
+                                                                   List<DailyStatsDao.DayCount> dayCounts) {
+        List<DailyCompletionData> result = new ArrayList<>();
 
-        // 완료된 작업들의 완료 날짜별로 카운트
-        if (completedTodos != null) {
-            for (TodoDao.TodoWithCategoryInfo todo : completedTodos) {
-                LocalDate completionDate = LocalDate.ofEpochDay(todo.updated_at / (24 * 60 * 60 * 1000));
-                if (dailyCount.containsKey(completionDate)) {
-                    dailyCount.put(completionDate, dailyCount.get(completionDate) + 1);
-                }
+        // 날짜("yyyy-MM-dd")별 완료 수
+        Map<String, Integer> dailyCount = new HashMap<>();
+        if (dayCounts != null) {
+            for (DailyStatsDao.DayCount dayCount : dayCounts) {
+                dailyCount.put(dayCount.day, dayCount.count);
             }
         }
 
@@ -109,45 +79,29 @@ public class StatisticsViewModel extends AndroidViewModel {
         for (int i = 0; i < 7; i++) {
             LocalDate date = thisWeekSunday.plusDays(i);
             String dayOfWeek = getDayOfWeekKorean(date.getDayOfWeek().getValue());
-            result.add(new DailyCompletionData(dayOfWeek, dailyCount.get(date)));
+            result.add(new DailyCompletionData(dayOfWeek, dailyCount.getOrDefault(date.toString(), 0)));
         }
 
         return result;
     }
 
-    private List<CategoryStatData> calculateCategoryStatData(List<TodoDao.TodoWithCategoryInfo> incompleteTodos,
-                                                             List<CategoryItem> categories) {
+    private List<CategoryStatData> calculateCategoryStatData(List<DailyStatsDao.CategoryCount> categoryCounts) {
         List<CategoryStatData> result = new ArrayList<>();
-        Map<Integer, Integer> categoryCount = new HashMap<>();
-        int noCategoryCount = 0;
-
-        // 카테고리별 미완료 작업 수 계산
-        if (incompleteTodos != null) {
-            for (TodoDao.TodoWithCategoryInfo todo : incompleteTodos) {
-                if (todo.category_id == null) {
-                    noCategoryCount++;
-                } else {
-                    categoryCount.put(todo.category_id,
-                            categoryCount.getOrDefault(todo.category_id, 0) + 1);
-                }
-            }
+        if (categoryCounts == null) {
+            return result;
         }
 
-        // 카테고리별 데이터 생성
-        if (categories != null) {
-            for (CategoryItem category : categories) {
-                int count = categoryCount.getOrDefault(category.getId(), 0);
-                if (count > 0) {
-                    result.add(new CategoryStatData(category.getName(), count, category.getColor()));
-                }
+        for (DailyStatsDao.CategoryCount categoryCount : categoryCounts) {
+            if (categoryCount.category_id == null) {
+                // 카테고리 없는 작업 (쿼리에서 마지막으로 정렬됨)
+                result.add(new CategoryStatData("카테고리 없음", categoryCount.count, "#CCCCCC"));
+            } else if (categoryCount.category_name != null) {
+                // 삭제된 카테고리를 가리키는 작업은 제외 (기존 동작과 동일)
+                result.add(new CategoryStatData(categoryCount.category_name, categoryCount.count,
+                        categoryCount.category_color));
             }
         }
 
-        // 카테고리 없는 작업이 있다면 추가
-        if (noCategoryCount > 0) {
-            result.add(new CategoryStatData("카테고리 없음", noCategoryCount, "#CCCCCC"));
-        }
-
         return result;
     }
 
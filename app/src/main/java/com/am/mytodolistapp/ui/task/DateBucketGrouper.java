@@ -0,0 +1,220 @@
+package com.am.mytodolistapp.ui.task;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.am.mytodolistapp.data.LocalDay;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// 메인 목록을 날짜 구간(지난/오늘/내일/이번 주/나중/날짜 없음)으로 나눈다.
+// 프래그먼트가 메인 스레드에서 목록이 올 때마다 나누던 것을 변환 스레드로 옮기고,
+// 자정이 지나면 DB 쓰기를 기다리지 않고 바뀔 수 있는 구간의 항목만 다시 나눈다.
+
+/* 구간 키: effective_day(LocalDay - 기한, 없으면 생성일)를 오늘/내일/이번 주 마지막 날과 정수로 비교한다.
+   구간 구성은 생성자에서 정한다 - 빠진 구간의 항목은 더 넓은 구간으로 간다
+     내일 -> 이번 주 -> 나중, 날짜 없음 -> effective_day 기준 구간
+   group(): 새 목록 전체를 나눈다. 구간마다 목록 위치(오름차순)를 들고 있어 목록 순서가 유지된다.
+   rollover(): 오늘이 앞으로 바뀌면 지난/날짜 없음 구간은 그대로 두고 나머지 구간의 항목만 다시 나눈다.
+     항목이 옮겨 가지 않은 구간은 같은 목록 객체를 다시 쓴다 (어댑터 비교가 참조 비교로 끝남)
+   TaskListViewModel: ListMappingPipeline의 변환(group)과 필터(rollover)로 사용 - 변환 스레드에서만 접근
+     목록은 TodoListPager가 날짜 순서로 불러온 범위다 - 가운데 구간(오늘 등)은 빠짐없이 채워지고 지난 구간과 마지막 구간만 스크롤하며 늘어난다
+     (날짜 없음 구간은 날짜 순서와 무관하므로 불러온 범위 안의 항목만 보인다) */
+final class DateBucketGrouper {
+
+    enum Bucket {
+        OVERDUE("previous", "이전의"),
+        TODAY("today", "오늘"),
+        TOMORROW("tomorrow", "내일"),
+        THIS_WEEK("this_week", "이번 주"),
+        LATER("future", "미래"),
+        NO_DATE("no_date", "날짜 없음");
+
+        final String id;
+        final String title;
+
+        Bucket(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+    }
+
+    // 기존 화면 구성 (이전의 / 오늘 / 미래)
+    static final Set<Bucket> DEFAULT_BUCKETS =
+            Collections.unmodifiableSet(EnumSet.of(Bucket.OVERDUE, Bucket.TODAY, Bucket.LATER));
+
+    private static final Bucket[] BUCKETS = Bucket.values();
+
+    private final boolean useTomorrow;
+    private final boolean useThisWeek;
+    private final boolean useNoDate;
+    private final DayOfWeek firstDayOfWeek;
+
+    private int today;
+    private int weekEnd; // 이번 주 마지막 날
+
+    private List<TaskListViewModel.TodoWithCategory> items = Collections.emptyList();
+    private final int[][] positions = new int[BUCKETS.length][];
+    private final int[] sizes = new int[BUCKETS.length];
+    // 구간별 화면 목록 (null이면 다시 만든다)
+    private final List<List<TaskListViewModel.TodoWithCategory>> tasks = new ArrayList<>();
+    private List<GroupedTaskAdapter.TaskGroup> groups = Collections.emptyList();
+
+    private int regroupCount;
+    private int rolloverCount;
+    private int movedCount;
+
+    // buckets: OVERDUE, TODAY, LATER는 반드시 포함 (다른 구간이 빠졌을 때 받는 곳)
+    DateBucketGrouper(@NonNull Set<Bucket> buckets, @NonNull DayOfWeek firstDayOfWeek, int today) {
+        if (!buckets.containsAll(EnumSet.of(Bucket.OVERDUE, Bucket.TODAY, Bucket.LATER))) {
+            throw new IllegalArgumentException("OVERDUE, TODAY and LATER buckets are required: " + buckets);
+        }
+        this.useTomorrow = buckets.contains(Bucket.TOMORROW);
+        this.useThisWeek = buckets.contains(Bucket.THIS_WEEK);
+        this.useNoDate = buckets.contains(Bucket.NO_DATE);
+        this.firstDayOfWeek = firstDayOfWeek;
+        for (int b = 0; b < BUCKETS.length; b++) {
+            positions[b] = new int[8];
+            tasks.add(null);
+        }
+        setToday(today);
+    }
+
+    // 새 목록 전체를 나눈다
+    @NonNull
+    List<GroupedTaskAdapter.TaskGroup> group(@Nullable List<TaskListViewModel.TodoWithCategory> newItems) {
+        items = newItems != null ? newItems : Collections.emptyList();
+        Arrays.fill(sizes, 0);
+        for (int i = 0; i < items.size(); i++) {
+            add(classify(items.get(i)).ordinal(), i);
+        }
+        Collections.fill(tasks, null);
+        regroupCount++;
+        return buildGroups();
+    }
+
+    // 오늘 날짜가 바뀌었을 때 다시 나눈다 (같은 날이면 마지막 결과를 그대로 돌려준다)
+    @NonNull
+    List<GroupedTaskAdapter.TaskGroup> rollover(int newToday) {
+        if (newToday == today) return groups;
+        if (newToday < today) { // 시계/시간대를 되돌린 경우 - 지난 구간도 바뀔 수 있다
+            setToday(newToday);
+            return group(items);
+        }
+        setToday(newToday);
+
+        // 날짜가 앞으로 가면 지난 항목은 계속 지난 항목이고, 날짜 없는 항목은 날짜와 무관하다
+        int[][] moved = new int[BUCKETS.length][];
+        int[] movedSizes = new int[BUCKETS.length];
+        for (int b = 0; b < BUCKETS.length; b++) {
+            if (b == Bucket.OVERDUE.ordinal() || b == Bucket.NO_DATE.ordinal()) continue;
+            int kept = 0;
+            for (int k = 0; k < sizes[b]; k++) {
+                int position = positions[b][k];
+                int target = classify(items.get(position)).ordinal();
+                if (target == b) {
+                    positions[b][kept++] = position;
+                    continue;
+                }
+                if (moved[target] == null) moved[target] = new int[8];
+                if (movedSizes[target] == moved[target].length) {
+                    moved[target] = Arrays.copyOf(moved[target], movedSizes[target] * 2);
+                }
+                moved[target][movedSizes[target]++] = position;
+                tasks.set(b, null);
+                tasks.set(target, null);
+                movedCount++;
+            }
+            sizes[b] = kept;
+        }
+        for (int b = 0; b < BUCKETS.length; b++) {
+            if (movedSizes[b] > 0) merge(b, moved[b], movedSizes[b]);
+        }
+        rolloverCount++;
+        return buildGroups();
+    }
+
+    int getToday() {
+        return today;
+    }
+
+    // 전체 다시 나눈 횟수 / 날짜가 바뀌어 구간만 다시 나눈 횟수 / 옮긴 항목 수 (테스트용)
+    int getRegroupCount() {
+        return regroupCount;
+    }
+
+    int getRolloverCount() {
+        return rolloverCount;
+    }
+
+    int getMovedCount() {
+        return movedCount;
+    }
+
+    private void setToday(int day) {
+        today = day;
+        int sinceWeekStart = (LocalDay.toDate(day).getDayOfWeek().getValue() - firstDayOfWeek.getValue() + 7) % 7;
+        weekEnd = day + 6 - sinceWeekStart;
+    }
+
+    private Bucket classify(TaskListViewModel.TodoWithCategory item) {
+        if (useNoDate && item.getDueDate() == null) return Bucket.NO_DATE;
+        int day = item.getEffectiveDay();
+        if (day < today) return Bucket.OVERDUE;
+        if (day == today) return Bucket.TODAY;
+        if (useTomorrow && day == today + 1) return Bucket.TOMORROW;
+        if (useThisWeek && day <= weekEnd) return Bucket.THIS_WEEK;
+        return Bucket.LATER;
+    }
+
+    private void add(int bucket, int position) {
+        if (sizes[bucket] == positions[bucket].length) {
+            positions[bucket] = Arrays.copyOf(positions[bucket], sizes[bucket] * 2);
+        }
+        positions[bucket][sizes[bucket]++] = position;
+    }
+
+    // 남은 위치와 옮겨 온 위치(둘 다 오름차순)를 합친다
+    private void merge(int bucket, int[] incoming, int incomingSize) {
+        int[] current = positions[bucket];
+        int currentSize = sizes[bucket];
+        int[] merged = new int[Math.max(8, currentSize + incomingSize)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < currentSize && j < incomingSize) {
+            merged[k++] = current[i] < incoming[j] ? current[i++] : incoming[j++];
+        }
+        while (i < currentSize) merged[k++] = current[i++];
+        while (j < incomingSize) merged[k++] = incoming[j++];
+        positions[bucket] = merged;
+        sizes[bucket] = k;
+    }
+
+    // 항목이 있는 구간만 순서대로 (기존 프래그먼트와 같이 빈 그룹은 넣지 않는다)
+    private List<GroupedTaskAdapter.TaskGroup> buildGroups() {
+        List<GroupedTaskAdapter.TaskGroup> result = new ArrayList<>();
+        for (int b = 0; b < BUCKETS.length; b++) {
+            if (sizes[b] == 0) {
+                tasks.set(b, null);
+                continue;
+            }
+            List<TaskListViewModel.TodoWithCategory> bucketTasks = tasks.get(b);
+            if (bucketTasks == null) {
+                List<TaskListViewModel.TodoWithCategory> list = new ArrayList<>(sizes[b]);
+                for (int k = 0; k < sizes[b]; k++) list.add(items.get(positions[b][k]));
+                bucketTasks = Collections.unmodifiableList(list);
+                tasks.set(b, bucketTasks);
+            }
+            result.add(new GroupedTaskAdapter.TaskGroup(BUCKETS[b].id, BUCKETS[b].title, bucketTasks));
+        }
+        groups = result;
+        return result;
+    }
+}
@@ -80,6 +80,23 @@ public class EditTodoDialogFragment extends DialogFragment {
         return fragment;
     }
 
+    // 목록 행(TodoListRow)에서 여는 경우 - 저장 시 TaskListViewModel.update 가 id로 전체 엔티티를 읽어 수정한다
+    public static EditTodoDialogFragment newInstance(TaskListViewModel.TodoWithCategory todo) {
+        EditTodoDialogFragment fragment = new EditTodoDialogFragment();
+        Bundle args = new Bundle();
+        args.putInt(ARG_TODO_ID, todo.getId());
+        args.putString(ARG_TODO_TITLE, todo.getTitle());
+        args.putBoolean(ARG_TODO_IS_COMPLETED, todo.isCompleted());
+        if (todo.getCategoryId() != null) {
+            args.putInt(ARG_TODO_CATEGORY_ID, todo.getCategoryId());
+        }
+        if (todo.getDueDate() != null) {
+            args.putLong(ARG_TODO_DUE_DATE, todo.getDueDate());
+        }
+        fragment.setArguments(args);
+        return fragment;
+    }
+
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
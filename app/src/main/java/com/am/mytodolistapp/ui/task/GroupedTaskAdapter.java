@@ -21,7 +21,6 @@ import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
-import com.am.mytodolistapp.data.TodoItem;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -138,16 +137,15 @@ public class GroupedTaskAdapter extends ListAdapter<GroupedTaskAdapter.TaskGroup
                 buttonDelete = itemView.findViewById(R.id.button_delete_todo);
             }
 
-            public void bind(TaskListViewModel.TodoWithCategory todoWithCategory) {
-                TodoItem todo = todoWithCategory.getTodoItem();
+            public void bind(TaskListViewModel.TodoWithCategory todo) {
                 textTitle.setText(todo.getTitle());
-                updateDetailsText(todo, todoWithCategory.getCategoryName());
+                updateDetailsText(todo, todo.getCategoryName());
                 applyCompletionStyle(todo.isCompleted());
                 setupListeners(todo);
             }
 
             //날짜 정보 표시 로직
-            private void updateDetailsText(TodoItem todo, String categoryName) {
+            private void updateDetailsText(TaskListViewModel.TodoWithCategory todo, String categoryName) {
                 StringBuilder details = new StringBuilder();
 
                 // 협업/카테고리 정보 추가
@@ -184,7 +182,7 @@ public class GroupedTaskAdapter extends ListAdapter<GroupedTaskAdapter.TaskGroup
                 checkBoxCompleted.setChecked(isCompleted);
             }
 
-            private void setupListeners(TodoItem todo) {
+            private void setupListeners(TaskListViewModel.TodoWithCategory todo) {
                 checkBoxCompleted.setOnClickListener(v -> {
                     if (viewModel != null) viewModel.toggleCompletion(todo);
                 });
@@ -194,14 +192,14 @@ public class GroupedTaskAdapter extends ListAdapter<GroupedTaskAdapter.TaskGroup
                 buttonDelete.setOnClickListener(v -> showDeleteConfirmationDialog(todo));
             }
 
-            private void openEditDialog(TodoItem todo) {
+            private void openEditDialog(TaskListViewModel.TodoWithCategory todo) {
                 if (itemView.getContext() instanceof AppCompatActivity) {
                     EditTodoDialogFragment dialog = EditTodoDialogFragment.newInstance(todo);
                     dialog.show(((AppCompatActivity) itemView.getContext()).getSupportFragmentManager(), "EditTodoDialog");
                 }
             }
 
-            private void showDeleteConfirmationDialog(TodoItem todo) {
+            private void showDeleteConfirmationDialog(TaskListViewModel.TodoWithCategory todo) {
                 new AlertDialog.Builder(itemView.getContext())
                         .setTitle("할 일 삭제")
                         .setMessage("'" + todo.getTitle() + "' 항목을 삭제하시겠습니까?")
@@ -231,7 +229,7 @@ public class GroupedTaskAdapter extends ListAdapter<GroupedTaskAdapter.TaskGroup
     private static class TaskDiffCallback extends DiffUtil.ItemCallback<TaskListViewModel.TodoWithCategory> {
         @Override
         public boolean areItemsTheSame(@NonNull TaskListViewModel.TodoWithCategory oldItem, @NonNull TaskListViewModel.TodoWithCategory newItem) {
-            return oldItem.getTodoItem().getId() == newItem.getTodoItem().getId();
+            return oldItem.getId() == newItem.getId();
         }
         @Override
         public boolean areContentsTheSame(@NonNull TaskListViewModel.TodoWithCategory oldItem, @NonNull TaskListViewModel.TodoWithCategory newItem) {
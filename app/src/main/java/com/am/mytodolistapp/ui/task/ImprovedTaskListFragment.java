@@ -20,6 +20,7 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.widget.SearchView;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
@@ -28,6 +29,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.MainActivity;
 import com.am.mytodolistapp.R;
+import com.am.mytodolistapp.StartupTrace;
 import com.am.mytodolistapp.data.CategoryItem;
 import com.am.mytodolistapp.data.TodoItem;
 import com.am.mytodolistapp.ui.category.CategoryFilterAdapter;
@@ -36,8 +38,6 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.auth.FirebaseAuth;
 
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
@@ -142,6 +142,16 @@ public class ImprovedTaskListFragment extends Fragment {
         recyclerViewGroupedTasks.setLayoutManager(new LinearLayoutManager(getContext()));
         groupedTaskAdapter = new GroupedTaskAdapter(taskListViewModel);
         recyclerViewGroupedTasks.setAdapter(groupedTaskAdapter);
+
+        // 목록 끝에 닿으면 다음 페이지 로딩
+        recyclerViewGroupedTasks.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && !recyclerView.canScrollVertically(1)) {
+                    taskListViewModel.loadMoreTodos();
+                }
+            }
+        });
     }
 
     private void setupClickListeners() {
@@ -161,9 +171,13 @@ public class ImprovedTaskListFragment extends Fragment {
             updateCategoryFilter(categories);
         });
 
-        // 필터링된 할일 목록 관찰
-        taskListViewModel.getAllTodosWithCategory().observe(getViewLifecycleOwner(), todos -> {
-            updateGroupedTasks(todos);
+        // 날짜별로 나눈 할일 목록 관찰 (ViewModel이 변환 스레드에서 나누고, 자정이 지나면 다시 나눈다)
+        // 검색 중이면 검색 결과 한 그룹이 온다
+        taskListViewModel.getGroupedTodos().observe(getViewLifecycleOwner(), groups -> {
+            groupedTaskAdapter.submitList(groups);
+            if (groups != null) {
+                StartupTrace.markFirstListShown(); // 앱 시작 후 첫 표시만 기록
+            }
 
             // 스크롤 위치 유지
             if (recyclerViewGroupedTasks.getLayoutManager() instanceof LinearLayoutManager) {
@@ -172,7 +186,7 @@ public class ImprovedTaskListFragment extends Fragment {
                 // 필요시 스크롤 위치 복원 로직 추가
             }
 
-            Log.d(TAG, "Todos updated: " + (todos != null ? todos.size() : 0) + " items");
+            Log.d(TAG, "Updated grouped tasks: " + (groups != null ? groups.size() : 0) + " groups");
         });
 
         // 협업 할 일 개수 표시
@@ -199,9 +213,44 @@ public class ImprovedTaskListFragment extends Fragment {
     @Override
     public void onCreateOptionsMenu(@NonNull Menu menu, @NonNull MenuInflater inflater) {
         inflater.inflate(R.menu.task_list_menu, menu);
+        setupSearch(menu.findItem(R.id.action_search));
         super.onCreateOptionsMenu(menu, inflater);
     }
 
+    // 검색창 입력마다 검색 결과로 목록을 바꾸고, 검색창을 닫으면 날짜 그룹으로 돌아간다
+    private void setupSearch(MenuItem searchItem) {
+        SearchView searchView = (SearchView) searchItem.getActionView();
+        if (searchView == null) return;
+
+        searchView.setQueryHint("제목, 내용, 초성 검색");
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                taskListViewModel.setSearchQuery(query);
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                taskListViewModel.setSearchQuery(newText);
+                return true;
+            }
+        });
+        searchItem.setOnActionExpandListener(new MenuItem.OnActionExpandListener() {
+            @Override
+            public boolean onMenuItemActionExpand(@NonNull MenuItem item) {
+                return true;
+            }
+
+            @Override
+            public boolean onMenuItemActionCollapse(@NonNull MenuItem item) {
+                taskListViewModel.setSearchQuery(null);
+                return true;
+            }
+        });
+    }
+
     // 메뉴 아이템 선택 처리
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
@@ -270,79 +319,6 @@ public class ImprovedTaskListFragment extends Fragment {
         }
     }
 
-    private void updateGroupedTasks(List<TaskListViewModel.TodoWithCategory> todos) {
-        if (todos == null) {
-            todos = new ArrayList<>();
-        }
-
-        List<GroupedTaskAdapter.TaskGroup> groups = groupTodosByDate(todos);
-        groupedTaskAdapter.submitList(groups);
-
-        Log.d(TAG, "Updated grouped tasks: " + groups.size() + " groups");
-    }
-
-    private List<GroupedTaskAdapter.TaskGroup> groupTodosByDate(List<TaskListViewModel.TodoWithCategory> todos) {
-        List<GroupedTaskAdapter.TaskGroup> groups = new ArrayList<>();
-
-        List<TaskListViewModel.TodoWithCategory> previousTodos = new ArrayList<>();
-        List<TaskListViewModel.TodoWithCategory> todayTodos = new ArrayList<>();
-        List<TaskListViewModel.TodoWithCategory> futureTodos = new ArrayList<>();
-
-        Calendar today = Calendar.getInstance();
-        today.set(Calendar.HOUR_OF_DAY, 0);
-        today.set(Calendar.MINUTE, 0);
-        today.set(Calendar.SECOND, 0);
-        today.set(Calendar.MILLISECOND, 0);
-
-        Calendar tomorrow = Calendar.getInstance();
-        tomorrow.setTime(today.getTime());
-        tomorrow.add(Calendar.DAY_OF_YEAR, 1);
-
-        for (TaskListViewModel.TodoWithCategory todoWithCategory : todos) {
-            TodoItem todo = todoWithCategory.getTodoItem();
-
-            if (todo.getDueDate() == null) {
-                // 기한이 없는 할일은 생성 날짜를 기준으로 분류
-                Date createdDate = new Date(todo.getCreatedAt());
-
-                if (createdDate.before(today.getTime())) {
-                    // 생성일이 오늘보다 이전 -> "이전의"
-                    previousTodos.add(todoWithCategory);
-                } else if (createdDate.before(tomorrow.getTime())) {
-                    // 생성일이 오늘 -> "오늘"
-                    todayTodos.add(todoWithCategory);
-                } else {
-                    // 생성일이 미래  -> "미래"
-                    futureTodos.add(todoWithCategory);
-                }
-            } else {
-                // 기한이 있는 할일은 기한 날짜를 기준으로 분류
-                Date dueDate = new Date(todo.getDueDate());
-
-                if (dueDate.before(today.getTime())) {
-                    previousTodos.add(todoWithCategory);
-                } else if (dueDate.before(tomorrow.getTime())) {
-                    todayTodos.add(todoWithCategory);
-                } else {
-                    futureTodos.add(todoWithCategory);
-                }
-            }
-        }
-
-        // 그룹에 할일이 있는 경우만 추가
-        if (!previousTodos.isEmpty()) {
-            groups.add(new GroupedTaskAdapter.TaskGroup("previous", "이전의", previousTodos));
-        }
-        if (!todayTodos.isEmpty()) {
-            groups.add(new GroupedTaskAdapter.TaskGroup("today", "오늘", todayTodos));
-        }
-        if (!futureTodos.isEmpty()) {
-            groups.add(new GroupedTaskAdapter.TaskGroup("future", "미래", futureTodos));
-        }
-
-        return groups;
-    }
-
     // 음성 인식 관련 메소드들
     private void checkPermissionAndStartRecognition() {
         if (ContextCompat.checkSelfPermission(requireContext(), Manifest.permission.RECORD_AUDIO)
@@ -371,6 +347,9 @@ public class ImprovedTaskListFragment extends Fragment {
     public void onResume() {
         super.onResume();
 
+        // 화면을 떠나 있는 동안 날짜가 바뀌었으면 그룹을 다시 나눈다
+        taskListViewModel.refreshToday();
+
         // Fragment가 보여질 때 동기화 상태 확인
         boolean isLoggedIn = FirebaseAuth.getInstance().getCurrentUser() != null;
         if (isLoggedIn && !taskListViewModel.isCollaborationSyncActive()) {
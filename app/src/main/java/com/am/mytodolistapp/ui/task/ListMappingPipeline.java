@@ -0,0 +1,174 @@
+package com.am.mytodolistapp.ui.task;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 목록 LiveData 값을 화면용 목록으로 바꾸는 작업(변환 -> 필터 -> 비교)을 메인 스레드 밖에서 처리한다.
+// Transformations.map 은 행마다 래퍼를 만드는 변환을 메인 스레드에서 실행했다.
+
+/* 원본 값이 오면 전용 스레드 하나에서:
+     convert: 원본 -> 화면용 항목 (TodoListRow -> TodoWithCategory 등)
+     filter:  setFilter()로 바꿀 수 있다 - 바꾸면 마지막 변환 결과로 필터부터 다시 실행 (다시 변환하지 않음)
+     diff:    이전에 내보낸 목록과 같으면 내보내지 않는다 (어댑터 DiffUtil/다시 그리기 생략)
+   결과는 바꿀 수 없는 목록으로 postValue 한다. 처리 중에 새 값이 오면 이전 작업 결과는 버린다.
+   getLastTimings(): 단계별 소요 시간 (디버그 로그, 테스트용)
+   TaskListViewModel: 메인 목록, 메인 목록 날짜 그룹, 캘린더 날짜 목록 */
+public class ListMappingPipeline<S, T> extends MediatorLiveData<List<T>> {
+    private static final String TAG = "ListMappingPipeline";
+
+    // 모든 목록이 함께 쓰는 변환 스레드 (DB 스레드와 분리 - 쿼리가 밀려도 변환이 막히지 않게)
+    private static final ExecutorService MAPPING_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "list-mapping");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String name;
+    private final Executor executor;
+    private final Function<S, List<T>> converter;
+
+    private volatile Function<List<T>, List<T>> filter; // 메인 스레드에서만 바꾼다
+    // 요청마다 증가 (메인 스레드) - 변환 스레드는 자기보다 새 요청이 있으면 결과를 버린다
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicInteger sourceGeneration = new AtomicInteger();
+
+    // 변환 스레드에서만 접근 (단일 스레드 실행기)
+    private List<T> converted;
+    private List<T> published;
+
+    private volatile Timings lastTimings = Timings.EMPTY;
+    private volatile int publishedCount;
+    private volatile int unchangedCount;
+    private volatile int droppedCount;
+
+    public ListMappingPipeline(@NonNull String name, @NonNull LiveData<S> source,
+                               @NonNull Function<S, List<T>> converter) {
+        this(name, source, converter, MAPPING_EXECUTOR);
+    }
+
+    ListMappingPipeline(@NonNull String name, @NonNull LiveData<S> source,
+                        @NonNull Function<S, List<T>> converter, @NonNull Executor executor) {
+        this.name = name;
+        this.converter = converter;
+        this.executor = executor;
+        addSource(source, this::onSourceChanged);
+    }
+
+    // 필터 변경 - 메인 스레드에서 호출. filter는 변환 스레드에서 실행되므로 필요한 상태를 미리 캡처해 넘긴다
+    public void setFilter(@Nullable Function<List<T>, List<T>> filter) {
+        this.filter = filter;
+        int request = generation.incrementAndGet();
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> run(request, -1, null, filter, queuedAt));
+    }
+
+    private void onSourceChanged(S value) {
+        int request = generation.incrementAndGet();
+        int sourceRequest = sourceGeneration.incrementAndGet();
+        Function<List<T>, List<T>> currentFilter = filter;
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> run(request, sourceRequest, value, currentFilter, queuedAt));
+    }
+
+    // sourceRequest < 0: 필터만 다시 실행
+    private void run(int request, int sourceRequest, S value,
+                     Function<List<T>, List<T>> currentFilter, long queuedAt) {
+        boolean convert = sourceRequest >= 0;
+        // 더 새 원본이 대기 중이면 변환할 필요가 없고, 더 새 필터/원본 요청이 있으면 내보낼 필요가 없다
+        if (convert ? sourceRequest != sourceGeneration.get() : request != generation.get()) {
+            droppedCount++;
+            return;
+        }
+        long startedAt = System.nanoTime();
+        if (convert) {
+            converted = value != null ? converter.apply(value) : Collections.emptyList();
+        } else if (converted == null) {
+            return; // 아직 원본 값이 오지 않았다 - 원본이 오면 이 필터로 실행된다
+        }
+        long convertedAt = System.nanoTime();
+        List<T> result = currentFilter != null ? currentFilter.apply(converted) : converted;
+        long filteredAt = System.nanoTime();
+        boolean unchanged = result.equals(published);
+        long diffedAt = System.nanoTime();
+
+        lastTimings = new Timings(result.size(), nanosToMillis(startedAt - queuedAt),
+                convert ? nanosToMillis(convertedAt - startedAt) : 0, nanosToMillis(filteredAt - convertedAt),
+                nanosToMillis(diffedAt - filteredAt), unchanged);
+        if (request != generation.get()) {
+            droppedCount++;
+            return;
+        }
+        if (unchanged) {
+            unchangedCount++;
+            return;
+        }
+        published = Collections.unmodifiableList(new ArrayList<>(result));
+        publishedCount++;
+        postValue(published);
+        Log.d(TAG, name + " " + lastTimings);
+    }
+
+    @NonNull
+    public Timings getLastTimings() {
+        return lastTimings;
+    }
+
+    // 내보낸 횟수, 이전과 같아서 생략한 횟수, 더 새 값 때문에 버린 횟수
+    public int getPublishedCount() {
+        return publishedCount;
+    }
+
+    public int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // 한 번 실행의 단계별 소요 시간 (ms)
+    public static final class Timings {
+        static final Timings EMPTY = new Timings(0, 0, 0, 0, 0, false);
+
+        public final int size;
+        public final double waitMs;
+        public final double convertMs; // 필터만 다시 실행했으면 0
+        public final double filterMs;
+        public final double diffMs;
+        public final boolean unchanged;
+
+        Timings(int size, double waitMs, double convertMs, double filterMs, double diffMs, boolean unchanged) {
+            this.size = size;
+            this.waitMs = waitMs;
+            this.convertMs = convertMs;
+            this.filterMs = filterMs;
+            this.diffMs = diffMs;
+            this.unchanged = unchanged;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d items: wait %.2fms, convert %.2fms, filter %.2fms, diff %.2fms%s",
+                    size, waitMs, convertMs, filterMs, diffMs, unchanged ? " (unchanged)" : "");
+        }
+    }
+}
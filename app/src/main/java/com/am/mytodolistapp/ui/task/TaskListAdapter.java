@@ -17,7 +17,6 @@ import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
-import com.am.mytodolistapp.data.TodoItem;
 
 import java.util.Objects;
 
@@ -65,12 +64,10 @@ public class TaskListAdapter extends ListAdapter<TaskListViewModel.TodoWithCateg
         }
 
         public void bind(TaskListViewModel.TodoWithCategory todoWithCategory) {
-            TodoItem todoItem = todoWithCategory.getTodoItem();
-
-            textViewTitle.setText(todoItem.getTitle());
+            textViewTitle.setText(todoWithCategory.getTitle());
             updateDetailsText(todoWithCategory);
-            applyCompletionStyle(todoItem.isCompleted());
-            setupListeners(todoItem);
+            applyCompletionStyle(todoWithCategory.isCompleted());
+            setupListeners(todoWithCategory);
         }
 
         private void updateDetailsText(TaskListViewModel.TodoWithCategory todoWithCategory) {
@@ -95,20 +92,20 @@ public class TaskListAdapter extends ListAdapter<TaskListViewModel.TodoWithCateg
             checkBoxCompleted.setChecked(isCompleted);
         }
 
-        private void setupListeners(TodoItem todoItem) {
-            checkBoxCompleted.setOnClickListener(v -> viewModel.toggleCompletion(todoItem));
+        private void setupListeners(TaskListViewModel.TodoWithCategory todo) {
+            checkBoxCompleted.setOnClickListener(v -> viewModel.toggleCompletion(todo));
 
             buttonEdit.setOnClickListener(v -> {
-                EditTodoDialogFragment dialogFragment = EditTodoDialogFragment.newInstance(todoItem);
+                EditTodoDialogFragment dialogFragment = EditTodoDialogFragment.newInstance(todo);
                 if (itemView.getContext() instanceof AppCompatActivity) {
                     dialogFragment.show(((AppCompatActivity) itemView.getContext()).getSupportFragmentManager(), "EditTodoDialog");
                 }
             });
 
-            buttonDelete.setOnClickListener(v -> showDeleteConfirmationDialog(todoItem));
+            buttonDelete.setOnClickListener(v -> showDeleteConfirmationDialog(todo));
         }
 
-        private void showDeleteConfirmationDialog(TodoItem todo) {
+        private void showDeleteConfirmationDialog(TaskListViewModel.TodoWithCategory todo) {
             new AlertDialog.Builder(itemView.getContext())
                     .setTitle("할 일 삭제")
                     .setMessage("'" + todo.getTitle() + "' 항목을 삭제하시겠습니까?")
@@ -124,7 +121,7 @@ public class TaskListAdapter extends ListAdapter<TaskListViewModel.TodoWithCateg
     private static final DiffUtil.ItemCallback<TaskListViewModel.TodoWithCategory> DIFF_CALLBACK = new DiffUtil.ItemCallback<TaskListViewModel.TodoWithCategory>() {
         @Override
         public boolean areItemsTheSame(@NonNull TaskListViewModel.TodoWithCategory oldItem, @NonNull TaskListViewModel.TodoWithCategory newItem) {
-            return oldItem.getTodoItem().getId() == newItem.getTodoItem().getId();
+            return oldItem.getId() == newItem.getId();
         }
 
         @Override
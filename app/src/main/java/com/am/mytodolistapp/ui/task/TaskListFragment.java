@@ -108,6 +108,16 @@ public class TaskListFragment extends Fragment {
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         adapter = new TaskListAdapter(taskListViewModel);
         recyclerView.setAdapter(adapter);
+
+        // 목록 끝에 닿으면 다음 페이지 로딩
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && !recyclerView.canScrollVertically(1)) {
+                    taskListViewModel.loadMoreTodos();
+                }
+            }
+        });
     }
 
     private void setupClickListeners() {
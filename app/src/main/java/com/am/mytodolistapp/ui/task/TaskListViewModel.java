@@ -1,6 +1,8 @@
 package com.am.mytodolistapp.ui.task;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.lifecycle.AndroidViewModel;
@@ -12,36 +14,58 @@ import androidx.lifecycle.Transformations;
 import com.am.mytodolistapp.data.AppDatabase;
 import com.am.mytodolistapp.data.CategoryDao;
 import com.am.mytodolistapp.data.CategoryItem;
+import com.am.mytodolistapp.data.DailyStatsDao;
+import com.am.mytodolistapp.data.LocalDay;
+import com.am.mytodolistapp.data.TodoChange;
+import com.am.mytodolistapp.data.TodoChangeTracker;
 import com.am.mytodolistapp.data.TodoDao;
 import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoListPager;
+import com.am.mytodolistapp.data.TodoListRow;
 import com.am.mytodolistapp.data.TodoRepository;
+import com.am.mytodolistapp.data.TodoStore;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.WeekFields;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 public class TaskListViewModel extends AndroidViewModel {
     private static final String TAG = "TaskListViewModel";
 
     private TodoRepository mRepository;
     private TodoDao todoDao;
+    private DailyStatsDao dailyStatsDao;
     private CategoryDao categoryDao;
+    private final TodoListPager mTodoPager; // 메인 목록 페이지 단위 로딩
+    private final TodoStore mTodoStore; // 앱 공유 스냅샷 (협업 개수 등 파생 값)
 
-    private final LiveData<List<TodoItem>> mAllTodos; // 보관되지 않은 할 일 (기본)
-    private final LiveData<List<TodoWithCategory>> mVisibleTodosWithCategory; // 화면에 보여줄 보관되지 않은 할 일
-    private final LiveData<List<TodoWithCategory>> mAllTodosForStats; // 통계용 모든 할 일 (보관된 항목 포함)
+    private final ListMappingPipeline<List<TodoListRow>, TodoWithCategory> mVisibleTodosWithCategory; // 화면에 보여줄 보관되지 않은 할 일 (변환은 변환 스레드에서)
     private final LiveData<List<CategoryItem>> mAllCategories;
     private final MediatorLiveData<List<TodoWithCategory>> mFilteredTodos;
 
-    // 캘린더용
-    private final LiveData<List<TodoWithCategory>> mAllTodosForCalendar;
-    private final MediatorLiveData<List<TodoWithCategory>> mFilteredTodosForCalendar;
+    // 메인 목록 날짜 그룹 - 변환 스레드에서 나누고, 자정이 지나면 DB 쓰기 없이 바뀐 구간만 다시 나눈다
+    private final DateBucketGrouper mDateGrouper; // 변환 스레드에서만 접근
+    private final ListMappingPipeline<List<TodoWithCategory>, GroupedTaskAdapter.TaskGroup> mGroupedTodos;
+    private int mGroupedDay; // 그룹을 나눈 기준 날짜 (메인 스레드)
+    private final Handler mDayHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mMidnightTick = this::refreshToday;
+
+    // 검색 - 검색어가 있으면 날짜 그룹 대신 검색 결과 한 그룹을 보여준다
+    private final MutableLiveData<String> mSearchQuery = new MutableLiveData<>("");
+    private final MediatorLiveData<List<GroupedTaskAdapter.TaskGroup>> mDisplayedGroups = new MediatorLiveData<>();
+
+    // 캘린더용 - 선택한 날짜(LocalDay)의 할 일만 읽는다
+    // 날짜(기한/생성일)가 바뀐 할 일, 새 할 일, 이미 보이는 할 일의 변경에만 다시 읽는다 (다른 날짜의 완료 토글은 무시)
+    private static final TodoChangeTracker.Slice CALENDAR_DAY_SLICE = new TodoChangeTracker.Slice(
+            "calendar_day", TodoChange.COL_DATES, TodoChange.ALL_COLUMNS, true, "category_table");
+    private final MutableLiveData<Integer> calendarSelectedDay = new MutableLiveData<>(LocalDay.today());
+    private final ListMappingPipeline<List<TodoListRow>, TodoWithCategory> mFilteredTodosForCalendar;
 
     // 필터링 상태
     private int mCurrentCategoryFilter = -1; // -1: 전체, 0: 카테고리 없음, 양수: 특정 카테고리 ID
@@ -50,10 +74,11 @@ public class TaskListViewModel extends AndroidViewModel {
 
     // 캘린더 필터링 상태
     private int mCalendarCategoryFilter = -1; // -1: 전체, 0: 카테고리 없음, 양수: 특정 카테고리 ID
+    private final TodoFilterIndex mCalendarIndex = new TodoFilterIndex(); // 날짜 목록이 올 때마다 갱신, 필터 변경은 버킷 조회 (변환 스레드에서만 접근)
 
-    // 월별 날짜별 완료율을 저장할 LiveData
-    private final MutableLiveData<Map<LocalDate, Float>> monthlyCompletionRates = new MutableLiveData<>();
-    private YearMonth currentDisplayMonth = YearMonth.now();
+    // 월별 날짜별 완료율 - 표시 중인 달이 바뀌면 해당 달 구간만 집계 쿼리로 다시 읽는다
+    private final MutableLiveData<YearMonth> currentDisplayMonth = new MutableLiveData<>(YearMonth.now());
+    private final LiveData<Map<LocalDate, Float>> monthlyCompletionRates;
 
     private final MutableLiveData<Boolean> isSyncActive = new MutableLiveData<>();
     private final MutableLiveData<String> syncStatusMessage = new MutableLiveData<>();
@@ -63,86 +88,59 @@ public class TaskListViewModel extends AndroidViewModel {
         mRepository = new TodoRepository(application);
         AppDatabase db = AppDatabase.getDatabase(application);
         todoDao = db.todoDao();
+        dailyStatsDao = db.dailyStatsDao();
         categoryDao = db.categoryDao();
+        mTodoStore = db.getTodoStore();
+        // 오래된 완료 항목 보관은 MaintenanceWorker가 기기 유휴/충전 중에 처리한다
 
-        archiveOldTodos();
-
-        mAllTodos = mRepository.getAllTodos();
         mAllCategories = categoryDao.getAllCategories();
 
-        //화면에 보여줄, 보관되지 않은 할 일 목록
-        mVisibleTodosWithCategory = Transformations.map(
-                todoDao.getAllTodosWithCategory(),
-                this::convertToTodoWithCategoryList
-        );
-
-        //캘린더용 - 보관된 항목도 포함하는 모든 할 일 목록
-        mAllTodosForCalendar = Transformations.map(
-                todoDao.getAllTodosWithCategoryForCalendar(), // 보관된 항목도 포함
-                this::convertToTodoWithCategoryList
-        );
-
-        // 캘린더 완료율 계산용
-        MediatorLiveData<List<TodoWithCategory>> calendarStatsMediator = new MediatorLiveData<>();
-        LiveData<List<TodoDao.TodoWithCategoryInfo>> allCompleted = todoDao.getAllCompletedTodosWithCategoryIncludingArchived();
-        LiveData<List<TodoDao.TodoWithCategoryInfo>> activeIncomplete = todoDao.getAllIncompleteTodosWithCategoryForStats();
-
-        calendarStatsMediator.addSource(allCompleted, completedList -> {
-            List<TodoDao.TodoWithCategoryInfo> incompleteList = activeIncomplete.getValue();
-            if (incompleteList != null) {
-                List<TodoDao.TodoWithCategoryInfo> combined = new ArrayList<>();
-                if (completedList != null) combined.addAll(completedList);
-                combined.addAll(incompleteList);
-                calendarStatsMediator.setValue(convertToTodoWithCategoryList(combined));
-            }
-        });
-        calendarStatsMediator.addSource(activeIncomplete, incompleteList -> {
-            List<TodoDao.TodoWithCategoryInfo> completedList = allCompleted.getValue();
-            if (completedList != null) {
-                List<TodoDao.TodoWithCategoryInfo> combined = new ArrayList<>();
-                combined.addAll(completedList);
-                if (incompleteList != null) combined.addAll(incompleteList);
-                calendarStatsMediator.setValue(convertToTodoWithCategoryList(combined));
-            }
-        });
-
-        // 캘린더 완료율 계산용 데이터
-        mAllTodosForStats = calendarStatsMediator;
+        //화면에 보여줄, 보관되지 않은 할 일 목록 (필터는 쿼리에서 적용, 날짜 순서로 스크롤에 따라 페이지 단위로 로딩)
+        mTodoPager = new TodoListPager(db);
+        mTodoPager.setFilter(mCurrentCategoryFilter, mShowCollaborationTodos, mShowLocalTodos);
+        mVisibleTodosWithCategory = new ListMappingPipeline<>("main_list",
+                mTodoPager.getItems(), new RowConverter());
+
+        //캘린더용 - 선택한 날짜의 할 일 목록 (보관된 항목 포함, effective_day 인덱스 조회)
+        TodoChangeTracker changeTracker = db.getChangeTracker();
+        mFilteredTodosForCalendar = new ListMappingPipeline<>("calendar_day",
+                Transformations.switchMap(calendarSelectedDay, day ->
+                        changeTracker.liveQuery(CALENDAR_DAY_SLICE,
+                                () -> todoDao.getCalendarListRowsForDay(day), TodoChangeTracker::listRowIds)),
+                new RowConverter());
+        applyCalendarFilter();
 
         // 최종 필터링된 목록
         mFilteredTodos = new MediatorLiveData<>();
         mFilteredTodos.addSource(mVisibleTodosWithCategory, todos -> {
-            applyCurrentFilter(todos);
+            mFilteredTodos.setValue(todos != null ? todos : new ArrayList<>());
+            Log.d(TAG, "Filtered todos: " + (todos != null ? todos.size() : 0) + " items");
         });
 
-        // 캘린더용 필터링된 목록
-        mFilteredTodosForCalendar = new MediatorLiveData<>();
-        mFilteredTodosForCalendar.addSource(mAllTodosForCalendar, todos -> {
-            applyCalendarFilter(todos);
+        mGroupedDay = LocalDay.today();
+        mDateGrouper = new DateBucketGrouper(DateBucketGrouper.DEFAULT_BUCKETS,
+                WeekFields.of(Locale.getDefault()).getFirstDayOfWeek(), mGroupedDay);
+        mGroupedTodos = new ListMappingPipeline<>("date_groups", mFilteredTodos, mDateGrouper::group);
+        scheduleMidnightTick();
+
+        // 화면에 보여줄 그룹 - 검색 중에는 검색 결과, 아니면 날짜 그룹
+        LiveData<List<GroupedTaskAdapter.TaskGroup>> searchGroups = Transformations.switchMap(mSearchQuery, query ->
+                isSearching(query) ? Transformations.map(mRepository.searchTodos(query), TaskListViewModel::toSearchGroups)
+                        : new MutableLiveData<>(null));
+        mDisplayedGroups.addSource(mGroupedTodos, groups -> {
+            if (!isSearching(mSearchQuery.getValue())) mDisplayedGroups.setValue(groups);
         });
-
-        // 캘린더 완료율 계산은 캘린더용 데이터를 기준으로 관찰
-        mAllTodosForCalendar.observeForever(allTasks -> {
-            updateMonthlyCompletionRates(currentDisplayMonth, allTasks);
+        mDisplayedGroups.addSource(searchGroups, groups -> {
+            if (groups != null) mDisplayedGroups.setValue(groups);
         });
 
+        // 캘린더 완료율 - 날짜별 (전체, 완료) 개수를 한 번의 범위 쿼리로 계산
+        monthlyCompletionRates = Transformations.switchMap(currentDisplayMonth, this::loadMonthlyCompletionRates);
+
         initializeCollaborationSync();
         Log.d(TAG, "TaskListViewModel initialized");
     }
 
-    private void archiveOldTodos() {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            Calendar calendar = Calendar.getInstance();
-            calendar.set(Calendar.HOUR_OF_DAY, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
-            long todayTimestamp = calendar.getTimeInMillis();
-            todoDao.archiveOldCompletedTodos(todayTimestamp);
-            Log.d(TAG, "Archived old completed todos.");
-        });
-    }
-
     private void initializeCollaborationSync() {
         try {
             mRepository.startCollaborationSync();
@@ -156,103 +154,71 @@ public class TaskListViewModel extends AndroidViewModel {
         }
     }
 
-    private List<TodoWithCategory> convertToTodoWithCategoryList(List<TodoDao.TodoWithCategoryInfo> infos) {
-        List<TodoWithCategory> result = new ArrayList<>();
-        if (infos != null) {
-            for (TodoDao.TodoWithCategoryInfo info : infos) {
-                TodoItem todoItem = info.toTodoItem();
-                String displayTitle = todoItem.getDisplayTitle();
-                result.add(new TodoWithCategory(
-                        todoItem,
-                        info.category_name,
-                        info.category_color,
-                        displayTitle
-                ));
-            }
-        }
-        return result;
+    // 캘린더용 필터링 로직 (보관 상태와 무관하게 모든 항목 포함)
+    // 캘린더에서는 협업/로컬 필터링 적용하지 않음 - 카테고리 버킷만 꺼낸다 (변환 스레드에서 실행)
+    private void applyCalendarFilter() {
+        int categoryFilter = mCalendarCategoryFilter;
+        mFilteredTodosForCalendar.setFilter(todos -> {
+            mCalendarIndex.update(todos);
+            return mCalendarIndex.query(categoryFilter, true, true);
+        });
     }
 
-    // 할일 목록용 필터링 로직 (보관되지 않은 항목만)
-    private void applyCurrentFilter(List<TodoWithCategory> visibleTodos) {
-        if (visibleTodos == null) {
-            mFilteredTodos.setValue(new ArrayList<>());
-            return;
-        }
-
-        List<TodoWithCategory> filteredList = new ArrayList<>();
-
-        for (TodoWithCategory todo : visibleTodos) {
-            TodoItem todoItem = todo.getTodoItem();
-
-            // 협업/로컬 필터링
-            if (todoItem.isFromCollaboration() && !mShowCollaborationTodos) {
-                continue;
-            }
-            if (!todoItem.isFromCollaboration() && !mShowLocalTodos) {
-                continue;
-            }
-
-            // 카테고리 필터링
-            if (mCurrentCategoryFilter == -1) {
-                filteredList.add(todo);
-            } else if (mCurrentCategoryFilter == 0) {
-                if (todoItem.getCategoryId() == null) {
-                    filteredList.add(todo);
-                }
-            } else {
-                if (todoItem.getCategoryId() != null &&
-                        Objects.equals(todoItem.getCategoryId(), mCurrentCategoryFilter)) {
-                    filteredList.add(todo);
-                }
-            }
-        }
+    public LiveData<List<TodoWithCategory>> getAllTodosWithCategory() {
+        return mFilteredTodos;
+    }
 
-        mFilteredTodos.setValue(filteredList);
-        Log.d(TAG, "Filtered todos: " + filteredList.size() + " items");
+    // 날짜 구간으로 나눈 메인 목록, 검색 중이면 검색 결과 (ImprovedTaskListFragment)
+    public LiveData<List<GroupedTaskAdapter.TaskGroup>> getGroupedTodos() {
+        return mDisplayedGroups;
     }
 
-    // 캘린더용 필터링 로직 (보관 상태와 무관하게 모든 항목 포함)
-    private void applyCalendarFilter(List<TodoWithCategory> allTodos) {
-        if (allTodos == null) {
-            mFilteredTodosForCalendar.setValue(new ArrayList<>());
-            return;
+    // 검색어 변경 (빈 문자열이면 검색을 끝내고 날짜 그룹으로 돌아간다)
+    public void setSearchQuery(String query) {
+        String trimmed = query != null ? query.trim() : "";
+        if (trimmed.equals(mSearchQuery.getValue())) return;
+        mSearchQuery.setValue(trimmed);
+        if (!isSearching(trimmed)) {
+            mDisplayedGroups.setValue(mGroupedTodos.getValue());
         }
+    }
 
-        List<TodoWithCategory> filteredList = new ArrayList<>();
-
-        for (TodoWithCategory todo : allTodos) {
-            TodoItem todoItem = todo.getTodoItem();
-
-            // 캘린더에서는 협업/로컬 필터링 적용하지 않음
+    private static boolean isSearching(String query) {
+        return query != null && !query.isEmpty();
+    }
 
-            if (mCalendarCategoryFilter == -1) {
-                // 모든 카테고리 표시
-                filteredList.add(todo);
-            } else if (mCalendarCategoryFilter == 0) {
-                // 카테고리 없는 항목만 표시
-                if (todoItem.getCategoryId() == null) {
-                    filteredList.add(todo);
-                }
-            } else {
-                // 특정 카테고리만 표시
-                if (todoItem.getCategoryId() != null &&
-                        Objects.equals(todoItem.getCategoryId(), mCalendarCategoryFilter)) {
-                    filteredList.add(todo);
-                }
+    // 검색 결과(순위순)를 한 그룹으로 - 메인 목록과 같은 어댑터로 완료 토글/편집을 그대로 쓴다
+    private static List<GroupedTaskAdapter.TaskGroup> toSearchGroups(List<TodoDao.TodoSearchResult> results) {
+        List<TodoWithCategory> tasks = new ArrayList<>(results != null ? results.size() : 0);
+        if (results != null) {
+            for (TodoDao.TodoSearchResult result : results) {
+                tasks.add(new TodoWithCategory(result.toListRow()));
             }
         }
-
-        mFilteredTodosForCalendar.setValue(filteredList);
-        Log.d(TAG, "Filtered calendar todos: " + filteredList.size() + " items");
-    }
-
-    public LiveData<List<TodoItem>> getAllTodos() {
-        return mAllTodos;
+        List<GroupedTaskAdapter.TaskGroup> groups = new ArrayList<>();
+        groups.add(new GroupedTaskAdapter.TaskGroup("search", "검색 결과 (" + tasks.size() + ")", tasks));
+        return groups;
+    }
+
+    // 날짜가 바뀌었으면 그룹을 다시 나눈다 - 자정 틱과 화면 복귀(onResume)에서 호출
+    // Handler 지연은 기기가 잠든 동안 흐르지 않으므로 화면으로 돌아올 때도 확인한다
+    public void refreshToday() {
+        int today = LocalDay.today();
+        if (today != mGroupedDay) {
+            mGroupedDay = today;
+            // 필터는 변환 스레드에서 실행된다 - 마지막 그룹에서 바뀔 수 있는 구간만 옮긴다
+            mGroupedTodos.setFilter(groups -> mDateGrouper.rollover(today));
+            // 페이저도 새 날짜로 지난/오늘부터 구간을 다시 나눈다 (읽어 오면 그룹을 다시 나눈다)
+            mTodoPager.setToday(today);
+            Log.d(TAG, "Day changed, regrouping for " + LocalDay.toDate(today));
+        }
+        scheduleMidnightTick();
     }
 
-    public LiveData<List<TodoWithCategory>> getAllTodosWithCategory() {
-        return mFilteredTodos;
+    private void scheduleMidnightTick() {
+        mDayHandler.removeCallbacks(mMidnightTick);
+        // 자정 직후에 실행되도록 1초 여유를 둔다
+        mDayHandler.postDelayed(mMidnightTick, LocalDay.millisUntilNextDay(System.currentTimeMillis()) + 1_000);
     }
 
     public LiveData<List<CategoryItem>> getAllCategories() {
@@ -260,6 +226,15 @@ public class TaskListViewModel extends AndroidViewModel {
     }
 
     // 캘린더용 게터 메서드들
+    // 캘린더에서 날짜를 선택하면 해당 날짜의 할 일만 다시 읽는다
+    public void setCalendarSelectedDate(LocalDate date) {
+        int day = LocalDay.of(date);
+        Integer current = calendarSelectedDay.getValue();
+        if (current == null || current != day) {
+            calendarSelectedDay.setValue(day);
+        }
+    }
+
     public LiveData<List<TodoWithCategory>> getAllTodosWithCategoryForCalendar() {
         return mFilteredTodosForCalendar;
     }
@@ -275,83 +250,32 @@ public class TaskListViewModel extends AndroidViewModel {
         if (updatedItem.isFromCollaboration()) {
             mRepository.update(updatedItem);
         } else {
-            AppDatabase.databaseWriteExecutor.execute(() -> {
-                TodoItem itemToUpdate = todoDao.getTodoByIdSync(updatedItem.getId());
-                if (itemToUpdate != null) {
-                    itemToUpdate.setTitle(updatedItem.getTitle());
-                    itemToUpdate.setCompleted(updatedItem.isCompleted());
-                    itemToUpdate.setCategoryId(updatedItem.getCategoryId());
-                    itemToUpdate.setDueDate(updatedItem.getDueDate());
-                    mRepository.update(itemToUpdate);
-                    Log.d(TAG, "Local todo updated successfully");
-                }
-            });
+            // 편집한 컬럼만 한 문장으로 고친다 (보관된 할 일이면 되돌린다)
+            mRepository.updateEditedFields(updatedItem);
         }
     }
 
-    public void toggleCompletion(TodoItem todoItem) {
-        Log.d(TAG, "Toggling completion for: " + todoItem.getTitle() + " (collaboration: " + todoItem.isFromCollaboration() + ")");
+    // 목록 행에서 완료 상태 토글 - 화면은 즉시 바꾸고, 쓰기 스레드에서 UPDATE 한 문장으로 저장
+    public void toggleCompletion(TodoWithCategory todo) {
+        Log.d(TAG, "Toggling completion for: " + todo.getTitle() + " (collaboration: " + todo.isFromCollaboration() + ")");
 
-        boolean newCompletionState = !todoItem.isCompleted();
-        todoItem.setCompleted(newCompletionState);
+        boolean newCompletionState = !todo.isCompleted();
 
+        // 바뀐 줄 하나만 새 값으로 바꾼다 - 나머지는 같은 객체라 DiffUtil 비교가 참조 비교로 끝난다
         List<TodoWithCategory> currentList = mFilteredTodos.getValue();
         if (currentList != null) {
-            List<TodoWithCategory> updatedList = new ArrayList<>();
-            for (TodoWithCategory todoWithCategory : currentList) {
-                if (todoWithCategory.getTodoItem().getId() == todoItem.getId()) {
-                    TodoItem updatedTodoItem = new TodoItem();
-                    copyTodoItemProperties(todoWithCategory.getTodoItem(), updatedTodoItem);
-                    updatedTodoItem.setCompleted(newCompletionState);
-                    updatedList.add(new TodoWithCategory(
-                            updatedTodoItem,
-                            todoWithCategory.getCategoryName(),
-                            todoWithCategory.getCategoryColor(),
-                            todoWithCategory.getDisplayTitle()
-                    ));
-                } else {
-                    updatedList.add(todoWithCategory);
+            for (int i = 0; i < currentList.size(); i++) {
+                TodoWithCategory current = currentList.get(i);
+                if (current.getId() == todo.getId()) {
+                    List<TodoWithCategory> updatedList = new ArrayList<>(currentList);
+                    updatedList.set(i, current.withCompleted(newCompletionState));
+                    mFilteredTodos.setValue(updatedList);
+                    break;
                 }
             }
-            mFilteredTodos.setValue(updatedList);
         }
 
-        if (todoItem.isFromCollaboration()) {
-            mRepository.toggleCollaborationTodoCompletion(todoItem);
-        } else {
-            AppDatabase.databaseWriteExecutor.execute(() -> {
-                TodoItem itemToUpdate = todoDao.getTodoByIdSync(todoItem.getId());
-                if (itemToUpdate != null) {
-                    itemToUpdate.setCompleted(newCompletionState);
-                    mRepository.update(itemToUpdate);
-                    Log.d(TAG, "Local todo completion toggled successfully in DB");
-                }
-            });
-        }
-    }
-
-    private void copyTodoItemProperties(TodoItem source, TodoItem target) {
-        target.setId(source.getId());
-        target.setTitle(source.getTitle());
-        target.setContent(source.getContent());
-        target.setCompleted(source.isCompleted());
-        target.setCategoryId(source.getCategoryId());
-        target.setLocationName(source.getLocationName());
-        target.setLocationLatitude(source.getLocationLatitude());
-        target.setLocationLongitude(source.getLocationLongitude());
-        target.setLocationRadius(source.getLocationRadius());
-        target.setLocationEnabled(source.isLocationEnabled());
-        target.setLocationId(source.getLocationId());
-        target.setCreatedAt(source.getCreatedAt());
-        target.setUpdatedAt(source.getUpdatedAt());
-        target.setDueDate(source.getDueDate());
-        target.setFromCollaboration(source.isFromCollaboration());
-        target.setProjectId(source.getProjectId());
-        target.setFirebaseTaskId(source.getFirebaseTaskId());
-        target.setProjectName(source.getProjectName());
-        target.setAssignedTo(source.getAssignedTo());
-        target.setCreatedBy(source.getCreatedBy());
-        target.setArchived(source.isArchived());
+        mRepository.setTodoCompleted(todo.getId(), todo.isFromCollaboration(), newCompletionState);
     }
 
     public void delete(TodoItem todoItem) {
@@ -359,6 +283,11 @@ public class TaskListViewModel extends AndroidViewModel {
         mRepository.delete(todoItem);
     }
 
+    public void delete(TodoWithCategory todo) {
+        Log.d(TAG, "Deleting todo: " + todo.getTitle() + " (collaboration: " + todo.isFromCollaboration() + ")");
+        mRepository.deleteTodoById(todo.getId());
+    }
+
     public void deleteAllTodos() {
         Log.d(TAG, "Deleting all todos");
         mRepository.deleteAllTodos();
@@ -368,59 +297,69 @@ public class TaskListViewModel extends AndroidViewModel {
     public void showAllTodos() {
         Log.d(TAG, "Showing all todos (category filter)");
         mCurrentCategoryFilter = -1;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
     }
 
     public void showTodosWithoutCategory() {
         Log.d(TAG, "Showing todos without category");
         mCurrentCategoryFilter = 0;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
     }
 
     public void showTodosByCategory(int categoryId) {
         Log.d(TAG, "Showing todos by category: " + categoryId);
         mCurrentCategoryFilter = categoryId;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
     }
 
     public void showOnlyCollaborationTodos() {
         Log.d(TAG, "Showing only collaboration todos");
         mShowCollaborationTodos = true;
         mShowLocalTodos = false;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
     }
 
     public void showOnlyLocalTodos() {
         Log.d(TAG, "Showing only local todos");
         mShowCollaborationTodos = false;
         mShowLocalTodos = true;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
     }
 
     public void showAllTypes() {
         Log.d(TAG, "Showing all types of todos");
         mShowCollaborationTodos = true;
         mShowLocalTodos = true;
-        applyCurrentFilter(mVisibleTodosWithCategory.getValue());
+        applyListFilter();
+    }
+
+    // 현재 필터로 첫 페이지부터 다시 로딩
+    private void applyListFilter() {
+        mTodoPager.setFilter(mCurrentCategoryFilter, mShowCollaborationTodos, mShowLocalTodos);
+    }
+
+    // 목록 끝까지 스크롤했을 때 다음 페이지 로딩
+    public void loadMoreTodos() {
+        mTodoPager.loadNextPage();
     }
 
     // 캘린더용 필터링 메서드들
     public void showAllTodosForCalendar() {
         Log.d(TAG, "Showing all todos for calendar");
         mCalendarCategoryFilter = -1;
-        applyCalendarFilter(mAllTodosForCalendar.getValue());
+        applyCalendarFilter();
     }
 
     public void showTodosWithoutCategoryForCalendar() {
         Log.d(TAG, "Showing todos without category for calendar");
         mCalendarCategoryFilter = 0;
-        applyCalendarFilter(mAllTodosForCalendar.getValue());
+        applyCalendarFilter();
     }
 
     public void showTodosByCategoryForCalendar(int categoryId) {
         Log.d(TAG, "Showing todos by category for calendar: " + categoryId);
         mCalendarCategoryFilter = categoryId;
-        applyCalendarFilter(mAllTodosForCalendar.getValue());
+        applyCalendarFilter();
     }
 
     public void performManualSync() {
@@ -486,6 +425,12 @@ public class TaskListViewModel extends AndroidViewModel {
     }
 
     public void getCollaborationTodoCount(OnCountReceivedListener listener) {
+        // 공유 스냅샷이 로드되었으면 쿼리 없이 바로 알린다
+        TodoStore.Snapshot snapshot = mTodoStore.getCurrent();
+        if (snapshot != null) {
+            listener.onCountReceived(snapshot.getCollaborationCount());
+            return;
+        }
         mRepository.getCollaborationTodoCount(listener::onCountReceived);
     }
 
@@ -497,71 +442,56 @@ public class TaskListViewModel extends AndroidViewModel {
         return mRepository.getSyncingProjectCount();
     }
 
+    // 목록 변환 단계별 소요 시간 (디버그용)
+    public ListMappingPipeline.Timings getMainListTimings() {
+        return mVisibleTodosWithCategory.getLastTimings();
+    }
+
+    public ListMappingPipeline.Timings getCalendarListTimings() {
+        return mFilteredTodosForCalendar.getLastTimings();
+    }
+
     public LiveData<Map<LocalDate, Float>> getMonthlyCompletionRates() {
         return monthlyCompletionRates;
     }
 
     public void setCurrentDisplayMonth(YearMonth yearMonth) {
-        this.currentDisplayMonth = yearMonth;
-        updateMonthlyCompletionRates(yearMonth, mAllTodosForCalendar.getValue());
+        if (!yearMonth.equals(currentDisplayMonth.getValue())) {
+            currentDisplayMonth.setValue(yearMonth);
+        }
     }
 
-    public void updateMonthlyCompletionRates(YearMonth yearMonth, List<TodoWithCategory> allTasks) {
-        if (allTasks == null) {
-            monthlyCompletionRates.postValue(new HashMap<>());
-            return;
-        }
+    private LiveData<Map<LocalDate, Float>> loadMonthlyCompletionRates(YearMonth yearMonth) {
+        // daily_stats 집계 테이블에서 해당 월의 날짜 행만 읽는다
+        return Transformations.map(
+                dailyStatsDao.getDayCompletionCounts(yearMonth.atDay(1).toString(),
+                        yearMonth.plusMonths(1).atDay(1).toString()),
+                dayCompletions -> toCompletionRates(yearMonth, dayCompletions)
+        );
+    }
 
-        this.currentDisplayMonth = yearMonth;
-
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            Map<LocalDate, Float> rates = new HashMap<>();
-            LocalDate firstDayOfMonth = yearMonth.atDay(1);
-            LocalDate lastDayOfMonth = yearMonth.atEndOfMonth();
-
-            for (LocalDate date = firstDayOfMonth; !date.isAfter(lastDayOfMonth); date = date.plusDays(1)) {
-                final LocalDate currentDate = date;
-
-                Calendar startOfDayCal = Calendar.getInstance();
-                startOfDayCal.set(currentDate.getYear(), currentDate.getMonthValue() - 1, currentDate.getDayOfMonth(), 0, 0, 0);
-                startOfDayCal.set(Calendar.MILLISECOND, 0);
-                long startOfDayMillis = startOfDayCal.getTimeInMillis();
-
-                Calendar endOfDayCal = Calendar.getInstance();
-                endOfDayCal.set(currentDate.getYear(), currentDate.getMonthValue() - 1, currentDate.getDayOfMonth(), 23, 59, 59);
-                endOfDayCal.set(Calendar.MILLISECOND, 999);
-                long endOfDayMillis = endOfDayCal.getTimeInMillis();
-
-                List<TodoItem> tasksForDate = allTasks.stream()
-                        .map(TodoWithCategory::getTodoItem)
-                        .filter(todo -> {
-                            Long dueDate = todo.getDueDate();
-                            if (dueDate == null) {
-                                // 기한 없는 할일은 생성된 날짜를 기준으로 포함
-                                long createdAt = todo.getCreatedAt();
-                                return createdAt >= startOfDayMillis && createdAt <= endOfDayMillis;
-                            }
-                            return dueDate >= startOfDayMillis && dueDate <= endOfDayMillis;
-                        })
-                        .collect(Collectors.toList());
-
-                if (!tasksForDate.isEmpty()) {
-                    long completedCount = tasksForDate.stream().filter(TodoItem::isCompleted).count();
-                    float rate = (float) completedCount / tasksForDate.size();
-                    rates.put(currentDate, rate);
-                } else {
-                    rates.put(currentDate, 0f);
+    private Map<LocalDate, Float> toCompletionRates(YearMonth yearMonth, List<DailyStatsDao.DayCompletion> dayCompletions) {
+        Map<LocalDate, Float> rates = new HashMap<>();
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            rates.put(yearMonth.atDay(day), 0f);
+        }
+        if (dayCompletions != null) {
+            for (DailyStatsDao.DayCompletion dayCompletion : dayCompletions) {
+                if (dayCompletion.total > 0) {
+                    rates.put(LocalDate.parse(dayCompletion.day),
+                            (float) dayCompletion.completed / dayCompletion.total);
                 }
             }
-
-            monthlyCompletionRates.postValue(rates);
-        });
+        }
+        return rates;
     }
 
     @Override
     protected void onCleared() {
         super.onCleared();
         Log.d(TAG, "ViewModel cleared, stopping collaboration sync");
+        mDayHandler.removeCallbacks(mMidnightTick);
+        mTodoPager.release();
         try {
             mRepository.stopCollaborationSync();
         } catch (Exception e) {
@@ -569,38 +499,83 @@ public class TaskListViewModel extends AndroidViewModel {
         }
     }
 
-    public static class TodoWithCategory {
-        private final TodoItem todoItem;
-        private final String categoryName;
-        private final String categoryColor;
-        private final String displayTitle;
+    // 목록 한 줄의 바꿀 수 없는 값 (ViewModel -> 어댑터) - 가벼운 TodoListRow 만 들고 있다 (전체 TodoItem 아님)
+    // 행(TodoListRow)은 스냅샷/페이저가 준 객체를 그대로 공유하고, 바꿀 때는 with*로 새 값을 만든다.
+    // hashCode는 만들 때 한 번 계산 - equals는 같은 객체/같은 행이면 바로 true, 해시가 다르면 바로 false
+    public static final class TodoWithCategory {
+        private final TodoListRow row;
+        private final String displayTitle; // 만드는 곳(변환 스레드)에서 한 번만 계산
+        private final int hash;
 
-        public TodoWithCategory(TodoItem todoItem, String categoryName, String categoryColor, String displayTitle) {
-            this.todoItem = todoItem;
-            this.categoryName = categoryName;
-            this.categoryColor = categoryColor;
-            this.displayTitle = displayTitle;
+        public TodoWithCategory(TodoListRow row) {
+            this.row = row;
+            this.displayTitle = row.getDisplayTitle();
+            this.hash = row.hashCode();
         }
 
-        public TodoItem getTodoItem() { return todoItem; }
-        public String getCategoryName() { return categoryName; }
-        public String getCategoryColor() { return categoryColor; }
+        public TodoListRow getRow() { return row; }
+        public int getId() { return row.id; }
+        public String getTitle() { return row.title; }
+        public boolean isCompleted() { return row.is_completed; }
+        public Long getDueDate() { return row.due_date; }
+        public long getCreatedAt() { return row.created_at; }
+        public int getEffectiveDay() { return row.effective_day; }
+        public Integer getCategoryId() { return row.category_id; }
+        public boolean isFromCollaboration() { return row.is_from_collaboration; }
+        public String getProjectName() { return row.project_name; }
+        public String getCategoryName() { return row.category_name; }
+        public String getCategoryColor() { return row.category_color; }
         public String getDisplayTitle() { return displayTitle; }
 
+        // 완료 상태만 바꾼 값 (같으면 자신을 그대로 돌려준다)
+        public TodoWithCategory withCompleted(boolean completed) {
+            return completed == row.is_completed ? this : new TodoWithCategory(row.withCompleted(completed));
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             TodoWithCategory that = (TodoWithCategory) o;
-            return Objects.equals(todoItem, that.todoItem) &&
-                    Objects.equals(categoryName, that.categoryName) &&
-                    Objects.equals(categoryColor, that.categoryColor) &&
-                    Objects.equals(displayTitle, that.displayTitle);
+            if (row == that.row) return true;
+            return hash == that.hash && row.equals(that.row);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(todoItem, categoryName, categoryColor, displayTitle);
+            return hash;
+        }
+    }
+
+    // 행 목록 -> TodoWithCategory 목록 (변환 스레드에서만 실행, 목록마다 하나씩)
+    // 이전 변환에서 같은 행 객체를 감쌌던 값은 다시 쓴다 - 바뀌지 않은 줄은 어댑터/파이프라인 비교가 참조 비교로 끝난다
+    static final class RowConverter implements Function<List<TodoListRow>, List<TodoWithCategory>> {
+        private Map<Integer, TodoWithCategory> previous = new HashMap<>();
+        private int reusedCount;
+
+        @Override
+        public List<TodoWithCategory> apply(List<TodoListRow> rows) {
+            List<TodoWithCategory> result = new ArrayList<>(rows != null ? rows.size() : 0);
+            Map<Integer, TodoWithCategory> current = new HashMap<>();
+            if (rows != null) {
+                for (TodoListRow row : rows) {
+                    TodoWithCategory item = previous.get(row.id);
+                    if (item != null && item.getRow() == row) {
+                        reusedCount++;
+                    } else {
+                        item = new TodoWithCategory(row);
+                    }
+                    result.add(item);
+                    current.put(row.id, item);
+                }
+            }
+            previous = current;
+            return result;
+        }
+
+        // 다시 쓴 값의 누적 개수 (테스트용)
+        int getReusedCount() {
+            return reusedCount;
         }
     }
 
@@ -17,7 +17,6 @@ import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.am.mytodolistapp.R;
-import com.am.mytodolistapp.data.TodoItem;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -69,17 +68,14 @@ public class TaskWithDateAdapter extends ListAdapter<TaskListViewModel.TodoWithC
         }
 
         public void bind(TaskListViewModel.TodoWithCategory todoWithCategory) {
-            TodoItem todo = todoWithCategory.getTodoItem();
-
-            textTodoTitle.setText(todo.getTitle());
+            textTodoTitle.setText(todoWithCategory.getTitle());
             updateDetailsText(todoWithCategory);
-            applyCompletionStyle(todo.isCompleted());
-            setupListeners(todo);
+            applyCompletionStyle(todoWithCategory.isCompleted());
+            setupListeners(todoWithCategory);
         }
 
         // 날짜 정보도 포함하도록 개선
         private void updateDetailsText(TaskListViewModel.TodoWithCategory todoWithCategory) {
-            TodoItem todo = todoWithCategory.getTodoItem();
             StringBuilder details = new StringBuilder();
 
             // 카테고리 정보 추가
@@ -88,12 +84,12 @@ public class TaskWithDateAdapter extends ListAdapter<TaskListViewModel.TodoWithC
             }
 
             //날짜 정보 표시 로직
-            if (todo.getDueDate() != null) {
+            if (todoWithCategory.getDueDate() != null) {
                 // 기한이 있는 경우: "기한: MM-dd"
-                details.append("기한: ").append(dateFormat.format(new Date(todo.getDueDate())));
+                details.append("기한: ").append(dateFormat.format(new Date(todoWithCategory.getDueDate())));
             } else {
                 // 기한이 없는 경우: "생성: MM-dd"
-                details.append("생성: ").append(dateFormat.format(new Date(todo.getCreatedAt())));
+                details.append("생성: ").append(dateFormat.format(new Date(todoWithCategory.getCreatedAt())));
             }
 
             // 항상 세부 정보를 표시
@@ -114,7 +110,7 @@ public class TaskWithDateAdapter extends ListAdapter<TaskListViewModel.TodoWithC
             checkBoxCompleted.setChecked(isCompleted);
         }
 
-        private void setupListeners(TodoItem todo) {
+        private void setupListeners(TaskListViewModel.TodoWithCategory todo) {
             checkBoxCompleted.setOnClickListener(v -> viewModel.toggleCompletion(todo));
 
             buttonEditTodo.setOnClickListener(v -> {
@@ -127,7 +123,7 @@ public class TaskWithDateAdapter extends ListAdapter<TaskListViewModel.TodoWithC
             buttonDeleteTodo.setOnClickListener(v -> showDeleteConfirmationDialog(todo));
         }
 
-        private void showDeleteConfirmationDialog(TodoItem todo) {
+        private void showDeleteConfirmationDialog(TaskListViewModel.TodoWithCategory todo) {
             new AlertDialog.Builder(itemView.getContext())
                     .setTitle("할 일 삭제")
                     .setMessage("'" + todo.getTitle() + "'을(를) 삭제하시겠습니까?")
@@ -144,7 +140,7 @@ public class TaskWithDateAdapter extends ListAdapter<TaskListViewModel.TodoWithC
             new DiffUtil.ItemCallback<TaskListViewModel.TodoWithCategory>() {
                 @Override
                 public boolean areItemsTheSame(@NonNull TaskListViewModel.TodoWithCategory oldItem, @NonNull TaskListViewModel.TodoWithCategory newItem) {
-                    return oldItem.getTodoItem().getId() == newItem.getTodoItem().getId();
+                    return oldItem.getId() == newItem.getId();
                 }
 
                 @Override
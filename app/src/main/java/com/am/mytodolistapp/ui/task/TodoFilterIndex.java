@@ -0,0 +1,305 @@
+package com.am.mytodolistapp.ui.task;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 목록 필터(카테고리, 로컬/협업)용 메모리 색인
+// 필터를 바꿀 때마다 전체 목록을 훑어 새 리스트를 만들지 않고, 버킷에 모아 둔 위치만 꺼낸다.
+
+/* 버킷: 카테고리 id(0 = 카테고리 없음)별, 출처(로컬/협업)별로 목록 위치(오름차순)를 들고 있다.
+   update(): 새 목록이 이전과 같은 id 순서면(완료 토글, 제목 수정 등) 바뀐 행만 버킷을 옮긴다.
+   행이 추가/삭제되었으면 남은 행의 순서는 그대로이므로 버킷 위치를 새 위치로 당기거나 밀고(shift),
+   추가된 행만 버킷에 넣는다. 남은 행끼리 순서가 바뀌었거나 거의 다 새 행인 경우에만 다시 만든다.
+   query(): 카테고리 버킷과 출처 버킷의 교집합 - 목록 순서를 그대로 유지한다.
+   TaskListViewModel: 캘린더 날짜 목록에 사용 (메인 목록은 TodoListPager가 쿼리에서 필터링) */
+final class TodoFilterIndex {
+
+    static final int ALL = -1;
+    static final int NO_CATEGORY = 0;
+
+    private List<TaskListViewModel.TodoWithCategory> items = Collections.emptyList();
+    private final Map<Integer, Positions> byCategory = new HashMap<>();
+    private final Positions local = new Positions();
+    private final Positions collaboration = new Positions();
+
+    private int rebuildCount;
+    private int incrementalCount;
+    private int shiftCount;
+    private int movedCount;
+
+    // 넘긴 목록을 그대로 들고 있는다 (LiveData 값처럼 이후에 바꾸지 않는 목록)
+    void update(@Nullable List<TaskListViewModel.TodoWithCategory> newItems) {
+        if (newItems == null) newItems = Collections.emptyList();
+        if (newItems == items) return; // 필터만 바뀐 경우
+        int[] newPositions = null; // 이전 위치 -> 새 위치 (-1: 삭제), null이면 위치가 그대로
+        boolean[] kept = null; // 새 목록에서 이전에도 있던 위치
+        if (!sameIdsInOrder(newItems)) {
+            newPositions = align(newItems);
+            if (newPositions == null) {
+                rebuild(newItems); // 순서가 바뀐 행이 있거나 거의 다 새 행이다 (다른 날짜 목록 등)
+                return;
+            }
+            shift(newPositions);
+            kept = new boolean[newItems.size()];
+            shiftCount++;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            int position = newPositions == null ? i : newPositions[i];
+            if (position < 0) continue; // 삭제된 행 - shift에서 뺐다
+            if (kept != null) kept[position] = true;
+            TaskListViewModel.TodoWithCategory before = items.get(i);
+            TaskListViewModel.TodoWithCategory after = newItems.get(position);
+            if (before == after) continue; // 다시 쓴 값 (RowConverter) - 바뀐 것이 없다
+            int oldCategory = categoryKey(before);
+            int newCategory = categoryKey(after);
+            if (oldCategory != newCategory) {
+                Positions bucket = byCategory.get(oldCategory);
+                bucket.remove(position);
+                if (bucket.size() == 0) byCategory.remove(oldCategory);
+                categoryBucket(newCategory).insert(position);
+                movedCount++;
+            }
+            if (before.isFromCollaboration() != after.isFromCollaboration()) {
+                originBucket(before.isFromCollaboration()).remove(position);
+                originBucket(after.isFromCollaboration()).insert(position);
+                movedCount++;
+            }
+        }
+        if (kept != null) {
+            // 추가된 행
+            for (int position = 0; position < kept.length; position++) {
+                if (kept[position]) continue;
+                TaskListViewModel.TodoWithCategory todo = newItems.get(position);
+                categoryBucket(categoryKey(todo)).insert(position);
+                originBucket(todo.isFromCollaboration()).insert(position);
+                movedCount++;
+            }
+        }
+        items = newItems;
+        incrementalCount++;
+    }
+
+    // categoryFilter: ALL, NO_CATEGORY, 또는 카테고리 id
+    @NonNull
+    List<TaskListViewModel.TodoWithCategory> query(int categoryFilter, boolean includeLocal,
+                                                   boolean includeCollaboration) {
+        if (!includeLocal && !includeCollaboration) return new ArrayList<>();
+        Positions origin = includeLocal && includeCollaboration ? null : originBucket(includeCollaboration);
+
+        if (categoryFilter == ALL) {
+            return origin == null ? new ArrayList<>(items) : collect(origin);
+        }
+        Positions category = byCategory.get(categoryFilter);
+        if (category == null) return new ArrayList<>();
+        return origin == null ? collect(category) : collectBoth(category, origin);
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    // 다시 만든 횟수, 바뀐 행만 옮긴 횟수(그중 추가/삭제로 위치를 옮긴 횟수), 옮긴 행 수 (디버그, 테스트용)
+    int getRebuildCount() {
+        return rebuildCount;
+    }
+
+    int getIncrementalCount() {
+        return incrementalCount;
+    }
+
+    int getShiftCount() {
+        return shiftCount;
+    }
+
+    int getMovedCount() {
+        return movedCount;
+    }
+
+    private boolean sameIdsInOrder(List<TaskListViewModel.TodoWithCategory> newItems) {
+        if (newItems.size() != items.size()) return false;
+        for (int i = 0; i < newItems.size(); i++) {
+            if (newItems.get(i).getId() != items.get(i).getId()) return false;
+        }
+        return true;
+    }
+
+    // 이전 목록의 각 위치가 새 목록의 어디로 갔는지 (-1: 삭제)
+    // 남은 행끼리 순서가 바뀌었거나 새 목록의 절반 넘게 새 행이면 null (다시 만드는 편이 싸다)
+    // 앞뒤로 같은 구간은 id 비교만 하고, 가운데 바뀐 구간에서만 id 집합을 만든다
+    @Nullable
+    private int[] align(List<TaskListViewModel.TodoWithCategory> newItems) {
+        int oldSize = items.size();
+        int newSize = newItems.size();
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && items.get(prefix).getId() == newItems.get(prefix).getId()) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+                && items.get(oldSize - 1 - suffix).getId() == newItems.get(newSize - 1 - suffix).getId()) {
+            suffix++;
+        }
+
+        int[] newPositions = new int[oldSize];
+        for (int i = 0; i < prefix; i++) newPositions[i] = i;
+        for (int k = 0; k < suffix; k++) newPositions[oldSize - 1 - k] = newSize - 1 - k;
+
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        Set<Integer> oldIds = new HashSet<>();
+        Set<Integer> newIds = new HashSet<>();
+        for (int i = prefix; i < oldEnd; i++) oldIds.add(items.get(i).getId());
+        for (int j = prefix; j < newEnd; j++) newIds.add(newItems.get(j).getId());
+        int j = prefix;
+        int kept = prefix + suffix;
+        for (int i = prefix; i < oldEnd; i++) {
+            int id = items.get(i).getId();
+            if (!newIds.contains(id)) {
+                newPositions[i] = -1;
+                continue;
+            }
+            while (j < newEnd && !oldIds.contains(newItems.get(j).getId())) j++; // 추가된 행은 건너뛴다
+            if (j == newEnd || newItems.get(j).getId() != id) return null;
+            newPositions[i] = j++;
+            kept++;
+        }
+        return kept * 2 >= newSize ? newPositions : null;
+    }
+
+    // 모든 버킷의 위치를 새 위치로 바꾼다 (삭제된 행은 뺀다) - 남은 행의 순서가 같으므로 오름차순이 유지된다
+    private void shift(int[] newPositions) {
+        Iterator<Positions> buckets = byCategory.values().iterator();
+        while (buckets.hasNext()) {
+            Positions bucket = buckets.next();
+            bucket.remap(newPositions);
+            if (bucket.size() == 0) buckets.remove();
+        }
+        local.remap(newPositions);
+        collaboration.remap(newPositions);
+    }
+
+    private void rebuild(List<TaskListViewModel.TodoWithCategory> newItems) {
+        byCategory.clear();
+        local.clear();
+        collaboration.clear();
+        for (int i = 0; i < newItems.size(); i++) {
+            TaskListViewModel.TodoWithCategory todo = newItems.get(i);
+            categoryBucket(categoryKey(todo)).add(i);
+            originBucket(todo.isFromCollaboration()).add(i);
+        }
+        items = newItems;
+        rebuildCount++;
+    }
+
+    private static int categoryKey(TaskListViewModel.TodoWithCategory todo) {
+        Integer categoryId = todo.getCategoryId();
+        return categoryId != null ? categoryId : NO_CATEGORY;
+    }
+
+    private Positions categoryBucket(int key) {
+        Positions bucket = byCategory.get(key);
+        if (bucket == null) {
+            bucket = new Positions();
+            byCategory.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private Positions originBucket(boolean fromCollaboration) {
+        return fromCollaboration ? collaboration : local;
+    }
+
+    private List<TaskListViewModel.TodoWithCategory> collect(Positions positions) {
+        List<TaskListViewModel.TodoWithCategory> result = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            result.add(items.get(positions.get(i)));
+        }
+        return result;
+    }
+
+    // 두 버킷 모두에 있는 위치 (둘 다 오름차순이므로 한 번씩만 훑는다)
+    private List<TaskListViewModel.TodoWithCategory> collectBoth(Positions a, Positions b) {
+        List<TaskListViewModel.TodoWithCategory> result = new ArrayList<>(Math.min(a.size(), b.size()));
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            int left = a.get(i);
+            int right = b.get(j);
+            if (left == right) {
+                result.add(items.get(left));
+                i++;
+                j++;
+            } else if (left < right) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // 오름차순 int 목록 (Integer 박싱 없이)
+    private static final class Positions {
+        private int[] values = new int[8];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        // 다시 만들 때는 위치 순서대로 들어온다
+        void add(int position) {
+            ensureCapacity();
+            values[size++] = position;
+        }
+
+        void insert(int position) {
+            int index = Arrays.binarySearch(values, 0, size, position);
+            if (index >= 0) return;
+            index = -index - 1;
+            ensureCapacity();
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = position;
+            size++;
+        }
+
+        void remove(int position) {
+            int index = Arrays.binarySearch(values, 0, size, position);
+            if (index < 0) return;
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+
+        // 위치 p를 newPositions[p]로 바꾸고, -1이면 뺀다
+        void remap(int[] newPositions) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int position = newPositions[values[i]];
+                if (position >= 0) values[kept++] = position;
+            }
+            size = kept;
+        }
+
+        private void ensureCapacity() {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * daily_stats 트리거가 추가/수정/삭제/보관 이동 후에도 원본 테이블을 처음부터 다시 집계한 결과
+ * (마이그레이션 백필과 같은 SQL)와 항상 같은지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class DailyStatsTriggerTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long BASE = 1_700_000_000_000L;
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private final Random random = new Random(42);
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void rollupMatchesFullRecountAfterRandomEdits() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ids.add((int) todoDao.insertAndGetId(randomTodo("todo " + i)));
+        }
+        assertRollupMatchesRecount();
+
+        for (int round = 0; round < 500; round++) {
+            int id = ids.get(random.nextInt(ids.size()));
+            TodoItem item = todoDao.getTodoByIdSync(id);
+            if (item == null) continue;
+            switch (random.nextInt(6)) {
+                case 0: item.setCompleted(!item.isCompleted()); break;
+                case 1: item.setCategoryId(randomCategory()); break;
+                case 2: item.setDueDate(randomDueDate()); break;
+                case 3: item.setArchived(!item.isArchived()); break;
+                case 4: item.setTitle("renamed " + round); break;
+                default:
+                    todoDao.delete(item);
+                    continue;
+            }
+            item.setUpdatedAt(BASE + random.nextInt(60) * DAY);
+            todoDao.update(item);
+        }
+        assertRollupMatchesRecount();
+
+        // 보관 이동(todo_table 삭제 + todo_archive 삽입) 후에도 합계가 그대로여야 한다
+        long completedBefore = scalar("SELECT IFNULL(SUM(completed), 0) FROM daily_stats");
+        int moved = todoDao.archiveOldCompletedTodos(BASE + 30 * DAY);
+        assertTrue(moved > 0);
+
+        assertRollupMatchesRecount();
+        assertEquals(completedBefore, scalar("SELECT IFNULL(SUM(completed), 0) FROM daily_stats"));
+        assertEquals(scalar("SELECT (SELECT COUNT(*) FROM todo_table WHERE is_completed = 1) + " +
+                        "(SELECT COUNT(*) FROM todo_archive WHERE is_completed = 1)"),
+                scalar("SELECT IFNULL(SUM(completed), 0) FROM daily_stats"));
+        assertEquals(scalar("SELECT COUNT(*) FROM todo_table WHERE is_completed = 0"),
+                scalar("SELECT IFNULL(SUM(created) - SUM(completed), 0) FROM daily_stats"));
+        assertEquals(moved, scalar("SELECT IFNULL(SUM(archived), 0) FROM daily_stats") -
+                scalar("SELECT COUNT(*) FROM todo_table WHERE is_archived = 1"));
+    }
+
+    @Test
+    public void rebuildProducesSameRowsAsTriggers() {
+        for (int i = 0; i < 100; i++) {
+            todoDao.insert(randomTodo("todo " + i));
+        }
+        List<String> byTriggers = rollupRows();
+        assertFalse(byTriggers.isEmpty());
+
+        DailyStats.rebuild(db.getOpenHelper().getWritableDatabase());
+
+        assertEquals(byTriggers, rollupRows());
+    }
+
+    private TodoItem randomTodo(String title) {
+        TodoItem item = new TodoItem(title);
+        item.setCategoryId(randomCategory());
+        item.setDueDate(randomDueDate());
+        item.setCompleted(random.nextBoolean());
+        item.setCreatedAt(BASE + random.nextInt(60) * DAY + random.nextInt((int) DAY));
+        item.setUpdatedAt(BASE + random.nextInt(60) * DAY + random.nextInt((int) DAY));
+        return item;
+    }
+
+    // 기본 카테고리 1, 2 또는 없음
+    private Integer randomCategory() {
+        int pick = random.nextInt(3);
+        return pick == 0 ? null : pick;
+    }
+
+    private Long randomDueDate() {
+        return random.nextBoolean() ? null : BASE + random.nextInt(60) * DAY;
+    }
+
+    private void assertRollupMatchesRecount() {
+        assertEquals(recountRows(), rollupRows());
+    }
+
+    // 트리거로 유지된 값 (모든 개수가 0이 된 행은 제외)
+    private List<String> rollupRows() {
+        return rows("SELECT day, category_id, scheduled, scheduled_completed, created, completed, archived " +
+                "FROM daily_stats " +
+                "WHERE scheduled != 0 OR scheduled_completed != 0 OR created != 0 OR completed != 0 OR archived != 0 " +
+                "ORDER BY day, category_id");
+    }
+
+    private List<String> recountRows() {
+        return rows("SELECT * FROM (" + DailyStats.backfillSelect(DailyStats.SOURCE_TABLES) + ") ORDER BY 1, 2");
+    }
+
+    private List<String> rows(String sql) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = db.query(sql, null)) {
+            while (cursor.moveToNext()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    row.append(cursor.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    private long scalar(String sql) {
+        try (Cursor cursor = db.query(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
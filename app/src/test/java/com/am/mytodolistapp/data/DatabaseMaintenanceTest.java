@@ -0,0 +1,82 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 정리 작업이 보관 이동, 동기화 잔여 행 정리, 빈 집계 행 정리를 하고
+ * 처리한 행 수를 Report로 돌려주는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class DatabaseMaintenanceTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void runArchivesOldCompletedTodosAndCleansStaleRows() {
+        long old = System.currentTimeMillis() - 10 * DAY;
+        for (int i = 0; i < 20; i++) {
+            TodoItem item = new TodoItem("todo " + i);
+            item.setCompleted(i < 5);
+            item.setCreatedAt(old);
+            item.setUpdatedAt(old);
+            todoDao.insert(item);
+        }
+
+        // 프로젝트 정보가 없는 협업 할 일 - 어떤 동기화로도 정리되지 않는다
+        TodoItem orphan = new TodoItem("orphan");
+        orphan.setFromCollaboration(true);
+        todoDao.insert(orphan);
+
+        // 다른 날짜에 만들었다 지운 할 일 - daily_stats에 0만 남은 행이 생긴다
+        TodoItem removed = new TodoItem("removed");
+        removed.setCreatedAt(old - 30 * DAY);
+        removed.setUpdatedAt(old - 30 * DAY);
+        todoDao.deleteTodoById((int) todoDao.insertAndGetId(removed));
+
+        DatabaseMaintenance.Report report = new DatabaseMaintenance(db).run();
+
+        assertEquals(5, report.archivedRows);
+        assertEquals(15, count("SELECT COUNT(*) FROM todo_table"));
+        assertEquals(5, count("SELECT COUNT(*) FROM todo_archive"));
+        assertEquals(0, count("SELECT COUNT(*) FROM todo_table WHERE is_from_collaboration = 1"));
+        assertEquals(0, count("SELECT COUNT(*) FROM daily_stats WHERE scheduled = 0 AND created = 0 AND completed = 0"));
+        assertEquals(3, report.cleanedRows); // 협업 잔여 1 + 빈 집계 행 2 (지운 할 일, 정리된 협업 할 일의 날짜)
+
+        // 두 번째 실행은 할 일이 없다
+        DatabaseMaintenance.Report second = new DatabaseMaintenance(db).run();
+        assertEquals(0, second.archivedRows);
+        assertEquals(0, second.cleanedRows);
+    }
+
+    private long count(String sql) {
+        try (Cursor cursor = db.query(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
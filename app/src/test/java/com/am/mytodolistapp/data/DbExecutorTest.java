@@ -0,0 +1,103 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 읽기 풀이 레인 우선순위(USER_ACTION > SYNC > ANALYTICS)와 레인 안의 입력 순서를 지키는지,
+ * 단일 쓰기 실행기는 레인과 상관없이 들어온 순서대로 실행하는지(같은 행의 동기화/사용자 쓰기),
+ * 대기열 지표가 맞게 쌓이는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class DbExecutorTest {
+
+    @Test
+    public void userActionsRunBeforeQueuedSyncAndAnalytics() throws InterruptedException {
+        DbExecutor executor = DbExecutor.readPool("test-read", 1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+
+        // 첫 작업이 스레드를 붙잡고 있는 동안 나머지가 대기열에 쌓인다
+        executor.execute(() -> await(blocker));
+        executor.execute(DbExecutor.Lane.ANALYTICS, () -> { order.add("stats"); done.countDown(); });
+        executor.execute(DbExecutor.Lane.SYNC, () -> { order.add("sync-1"); done.countDown(); });
+        executor.execute(DbExecutor.Lane.SYNC, () -> { order.add("sync-2"); done.countDown(); });
+        executor.execute(() -> { order.add("toggle-1"); done.countDown(); });
+        executor.execute(() -> { order.add("toggle-2"); done.countDown(); });
+
+        assertEquals(1, executor.getQueueDepth(DbExecutor.Lane.ANALYTICS));
+        assertEquals(2, executor.getQueueDepth(DbExecutor.Lane.SYNC));
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList("toggle-1", "toggle-2", "sync-1", "sync-2", "stats"), order);
+        assertEquals(0, executor.getQueueDepth());
+
+        DbExecutor.LaneStats userStats = executor.getStats(DbExecutor.Lane.USER_ACTION);
+        assertEquals(3, userStats.completed);
+        assertTrue(executor.getStats(DbExecutor.Lane.ANALYTICS).maxWaitNanos > 0);
+    }
+
+    @Test
+    public void writerKeepsSubmissionOrderAcrossLanes() throws InterruptedException {
+        AppDatabase db = TestDatabases.inMemory();
+        try {
+            TodoDao todoDao = db.todoDao();
+            int id = (int) todoDao.insertAndGetId(new TodoItem("todo"));
+            DbExecutor executor = DbExecutor.singleWriter("test-write");
+            CountDownLatch blocker = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(3);
+            long now = System.currentTimeMillis();
+
+            // 동기화가 먼저 반영을 예약하고, 그 뒤에 사용자가 같은 할 일을 고친다 - 사용자 값이 남아야 한다
+            executor.execute(() -> await(blocker));
+            executor.execute(DbExecutor.Lane.ANALYTICS, () -> {
+                todoDao.setCompleted(id, false, now);
+                done.countDown();
+            });
+            executor.execute(DbExecutor.Lane.SYNC, () -> {
+                todoDao.updateEditedFields(id, "from sync", false, null, null, now);
+                done.countDown();
+            });
+            executor.execute(() -> {
+                todoDao.updateEditedFields(id, "from user", true, null, null, now);
+                done.countDown();
+            });
+
+            blocker.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            TodoItem item = todoDao.getTodoByIdSync(id);
+            assertEquals("from user", item.getTitle());
+            assertTrue(item.isCompleted());
+            assertEquals(1, executor.getStats(DbExecutor.Lane.SYNC).completed);
+        } finally {
+            db.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 새 DB를 만들 때 기본 카테고리가 생성 트랜잭션 안에서 입력되는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class DefaultCategoriesTest {
+
+    private AppDatabase db;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void freshDatabaseHasDefaultCategories() {
+        try (Cursor cursor = db.query("SELECT name, is_default, order_index, name_chosung " +
+                "FROM category_table ORDER BY order_index", null)) {
+            assertEquals(5, cursor.getCount());
+            int order = 1;
+            while (cursor.moveToNext()) {
+                assertEquals(1, cursor.getInt(1));
+                assertEquals(order++, cursor.getInt(2));
+                assertEquals(HangulUtils.toChosung(cursor.getString(0)), cursor.getString(3));
+            }
+        }
+        assertEquals(5, db.categoryDao().getDefaultCategoryCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 로컬 날짜 파생 컬럼(due_day / created_day / completed_day / effective_day)이
+ * 저장할 때 원본 시각에서 계산되고, 보관 이동 후에도 유지되는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class LocalDayColumnsTest {
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void derivedDayColumnsFollowSourceTimestamps() {
+        LocalDate created = LocalDate.of(2024, 3, 9);
+        LocalDate due = LocalDate.of(2024, 3, 10);
+
+        // 자정 직전에 만든 할 일 - UTC 기준으로 나누면 시간대에 따라 다른 날짜가 된다
+        TodoItem item = new TodoItem("late night");
+        item.setCreatedAt(millisAt(created, 23, 59));
+        int id = (int) todoDao.insertAndGetId(item);
+        assertDays(id, null, LocalDay.of(created), null, LocalDay.of(created));
+
+        TodoItem saved = todoDao.getTodoByIdSync(id);
+        saved.setDueDate(millisAt(due, 0, 1));
+        saved.setCompleted(true);
+        saved.setUpdatedAt(millisAt(due, 9, 0));
+        todoDao.update(saved);
+        assertDays(id, LocalDay.of(due), LocalDay.of(created), LocalDay.of(due), LocalDay.of(due));
+
+        // 보관 테이블로 옮겨도 파생 컬럼 값이 그대로 복사된다
+        assertEquals(1, todoDao.archiveOldCompletedTodos(millisAt(due.plusDays(2), 0, 0)));
+        assertEquals(1, count("SELECT COUNT(*) FROM todo_archive WHERE effective_day = " + LocalDay.of(due)
+                + " AND completed_day = " + LocalDay.of(due)));
+    }
+
+    private void assertDays(int id, Integer dueDay, int createdDay, Integer completedDay, int effectiveDay) {
+        String sql = "SELECT due_day, created_day, completed_day, effective_day FROM todo_table WHERE id = " + id;
+        try (Cursor cursor = db.query(sql, null)) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(dueDay, cursor.isNull(0) ? null : cursor.getInt(0));
+            assertEquals(createdDay, cursor.getInt(1));
+            assertEquals(completedDay, cursor.isNull(2) ? null : cursor.getInt(2));
+            assertEquals(effectiveDay, cursor.getInt(3));
+        }
+    }
+
+    private long count(String sql) {
+        try (Cursor cursor = db.query(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    private static long millisAt(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
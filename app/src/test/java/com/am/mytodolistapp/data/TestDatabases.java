@@ -0,0 +1,102 @@
+package com.am.mytodolistapp.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * 테스트용 인메모리 DB를 AppDatabase.getDatabase 와 같은 콜백(일별 집계/변경 기록 트리거, 기본 카테고리)으로 만든다.
+ * 쿼리와 트랜잭션은 호출한 스레드에서 바로 실행되고, StatementCounter 로 실행된 SQL 문장 수를 센다.
+ * todoListPager()는 다른 패키지의 테스트(화면 목록 구성)가 같은 방식으로 갱신되는 메인 목록을 쓰게 한다.
+ */
+public final class TestDatabases {
+
+    public static final Executor DIRECT = Runnable::run;
+
+    private TestDatabases() {
+    }
+
+    public static AppDatabase inMemory() {
+        return inMemory(null);
+    }
+
+    public static AppDatabase inMemory(@Nullable RoomDatabase.QueryCallback queryCallback) {
+        RoomDatabase.Builder<AppDatabase> builder =
+                Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                        .allowMainThreadQueries()
+                        .setQueryExecutor(DIRECT)
+                        .setTransactionExecutor(DIRECT);
+        if (queryCallback != null) {
+            builder.setQueryCallback(queryCallback, DIRECT);
+        }
+        return AppDatabase.addCallbacks(builder).build();
+    }
+
+    // 앱과 같은 구성(변경 추적기 + TodoStore + 메인 목록 페이저)을 호출한 스레드에서 바로 실행한다
+    public static TodoListPager todoListPager(AppDatabase database) {
+        TodoChangeTracker tracker = new TodoChangeTracker(database, DIRECT);
+        TodoStore store = new TodoStore(database, tracker, DIRECT);
+        return new TodoListPager(database, store, tracker, DIRECT);
+    }
+
+    // 조건에 맞는 문장 수와 최상위 트랜잭션 수 (중첩된 BEGIN 은 제외)
+    // Room 내부 무효화 확인 쿼리(room_table_modification_log)는 세지 않는다
+    public static final class StatementCounter implements RoomDatabase.QueryCallback {
+        private final Predicate<String> filter; // 대문자로 바꾼 SQL
+        private int count;
+        private int transactions;
+        private int transactionDepth;
+
+        private StatementCounter(Predicate<String> filter) {
+            this.filter = filter;
+        }
+
+        // SELECT / INSERT / UPDATE / DELETE
+        public static StatementCounter statements() {
+            return new StatementCounter(sql -> sql.startsWith("SELECT") || sql.startsWith("INSERT")
+                    || sql.startsWith("UPDATE") || sql.startsWith("DELETE"));
+        }
+
+        public static StatementCounter selects() {
+            return new StatementCounter(sql -> sql.startsWith("SELECT"));
+        }
+
+        // SQL에 fragment 가 들어 있는 SELECT (대소문자 무시)
+        public static StatementCounter selects(String fragment) {
+            String upperFragment = fragment.toUpperCase(Locale.ROOT);
+            return new StatementCounter(sql -> sql.startsWith("SELECT") && sql.contains(upperFragment));
+        }
+
+        @Override
+        public synchronized void onQuery(@NonNull String sqlQuery, @NonNull List<Object> bindArgs) {
+            String upper = sqlQuery.trim().toUpperCase(Locale.ROOT);
+            if (upper.startsWith("BEGIN")) {
+                if (transactionDepth++ == 0) transactions++;
+            } else if (upper.startsWith("END")) {
+                transactionDepth--;
+            } else if (!upper.contains("ROOM_TABLE_MODIFICATION_LOG") && filter.test(upper)) {
+                count++;
+            }
+        }
+
+        public synchronized int get() {
+            return count;
+        }
+
+        public synchronized int getTransactions() {
+            return transactions;
+        }
+
+        public synchronized void reset() {
+            count = 0;
+            transactions = 0;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 완료 토글 한 번에 실행되는 조회 수를 테이블 단위 무효화(기존 Room LiveData 방식)와
+ * todo_change_log 기반 조각 단위 갱신으로 비교한다. 결과는 표준 출력으로 남긴다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoChangeTrackerTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    // Room 내부 무효화 확인 쿼리는 양쪽 모두 같으므로 세지 않는다
+    private final TestDatabases.StatementCounter selects = TestDatabases.StatementCounter.selects();
+
+    private int hiddenTodoId;  // 메인 목록에만 있고 오늘 캘린더, 프로젝트 목록에는 없는 할 일
+    private int visibleTodoId; // 메인 목록과 오늘 캘린더에 보이는 할 일
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(selects);
+        todoDao = db.todoDao();
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 120; i++) {
+            TodoItem item = new TodoItem("todo " + i);
+            item.setCreatedAt(now - (120 - i) * DAY);
+            item.setDueDate(i == 119 ? now : now - (120 - i) * DAY);
+            if (i % 12 == 0) {
+                item.setFromCollaboration(true);
+                item.setProjectId("project");
+            }
+            int id = (int) todoDao.insertAndGetId(item);
+            if (i == 1) hiddenTodoId = id;
+            if (i == 119) visibleTodoId = id;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void toggleRefreshesOnlyAffectedSlices() {
+        int today = LocalDay.today();
+
+        // 기존 방식: 화면마다 todo_table 전체를 관찰하고 쓰기마다 다시 조회
+        List<InvalidationTracker.Observer> wholeTable = new ArrayList<>();
+        wholeTable.add(wholeTableObserver(() -> todoDao.getAllListRows()));
+        wholeTable.add(wholeTableObserver(() -> todoDao.getCalendarListRowsForDay(today)));
+        wholeTable.add(wholeTableObserver(() -> todoDao.getTodosByProjectWithCategory("project")));
+        int beforeHidden = toggleAndCount(hiddenTodoId);
+        int beforeVisible = toggleAndCount(visibleTodoId);
+        for (InvalidationTracker.Observer observer : wholeTable) {
+            db.getInvalidationTracker().removeObserver(observer);
+        }
+
+        // 변경 기록 방식: 같은 세 화면을 조각 단위로 관찰
+        TodoChangeTracker tracker = new TodoChangeTracker(db, TestDatabases.DIRECT);
+        TodoStore store = new TodoStore(db, tracker, TestDatabases.DIRECT);
+        LiveData<List<TodoListRow>> calendar = tracker.liveQuery(
+                new TodoChangeTracker.Slice("calendar_day", TodoChange.COL_DATES, TodoChange.ALL_COLUMNS, true),
+                () -> todoDao.getCalendarListRowsForDay(today), TodoChangeTracker::listRowIds);
+        LiveData<List<TodoDao.TodoWithCategoryInfo>> project = tracker.liveQuery(
+                new TodoChangeTracker.Slice("project_todos", TodoChange.COL_COLLABORATION, TodoChange.ALL_COLUMNS, false),
+                () -> todoDao.getTodosByProjectWithCategory("project"), todos -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (TodoDao.TodoWithCategoryInfo todo : todos) ids.add(todo.id);
+                    return ids;
+                });
+        calendar.observeForever(rows -> { });
+        project.observeForever(rows -> { });
+        shadowOf(Looper.getMainLooper()).idle();
+
+        int afterHidden = toggleAndCount(hiddenTodoId);
+        assertEquals(1, tracker.getLastBatchRefreshCount()); // 메인 목록 행 1개
+        int afterVisible = toggleAndCount(visibleTodoId);
+        assertEquals(2, tracker.getLastBatchRefreshCount()); // 메인 목록 행 1개 + 오늘 캘린더
+
+        System.out.printf("queries per toggle: hidden row %d -> %d, visible row %d -> %d (after includes 1 change-log read)%n",
+                beforeHidden, afterHidden, beforeVisible, afterVisible);
+        assertEquals(3, beforeHidden);
+        assertEquals(2, afterHidden);
+        // 메인 목록은 전체 대신 바뀐 행 하나만 다시 읽는다
+        assertTrue(afterVisible <= beforeVisible);
+
+        // 행 단위로 고친 결과가 실제 데이터와 같다
+        shadowOf(Looper.getMainLooper()).idle();
+        TodoListRow patched = store.getCurrent().getRow(visibleTodoId);
+        assertFalse(patched.is_completed); // 두 번 토글
+        TodoListRow calendarRow = findRow(calendar.getValue(), visibleTodoId);
+        assertEquals(patched, calendarRow);
+    }
+
+    @Test
+    public void deleteRemovesRowWithoutQuery() {
+        TodoChangeTracker tracker = new TodoChangeTracker(db, TestDatabases.DIRECT);
+        TodoStore store = new TodoStore(db, tracker, TestDatabases.DIRECT);
+        assertEquals(120, store.getCurrent().getRows().size());
+
+        int selectsForDelete = selectsDuring(() -> todoDao.deleteTodoById(visibleTodoId));
+
+        assertEquals(1, selectsForDelete); // 변경 기록 조회만
+        assertEquals(0, tracker.getLastBatchRefreshCount());
+        assertEquals(119, store.getCurrent().getRows().size());
+        assertNull(store.getCurrent().getRow(visibleTodoId));
+    }
+
+    // 쓰기 전 읽기(getTodoByIdSync)는 세지 않고, 쓰기가 일으킨 조회만 센다
+    private int toggleAndCount(int id) {
+        TodoItem item = todoDao.getTodoByIdSync(id);
+        item.setCompleted(!item.isCompleted());
+        return selectsDuring(() -> todoDao.update(item));
+    }
+
+    private int selectsDuring(Runnable write) {
+        selects.reset();
+        write.run();
+        return selects.get();
+    }
+
+    private InvalidationTracker.Observer wholeTableObserver(Runnable query) {
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("todo_table", "todo_archive", "category_table") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                query.run();
+            }
+        };
+        db.getInvalidationTracker().addObserver(observer);
+        return observer;
+    }
+
+    private static TodoListRow findRow(List<TodoListRow> rows, int id) {
+        for (TodoListRow row : rows) {
+            if (row.id == id) return row;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * TodoDao의 모든 쿼리를 실제로 실행해 Room이 보내는 SQL을 수집하고,
+ * 각 SQL의 EXPLAIN QUERY PLAN에 todo_table / todo_archive 전체 스캔이 없는지 확인한다.
+ * 인덱스가 빠지거나 쿼리 형태가 바뀌어 전체 스캔으로 돌아가면 빌드가 실패한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoDaoQueryPlanTest {
+
+    // "SCAN t", "SCAN todo_table", "SCAN todo_archive", 구버전 SQLite의 "SCAN TABLE todo_table AS t" (인덱스 없이)
+    private static final Pattern FULL_SCAN =
+            Pattern.compile("^SCAN (TABLE )?(todo_table|todo_archive|t)\\b(?!.*INDEX).*");
+
+    // 의도적으로 모든 행을 읽는 쿼리들
+    private static final Set<String> FULL_READ_ALLOWED = new HashSet<>(Arrays.asList(
+            "deleteAllTodos",
+            "deleteAllArchivedTodos",
+            "deleteArchivedCollaborationTodos",       // 로그아웃에서만 실행
+            "deleteOrphanArchivedCollaborationTodos", // 정리 작업에서만 실행
+            "getAllListRows",                         // TodoStore 전체 로드 (시작, 카테고리 변경, 기록 유실 시)
+            "getAllTodosWithCategoryForCalendar",
+            "searchTodosBySubstring"                  // 전문 검색 결과가 없을 때만, 개수 제한
+    ));
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+
+    private final Map<String, String> sqlToMethod = new LinkedHashMap<>();
+    private final Map<String, List<Object>> sqlToArgs = new LinkedHashMap<>();
+    private String currentMethod;
+    private boolean capturing = true;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(this::capture);
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private void capture(String sql, List<Object> bindArgs) {
+        if (!capturing || currentMethod == null) return;
+        String upper = sql.trim().toUpperCase(Locale.ROOT);
+        boolean isDml = upper.startsWith("SELECT") || upper.startsWith("UPDATE") || upper.startsWith("DELETE");
+        boolean touchesTodos = sql.contains("todo_table") || sql.contains("todo_archive");
+        if (isDml && touchesTodos && !sqlToMethod.containsKey(sql)) {
+            sqlToMethod.put(sql, currentMethod);
+            sqlToArgs.put(sql, new ArrayList<>(bindArgs));
+        }
+    }
+
+    private void call(String method, Runnable daoCall) {
+        currentMethod = method;
+        daoCall.run();
+        currentMethod = null;
+    }
+
+    private void observe(String method, LiveData<?> liveData) {
+        call(method, () -> liveData.observeForever(value -> { }));
+    }
+
+    @Test
+    public void everyTodoDaoQueryAvoidsFullTableScan() {
+        TodoItem item = new TodoItem("sample");
+        item.setId(1);
+        long now = System.currentTimeMillis();
+
+        call("deleteAllTodos", () -> todoDao.deleteAllTodos());
+        call("deleteTodoById", () -> todoDao.deleteTodoById(1));
+        call("update", () -> todoDao.update(item));
+        call("delete", () -> todoDao.delete(item));
+        observe("getAllTodosWithCategory", todoDao.getAllTodosWithCategory());
+        observe("getAllTodos", todoDao.getAllTodos());
+        List<Integer> origins = Arrays.asList(0, 1);
+        int today = LocalDay.today();
+        call("getTodosPageAfter", () -> todoDao.getTodosPageAfter(-1, origins, today, Integer.MIN_VALUE, 50));
+        call("getTodosPageBefore", () -> todoDao.getTodosPageBefore(1, origins, today - 1, Integer.MAX_VALUE, 50));
+        call("getAllListRows", () -> todoDao.getAllListRows());
+        call("getListRowsByIds", () -> todoDao.getListRowsByIds(Arrays.asList(1, 2)));
+        observe("getTodosByCategoryWithInfo", todoDao.getTodosByCategoryWithInfo(1));
+        observe("getTodosWithoutCategoryWithInfo", todoDao.getTodosWithoutCategoryWithInfo());
+        observe("getTodoById", todoDao.getTodoById(1));
+        call("getTodoByIdSync", () -> todoDao.getTodoByIdSync(1));
+        call("getTodosByLocationId", () -> todoDao.getTodosByLocationId(1));
+        observe("getCompletedTodosWithCategory", todoDao.getCompletedTodosWithCategory());
+        observe("getIncompleteTodosWithCategory", todoDao.getIncompleteTodosWithCategory());
+        call("countTodosByCategory", () -> todoDao.countTodosByCategory(1));
+        observe("searchTodosWithCategory", todoDao.searchTodosWithCategory(TodoSearch.toMatchQuery("a")));
+        call("searchTodosBySubstring", () -> todoDao.searchTodosBySubstring(TodoSearch.toLikePattern("a"), 100));
+        observe("getTodosByDateRangeWithCategory", todoDao.getTodosByDateRangeWithCategory(0, now));
+        observe("getTodosByDueDateWithCategory", todoDao.getTodosByDueDateWithCategory(0, now));
+        observe("getTodosWithoutDueDateWithCategory", todoDao.getTodosWithoutDueDateWithCategory());
+        observe("getOverdueTodosWithCategory", todoDao.getOverdueTodosWithCategory(now));
+        observe("getTodayTodosWithCategory", todoDao.getTodayTodosWithCategory(0, now));
+        observe("getFutureTodosWithCategory", todoDao.getFutureTodosWithCategory(now));
+        observe("getAllTodosWithCategoryForCalendar", todoDao.getAllTodosWithCategoryForCalendar());
+        call("getCalendarListRowsForDay", () -> todoDao.getCalendarListRowsForDay(LocalDay.today()));
+        observe("getTodosByCategoryWithInfoForCalendar", todoDao.getTodosByCategoryWithInfoForCalendar(1));
+        observe("getTodosWithoutCategoryWithInfoForCalendar", todoDao.getTodosWithoutCategoryWithInfoForCalendar());
+        call("getTodoByFirebaseTaskId", () -> todoDao.getTodoByFirebaseTaskId("task"));
+        observe("getCollaborationTodosWithCategory", todoDao.getCollaborationTodosWithCategory());
+        call("getTodosByProjectWithCategory", () -> todoDao.getTodosByProjectWithCategory("project"));
+        call("getTodosByProjectIdSync", () -> todoDao.getTodosByProjectIdSync("project"));
+        call("getTodosByProjectIdIncludingArchiveSync", () -> todoDao.getTodosByProjectIdIncludingArchiveSync("project"));
+        observe("getLocalTodosWithCategory", todoDao.getLocalTodosWithCategory());
+        call("deleteByFirebaseTaskId", () -> todoDao.deleteByFirebaseTaskId("task"));
+        call("deleteAllTodosByProjectId", () -> todoDao.deleteAllTodosByProjectId("project"));
+        call("countCollaborationTodos", () -> todoDao.countCollaborationTodos());
+        call("getAllCollaborationTodosSync", () -> todoDao.getAllCollaborationTodosSync());
+        call("countByFirebaseTaskId", () -> todoDao.countByFirebaseTaskId("task"));
+        call("getProjectCompletionRates", () -> todoDao.getProjectCompletionRates());
+        observe("getCollaborationTodosByCreator", todoDao.getCollaborationTodosByCreator("user"));
+        observe("getCollaborationTodosByAssignee", todoDao.getCollaborationTodosByAssignee("user"));
+        call("deleteActiveCollaborationTodos", () -> todoDao.deleteActiveCollaborationTodos());
+        call("deleteArchivedCollaborationTodos", () -> todoDao.deleteArchivedCollaborationTodos());
+        call("deleteOrphanCollaborationTodos", () -> todoDao.deleteOrphanCollaborationTodos());
+        call("deleteOrphanArchivedCollaborationTodos", () -> todoDao.deleteOrphanArchivedCollaborationTodos());
+        call("getActiveLocationBasedTodos", () -> todoDao.getActiveLocationBasedTodos());
+        call("getTodosByLocationIdSync", () -> todoDao.getTodosByLocationIdSync(1));
+        call("deleteAllTodosByLocationId", () -> todoDao.deleteAllTodosByLocationId(1));
+        call("countTodosByLocationId", () -> todoDao.countTodosByLocationId(1));
+        call("archiveOldCompletedTodos", () -> todoDao.archiveOldCompletedTodos(now));
+        call("getOrRestoreTodoSync", () -> todoDao.getOrRestoreTodoSync(1));
+        call("toggleCompleted", () -> todoDao.toggleCompleted(1, now));
+        call("setCompleted", () -> todoDao.setCompleted(1, true, now));
+        call("updateTitle", () -> todoDao.updateTitle(1, "title", now));
+        call("updateDueDate", () -> todoDao.updateDueDate(1, now, now));
+        call("updateEditedFields", () -> todoDao.updateEditedFields(1, "title", false, null, null, now));
+        call("deleteAllArchivedTodos", () -> todoDao.deleteAllArchivedTodos());
+        call("deleteArchivedTodosByProjectId", () -> todoDao.deleteArchivedTodosByProjectId("project"));
+        call("deleteArchivedByFirebaseTaskId", () -> todoDao.deleteArchivedByFirebaseTaskId("task"));
+
+        capturing = false;
+        assertFalse("No TodoDao SQL was captured", sqlToMethod.isEmpty());
+
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, String> entry : sqlToMethod.entrySet()) {
+            String sql = entry.getKey();
+            String method = entry.getValue();
+            if (FULL_READ_ALLOWED.contains(method)) continue;
+
+            for (String detail : explain(sql, sqlToArgs.get(sql))) {
+                if (FULL_SCAN.matcher(detail).matches()) {
+                    violations.add(method + " -> " + detail + "\n    " + sql);
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            fail("Full table scan on todo_table / todo_archive:\n" + String.join("\n", violations));
+        }
+    }
+
+    // 메인 목록 페이지는 effective_day 인덱스 순서대로 읽고 LIMIT에서 멈춘다 (정렬용 임시 B-트리 없음)
+    @Test
+    public void mainListPagesReadInIndexOrder() {
+        List<Integer> localOnly = Collections.singletonList(0);
+        int today = LocalDay.today();
+        call("getTodosPageAfter", () -> todoDao.getTodosPageAfter(0, localOnly, today, Integer.MIN_VALUE, 50));
+        call("getTodosPageBefore", () -> todoDao.getTodosPageBefore(2, localOnly, today - 1, Integer.MAX_VALUE, 50));
+        capturing = false;
+
+        for (Map.Entry<String, String> entry : sqlToMethod.entrySet()) {
+            List<String> details = explain(entry.getKey(), sqlToArgs.get(entry.getKey()));
+            String plan = entry.getValue() + ": " + details;
+            boolean usesDayIndex = false;
+            for (String detail : details) {
+                assertFalse(plan, detail.contains("TEMP B-TREE"));
+                if (detail.contains("index_todo_table_effective_day")) usesDayIndex = true;
+            }
+            assertTrue(plan, usesDayIndex);
+        }
+        assertEquals(2, sqlToMethod.size());
+    }
+
+    @Test
+    public void firebaseTaskIdIsUnique() {
+        TodoItem first = new TodoItem("a", "project", "task-1", "P");
+        TodoItem duplicate = new TodoItem("b", "project", "task-1", "P");
+        todoDao.insert(first);
+        try {
+            todoDao.insert(duplicate);
+            fail("Duplicate firebase_task_id must be rejected");
+        } catch (android.database.sqlite.SQLiteConstraintException expected) {
+            assertEquals(1, todoDao.countByFirebaseTaskId("task-1"));
+        }
+    }
+
+    private List<String> explain(String sql, List<Object> args) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + sql, args.toArray()))) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailIndex));
+            }
+        }
+        return details;
+    }
+}
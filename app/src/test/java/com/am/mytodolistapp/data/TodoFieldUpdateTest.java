@@ -0,0 +1,145 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 필드 단위 쓰기(완료 토글, 제목, 기한, 편집 다이얼로그)가 UPDATE 한 문장으로 끝나고,
+ * 다른 컬럼의 동시 변경을 덮어쓰지 않으며, 파생 컬럼을 TodoItem 게터와 같은 값으로 맞추는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoFieldUpdateTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private final TestDatabases.StatementCounter statements = TestDatabases.StatementCounter.statements();
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(statements);
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private int insert(String title, Long dueDate) {
+        TodoItem item = new TodoItem(title);
+        item.setCreatedAt(System.currentTimeMillis() - 10 * DAY);
+        item.setDueDate(dueDate);
+        TodoSearch.fillSearchFields(item);
+        return (int) todoDao.insertAndGetId(item);
+    }
+
+    @Test
+    public void toggleIsOneStatementAndKeepsDerivedColumns() {
+        int id = insert("운동 가기", null);
+        long now = System.currentTimeMillis();
+
+        statements.reset();
+        assertTrue(todoDao.toggleCompleted(id, now));
+        assertEquals(1, statements.get());
+
+        TodoItem toggled = todoDao.getTodoByIdSync(id);
+        assertTrue(toggled.isCompleted());
+        assertEquals(now, toggled.getUpdatedAt());
+        assertStoredDerivedColumns(id, toggled);
+
+        assertTrue(todoDao.toggleCompleted(id, now + 1));
+        TodoItem back = todoDao.getTodoByIdSync(id);
+        assertFalse(back.isCompleted());
+        assertStoredDerivedColumns(id, back);
+    }
+
+    @Test
+    public void toggleDoesNotOverwriteConcurrentSyncWrite() {
+        int id = insert("보고서", null);
+        // 화면이 들고 있는 오래된 객체
+        TodoItem stale = todoDao.getTodoByIdSync(id);
+        // 그 사이 동기화가 다른 컬럼을 바꾼다
+        TodoItem synced = todoDao.getTodoByIdSync(id);
+        synced.setContent("동기화된 내용");
+        todoDao.update(synced);
+
+        assertTrue(todoDao.toggleCompleted(stale.getId(), System.currentTimeMillis()));
+        TodoItem result = todoDao.getTodoByIdSync(id);
+        assertTrue(result.isCompleted());
+        assertEquals("동기화된 내용", result.getContent());
+    }
+
+    @Test
+    public void rapidSetCompletedTogglesAreIdempotent() {
+        int id = insert("장보기", null);
+        long now = System.currentTimeMillis();
+        assertTrue(todoDao.setCompleted(id, true, now));
+        assertTrue(todoDao.setCompleted(id, false, now));
+        assertTrue(todoDao.setCompleted(id, true, now));
+        assertFalse(todoDao.setCompleted(id, true, now)); // 이미 완료
+        assertTrue(todoDao.getTodoByIdSync(id).isCompleted());
+    }
+
+    @Test
+    public void titleAndDueDateUpdateDerivedColumns() {
+        int id = insert("회의", null);
+        long now = System.currentTimeMillis();
+        long due = now + 3 * DAY;
+
+        statements.reset();
+        assertTrue(todoDao.updateTitle(id, "회의 준비", now));
+        assertTrue(todoDao.updateDueDate(id, due, now));
+        assertEquals(2, statements.get());
+
+        TodoItem item = todoDao.getTodoByIdSync(id);
+        assertEquals("회의 준비", item.getTitle());
+        assertEquals(TodoSearch.toTitleChosung("회의 준비"), item.getTitleChosung());
+        assertEquals(Long.valueOf(due), item.getDueDate());
+        assertStoredDerivedColumns(id, item);
+
+        assertTrue(todoDao.updateDueDate(id, null, now));
+        assertStoredDerivedColumns(id, todoDao.getTodoByIdSync(id));
+    }
+
+    @Test
+    public void editedFieldsRestoreArchivedTodo() {
+        int id = insert("병원 예약", null);
+        long old = System.currentTimeMillis() - 5 * DAY;
+        todoDao.setCompleted(id, true, old);
+        assertEquals(1, todoDao.archiveOldCompletedTodos(old + 1));
+        assertNull(todoDao.getTodoByIdSync(id));
+
+        assertTrue(todoDao.updateEditedFields(id, "병원 예약 변경", false, null, null, System.currentTimeMillis()));
+        TodoItem restored = todoDao.getTodoByIdSync(id);
+        assertEquals("병원 예약 변경", restored.getTitle());
+        assertFalse(restored.isCompleted());
+        assertStoredDerivedColumns(id, restored);
+        assertFalse(todoDao.updateTitle(-1, "없음", System.currentTimeMillis()));
+    }
+
+    // 저장된 파생 컬럼이 게터로 계산한 값과 같아야 한다 (@Update로 썼을 때와 같은 결과)
+    private void assertStoredDerivedColumns(int id, TodoItem item) {
+        try (Cursor cursor = db.query(
+                "SELECT due_day, completed_day, effective_day FROM todo_table WHERE id = ?", new Object[]{id})) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals(item.getDueDay(), cursor.isNull(0) ? null : cursor.getInt(0));
+            assertEquals(item.getCompletedDay(), cursor.isNull(1) ? null : cursor.getInt(1));
+            assertEquals(item.getEffectiveDay(), cursor.getInt(2));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * id 조회 캐시가 반복 조회를 SQLite 없이 처리하고, DAO 쓰기(필드 단위 UPDATE, 동기화, 삭제)는
+ * todo_change_log를 통해 항목을 지워 오래된 값을 돌려주지 않는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoItemCacheTest {
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private TodoItemCache cache;
+    private final TestDatabases.StatementCounter todoSelects =
+            TestDatabases.StatementCounter.selects("FROM todo_table");
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(todoSelects);
+        todoDao = db.todoDao();
+        cache = new TodoItemCache(db, new TodoChangeTracker(db, TestDatabases.DIRECT));
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private int insert(String title) {
+        TodoItem item = new TodoItem(title);
+        TodoSearch.fillSearchFields(item);
+        return (int) todoDao.insertAndGetId(item);
+    }
+
+    @Test
+    public void repeatedLookupsHitCache() {
+        int id = insert("운동 가기");
+
+        todoSelects.reset();
+        for (int i = 0; i < 10; i++) {
+            assertEquals("운동 가기", cache.get(id).getTitle());
+        }
+        assertEquals(1, todoSelects.get());
+        assertEquals(9, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertNull(cache.get(-1));
+    }
+
+    @Test
+    public void returnedItemIsCopy() {
+        int id = insert("장보기");
+        TodoItem first = cache.get(id);
+        first.setTitle("바뀐 제목");
+        first.setCompleted(true);
+
+        TodoItem second = cache.get(id);
+        assertEquals("장보기", second.getTitle());
+        assertFalse(second.isCompleted());
+    }
+
+    @Test
+    public void daoWritesEvictThroughChangeLog() {
+        int id = insert("보고서");
+        cache.get(id);
+
+        // 캐시를 거치지 않는 쓰기 (다른 화면, 지오펜스, 동기화)
+        assertTrue(todoDao.toggleCompleted(id, System.currentTimeMillis()));
+        assertEquals(0, cache.size());
+        assertTrue(cache.get(id).isCompleted());
+
+        TodoItem synced = todoDao.getTodoByIdSync(id);
+        synced.setContent("동기화된 내용");
+        todoDao.update(synced);
+        assertEquals("동기화된 내용", cache.get(id).getContent());
+
+        todoDao.deleteTodoById(id);
+        assertNull(cache.get(id));
+    }
+
+    @Test
+    public void writeThroughSurvivesOwnChangeLogEntry() {
+        int id = insert("회의");
+        TodoItem item = cache.get(id);
+        item.setTitle("회의 준비");
+        TodoSearch.fillSearchFields(item);
+        cache.updateAndPut(item);
+
+        todoSelects.reset();
+        assertEquals("회의 준비", cache.get(id).getTitle());
+        assertEquals(0, todoSelects.get());
+
+        // 그 뒤의 다른 쓰기는 여전히 항목을 지운다
+        todoDao.updateTitle(id, "회의록 정리", System.currentTimeMillis());
+        assertEquals("회의록 정리", cache.get(id).getTitle());
+    }
+
+    @Test
+    public void overflowAndTrimClearCache() {
+        int first = insert("first");
+        int second = insert("second");
+        cache.get(first);
+        cache.get(second);
+        assertEquals(2, cache.size());
+
+        // 기록이 잘려 어떤 행이 바뀌었는지 모르면 모두 지운다
+        TodoChange change = new TodoChange();
+        change.setVersion(Long.MAX_VALUE / 2);
+        change.setTableName("todo_table");
+        change.setRowId(-1);
+        change.setOp(TodoChange.OP_UPDATE);
+        cache.onTodosChanged(Collections.singletonList(change), true);
+        assertEquals(0, cache.size());
+
+        // 놓친 변경보다 오래된 값은 넣지 않는다 - 다음 기록을 반영한 뒤부터 다시 채운다
+        cache.get(first);
+        assertEquals(0, cache.size());
+
+        TodoItemCache fresh = new TodoItemCache(db, new TodoChangeTracker(db, TestDatabases.DIRECT));
+        fresh.get(first);
+        fresh.get(second);
+        fresh.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(2, fresh.size());
+        fresh.trimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+        assertEquals(0, fresh.size());
+    }
+}
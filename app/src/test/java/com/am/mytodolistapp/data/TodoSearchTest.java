@@ -0,0 +1,167 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.database.Cursor;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * TodoDao.searchTodosWithCategory가 todo_fts 색인(MATCH)으로 찾고 todo_table은 rowid로만 읽는지 실행 계획으로 확인하고,
+ * 단어 접두어 검색 결과(내용, 초성, 여러 단어 AND)를 확인한다.
+ * 단어 중간의 문자열은 전문 검색으로 찾지 않는다 - "회의"로 "팀회의"를 찾지 않으며,
+ * 전문 검색 결과가 없을 때 쓰는 부분 문자열 검색(searchTodosBySubstring)이 단어 중간과 %, _ 를 글자 그대로 찾는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoSearchTest {
+
+    // "SCAN todo_fts VIRTUAL TABLE INDEX 5:" - 0은 색인 전체 스캔, 1은 rowid 조회, 2 이상이 MATCH
+    private static final Pattern FTS_STEP = Pattern.compile(".*\\btodo_fts VIRTUAL TABLE INDEX (\\d+):.*");
+    // "SEARCH t USING INTEGER PRIMARY KEY (rowid=?)", 구버전 SQLite의 "SEARCH TABLE todo_table AS t ..."
+    private static final Pattern ROWID_LOOKUP =
+            Pattern.compile("^SEARCH (TABLE )?(todo_table|t)\\b.*INTEGER PRIMARY KEY.*");
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private String searchSql;
+    private List<Object> searchArgs;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory((sql, bindArgs) -> {
+            if (sql.contains("todo_fts MATCH")) {
+                searchSql = sql;
+                searchArgs = new ArrayList<>(bindArgs);
+            }
+        });
+        todoDao = db.todoDao();
+
+        db.runInTransaction(() -> {
+            for (int i = 0; i < 200; i++) {
+                insert("할 일 " + i, "메모 " + i);
+            }
+            insert("분기 결산 회의", "재무팀과 결산 일정 확인");
+            insert("팀회의 자료", "발표 준비");
+            insert("진행률 100%", "주간보고서_초안");
+        });
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private void insert(String title, String content) {
+        TodoItem item = new TodoItem(title);
+        item.setContent(content);
+        TodoSearch.fillSearchFields(item);
+        todoDao.insert(item);
+    }
+
+    @Test
+    public void searchUsesFullTextIndex() {
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("결산"));
+        assertNotNull(searchSql);
+
+        boolean ftsMatch = false;
+        boolean rowidLookup = false;
+        for (String detail : explain(searchSql, searchArgs)) {
+            Matcher fts = FTS_STEP.matcher(detail);
+            if (fts.matches() && Integer.parseInt(fts.group(1)) >= 2) ftsMatch = true;
+            if (ROWID_LOOKUP.matcher(detail).matches()) rowidLookup = true;
+        }
+        assertTrue("todo_fts must be searched with MATCH", ftsMatch);
+        assertTrue("todo_table must be read by rowid", rowidLookup);
+    }
+
+    @Test
+    public void searchMatchesTokenPrefixes() {
+        // 내용에만 있는 단어, 단어 앞부분, 여러 단어(AND), 초성
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("재무"));
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("결"));
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("분기 회의"));
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("ㄱㅅ"));
+        assertEquals(Collections.singletonList("팀회의 자료"), search("팀"));
+
+        // 단어 중간의 문자열은 찾지 않는다 ("팀회의"는 한 단어)
+        assertEquals(Collections.singletonList("분기 결산 회의"), search("회의"));
+        assertTrue(search("결산 자료").isEmpty());
+    }
+
+    @Test
+    public void substringSearchFindsMidWordMatches() {
+        // 전문 검색으로는 찾지 못하는 단어 중간 일치
+        assertTrue(search("보고서").isEmpty());
+        assertEquals(Collections.singletonList("진행률 100%"), searchSubstring("보고서"));
+        assertEquals(Arrays.asList("분기 결산 회의", "팀회의 자료"), sorted(searchSubstring("회의")));
+
+        // %, _ 는 와일드카드가 아니라 글자 그대로
+        assertEquals(Collections.singletonList("진행률 100%"), searchSubstring("0%"));
+        assertEquals(Collections.singletonList("진행률 100%"), searchSubstring("서_초"));
+        assertTrue(searchSubstring("서%초").isEmpty());
+        assertTrue(searchSubstring("할_일").isEmpty());
+        assertEquals(3, todoDao.searchTodosBySubstring(TodoSearch.toLikePattern("할 일"), 3).size());
+        assertNull(TodoSearch.toLikePattern("  "));
+    }
+
+    private List<String> searchSubstring(String userQuery) {
+        List<String> titles = new ArrayList<>();
+        for (TodoDao.TodoSearchResult result : todoDao.searchTodosBySubstring(TodoSearch.toLikePattern(userQuery), 50)) {
+            titles.add(result.title);
+        }
+        return titles;
+    }
+
+    private static List<String> sorted(List<String> titles) {
+        List<String> copy = new ArrayList<>(titles);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private List<String> search(String userQuery) {
+        List<String> titles = new ArrayList<>();
+        for (TodoDao.TodoSearchResult result : observe(todoDao.searchTodosWithCategory(TodoSearch.toMatchQuery(userQuery)))) {
+            titles.add(result.title);
+        }
+        return titles;
+    }
+
+    private List<String> explain(String sql, List<Object> args) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + sql, args.toArray()))) {
+            int detailIndex = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailIndex));
+            }
+        }
+        return details;
+    }
+
+    private static <T> T observe(LiveData<T> liveData) {
+        liveData.observeForever(value -> { });
+        shadowOf(Looper.getMainLooper()).idle(); // postValue 전달
+        return liveData.getValue();
+    }
+}
@@ -0,0 +1,269 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 공유 스냅샷이 쓰기 한 번에 바뀐 행 조회 한 번으로 갱신되고, 파생 뷰(카테고리/위치 개수, 협업 개수)가
+ * GROUP BY 쿼리와 같은 값을 내며, 바뀐 행만 고친 스냅샷이 전체를 다시 읽은 것과 같은지 확인한다.
+ * 행 목록(RowList)은 바뀐 조각만 복사하고 나머지 조각을 이전 스냅샷과 공유하는지,
+ * 메인 목록 페이저가 바뀐 행을 다시 읽지 않는지도 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class TodoStoreTest {
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private TodoChangeTracker tracker;
+    private TodoStore store;
+    private final TestDatabases.StatementCounter rowReads =
+            TestDatabases.StatementCounter.selects("WHERE t.id IN"); // getListRowsByIds
+
+    private int categoryId;
+    private int locationId;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(rowReads);
+        todoDao = db.todoDao();
+
+        // 카테고리는 기본 카테고리 '업무'(id 1), 위치는 빈 테이블에 처음 넣은 것(id 1)
+        categoryId = db.categoryDao().getCategoryByIdSync(1).getId();
+        db.locationDao().insert(new LocationItem("회사", 37.5, 127.0));
+        locationId = db.locationDao().getLocationByIdSync(1).getId();
+
+        for (int i = 0; i < 30; i++) {
+            TodoItem item = new TodoItem("todo " + i);
+            if (i % 3 == 0) item.setCategoryId(categoryId);
+            if (i % 5 == 0) item.setLocationId(locationId);
+            if (i % 10 == 0) {
+                item.setFromCollaboration(true);
+                item.setProjectId("project");
+            }
+            item.setCompleted(i % 4 == 0);
+            todoDao.insert(item);
+        }
+
+        tracker = new TodoChangeTracker(db, TestDatabases.DIRECT);
+        store = new TodoStore(db, tracker, TestDatabases.DIRECT);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void derivedViewsMatchGroupedQueries() {
+        TodoStore.Snapshot snapshot = store.getCurrent();
+        assertEquals(30, snapshot.getRows().size());
+        assertEquals(1, store.getQueryCount());
+
+        assertEquals(groupedCounts("category_id"), snapshot.getCountsByCategory());
+        assertEquals(groupedCounts("location_id"), snapshot.getCountsByLocation());
+        assertEquals(todoDao.countCollaborationTodos(), snapshot.getCollaborationCount());
+        // 할 일이 없는 카테고리는 맵에 없다
+        assertSame(TodoCount.EMPTY, TodoCount.of(snapshot.getCountsByCategory(), categoryId + 1));
+    }
+
+    @Test
+    public void oneWriteRunsOneQueryAndSharesUnchangedRows() {
+        TodoStore.Snapshot before = store.getCurrent();
+        int id = before.getRows().get(0).id;
+        TodoCount countBefore = TodoCount.of(before.getCountsByCategory(), categoryId);
+
+        rowReads.reset();
+        assertTrue(todoDao.toggleCompleted(id, System.currentTimeMillis()));
+
+        TodoStore.Snapshot after = store.getCurrent();
+        assertEquals(1, rowReads.get());
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(!before.getRow(id).is_completed, after.getRow(id).is_completed);
+        // 바뀌지 않은 행은 같은 객체를 그대로 쓴다
+        int other = before.getRows().get(1).id;
+        assertSame(before.getRow(other), after.getRow(other));
+        assertNotSame(countBefore, TodoCount.of(after.getCountsByCategory(), categoryId));
+        assertEquals(groupedCounts("category_id"), after.getCountsByCategory());
+
+        // 내용만 바뀐 경우는 읽지 않는다
+        TodoItem item = todoDao.getTodoByIdSync(id);
+        item.setContent("메모");
+        rowReads.reset();
+        todoDao.update(item);
+        assertEquals(0, rowReads.get());
+
+        // 삭제는 읽지 않고 뺀다
+        rowReads.reset();
+        todoDao.deleteTodoById(id);
+        assertEquals(0, rowReads.get());
+        assertNull(store.getCurrent().getRow(id));
+        assertEquals(29, store.getCurrent().getRows().size());
+    }
+
+    @Test
+    public void patchedSnapshotMatchesFullReload() {
+        Random random = new Random(7);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 200; i++) {
+            List<TodoListRow> rows = store.getCurrent().getRows();
+            int id = rows.get(random.nextInt(rows.size())).id;
+            switch (random.nextInt(5)) {
+                case 0:
+                    todoDao.toggleCompleted(id, now);
+                    break;
+                case 1:
+                    todoDao.updateEditedFields(id, "수정 " + i, random.nextBoolean(),
+                            random.nextBoolean() ? categoryId : null, null, now);
+                    break;
+                case 2: {
+                    TodoItem item = todoDao.getTodoByIdSync(id);
+                    item.setLocationId(random.nextBoolean() ? locationId : null);
+                    item.setFromCollaboration(!item.isFromCollaboration());
+                    todoDao.update(item);
+                    break;
+                }
+                case 3:
+                    todoDao.deleteTodoById(id);
+                    break;
+                default: {
+                    TodoItem item = new TodoItem("추가 " + i);
+                    item.setCategoryId(random.nextBoolean() ? categoryId : null);
+                    item.setLocationId(random.nextBoolean() ? locationId : null);
+                    todoDao.insert(item);
+                    break;
+                }
+            }
+
+            TodoStore.Snapshot patched = store.getCurrent();
+            TodoStore.Snapshot reloaded = new TodoStore.Snapshot(patched.getVersion(), todoDao.getAllListRows());
+            assertEquals(ids(reloaded.getRows()), ids(patched.getRows()));
+            assertEquals(reloaded.getCountsByCategory(), patched.getCountsByCategory());
+            assertEquals(reloaded.getCountsByLocation(), patched.getCountsByLocation());
+            assertEquals(reloaded.getCollaborationCount(), patched.getCollaborationCount());
+        }
+        assertEquals(1, store.getReloadCount());
+    }
+
+    @Test
+    public void rowListCopiesOnlyTouchedChunks() {
+        TreeMap<Integer, TodoListRow> expected = new TreeMap<>(Collections.reverseOrder());
+        for (int id = 1; id <= 5000; id++) expected.put(id, row(id));
+        TodoStore.RowList rows = TodoStore.RowList.of(new ArrayList<>(expected.values()));
+        int chunks = rows.chunkCount();
+
+        // 한 행 수정: 그 행이 있는 조각 하나만 새로 만든다
+        Map<Integer, TodoListRow> update = new HashMap<>();
+        update.put(2500, row(2500));
+        TodoStore.RowList updated = rows.with(update);
+        assertEquals(chunks - 1, updated.sharedChunkCount(rows));
+        assertSame(update.get(2500), updated.find(2500));
+        assertSame(rows.get(0), updated.get(0));
+
+        // 추가/삭제가 섞여도 순서와 id 조회가 전체 목록과 같다
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            Map<Integer, TodoListRow> changes = new HashMap<>();
+            for (int j = random.nextInt(50); j >= 0; j--) {
+                int id = 1 + random.nextInt(5500);
+                TodoListRow row = random.nextInt(3) == 0 ? null : row(id);
+                changes.put(id, row);
+                if (row == null) {
+                    expected.remove(id);
+                } else {
+                    expected.put(id, row);
+                }
+            }
+            updated = updated.with(changes);
+            assertEquals(new ArrayList<>(expected.values()), updated);
+        }
+        for (int id = 1; id <= 5500; id++) {
+            assertSame(expected.get(id), updated.find(id));
+        }
+    }
+
+    @Test
+    public void pagerTakesPatchedRowsFromStore() {
+        TodoListPager pager = new TodoListPager(db, store, tracker, TestDatabases.DIRECT);
+        pager.setFilter(-1, true, true);
+        shadowOf(Looper.getMainLooper()).idle();
+        int id = pager.getItems().getValue().get(0).id;
+
+        rowReads.reset();
+        todoDao.updateTitle(id, "새 제목", System.currentTimeMillis());
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertEquals(1, rowReads.get()); // 스토어만 읽고 페이저는 스냅샷의 행을 쓴다
+        List<TodoListRow> items = pager.getItems().getValue();
+        assertEquals("새 제목", items.get(0).title);
+        assertSame(store.getCurrent().getRow(id), items.get(0));
+        pager.release();
+    }
+
+    @Test
+    public void categoryChangeReloadsSnapshot() {
+        int reloads = store.getReloadCount();
+        CategoryItem category = db.categoryDao().getCategoryByIdSync(categoryId);
+        category.setName("회사 업무");
+        db.categoryDao().update(category);
+
+        assertEquals(reloads + 1, store.getReloadCount());
+        for (TodoListRow row : store.getCurrent().getRows()) {
+            if (row.category_id != null) assertEquals("회사 업무", row.category_name);
+        }
+        assertFalse(store.getCurrent().getRows().isEmpty());
+    }
+
+    // 할 일이 있는 카테고리/위치만 (스냅샷 맵과 같은 규칙)
+    private Map<Integer, TodoCount> groupedCounts(String column) {
+        Map<Integer, TodoCount> counts = new HashMap<>();
+        try (android.database.Cursor cursor = db.query("SELECT " + column + ", " +
+                "SUM(is_completed = 0), SUM(is_completed = 1) FROM todo_table " +
+                "WHERE " + column + " IS NOT NULL GROUP BY " + column, null)) {
+            while (cursor.moveToNext()) {
+                TodoCount count = new TodoCount();
+                count.owner_id = cursor.getInt(0);
+                count.active = cursor.getInt(1);
+                count.completed = cursor.getInt(2);
+                counts.put(count.owner_id, count);
+            }
+        }
+        return counts;
+    }
+
+    private static List<Integer> ids(List<TodoListRow> rows) {
+        List<Integer> ids = new ArrayList<>();
+        for (TodoListRow row : rows) ids.add(row.id);
+        return ids;
+    }
+
+    private static TodoListRow row(int id) {
+        TodoListRow row = new TodoListRow();
+        row.id = id;
+        row.title = "todo " + id;
+        return row;
+    }
+}
@@ -0,0 +1,150 @@
+package com.am.mytodolistapp.data;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 연속 토글과 순서 변경이 창(WINDOW_MS) 안에서 합쳐져 트랜잭션 하나, 무효화 한 번으로 반영되는지 확인한다.
+ * 쓰기 하나가 실패하면 그 행만 버리고, 커밋되지 않은 쓰기의 afterCommit은 실행하지 않는지도 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class WriteCoalescerTest {
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private WriteCoalescer coalescer;
+    private final TestDatabases.StatementCounter statements = TestDatabases.StatementCounter.statements();
+    private final AtomicInteger invalidations = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(statements);
+        todoDao = db.todoDao();
+        coalescer = new WriteCoalescer(db, Runnable::run, new Handler(Looper.getMainLooper()), WriteCoalescer.WINDOW_MS);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void burstOfTogglesBecomesOneTransaction() {
+        int first = (int) todoDao.insertAndGetId(new TodoItem("first"));
+        int second = (int) todoDao.insertAndGetId(new TodoItem("second"));
+        db.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("todo_table") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidations.incrementAndGet();
+            }
+        });
+        statements.reset();
+
+        long now = System.currentTimeMillis();
+        AtomicInteger afterCommit = new AtomicInteger();
+        // 첫 번째 할 일을 7번 연속 토글 (최종: 완료), 두 번째는 한 번
+        for (int i = 0; i < 7; i++) {
+            boolean completed = i % 2 == 0;
+            coalescer.submit(WriteCoalescer.todoKey(first), "completed",
+                    () -> todoDao.setCompleted(first, completed, now), afterCommit::incrementAndGet);
+        }
+        coalescer.submit(WriteCoalescer.todoKey(second), "completed",
+                () -> todoDao.setCompleted(second, true, now), afterCommit::incrementAndGet);
+
+        assertEquals(2, coalescer.getPendingCount());
+        assertEquals(6, coalescer.getMergedCount());
+        assertFalse(todoDao.getTodoByIdSync(first).isCompleted()); // 창이 끝나기 전에는 쓰지 않는다
+
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(WriteCoalescer.WINDOW_MS));
+
+        assertEquals(0, coalescer.getPendingCount());
+        assertEquals(1, coalescer.getFlushCount());
+        assertEquals(1, statements.getTransactions());
+        assertEquals(1, invalidations.get());
+        assertEquals(2, afterCommit.get());
+        assertTrue(todoDao.getTodoByIdSync(first).isCompleted());
+        assertTrue(todoDao.getTodoByIdSync(second).isCompleted());
+    }
+
+    @Test
+    public void latestWriteForRowIsAppliedLast() {
+        int id = (int) todoDao.insertAndGetId(new TodoItem("todo"));
+        long now = System.currentTimeMillis();
+
+        // 완료 -> 편집(미완료로 저장) -> 다시 완료: 마지막 조작이 남아야 한다
+        coalescer.submit(WriteCoalescer.todoKey(id), "completed", () -> todoDao.setCompleted(id, true, now), null);
+        coalescer.submit(WriteCoalescer.todoKey(id), "edit",
+                () -> todoDao.updateEditedFields(id, "edited", false, null, null, now), null);
+        assertEquals(1, coalescer.getPendingCount()); // 완료와 편집이 같은 행으로 모인다
+        coalescer.submit(WriteCoalescer.todoKey(id), "completed", () -> todoDao.setCompleted(id, true, now), null);
+        coalescer.flush(); // onPause
+
+        TodoItem item = todoDao.getTodoByIdSync(id);
+        assertEquals("edited", item.getTitle());
+        assertTrue(item.isCompleted());
+    }
+
+    @Test
+    public void categoryReorderIsCoalesced() {
+        // 기본 카테고리 1, 2의 순서를 바꾼다
+        statements.reset();
+        // 끌어서 옮기는 동안 같은 행이 여러 번 바뀐다
+        for (int order = 0; order < 5; order++) {
+            int value = order;
+            coalescer.submit(WriteCoalescer.categoryKey(1), "order", () -> db.categoryDao().updateCategoryOrder(1, value));
+            coalescer.submit(WriteCoalescer.categoryKey(2), "order", () -> db.categoryDao().updateCategoryOrder(2, 10 - value));
+        }
+        coalescer.flush();
+
+        assertEquals(1, statements.getTransactions());
+        assertEquals(4, db.categoryDao().getCategoryByIdSync(1).getOrderIndex());
+        assertEquals(6, db.categoryDao().getCategoryByIdSync(2).getOrderIndex());
+    }
+
+    @Test
+    public void failedRowIsRolledBackAlone() {
+        int good = (int) todoDao.insertAndGetId(new TodoItem("good"));
+        int bad = (int) todoDao.insertAndGetId(new TodoItem("bad"));
+        long now = System.currentTimeMillis();
+        statements.reset();
+
+        AtomicInteger goodCommits = new AtomicInteger();
+        AtomicInteger badCommits = new AtomicInteger();
+        coalescer.submit(WriteCoalescer.todoKey(good), "completed",
+                () -> todoDao.setCompleted(good, true, now), goodCommits::incrementAndGet);
+        coalescer.submit(WriteCoalescer.todoKey(bad), "completed",
+                () -> todoDao.setCompleted(bad, true, now), badCommits::incrementAndGet);
+        coalescer.submit(WriteCoalescer.todoKey(bad), "edit", () -> {
+            throw new IllegalStateException("write failed");
+        }, badCommits::incrementAndGet);
+        coalescer.flush();
+
+        // 묶음 트랜잭션이 롤백된 뒤 행마다 한 번씩
+        assertEquals(3, statements.getTransactions());
+        assertTrue(todoDao.getTodoByIdSync(good).isCompleted());
+        assertFalse(todoDao.getTodoByIdSync(bad).isCompleted()); // 같은 행의 앞선 쓰기도 함께 롤백
+        assertEquals(1, goodCommits.get());
+        assertEquals(0, badCommits.get());
+    }
+}
@@ -0,0 +1,103 @@
+package com.am.mytodolistapp.data.benchmark;
+
+import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.CategoryItem;
+import com.am.mytodolistapp.data.LocationItem;
+import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoSearch;
+
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 데이터. 같은 seed면 항상 같은 데이터를 만든다.
+ * 실제 사용 분포를 흉내 낸다: 카테고리 없음 15%, 위치 연결 10%, 협업 10% (프로젝트 8개),
+ * 기한 있음 35% (앞뒤 60일), 완료 30%, 완료 후 30일 지난 할 일은 todo_archive로 이동.
+ */
+final class BenchmarkDataset {
+
+    static final long DAY = 24L * 60 * 60 * 1000;
+
+    static final int CATEGORY_COUNT = 12;
+    static final int LOCATION_COUNT = 20;
+    static final int PROJECT_COUNT = 8;
+    static final int USER_COUNT = 5;
+
+    static final String[] WORDS = {
+            "회의", "준비", "보고서", "장보기", "운동", "병원", "예약", "공부", "과제", "청소",
+            "meeting", "report", "grocery", "review", "deploy", "invoice", "dentist", "gym"
+    };
+
+    final int todoCount;
+    final long now;
+    int archivedCount;
+
+    private BenchmarkDataset(int todoCount, long now) {
+        this.todoCount = todoCount;
+        this.now = now;
+    }
+
+    static String projectId(int i) {
+        return "project-" + i;
+    }
+
+    static String userId(int i) {
+        return "user-" + i;
+    }
+
+    // 카테고리 id 1..CATEGORY_COUNT, 위치 id 1..LOCATION_COUNT 로 들어간다 (빈 DB 기준)
+    static BenchmarkDataset populate(AppDatabase db, int todoCount, long seed) {
+        BenchmarkDataset dataset = new BenchmarkDataset(todoCount, System.currentTimeMillis());
+        Random random = new Random(seed);
+        TodoDao todoDao = db.todoDao();
+
+        db.runInTransaction(() -> {
+            for (int i = 0; i < CATEGORY_COUNT; i++) {
+                CategoryItem category = new CategoryItem(WORDS[i % WORDS.length] + " " + i, "#4488FF");
+                category.setOrderIndex(i);
+                db.categoryDao().insert(category);
+            }
+            for (int i = 0; i < LOCATION_COUNT; i++) {
+                db.locationDao().insert(new LocationItem("장소 " + i, 37.5 + i * 0.01, 127.0 + i * 0.01));
+            }
+
+            for (int i = 0; i < todoCount; i++) {
+                TodoItem item = new TodoItem(WORDS[random.nextInt(WORDS.length)] + " " +
+                        WORDS[random.nextInt(WORDS.length)] + " " + i);
+                item.setContent(WORDS[random.nextInt(WORDS.length)] + " 메모 " + i);
+                long createdAt = dataset.now - (long) (random.nextDouble() * 180 * DAY);
+                item.setCreatedAt(createdAt);
+                if (random.nextInt(100) >= 15) {
+                    item.setCategoryId(1 + random.nextInt(CATEGORY_COUNT));
+                }
+                if (random.nextInt(100) < 35) {
+                    item.setDueDate(dataset.now + (long) ((random.nextDouble() * 120 - 60) * DAY));
+                }
+                if (random.nextInt(100) < 10) {
+                    int location = 1 + random.nextInt(LOCATION_COUNT);
+                    item.setLocationId(location);
+                    item.setLocationName("장소 " + (location - 1));
+                    item.setLocationEnabled(true);
+                }
+                if (random.nextInt(100) < 10) {
+                    int project = random.nextInt(PROJECT_COUNT);
+                    item.setFromCollaboration(true);
+                    item.setProjectId(projectId(project));
+                    item.setProjectName("프로젝트 " + project);
+                    item.setFirebaseTaskId("task-" + i);
+                    item.setCreatedBy(userId(random.nextInt(USER_COUNT)));
+                    item.setAssignedTo(userId(random.nextInt(USER_COUNT)));
+                }
+                boolean completed = random.nextInt(100) < 30;
+                item.setCompleted(completed);
+                // 마지막 수정 시각은 생성 이후 (완료된 할 일은 완료 시각)
+                item.setUpdatedAt(createdAt + (long) (random.nextDouble() * (dataset.now - createdAt)));
+                TodoSearch.fillSearchFields(item);
+                todoDao.insert(item);
+            }
+        });
+
+        dataset.archivedCount = todoDao.archiveOldCompletedTodos(dataset.now - 30 * DAY);
+        return dataset;
+    }
+}
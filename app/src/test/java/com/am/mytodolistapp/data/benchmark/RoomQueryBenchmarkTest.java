@@ -0,0 +1,326 @@
+package com.am.mytodolistapp.data.benchmark;
+
+import android.app.Application;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.CategoryDao;
+import com.am.mytodolistapp.data.DailyStatsDao;
+import com.am.mytodolistapp.data.DatabaseMaintenance;
+import com.am.mytodolistapp.data.LocalDay;
+import com.am.mytodolistapp.data.LocationDao;
+import com.am.mytodolistapp.data.TestDatabases;
+import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoSearch;
+import com.am.mytodolistapp.data.firebase.ProjectTask;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.ParameterizedRobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * TodoDao / CategoryDao / LocationDao / DailyStatsDao 의 모든 조회와 주요 쓰기 작업을
+ * 합성 데이터(BenchmarkDataset)에서 측정하고 결과를 JSON으로 남긴다.
+ * 작업마다 종류별 예산(ms)이 있고, 중앙값이 예산 안인지는 JSON의 withinBudget으로 남긴다 (실행 환경에 따라 달라 실패시키지 않음).
+ *
+ * 크기를 줄 때만 실행: ./gradlew testDebugUnitTest -PbenchmarkSizes=1000,10000,100000 (build.gradle이 benchmark.sizes로 전달)
+ * 결과: benchmark.outputDir/room-queries-{크기}.json
+ *
+ * TodoRepository는 Firebase 동기화 서비스를 만들기 때문에 JVM에서 생성할 수 없어,
+ * 저장소 작업(완료 토글, 추가, 삭제, 프로젝트 동기화, 보관/정리)은 저장소가 호출하는 DAO 경로로 측정한다.
+ */
+@RunWith(ParameterizedRobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class RoomQueryBenchmarkTest {
+
+    private static final int RUNS = 5;
+    private static final long SEED = 42;
+
+    // 작업 종류별 예산 - 행 수에 비례해야 하는 작업만 크기에 따라 늘어난다
+    enum Kind {
+        POINT(15, 0),    // 인덱스로 몇 행만 읽는 조회
+        PAGE(30, 0),     // 페이지 / 하루 / 집계 테이블처럼 읽는 양이 일정한 조회
+        FULL(30, 4),     // 목록 전체를 읽는 조회 (1,000행마다 4ms)
+        WRITE(20, 0),    // 할 일 하나 쓰기
+        BULK(250, 5);    // 묶음 작업 (1,000행마다 5ms)
+
+        final double baseMs;
+        final double perThousandMs;
+
+        Kind(double baseMs, double perThousandMs) {
+            this.baseMs = baseMs;
+            this.perThousandMs = perThousandMs;
+        }
+
+        double budgetMs(int rows) {
+            return baseMs + perThousandMs * rows / 1000.0;
+        }
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    private static final class Measurement {
+        final String name;
+        final Kind kind;
+        final double medianMs;
+        final double maxMs;
+        final double budgetMs;
+
+        Measurement(String name, Kind kind, double medianMs, double maxMs, double budgetMs) {
+            this.name = name;
+            this.kind = kind;
+            this.medianMs = medianMs;
+            this.maxMs = maxMs;
+            this.budgetMs = budgetMs;
+        }
+    }
+
+    @ParameterizedRobolectricTestRunner.Parameters(name = "todos={0}")
+    public static Collection<Object[]> sizes() {
+        List<Object[]> sizes = new ArrayList<>();
+        // 크기가 없으면 건너뛸 한 개만 만든다 (setUp의 Assume)
+        for (String size : System.getProperty("benchmark.sizes", "0").split(",")) {
+            sizes.add(new Object[]{Integer.parseInt(size.trim())});
+        }
+        return sizes;
+    }
+
+    private final int todoCount;
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private CategoryDao categoryDao;
+    private LocationDao locationDao;
+    private DailyStatsDao dailyStatsDao;
+    private BenchmarkDataset dataset;
+    private long seedMs;
+
+    public RoomQueryBenchmarkTest(int todoCount) {
+        this.todoCount = todoCount;
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("benchmark.sizes is not set", System.getProperty("benchmark.sizes") != null);
+        db = TestDatabases.inMemory();
+        todoDao = db.todoDao();
+        categoryDao = db.categoryDao();
+        locationDao = db.locationDao();
+        dailyStatsDao = db.dailyStatsDao();
+
+        long start = System.nanoTime();
+        dataset = BenchmarkDataset.populate(db, todoCount, SEED);
+        seedMs = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @After
+    public void tearDown() {
+        if (db != null) db.close(); // 건너뛴 경우 DB를 만들지 않는다
+    }
+
+    @Test
+    public void queriesStayWithinBudget() throws Exception {
+        long now = dataset.now;
+        long startOfToday = now - now % BenchmarkDataset.DAY;
+        long endOfToday = startOfToday + BenchmarkDataset.DAY - 1;
+        int pageSize = 50;
+        int sampleId = todoDao.getAllListRows().get(0).id;
+        String project = BenchmarkDataset.projectId(0);
+        String user = BenchmarkDataset.userId(0);
+        LocalDate today = LocalDate.now();
+
+        // ===== TodoDao 조회 =====
+        List<Integer> origins = Arrays.asList(0, 1);
+        int todayKey = LocalDay.today();
+        measure("getTodosPageAfter", Kind.PAGE, () -> todoDao.getTodosPageAfter(-1, origins, todayKey, Integer.MIN_VALUE, pageSize));
+        measure("getTodosPageBefore", Kind.PAGE, () -> todoDao.getTodosPageBefore(-1, origins, todayKey - 1, Integer.MAX_VALUE, pageSize));
+        measure("getTodosPageAfter(category)", Kind.PAGE, () -> todoDao.getTodosPageAfter(1, origins, todayKey, Integer.MIN_VALUE, pageSize));
+        measure("getAllListRows", Kind.FULL, () -> todoDao.getAllListRows());
+        measure("getListRowsByIds", Kind.POINT, () -> todoDao.getListRowsByIds(Arrays.asList(sampleId, sampleId - 1, sampleId - 2)));
+        measure("getTodoByIdSync", Kind.POINT, () -> todoDao.getTodoByIdSync(sampleId));
+        measure("getTodoById", Kind.POINT, () -> observeOnce(todoDao.getTodoById(sampleId)));
+        measure("getTodoByFirebaseTaskId", Kind.POINT, () -> todoDao.getTodoByFirebaseTaskId("task-" + (todoCount / 2)));
+        measure("countByFirebaseTaskId", Kind.POINT, () -> todoDao.countByFirebaseTaskId("task-" + (todoCount / 2)));
+        measure("getCalendarListRowsForDay", Kind.PAGE, () -> todoDao.getCalendarListRowsForDay(LocalDay.today()));
+        measure("searchTodosWithCategory", Kind.PAGE, () -> observeOnce(todoDao.searchTodosWithCategory(TodoSearch.toMatchQuery("보고서 meeting"))));
+        measure("searchTodosBySubstring", Kind.FULL, () -> todoDao.searchTodosBySubstring(TodoSearch.toLikePattern("보고서"), 100));
+        measure("getTodosByLocationId", Kind.PAGE, () -> todoDao.getTodosByLocationId(1));
+        measure("getTodosByLocationIdSync", Kind.PAGE, () -> todoDao.getTodosByLocationIdSync(1));
+        measure("getTodosByProjectWithCategory", Kind.FULL, () -> todoDao.getTodosByProjectWithCategory(project));
+        measure("getTodosByProjectIdSync", Kind.FULL, () -> todoDao.getTodosByProjectIdSync(project));
+        measure("getTodosByProjectIdIncludingArchiveSync", Kind.FULL, () -> todoDao.getTodosByProjectIdIncludingArchiveSync(project));
+        measure("getActiveLocationBasedTodos", Kind.FULL, () -> todoDao.getActiveLocationBasedTodos());
+        measure("getTodayTodosWithCategory", Kind.PAGE, () -> observeOnce(todoDao.getTodayTodosWithCategory(startOfToday, endOfToday)));
+        measure("getTodosByDueDateWithCategory", Kind.PAGE, () -> observeOnce(todoDao.getTodosByDueDateWithCategory(startOfToday, endOfToday)));
+        measure("getTodosByDateRangeWithCategory", Kind.FULL, () -> observeOnce(todoDao.getTodosByDateRangeWithCategory(now - 7 * BenchmarkDataset.DAY, now)));
+        measure("getOverdueTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getOverdueTodosWithCategory(now)));
+        measure("getFutureTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getFutureTodosWithCategory(endOfToday)));
+        measure("getTodosWithoutDueDateWithCategory", Kind.FULL, () -> observeOnce(todoDao.getTodosWithoutDueDateWithCategory()));
+        measure("getAllTodos", Kind.FULL, () -> observeOnce(todoDao.getAllTodos()));
+        measure("getAllTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getAllTodosWithCategory()));
+        measure("getTodosByCategoryWithInfo", Kind.FULL, () -> observeOnce(todoDao.getTodosByCategoryWithInfo(1)));
+        measure("getTodosWithoutCategoryWithInfo", Kind.FULL, () -> observeOnce(todoDao.getTodosWithoutCategoryWithInfo()));
+        measure("getCompletedTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getCompletedTodosWithCategory()));
+        measure("getIncompleteTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getIncompleteTodosWithCategory()));
+        measure("getAllTodosWithCategoryForCalendar", Kind.FULL, () -> observeOnce(todoDao.getAllTodosWithCategoryForCalendar()));
+        measure("getTodosByCategoryWithInfoForCalendar", Kind.FULL, () -> observeOnce(todoDao.getTodosByCategoryWithInfoForCalendar(1)));
+        measure("getTodosWithoutCategoryWithInfoForCalendar", Kind.FULL, () -> observeOnce(todoDao.getTodosWithoutCategoryWithInfoForCalendar()));
+        measure("getCollaborationTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getCollaborationTodosWithCategory()));
+        measure("getLocalTodosWithCategory", Kind.FULL, () -> observeOnce(todoDao.getLocalTodosWithCategory()));
+        measure("getCollaborationTodosByCreator", Kind.FULL, () -> observeOnce(todoDao.getCollaborationTodosByCreator(user)));
+        measure("getCollaborationTodosByAssignee", Kind.FULL, () -> observeOnce(todoDao.getCollaborationTodosByAssignee(user)));
+        measure("getAllCollaborationTodosSync", Kind.FULL, () -> todoDao.getAllCollaborationTodosSync());
+        measure("getProjectCompletionRates", Kind.FULL, () -> todoDao.getProjectCompletionRates());
+        measure("countTodosByCategory", Kind.FULL, () -> todoDao.countTodosByCategory(1));
+        measure("countTodosByLocationId", Kind.POINT, () -> todoDao.countTodosByLocationId(1));
+        measure("countCollaborationTodos", Kind.FULL, () -> todoDao.countCollaborationTodos());
+
+        // ===== CategoryDao / LocationDao 조회 =====
+        measure("CategoryDao.getAllCategories", Kind.POINT, () -> observeOnce(categoryDao.getAllCategories()));
+        measure("CategoryDao.getCategoryById", Kind.POINT, () -> observeOnce(categoryDao.getCategoryById(1)));
+        measure("CategoryDao.getCategoryByIdSync", Kind.POINT, () -> categoryDao.getCategoryByIdSync(1));
+        measure("CategoryDao.getDefaultCategories", Kind.POINT, () -> observeOnce(categoryDao.getDefaultCategories()));
+        measure("CategoryDao.getUserCategories", Kind.POINT, () -> observeOnce(categoryDao.getUserCategories()));
+        measure("CategoryDao.getCategoriesByName", Kind.POINT, () -> observeOnce(categoryDao.getCategoriesByName("회의")));
+        measure("CategoryDao.getCategoriesByChosungPrefix", Kind.POINT, () -> observeOnce(categoryDao.getCategoriesByChosungPrefix("ㅎ", "ㅏ")));
+        measure("CategoryDao.getDefaultCategoryCount", Kind.POINT, () -> categoryDao.getDefaultCategoryCount());
+        measure("CategoryDao.getTodoCountByCategory", Kind.FULL, () -> categoryDao.getTodoCountByCategory(1));
+        measure("LocationDao.getAllLocations", Kind.POINT, () -> observeOnce(locationDao.getAllLocations()));
+        measure("LocationDao.getLocationById", Kind.POINT, () -> observeOnce(locationDao.getLocationById(1)));
+        measure("LocationDao.getLocationByIdSync", Kind.POINT, () -> locationDao.getLocationByIdSync(1));
+        measure("LocationDao.countTodosByLocationId", Kind.POINT, () -> locationDao.countTodosByLocationId(1));
+
+        // ===== DailyStatsDao (통계 / 캘린더 완료율) =====
+        String weekStart = today.minusDays(7).toString();
+        String monthStart = today.withDayOfMonth(1).toString();
+        String nextMonth = today.withDayOfMonth(1).plusMonths(1).toString();
+        measure("DailyStatsDao.countCompletedTodos", Kind.PAGE, () -> observeOnce(dailyStatsDao.countCompletedTodos()));
+        measure("DailyStatsDao.countIncompleteTodos", Kind.PAGE, () -> observeOnce(dailyStatsDao.countIncompleteTodos()));
+        measure("DailyStatsDao.getCompletedCountsByDay", Kind.PAGE, () -> observeOnce(dailyStatsDao.getCompletedCountsByDay(weekStart, today.plusDays(1).toString())));
+        measure("DailyStatsDao.getIncompleteCountsByCategory", Kind.PAGE, () -> observeOnce(dailyStatsDao.getIncompleteCountsByCategory()));
+        measure("DailyStatsDao.getDayCompletionCounts", Kind.PAGE, () -> observeOnce(dailyStatsDao.getDayCompletionCounts(monthStart, nextMonth)));
+
+        // ===== 저장소 작업 (TodoRepository가 호출하는 DAO 경로) =====
+        measure("repository.toggleCompletion", Kind.WRITE, () -> todoDao.toggleCompleted(sampleId, System.currentTimeMillis()));
+        measure("repository.updateTitle", Kind.WRITE, () -> todoDao.updateTitle(sampleId, "벤치마크 제목", System.currentTimeMillis()));
+        measure("repository.insertTodo", Kind.WRITE, () -> {
+            TodoItem item = new TodoItem("벤치마크 추가");
+            TodoSearch.fillSearchFields(item);
+            todoDao.insertAndGetId(item);
+        });
+        measure("repository.deleteTodo", Kind.WRITE, () -> {
+            int id = (int) todoDao.insertAndGetId(new TodoItem("벤치마크 삭제"));
+            todoDao.deleteTodoById(id);
+            todoDao.deleteArchivedTodoById(id);
+        });
+        List<ProjectTask> snapshot = projectSnapshot(500);
+        measure("repository.syncProjectTasks", Kind.BULK, () -> todoDao.syncProjectTasks("bench-project", "벤치마크", snapshot));
+        measureOnce("maintenance.archiveOldCompletedTodos", Kind.BULK, () -> todoDao.archiveOldCompletedTodos(now));
+        measureOnce("maintenance.run", Kind.BULK, () -> new DatabaseMaintenance(db).run());
+
+        File output = writeJson();
+        assertTrue(output.length() > 0);
+    }
+
+    private void measure(String name, Kind kind, Operation operation) throws Exception {
+        operation.run(); // warm-up (문장 준비, 페이지 캐시)
+        double[] samples = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        record(name, kind, samples[RUNS / 2], samples[RUNS - 1]);
+    }
+
+    // 한 번 실행하면 상태가 바뀌는 작업 (보관, 정리)
+    private void measureOnce(String name, Kind kind, Operation operation) throws Exception {
+        long start = System.nanoTime();
+        operation.run();
+        double ms = (System.nanoTime() - start) / 1_000_000.0;
+        record(name, kind, ms, ms);
+    }
+
+    private void record(String name, Kind kind, double medianMs, double maxMs) {
+        measurements.add(new Measurement(name, kind, medianMs, maxMs, kind.budgetMs(todoCount)));
+    }
+
+    // 쿼리 실행기를 같은 스레드로 두었으므로 관찰을 시작하면 바로 조회가 끝난다
+    private static <T> void observeOnce(LiveData<T> liveData) {
+        Observer<T> observer = value -> { };
+        liveData.observeForever(observer);
+        liveData.removeObserver(observer);
+    }
+
+    private static List<ProjectTask> projectSnapshot(int count) {
+        List<ProjectTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ProjectTask task = new ProjectTask("bench-task-" + i, "bench-project", "동기화 " + i, "user-0");
+            task.setCompleted(i % 3 == 0);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private File writeJson() throws IOException, JSONException {
+        JSONObject root = new JSONObject();
+        root.put("todos", todoCount);
+        root.put("archived", dataset.archivedCount);
+        root.put("seed", SEED);
+        root.put("seedMs", seedMs);
+        root.put("runs", RUNS);
+        JSONArray operations = new JSONArray();
+        for (Measurement m : measurements) {
+            operations.put(new JSONObject()
+                    .put("name", m.name)
+                    .put("kind", m.kind.name().toLowerCase(Locale.ROOT))
+                    .put("medianMs", round(m.medianMs))
+                    .put("maxMs", round(m.maxMs))
+                    .put("budgetMs", round(m.budgetMs))
+                    .put("withinBudget", m.medianMs <= m.budgetMs));
+        }
+        root.put("operations", operations);
+
+        File dir = new File(System.getProperty("benchmark.outputDir", "build/benchmarks"));
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        File file = new File(dir, "room-queries-" + todoCount + ".json");
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(root.toString(2));
+        }
+        return file;
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 1000) / 1000.0;
+    }
+}
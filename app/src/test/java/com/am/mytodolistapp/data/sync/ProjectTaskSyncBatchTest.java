@@ -0,0 +1,194 @@
+package com.am.mytodolistapp.data.sync;
+
+import android.app.Application;
+
+import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.TestDatabases;
+import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.firebase.ProjectTask;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 5,000개 할 일 스냅샷을 TodoDao.syncProjectTasks 로 반영할 때의 SQL 문장 수와 소요 시간을 측정한다.
+ * 할 일마다 조회 후 저장하던 기존 방식과 비교한 결과를 표준 출력으로 남긴다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class ProjectTaskSyncBatchTest {
+
+    private static final int TASK_COUNT = 5_000;
+    private static final String PROJECT_ID = "project-1";
+    private static final String PROJECT_NAME = "프로젝트";
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+
+    private final TestDatabases.StatementCounter statements = TestDatabases.StatementCounter.statements();
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory(statements);
+        todoDao = db.todoDao();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    private static List<ProjectTask> snapshot(int from, int to) {
+        List<ProjectTask> tasks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ProjectTask task = new ProjectTask("task-" + i, PROJECT_ID, "할 일 " + i, "user");
+            task.setContent("내용 " + i);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void fullSnapshotIsAppliedInOneTransaction() {
+        List<ProjectTask> tasks = snapshot(0, TASK_COUNT);
+
+        statements.reset();
+        long start = System.nanoTime();
+        TodoDao.ProjectSyncResult result = todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, tasks);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf(Locale.ROOT, "batched initial sync: %d tasks, %d statements, %d transaction(s), %d ms%n",
+                TASK_COUNT, statements.get(), statements.getTransactions(), elapsedMs);
+
+        assertEquals(TASK_COUNT, result.inserted);
+        assertEquals(1, statements.getTransactions());
+        // 기존 할 일 조회 1번 + 할 일당 INSERT 1번
+        assertTrue("statements: " + statements.get(), statements.get() <= TASK_COUNT + 1);
+        assertEquals(TASK_COUNT, todoDao.getTodosByProjectIdSync(PROJECT_ID).size());
+    }
+
+    @Test
+    public void incrementalSnapshotOnlyTouchesChangedRows() {
+        todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, snapshot(0, TASK_COUNT));
+
+        // 앞 250개는 삭제, 500개는 수정, 뒤에 250개 추가
+        List<ProjectTask> next = snapshot(250, TASK_COUNT + 250);
+        for (int i = 0; i < 500; i++) {
+            next.get(i).setCompleted(true);
+        }
+
+        statements.reset();
+        long start = System.nanoTime();
+        TodoDao.ProjectSyncResult result = todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, next);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf(Locale.ROOT, "batched incremental sync: %d statements, %d transaction(s), %d ms%n",
+                statements.get(), statements.getTransactions(), elapsedMs);
+
+        assertEquals(250, result.inserted);
+        assertEquals(500, result.updated);
+        assertEquals(250, result.deleted);
+        assertEquals(1, statements.getTransactions());
+        assertTrue("statements: " + statements.get(), statements.get() <= 1 + 250 + 500 + 250);
+
+        assertNull(todoDao.getTodoByFirebaseTaskId("task-0"));
+        TodoItem updated = todoDao.getTodoByFirebaseTaskId("task-250");
+        assertNotNull(updated);
+        assertTrue(updated.isCompleted());
+        assertEquals(TASK_COUNT, todoDao.getTodosByProjectIdSync(PROJECT_ID).size());
+    }
+
+    @Test
+    public void archivedTasksAreNotReinsertedBySnapshots() {
+        List<ProjectTask> tasks = snapshot(0, 100);
+        for (int i = 0; i < 50; i++) {
+            tasks.get(i).setCompleted(true);
+        }
+        todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, tasks);
+        assertEquals(50, todoDao.archiveOldCompletedTodos(Long.MAX_VALUE));
+        assertEquals(50, todoDao.getTodosByProjectIdSync(PROJECT_ID).size());
+
+        // 같은 스냅샷을 다시 받아도 보관된 할 일은 다시 추가되지 않는다
+        TodoDao.ProjectSyncResult result = todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, tasks);
+        assertEquals(0, result.inserted);
+        assertEquals(0, result.updated);
+        assertEquals(50, todoDao.getTodosByProjectIdSync(PROJECT_ID).size());
+
+        // 다시 열린 할 일은 todo_table로 돌아오고, Firebase에서 지워진 보관 할 일은 보관 테이블에서도 지워진다
+        List<ProjectTask> next = new ArrayList<>(tasks.subList(1, 100));
+        next.get(0).setCompleted(false); // task-1
+        result = todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, next);
+        assertEquals(1, result.updated);
+        assertEquals(1, result.deleted);
+        TodoItem reopened = todoDao.getTodoByFirebaseTaskId("task-1");
+        assertNotNull(reopened);
+        assertFalse(reopened.isCompleted());
+        assertEquals(51, todoDao.getTodosByProjectIdSync(PROJECT_ID).size());
+        assertEquals(99, todoDao.getTodosByProjectIdIncludingArchiveSync(PROJECT_ID).size());
+    }
+
+    @Test
+    public void logoutAlsoDeletesArchivedCollaborationTodos() {
+        List<ProjectTask> tasks = snapshot(0, 2);
+        tasks.get(0).setCompleted(true);
+        todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, tasks);
+        assertEquals(1, todoDao.archiveOldCompletedTodos(Long.MAX_VALUE));
+        TodoItem archived = null;
+        for (TodoItem item : todoDao.getTodosByProjectIdIncludingArchiveSync(PROJECT_ID)) {
+            if (item.isArchived()) archived = item;
+        }
+        assertNotNull(archived);
+        int day = archived.getEffectiveDay();
+        assertFalse(todoDao.getCalendarListRowsForDay(day).isEmpty());
+
+        todoDao.deleteAllCollaborationTodos(); // 로그아웃
+
+        assertEquals(0, todoDao.countCollaborationTodos());
+        assertTrue(todoDao.getTodosByProjectIdIncludingArchiveSync(PROJECT_ID).isEmpty());
+        assertTrue(todoDao.getCalendarListRowsForDay(day).isEmpty());
+    }
+
+    @Test
+    public void batchedSyncIssuesFewerStatementsThanPerTaskSync() {
+        List<ProjectTask> tasks = snapshot(0, TASK_COUNT);
+
+        // 기존 방식: 할 일마다 조회 후 개별 INSERT/UPDATE, 트랜잭션 없음
+        statements.reset();
+        long start = System.nanoTime();
+        for (ProjectTask task : tasks) {
+            TodoItem existing = todoDao.getTodoByFirebaseTaskId(task.getTaskId());
+            if (existing == null) {
+                todoDao.insert(DataSyncUtil.convertProjectTaskToTodoItem(task, PROJECT_NAME));
+            }
+        }
+        long perTaskMs = (System.nanoTime() - start) / 1_000_000;
+        int perTaskStatements = statements.get();
+        int perTaskTransactions = statements.getTransactions();
+        todoDao.deleteAllTodos();
+
+        statements.reset();
+        start = System.nanoTime();
+        todoDao.syncProjectTasks(PROJECT_ID, PROJECT_NAME, tasks);
+        long batchedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf(Locale.ROOT,
+                "per-task sync: %d statements, %d transaction(s), %d ms | batched sync: %d statements, %d transaction(s), %d ms%n",
+                perTaskStatements, perTaskTransactions, perTaskMs, statements.get(), statements.getTransactions(), batchedMs);
+
+        assertTrue(statements.get() * 2 <= perTaskStatements + 2);
+        assertTrue(statements.getTransactions() < perTaskTransactions);
+    }
+}
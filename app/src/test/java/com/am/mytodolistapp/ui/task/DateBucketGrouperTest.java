@@ -0,0 +1,164 @@
+package com.am.mytodolistapp.ui.task;
+
+import com.am.mytodolistapp.data.LocalDay;
+import com.am.mytodolistapp.data.TodoListRow;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 날짜 구간 그룹이 기존 프래그먼트 분류(이전의/오늘/미래)와 같은 결과를 내고, 구간 구성에 따라 나뉘며,
+ * 자정이 지나면 바뀔 수 있는 구간의 항목만 옮겨 전체를 다시 나눈 결과와 같아지는지 확인한다.
+ */
+public class DateBucketGrouperTest {
+
+    // 2024-05-15 (수요일)
+    private static final int WEDNESDAY = LocalDay.of(LocalDate.of(2024, 5, 15));
+    private static final EnumSet<DateBucketGrouper.Bucket> ALL_BUCKETS = EnumSet.allOf(DateBucketGrouper.Bucket.class);
+
+    @Test
+    public void defaultBucketsMatchPreviousFragmentGrouping() {
+        List<TaskListViewModel.TodoWithCategory> items = items(500, WEDNESDAY, new Random(3));
+        DateBucketGrouper grouper = new DateBucketGrouper(DateBucketGrouper.DEFAULT_BUCKETS, DayOfWeek.MONDAY, WEDNESDAY);
+
+        assertEquals(fragmentGrouping(items, WEDNESDAY), grouper.group(items));
+        assertTrue(grouper.group(new ArrayList<>()).isEmpty());
+    }
+
+    @Test
+    public void allBucketsSplitByDayAndDueDate() {
+        List<TaskListViewModel.TodoWithCategory> items = Arrays.asList(
+                item(1, WEDNESDAY - 3, true),  // 지난
+                item(2, WEDNESDAY, true),      // 오늘
+                item(3, WEDNESDAY + 1, true),  // 내일
+                item(4, WEDNESDAY + 4, true),  // 일요일 - 이번 주 (월요일 시작)
+                item(5, WEDNESDAY + 5, true),  // 다음 주 월요일 - 나중
+                item(6, WEDNESDAY - 10, false) // 기한 없음
+        );
+        DateBucketGrouper grouper = new DateBucketGrouper(ALL_BUCKETS, DayOfWeek.MONDAY, WEDNESDAY);
+        List<GroupedTaskAdapter.TaskGroup> groups = grouper.group(items);
+
+        assertEquals(Arrays.asList("previous", "today", "tomorrow", "this_week", "future", "no_date"), ids(groups));
+        for (int i = 0; i < groups.size(); i++) {
+            assertEquals(1, groups.get(i).getTasks().size());
+            assertSame(items.get(i), groups.get(i).getTasks().get(0));
+        }
+
+        // 일요일 시작이면 일요일은 다음 주
+        DateBucketGrouper sundayWeek = new DateBucketGrouper(ALL_BUCKETS, DayOfWeek.SUNDAY, WEDNESDAY);
+        assertEquals(Arrays.asList("previous", "today", "tomorrow", "future", "no_date"), ids(sundayWeek.group(items)));
+
+        // 내일이 빠지면 이번 주로, 날짜 없음이 빠지면 생성일 기준(지난)으로
+        DateBucketGrouper noTomorrow = new DateBucketGrouper(EnumSet.of(DateBucketGrouper.Bucket.OVERDUE,
+                DateBucketGrouper.Bucket.TODAY, DateBucketGrouper.Bucket.THIS_WEEK, DateBucketGrouper.Bucket.LATER),
+                DayOfWeek.MONDAY, WEDNESDAY);
+        List<GroupedTaskAdapter.TaskGroup> merged = noTomorrow.group(items);
+        assertEquals(Arrays.asList("previous", "today", "this_week", "future"), ids(merged));
+        assertEquals(2, merged.get(0).getTasks().size());
+        assertEquals(2, merged.get(2).getTasks().size());
+    }
+
+    @Test
+    public void midnightRolloverMovesOnlyAffectedItems() {
+        List<TaskListViewModel.TodoWithCategory> items = items(2_000, WEDNESDAY, new Random(17));
+        DateBucketGrouper grouper = new DateBucketGrouper(ALL_BUCKETS, DayOfWeek.MONDAY, WEDNESDAY);
+        List<GroupedTaskAdapter.TaskGroup> before = grouper.group(items);
+
+        for (int day = WEDNESDAY + 1; day <= WEDNESDAY + 7; day++) {
+            List<GroupedTaskAdapter.TaskGroup> rolled = grouper.rollover(day);
+            DateBucketGrouper fresh = new DateBucketGrouper(ALL_BUCKETS, DayOfWeek.MONDAY, day);
+            assertEquals("day " + LocalDay.toDate(day), fresh.group(items), rolled);
+        }
+        assertEquals(1, grouper.getRegroupCount());
+        assertEquals(7, grouper.getRolloverCount());
+        assertTrue(grouper.getMovedCount() > 0);
+
+        // 날짜 없는 항목의 목록은 같은 객체를 그대로 쓴다
+        List<GroupedTaskAdapter.TaskGroup> after = grouper.rollover(WEDNESDAY + 7);
+        assertSame(tasks(before, "no_date"), tasks(after, "no_date"));
+    }
+
+    @Test
+    public void sameDayReturnsLastGroupsAndClockBackRegroups() {
+        List<TaskListViewModel.TodoWithCategory> items = items(300, WEDNESDAY, new Random(5));
+        DateBucketGrouper grouper = new DateBucketGrouper(ALL_BUCKETS, DayOfWeek.MONDAY, WEDNESDAY);
+        List<GroupedTaskAdapter.TaskGroup> groups = grouper.group(items);
+        assertSame(groups, grouper.rollover(WEDNESDAY));
+
+        grouper.rollover(WEDNESDAY + 2);
+        List<GroupedTaskAdapter.TaskGroup> back = grouper.rollover(WEDNESDAY);
+        assertEquals(groups, back);
+        assertEquals(2, grouper.getRegroupCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void catchAllBucketsAreRequired() {
+        new DateBucketGrouper(EnumSet.of(DateBucketGrouper.Bucket.TODAY, DateBucketGrouper.Bucket.LATER),
+                DayOfWeek.MONDAY, WEDNESDAY);
+    }
+
+    // 기존 ImprovedTaskListFragment.groupTodosByDate
+    private static List<GroupedTaskAdapter.TaskGroup> fragmentGrouping(
+            List<TaskListViewModel.TodoWithCategory> todos, int today) {
+        List<GroupedTaskAdapter.TaskGroup> groups = new ArrayList<>();
+        List<TaskListViewModel.TodoWithCategory> previousTodos = new ArrayList<>();
+        List<TaskListViewModel.TodoWithCategory> todayTodos = new ArrayList<>();
+        List<TaskListViewModel.TodoWithCategory> futureTodos = new ArrayList<>();
+        for (TaskListViewModel.TodoWithCategory todo : todos) {
+            int day = todo.getEffectiveDay();
+            if (day < today) {
+                previousTodos.add(todo);
+            } else if (day == today) {
+                todayTodos.add(todo);
+            } else {
+                futureTodos.add(todo);
+            }
+        }
+        if (!previousTodos.isEmpty()) groups.add(new GroupedTaskAdapter.TaskGroup("previous", "이전의", previousTodos));
+        if (!todayTodos.isEmpty()) groups.add(new GroupedTaskAdapter.TaskGroup("today", "오늘", todayTodos));
+        if (!futureTodos.isEmpty()) groups.add(new GroupedTaskAdapter.TaskGroup("future", "미래", futureTodos));
+        return groups;
+    }
+
+    private static List<String> ids(List<GroupedTaskAdapter.TaskGroup> groups) {
+        List<String> ids = new ArrayList<>();
+        for (GroupedTaskAdapter.TaskGroup group : groups) ids.add(group.getId());
+        return ids;
+    }
+
+    private static List<TaskListViewModel.TodoWithCategory> tasks(List<GroupedTaskAdapter.TaskGroup> groups, String id) {
+        for (GroupedTaskAdapter.TaskGroup group : groups) {
+            if (group.getId().equals(id)) return group.getTasks();
+        }
+        return null;
+    }
+
+    private static List<TaskListViewModel.TodoWithCategory> items(int count, int today, Random random) {
+        List<TaskListViewModel.TodoWithCategory> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(item(count - i, today - 10 + random.nextInt(25), random.nextInt(3) != 0));
+        }
+        return items;
+    }
+
+    private static TaskListViewModel.TodoWithCategory item(int id, int day, boolean hasDueDate) {
+        TodoListRow row = new TodoListRow();
+        row.id = id;
+        row.title = "todo " + id;
+        row.effective_day = day;
+        row.due_date = hasDueDate ? LocalDay.toDate(day).toEpochDay() * 86_400_000L : null;
+        row.created_at = 1_000L * id;
+        return new TaskListViewModel.TodoWithCategory(row);
+    }
+}
@@ -0,0 +1,122 @@
+package com.am.mytodolistapp.ui.task;
+
+import android.app.Application;
+import android.os.Looper;
+
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 목록 변환 파이프라인이 변환을 실행기에서 처리하고, 필터만 바뀌면 다시 변환하지 않으며,
+ * 같은 결과와 밀린 요청의 결과는 내보내지 않는지 확인한다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class ListMappingPipelineTest {
+
+    // 작업을 모아 두었다가 runAll()에서 실행하는 실행기 (변환 스레드 대신)
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor queued = tasks::add;
+
+    private final MutableLiveData<List<Integer>> source = new MutableLiveData<>();
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final List<List<String>> emitted = new ArrayList<>();
+    private ListMappingPipeline<List<Integer>, String> pipeline;
+
+    @Before
+    public void setUp() {
+        pipeline = new ListMappingPipeline<>("test", source, values -> {
+            conversions.incrementAndGet();
+            List<String> result = new ArrayList<>();
+            for (Integer value : values) result.add("item " + value);
+            return result;
+        }, queued);
+        pipeline.observeForever(emitted::add);
+    }
+
+    private void runAll() {
+        while (!tasks.isEmpty()) tasks.poll().run();
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    @Test
+    public void convertsOnExecutorAndPublishesImmutableList() {
+        source.setValue(Arrays.asList(1, 2, 3));
+        assertNull(pipeline.getValue()); // 실행기가 돌기 전에는 메인 스레드에서 아무것도 하지 않는다
+        assertEquals(0, conversions.get());
+
+        runAll();
+        assertEquals(Arrays.asList("item 1", "item 2", "item 3"), pipeline.getValue());
+        assertEquals(1, pipeline.getPublishedCount());
+        assertEquals(3, pipeline.getLastTimings().size);
+        try {
+            pipeline.getValue().add("x");
+            fail("published list must be immutable");
+        } catch (UnsupportedOperationException expected) {
+            // 기대한 동작
+        }
+    }
+
+    @Test
+    public void filterChangeReusesConvertedList() {
+        source.setValue(Arrays.asList(1, 2, 3, 4));
+        runAll();
+
+        pipeline.setFilter(items -> items.subList(0, 2));
+        runAll();
+        assertEquals(Arrays.asList("item 1", "item 2"), pipeline.getValue());
+        assertEquals(1, conversions.get());
+        assertEquals(0.0, pipeline.getLastTimings().convertMs, 0.0);
+
+        // 새 원본은 현재 필터로 변환된다
+        source.setValue(Arrays.asList(5, 6, 7));
+        runAll();
+        assertEquals(Arrays.asList("item 5", "item 6"), pipeline.getValue());
+        assertEquals(2, conversions.get());
+    }
+
+    @Test
+    public void unchangedResultIsNotPublished() {
+        source.setValue(Arrays.asList(1, 2));
+        runAll();
+        source.setValue(Arrays.asList(1, 2)); // 같은 내용의 새 목록
+        runAll();
+
+        assertEquals(1, emitted.size());
+        assertEquals(1, pipeline.getUnchangedCount());
+        assertTrue(pipeline.getLastTimings().unchanged);
+    }
+
+    @Test
+    public void burstKeepsOnlyLatestSource() {
+        source.setValue(Arrays.asList(1));
+        pipeline.setFilter(null);
+        source.setValue(Arrays.asList(2));
+        source.setValue(Arrays.asList(3));
+        runAll();
+
+        assertEquals(1, conversions.get()); // 밀린 원본은 변환하지 않는다
+        assertEquals(3, pipeline.getDroppedCount());
+        assertEquals(1, emitted.size());
+        assertEquals(Arrays.asList("item 3"), pipeline.getValue());
+    }
+}
@@ -0,0 +1,152 @@
+package com.am.mytodolistapp.ui.task;
+
+import android.app.Application;
+import android.os.Looper;
+
+import com.am.mytodolistapp.data.AppDatabase;
+import com.am.mytodolistapp.data.LocalDay;
+import com.am.mytodolistapp.data.TestDatabases;
+import com.am.mytodolistapp.data.TodoDao;
+import com.am.mytodolistapp.data.TodoItem;
+import com.am.mytodolistapp.data.TodoListPager;
+import com.am.mytodolistapp.data.TodoListRow;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 메인 목록(TodoListPager 페이지 -> 변환 -> 날짜 그룹)이 TaskListViewModel과 같은 구성으로
+ * 한 페이지(50개)를 넘는 목록에서도 날짜 그룹을 빠짐없이 나누는지 확인한다.
+ * id가 가장 오래된 할 일도 기한이 오늘이면 첫 화면의 '오늘' 그룹에 들어가고,
+ * 오늘 할 일을 다 불러오기 전에는 '미래' 그룹이 나오지 않는다.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class MainListGroupingTest {
+
+    private static final int OVERDUE = 120;
+    private static final int DUE_TODAY = 70; // 오래된 할 일 하나를 더해 두 페이지에 걸친다
+    private static final int FUTURE = 30;
+
+    private AppDatabase db;
+    private TodoDao todoDao;
+    private TodoListPager pager;
+    private int today;
+    private int oldTodayId; // 가장 먼저 넣은 (id가 가장 작은) 오늘 기한 할 일
+    private ListMappingPipeline<List<TodoListRow>, TaskListViewModel.TodoWithCategory> mainList;
+    private ListMappingPipeline<List<TaskListViewModel.TodoWithCategory>, GroupedTaskAdapter.TaskGroup> groups;
+
+    @Before
+    public void setUp() {
+        db = TestDatabases.inMemory();
+        todoDao = db.todoDao();
+        today = LocalDay.today();
+
+        oldTodayId = insert("오래된 오늘 할 일", today, 1);
+        for (int i = 1; i <= OVERDUE; i++) insert("지난 할 일 " + i, today - i, i % 2 == 0 ? 1 : null);
+        for (int i = 0; i < DUE_TODAY; i++) insert("오늘 할 일 " + i, today, i % 2 == 0 ? 1 : null);
+        for (int i = 1; i <= FUTURE; i++) insert("미래 할 일 " + i, today + i, null);
+
+        // TaskListViewModel과 같은 구성 (DB 스레드, 변환 스레드 대신 호출한 스레드에서 실행)
+        pager = TestDatabases.todoListPager(db);
+        mainList = new ListMappingPipeline<>("main_list", pager.getItems(),
+                new TaskListViewModel.RowConverter(), TestDatabases.DIRECT);
+        DateBucketGrouper grouper = new DateBucketGrouper(DateBucketGrouper.DEFAULT_BUCKETS, DayOfWeek.MONDAY, today);
+        groups = new ListMappingPipeline<>("date_groups", mainList, grouper::group, TestDatabases.DIRECT);
+        groups.observeForever(value -> { });
+        pager.setFilter(-1, true, true);
+        idle();
+    }
+
+    @After
+    public void tearDown() {
+        pager.release();
+        db.close();
+    }
+
+    @Test
+    public void groupsStayCompleteAcrossPages() {
+        // 첫 화면: 구간마다 한 페이지 - 오늘 할 일이 아직 남았으므로 미래 그룹은 없다
+        assertEquals(2 * TodoListPager.PAGE_SIZE, mainList.getValue().size());
+        assertEquals(TodoListPager.PAGE_SIZE, tasks("previous").size());
+        assertEquals(TodoListPager.PAGE_SIZE, tasks("today").size());
+        assertEquals(oldTodayId, tasks("today").get(0).getId());
+        assertTrue(tasks("future").isEmpty());
+        // 지난 그룹은 최근에 지난 할 일부터
+        assertEquals(today - 1, tasks("previous").get(0).getEffectiveDay());
+
+        pager.loadNextPage();
+        idle();
+        assertEquals(DUE_TODAY + 1, tasks("today").size());
+        assertEquals(2 * TodoListPager.PAGE_SIZE - DUE_TODAY - 1, tasks("future").size());
+        assertEquals(2 * TodoListPager.PAGE_SIZE, tasks("previous").size());
+
+        pager.loadNextPage();
+        idle();
+        assertFalse(pager.hasMore());
+        assertEquals(OVERDUE, tasks("previous").size());
+        assertEquals(FUTURE, tasks("future").size());
+    }
+
+    @Test
+    public void categoryFilterReadsPagesInDayOrder() {
+        pager.setFilter(1, true, true);
+        idle();
+
+        List<TaskListViewModel.TodoWithCategory> todayTasks = tasks("today");
+        assertEquals(oldTodayId, todayTasks.get(0).getId());
+        assertEquals(DUE_TODAY / 2 + 1, todayTasks.size());
+        for (TaskListViewModel.TodoWithCategory todo : mainList.getValue()) {
+            assertEquals(Integer.valueOf(1), todo.getCategoryId());
+        }
+    }
+
+    @Test
+    public void writesReloadOnlyLoadedRange() {
+        int newerId = insert("새 오늘 할 일", today, null);
+        todoDao.toggleCompleted(oldTodayId, System.currentTimeMillis());
+        idle();
+
+        List<TaskListViewModel.TodoWithCategory> todayTasks = tasks("today");
+        assertEquals(oldTodayId, todayTasks.get(0).getId());
+        assertTrue(todayTasks.get(0).isCompleted());
+        // 불러온 개수만큼만 다시 읽으므로 새 할 일은 다음 페이지에서 나온다
+        assertEquals(2 * TodoListPager.PAGE_SIZE, mainList.getValue().size());
+
+        pager.loadNextPage();
+        idle();
+        assertEquals(newerId, tasks("today").get(DUE_TODAY + 1).getId());
+    }
+
+    private int insert(String title, int day, Integer categoryId) {
+        TodoItem item = new TodoItem(title);
+        item.setDueDate(LocalDay.toDate(day).atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        item.setCategoryId(categoryId);
+        return (int) todoDao.insertAndGetId(item);
+    }
+
+    private List<TaskListViewModel.TodoWithCategory> tasks(String groupId) {
+        for (GroupedTaskAdapter.TaskGroup group : groups.getValue()) {
+            if (group.getId().equals(groupId)) return group.getTasks();
+        }
+        return new ArrayList<>();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idle(); // postValue 전달
+    }
+}
@@ -0,0 +1,229 @@
+package com.am.mytodolistapp.ui.task;
+
+import com.am.mytodolistapp.data.TodoListRow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 필터 색인이 기존 전체 순회 필터와 같은 결과(순서 포함)를 내는지, 완료 토글/카테고리 변경에서
+ * 바뀐 행만 옮기는지, 추가/삭제에서 다시 만들지 않고 위치만 옮기는지 확인하고,
+ * 50,000개에서 필터 전환 시간을 기존 순회와 비교한다. 결과는 표준 출력으로 남긴다.
+ */
+public class TodoFilterIndexTest {
+
+    private static final int ITEM_COUNT = 50_000;
+    private static final int CATEGORY_COUNT = 20;
+    private static final int RUNS = 15;
+
+    // 필터 버튼을 차례로 누르는 경우 (카테고리, 로컬, 협업)
+    private static final int[][] FILTER_SWITCHES = {
+            {3, 1, 1}, {TodoFilterIndex.NO_CATEGORY, 1, 1}, {TodoFilterIndex.ALL, 0, 1},
+            {7, 1, 0}, {12, 0, 1}, {TodoFilterIndex.ALL, 1, 0}, {19, 1, 1}
+    };
+
+    @Test
+    public void matchesLinearFilterForEverySwitch() {
+        List<TaskListViewModel.TodoWithCategory> items = items(2_000, new Random(7));
+        TodoFilterIndex index = new TodoFilterIndex();
+        index.update(items);
+
+        for (int[] filter : FILTER_SWITCHES) {
+            assertEquals(linearFilter(items, filter[0], filter[1] == 1, filter[2] == 1),
+                    index.query(filter[0], filter[1] == 1, filter[2] == 1));
+        }
+        assertEquals(items, index.query(TodoFilterIndex.ALL, true, true));
+        assertTrue(index.query(TodoFilterIndex.ALL, false, false).isEmpty());
+        assertTrue(index.query(999, true, true).isEmpty());
+    }
+
+    @Test
+    public void sameOrderEmissionMovesOnlyChangedRows() {
+        List<TaskListViewModel.TodoWithCategory> items = items(1_000, new Random(11));
+        TodoFilterIndex index = new TodoFilterIndex();
+        index.update(items);
+
+        // 완료 토글 한 번, 카테고리 변경 한 번 (id 순서는 그대로)
+        List<TaskListViewModel.TodoWithCategory> next = new ArrayList<>(items);
+        next.set(10, new TaskListViewModel.TodoWithCategory(items.get(10).getRow().withCompleted(true)));
+        TodoListRow moved = items.get(20).getRow().withCompleted(items.get(20).isCompleted());
+        moved.category_id = CATEGORY_COUNT + 1; // 새 카테고리
+        moved.is_from_collaboration = !moved.is_from_collaboration;
+        next.set(20, new TaskListViewModel.TodoWithCategory(moved));
+        index.update(next);
+
+        assertEquals(1, index.getRebuildCount());
+        assertEquals(1, index.getIncrementalCount());
+        assertEquals(2, index.getMovedCount());
+        for (int[] filter : FILTER_SWITCHES) {
+            assertEquals(linearFilter(next, filter[0], filter[1] == 1, filter[2] == 1),
+                    index.query(filter[0], filter[1] == 1, filter[2] == 1));
+        }
+        assertEquals(linearFilter(next, CATEGORY_COUNT + 1, true, true), index.query(CATEGORY_COUNT + 1, true, true));
+    }
+
+    @Test
+    public void insertsAndDeletesShiftPositionsWithoutRebuild() {
+        Random random = new Random(13);
+        List<TaskListViewModel.TodoWithCategory> items = items(1_000, random);
+        TodoFilterIndex index = new TodoFilterIndex();
+        index.update(items);
+
+        // 맨 앞, 가운데, 맨 뒤에서 빼고 새 행을 끼워 넣는다 (남은 행의 순서는 그대로)
+        List<TaskListViewModel.TodoWithCategory> next = new ArrayList<>(items);
+        next.remove(999);
+        next.remove(500);
+        next.remove(0);
+        next.add(0, item(5_000, 3, false));
+        next.add(300, item(5_001, null, true));
+        next.add(item(5_002, CATEGORY_COUNT + 1, false));
+        index.update(next);
+
+        assertEquals(1, index.getRebuildCount());
+        assertEquals(1, index.getShiftCount());
+        assertMatchesLinearFilter(next, index);
+
+        // 여러 번 이어서 추가/삭제해도 전체 순회와 같다
+        for (int round = 0; round < 50; round++) {
+            next = new ArrayList<>(next);
+            for (int k = random.nextInt(5); k >= 0; k--) {
+                if (!next.isEmpty()) next.remove(random.nextInt(next.size()));
+            }
+            for (int k = random.nextInt(5); k >= 0; k--) {
+                next.add(random.nextInt(next.size() + 1), item(10_000 + round * 10 + k,
+                        random.nextBoolean() ? null : 1 + random.nextInt(CATEGORY_COUNT), random.nextBoolean()));
+            }
+            index.update(next);
+            assertMatchesLinearFilter(next, index);
+        }
+        assertEquals(1, index.getRebuildCount());
+
+        // 남은 행끼리 순서가 바뀌면 다시 만든다
+        List<TaskListViewModel.TodoWithCategory> swapped = new ArrayList<>(next);
+        swapped.set(0, next.get(1));
+        swapped.set(1, next.get(0));
+        index.update(swapped);
+        assertEquals(2, index.getRebuildCount());
+        assertMatchesLinearFilter(swapped, index);
+    }
+
+    @Test
+    public void filterSwitchesAreFasterThanLinearScanAt50kItems() {
+        List<TaskListViewModel.TodoWithCategory> items = items(ITEM_COUNT, new Random(42));
+        TodoFilterIndex index = new TodoFilterIndex();
+        index.update(items);
+
+        double linear = medianMillis(() -> {
+            for (int[] filter : FILTER_SWITCHES) {
+                linearFilter(items, filter[0], filter[1] == 1, filter[2] == 1);
+            }
+        });
+        double indexed = medianMillis(() -> {
+            for (int[] filter : FILTER_SWITCHES) {
+                index.query(filter[0], filter[1] == 1, filter[2] == 1);
+            }
+        });
+        // 카테고리 하나만 고른 경우 - 결과가 작아서 순회 비용 차이가 그대로 드러난다
+        double linearCategories = medianMillis(() -> {
+            for (int category = 1; category <= CATEGORY_COUNT; category++) {
+                linearFilter(items, category, true, true);
+            }
+        });
+        double indexedCategories = medianMillis(() -> {
+            for (int category = 1; category <= CATEGORY_COUNT; category++) {
+                index.query(category, true, true);
+            }
+        });
+
+        // 목록이 새로 올 때 드는 비용 - 같은 순서(토글)와 처음 만들기
+        List<TaskListViewModel.TodoWithCategory> toggled = new ArrayList<>(items);
+        toggled.set(ITEM_COUNT / 2, new TaskListViewModel.TodoWithCategory(
+                items.get(ITEM_COUNT / 2).getRow().withCompleted(true)));
+        double incremental = medianMillis(() -> {
+            index.update(items);
+            index.update(toggled);
+        }) / 2;
+        double rebuild = medianMillis(() -> new TodoFilterIndex().update(items));
+
+        System.out.printf("filter switches @%d items (%d mixed switches): linear median %.3f ms, index median %.3f ms (x%.1f); "
+                        + "%d category switches: linear %.3f ms, index %.3f ms (x%.1f); "
+                        + "update same-order %.3f ms, rebuild %.3f ms%n",
+                ITEM_COUNT, FILTER_SWITCHES.length, linear, indexed, linear / Math.max(indexed, 0.001),
+                CATEGORY_COUNT, linearCategories, indexedCategories,
+                linearCategories / Math.max(indexedCategories, 0.001), incremental, rebuild);
+        assertTrue("index lookups should beat linear filtering", indexedCategories < linearCategories);
+        assertTrue("same-order update should beat a rebuild", incremental < rebuild);
+    }
+
+    private static void assertMatchesLinearFilter(List<TaskListViewModel.TodoWithCategory> items, TodoFilterIndex index) {
+        for (int[] filter : FILTER_SWITCHES) {
+            assertEquals(linearFilter(items, filter[0], filter[1] == 1, filter[2] == 1),
+                    index.query(filter[0], filter[1] == 1, filter[2] == 1));
+        }
+        assertEquals(items, index.query(TodoFilterIndex.ALL, true, true));
+        assertEquals(linearFilter(items, CATEGORY_COUNT + 1, true, true), index.query(CATEGORY_COUNT + 1, true, true));
+    }
+
+    private static TaskListViewModel.TodoWithCategory item(int id, Integer categoryId, boolean fromCollaboration) {
+        TodoListRow row = new TodoListRow();
+        row.id = id;
+        row.title = "todo " + id;
+        row.category_id = categoryId;
+        row.is_from_collaboration = fromCollaboration;
+        return new TaskListViewModel.TodoWithCategory(row);
+    }
+
+    // 기존 TaskListViewModel의 전체 순회 필터 (카테고리 + 협업/로컬)
+    private static List<TaskListViewModel.TodoWithCategory> linearFilter(
+            List<TaskListViewModel.TodoWithCategory> allTodos, int categoryFilter,
+            boolean showLocal, boolean showCollaboration) {
+        List<TaskListViewModel.TodoWithCategory> filteredList = new ArrayList<>();
+        for (TaskListViewModel.TodoWithCategory todo : allTodos) {
+            if (todo.isFromCollaboration() ? !showCollaboration : !showLocal) continue;
+            if (categoryFilter == -1) {
+                filteredList.add(todo);
+            } else if (categoryFilter == 0) {
+                if (todo.getCategoryId() == null) {
+                    filteredList.add(todo);
+                }
+            } else if (todo.getCategoryId() != null && Objects.equals(todo.getCategoryId(), categoryFilter)) {
+                filteredList.add(todo);
+            }
+        }
+        return filteredList;
+    }
+
+    private static List<TaskListViewModel.TodoWithCategory> items(int count, Random random) {
+        List<TaskListViewModel.TodoWithCategory> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TodoListRow row = new TodoListRow();
+            row.id = count - i;
+            row.title = "todo " + i;
+            row.is_completed = random.nextInt(3) == 0;
+            row.category_id = random.nextInt(CATEGORY_COUNT + 1) == 0 ? null : 1 + random.nextInt(CATEGORY_COUNT);
+            row.is_from_collaboration = random.nextInt(5) == 0;
+            items.add(new TaskListViewModel.TodoWithCategory(row));
+        }
+        return items;
+    }
+
+    private static double medianMillis(Runnable work) {
+        for (int i = 0; i < 3; i++) work.run(); // warm-up
+        double[] samples = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            work.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
@@ -0,0 +1,75 @@
+package com.am.mytodolistapp.ui.task;
+
+import com.am.mytodolistapp.data.TodoListRow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 목록 값(TodoWithCategory)이 완료 토글 때 원래 값을 바꾸지 않고 새 값 하나만 만들며,
+ * 변환기가 바뀌지 않은 행의 값을 다시 써서 비교가 참조 비교로 끝나는지 확인한다.
+ */
+public class TodoWithCategoryTest {
+
+    @Test
+    public void withCompletedCopiesWithoutTouchingOriginal() {
+        TaskListViewModel.TodoWithCategory todo = new TaskListViewModel.TodoWithCategory(row(1, "장보기"));
+
+        TaskListViewModel.TodoWithCategory toggled = todo.withCompleted(true);
+        assertNotSame(todo, toggled);
+        assertFalse(todo.isCompleted());
+        assertFalse(todo.getRow().is_completed);
+        assertTrue(toggled.isCompleted());
+        assertEquals(todo.getDisplayTitle(), toggled.getDisplayTitle());
+        assertNotEquals(todo, toggled);
+
+        // 같은 상태로 바꾸면 새 값을 만들지 않는다
+        assertSame(todo, todo.withCompleted(false));
+        // 되돌리면 내용이 같은 값
+        assertEquals(todo, toggled.withCompleted(false));
+        assertEquals(todo.hashCode(), toggled.withCompleted(false).hashCode());
+    }
+
+    @Test
+    public void converterReusesValuesForSameRows() {
+        TaskListViewModel.RowConverter converter = new TaskListViewModel.RowConverter();
+        List<TodoListRow> rows = Arrays.asList(row(3, "a"), row(2, "b"), row(1, "c"));
+        List<TaskListViewModel.TodoWithCategory> first = converter.apply(rows);
+
+        // 한 행만 새로 읽은 목록 (나머지는 같은 행 객체)
+        List<TodoListRow> next = new ArrayList<>(rows);
+        next.set(1, rows.get(1).withCompleted(true));
+        List<TaskListViewModel.TodoWithCategory> second = converter.apply(next);
+
+        assertSame(first.get(0), second.get(0));
+        assertNotSame(first.get(1), second.get(1));
+        assertSame(first.get(2), second.get(2));
+        assertEquals(2, converter.getReusedCount());
+        assertTrue(second.get(1).isCompleted());
+
+        // 빠진 행의 값은 들고 있지 않는다
+        converter.apply(next.subList(0, 1));
+        List<TaskListViewModel.TodoWithCategory> third = converter.apply(next);
+        assertNotSame(second.get(2), third.get(2));
+        assertEquals(second.get(2), third.get(2));
+    }
+
+    private static TodoListRow row(int id, String title) {
+        TodoListRow row = new TodoListRow();
+        row.id = id;
+        row.title = title;
+        row.created_at = 1_000L * id;
+        row.category_id = id % 2 == 0 ? id : null;
+        return row;
+    }
+}